@@ -0,0 +1,167 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare two result files produced by JMH in CSV format (<tt>-rf csv -rff file.csv</tt>),
+ * typically a baseline and the results of a change.
+ * <p>
+ * Usage: <tt>java -cp benchmarks.jar org.chocosolver.benchmarks.CompareResults baseline.csv results.csv [threshold]</tt>
+ * <p>
+ * For each benchmark (and set of parameters) present in both files, the scores and the relative change are printed.
+ * A change is reported as a regression when the score degrades by more than <i>threshold</i> percent (5 by default)
+ * and by more than the sum of both score errors.
+ * The exit code is 1 if at least one regression is detected, 0 otherwise.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    /**
+     * A line of a JMH CSV result file
+     */
+    private static final class Score {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Score(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("java " + CompareResults.class.getName() + " baseline.csv results.csv [threshold]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(args[0]);
+        Map<String, Score> current = read(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.;
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s %s%n", "benchmark", "baseline", "current", "change", "unit");
+        for (Map.Entry<String, Score> e : current.entrySet()) {
+            Score old = baseline.get(e.getKey());
+            Score cur = e.getValue();
+            if (old == null || !old.mode.equals(cur.mode) || !old.unit.equals(cur.unit)) {
+                System.out.printf("%-80s %14s %14.3f %9s %s%n", e.getKey(), "-", cur.score, "new", cur.unit);
+                continue;
+            }
+            // positive when the score is worse, whatever the mode
+            boolean lowerIsBetter = !cur.mode.equals("thrpt");
+            double delta = lowerIsBetter ? cur.score - old.score : old.score - cur.score;
+            double change = 100. * delta / old.score;
+            boolean regression = change > threshold && delta > old.error + cur.error;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %s%s%n", e.getKey(), old.score, cur.score,
+                    lowerIsBetter ? change : -change, cur.unit, regression ? "  REGRESSION" : "");
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * Read a JMH CSV result file.
+     *
+     * @param file path to the file
+     * @return scores, indexed by benchmark name followed by its parameters
+     */
+    private static Map<String, Score> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        int error = -1;
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Score Error")) {
+                error = i;
+            }
+        }
+        if (benchmark < 0 || mode < 0 || score < 0 || unit < 0) {
+            throw new IOException("Not a JMH CSV result file: " + file);
+        }
+        for (int l = 1; l < lines.size(); l++) {
+            List<String> cells = split(lines.get(l));
+            if (cells.size() < header.size()) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(cells.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !cells.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(cells.get(i));
+                }
+            }
+            scores.put(key.toString(), new Score(cells.get(mode),
+                    Double.parseDouble(cells.get(score)),
+                    error < 0 ? 0 : parse(cells.get(error)),
+                    cells.get(unit)));
+        }
+        return scores;
+    }
+
+    private static double parse(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Split a CSV line, removing the quotes around cells.
+     */
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append(c);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
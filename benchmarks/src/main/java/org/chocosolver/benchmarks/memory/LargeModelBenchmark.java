@@ -0,0 +1,75 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.memory;
+
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and propagating a synthetic large model, with the default settings or with the
+ * low-footprint ones ({@link org.chocosolver.solver.Settings#setLowFootprint(boolean)}).
+ * <p>
+ * The model is made of {@link #size} integer variables, split into chains of 100 variables linked by
+ * precedences with named constant delays, each chain being bounded by a sum. Run it with {@code -prof gc}: {@code gc.alloc.rate.norm} gives the number of bytes
+ * allocated per model. Use {@link Model#getMemoryReport()} to see where they go.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class LargeModelBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"default", "low"})
+    public String footprint;
+
+    /**
+     * @return the model built and propagated
+     */
+    @Benchmark
+    public Model build() throws ContradictionException {
+        Model model = new Model(new DefaultSettings().setLowFootprint("low".equals(footprint)));
+        IntVar[] x = model.intVarArray("x", size, 0, 10 * size, true);
+        for (int i = 0; i < size - 1; i++) {
+            if (i % 100 < 99) {
+                IntVar delay = model.intVar("d" + i, 1 + i % 10);
+                model.arithm(x[i], "+", delay, "<=", x[i + 1]).post();
+            }
+        }
+        for (int i = 0; i + 100 <= size; i += 100) {
+            IntVar[] scope = new IntVar[100];
+            System.arraycopy(x, i, scope, 0, 100);
+            model.sum(scope, "<=", 1000 * size).post();
+        }
+        model.getSolver().propagate();
+        return model;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.memory;
+
+import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.IStateInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring of backtrackable objects by the environments.
+ * <p>
+ * Each operation goes down a branch of {@link #DEPTH} worlds, modifying a fixed random subset
+ * of stored integers and bitset words in each world, then backtracks to the root.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrailBenchmark {
+
+    private static final int DEPTH = 100;
+
+    private static final int SIZE = 1000;
+
+    @Param({"chunk", "flat", "copy"})
+    public String environment;
+
+    /**
+     * Number of modifications per world
+     */
+    @Param({"10", "100"})
+    public int width;
+
+    private IEnvironment env;
+
+    private IStateInt[] ints;
+
+    private IStateBitSet bits;
+
+    private int[][] touched;
+
+    @Setup
+    public void setup() {
+        switch (environment) {
+            case "chunk":
+                env = new EnvironmentBuilder().fromChunk().build();
+                break;
+            case "flat":
+                env = new EnvironmentBuilder().fromFlat().build();
+                break;
+            case "copy":
+                env = new EnvironmentBuilder().buildCopying();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown environment: " + environment);
+        }
+        ints = new IStateInt[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ints[i] = env.makeInt(i);
+        }
+        bits = env.makeBitSet(SIZE * 64);
+        Random rnd = new Random(0);
+        touched = new int[DEPTH][width];
+        for (int[] t : touched) {
+            for (int i = 0; i < width; i++) {
+                t[i] = rnd.nextInt(SIZE);
+            }
+        }
+    }
+
+    /**
+     * @return a checksum of the modified values
+     */
+    @Benchmark
+    public int branch() {
+        int root = env.getWorldIndex();
+        int sum = 0;
+        for (int d = 0; d < DEPTH; d++) {
+            env.worldPush();
+            for (int i : touched[d]) {
+                sum += ints[i].add(1);
+                int b = i * 64 + d % 64;
+                bits.set(b, !bits.get(b));
+            }
+        }
+        env.worldPopUntil(root);
+        return sum;
+    }
+}
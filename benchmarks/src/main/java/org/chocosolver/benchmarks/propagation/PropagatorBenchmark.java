@@ -0,0 +1,229 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.propagation;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagation through {@link org.chocosolver.solver.propagation.PropagationEngine} of a few hot propagators.
+ * <p>
+ * Each model is built and propagated once. Then, each operation runs a fixed set of random dives:
+ * variables are instantiated one after the other, each decision being followed by a call to
+ * {@link Solver#propagate()}, until all variables are instantiated or a failure occurs.
+ * The environment is restored to the root node after each dive.
+ * <ul>
+ * <li><b>arithm</b>: n-queens with binary constraints, where the cost of the engine itself dominates,</li>
+ * <li><b>sum</b>: random linear equalities and inequalities ({@code PropSum}),</li>
+ * <li><b>table</b>: random positive tables ({@code PropCompactTable}),</li>
+ * <li><b>alldifferent</b>: one large AC alldifferent ({@code PropAllDiffAC}),</li>
+ * <li><b>cumulative</b>: one cumulative constraint with its default filters.</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropagatorBenchmark {
+
+    /**
+     * Number of dives per operation
+     */
+    private static final int DIVES = 20;
+
+    @Param({"arithm", "sum", "table", "alldifferent", "cumulative"})
+    public String model;
+
+    private Model m;
+
+    private IntVar[] decisions;
+
+    /**
+     * Random numbers picking a value for each decision of each dive
+     */
+    private int[][] dives;
+
+    @Setup
+    public void setup() throws ContradictionException {
+        Random rnd = new Random(0);
+        switch (model) {
+            case "arithm":
+                arithm(40);
+                break;
+            case "sum":
+                sum(rnd, 60, 30, 15);
+                break;
+            case "table":
+                table(rnd, 40, 30, 5, 300);
+                break;
+            case "alldifferent":
+                alldifferent(50);
+                break;
+            case "cumulative":
+                cumulative(rnd, 40, 8);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        m.getSolver().propagate();
+        dives = new int[DIVES][decisions.length];
+        for (int[] dive : dives) {
+            for (int i = 0; i < dive.length; i++) {
+                dive[i] = rnd.nextInt(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * @return the number of decisions applied
+     */
+    @Benchmark
+    public int dive() {
+        IEnvironment env = m.getEnvironment();
+        Solver solver = m.getSolver();
+        int count = 0;
+        for (int[] dive : dives) {
+            int root = env.getWorldIndex();
+            try {
+                for (int i = 0; i < decisions.length; i++) {
+                    IntVar var = decisions[i];
+                    if (!var.isInstantiated()) {
+                        env.worldPush();
+                        var.instantiateTo(kth(var, dive[i] % var.getDomainSize()), Cause.Null);
+                        solver.propagate();
+                        count++;
+                    }
+                }
+            } catch (ContradictionException ignored) {
+                // the dive stops on failure
+            }
+            env.worldPopUntil(root);
+        }
+        return count;
+    }
+
+    private static int kth(IntVar var, int k) {
+        int v = var.getLB();
+        while (k-- > 0) {
+            v = var.nextValue(v);
+        }
+        return v;
+    }
+
+    private void arithm(int n) {
+        m = new Model("arithm");
+        IntVar[] vars = m.intVarArray("Q", n, 1, n, false);
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                m.arithm(vars[i], "!=", vars[j]).post();
+                m.arithm(vars[i], "!=", vars[j], "-", j - i).post();
+                m.arithm(vars[i], "!=", vars[j], "+", j - i).post();
+            }
+        }
+        decisions = vars;
+    }
+
+    private void sum(Random rnd, int n, int c, int k) {
+        m = new Model("sum");
+        IntVar[] vars = m.intVarArray("X", n, 0, 20, false);
+        // constraints are satisfied by a hidden random assignment
+        int[] sol = new int[n];
+        for (int i = 0; i < n; i++) {
+            sol[i] = rnd.nextInt(21);
+        }
+        for (int j = 0; j < c; j++) {
+            IntVar[] scope = new IntVar[k];
+            int[] coeffs = new int[k];
+            int rhs = 0;
+            for (int i = 0; i < k; i++) {
+                int x = rnd.nextInt(n);
+                scope[i] = vars[x];
+                coeffs[i] = 1 + rnd.nextInt(5);
+                rhs += coeffs[i] * sol[x];
+            }
+            m.scalar(scope, coeffs, j % 3 == 0 ? "=" : "<=", rhs).post();
+        }
+        decisions = vars;
+    }
+
+    private void table(Random rnd, int n, int c, int arity, int nbTuples) {
+        m = new Model("table");
+        IntVar[] vars = m.intVarArray("X", n, 0, 9, false);
+        int[] sol = new int[n];
+        for (int i = 0; i < n; i++) {
+            sol[i] = rnd.nextInt(10);
+        }
+        for (int j = 0; j < c; j++) {
+            IntVar[] scope = new IntVar[arity];
+            int[] hidden = new int[arity];
+            for (int i = 0; i < arity; i++) {
+                int x = (j + i * 7) % n;
+                scope[i] = vars[x];
+                hidden[i] = sol[x];
+            }
+            Tuples tuples = new Tuples(true);
+            tuples.add(hidden);
+            for (int t = 1; t < nbTuples; t++) {
+                int[] tuple = new int[arity];
+                for (int i = 0; i < arity; i++) {
+                    tuple[i] = rnd.nextInt(10);
+                }
+                tuples.add(tuple);
+            }
+            m.table(scope, tuples, "CT+").post();
+        }
+        decisions = vars;
+    }
+
+    private void alldifferent(int n) {
+        m = new Model("alldifferent");
+        IntVar[] vars = m.intVarArray("X", n, 0, n + n / 10, false);
+        m.allDifferent(vars, "AC").post();
+        decisions = vars;
+    }
+
+    private void cumulative(Random rnd, int n, int capacity) {
+        m = new Model("cumulative");
+        IntVar[] starts = m.intVarArray("S", n, 0, 200, true);
+        Task[] tasks = new Task[n];
+        IntVar[] heights = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            tasks[i] = m.taskVar(starts[i], 1 + rnd.nextInt(10));
+            heights[i] = m.intVar(1 + rnd.nextInt(5));
+        }
+        m.cumulative(tasks, heights, m.intVar(capacity)).post();
+        decisions = starts;
+    }
+}
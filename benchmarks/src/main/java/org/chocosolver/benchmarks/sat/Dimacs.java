@@ -0,0 +1,108 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.sat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A minimal reader of CNF formulas in DIMACS format.
+ * <p>
+ * A DIMACS variable <i>x</i> (starting at 1) is mapped to the SAT variable <i>x - 1</i>.
+ * Instances shipped with this module are stored in the <tt>dimacs</tt> resource folder.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class Dimacs {
+
+    /**
+     * Number of variables declared in the header
+     */
+    public final int nbVars;
+    /**
+     * Clauses of the formula, as DIMACS literals
+     */
+    public final int[][] clauses;
+
+    private Dimacs(int nbVars, int[][] clauses) {
+        this.nbVars = nbVars;
+        this.clauses = clauses;
+    }
+
+    /**
+     * Read a formula from the <tt>dimacs</tt> resource folder.
+     *
+     * @param name name of the instance file
+     * @return the formula
+     * @throws IOException if the resource cannot be found or read
+     */
+    public static Dimacs fromResource(String name) throws IOException {
+        InputStream is = Dimacs.class.getResourceAsStream("/dimacs/" + name);
+        if (is == null) {
+            throw new IOException("Unknown DIMACS instance: " + name);
+        }
+        try (InputStream in = is) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Read a formula in DIMACS format.
+     *
+     * @param is the input stream to read from
+     * @return the formula
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static Dimacs read(InputStream is) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII));
+        List<int[]> clauses = new ArrayList<>();
+        int nbVars = -1;
+        int[] current = new int[8];
+        int size = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == 'c' || line.charAt(0) == '%') {
+                continue;
+            }
+            String[] tokens = line.split("\\s+");
+            if (line.charAt(0) == 'p') {
+                if (tokens.length < 4 || !tokens[1].equals("cnf")) {
+                    throw new IOException("Malformed DIMACS header: " + line);
+                }
+                nbVars = Integer.parseInt(tokens[2]);
+                continue;
+            }
+            for (String token : tokens) {
+                int lit = Integer.parseInt(token);
+                if (lit == 0) {
+                    clauses.add(Arrays.copyOf(current, size));
+                    size = 0;
+                } else {
+                    if (size == current.length) {
+                        current = Arrays.copyOf(current, size * 2);
+                    }
+                    current[size++] = lit;
+                }
+            }
+        }
+        if (nbVars < 0) {
+            throw new IOException("Missing DIMACS header");
+        }
+        return new Dimacs(nbVars, clauses.toArray(new int[0][]));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.SatSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit propagation and backtracking of {@link SatSolver} on DIMACS instances.
+ * <p>
+ * Since {@link SatSolver} has no search of its own, each instance is solved with a plain DPLL
+ * (static variable order, positive literal first) that only relies on
+ * {@link SatSolver#propagateOneLiteral(int)} and {@link SatSolver#cancelUntil(int)},
+ * like {@code PropSat} does during a CP search.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SatSolverBenchmark {
+
+    @Param({"rnd3-100-426-s1.cnf", "rnd3-100-426-s2.cnf", "rnd3-125-538-s3.cnf", "php-8-7.cnf", "queens-12.cnf"})
+    public String instance;
+
+    private Dimacs formula;
+
+    @Setup
+    public void setup() throws IOException {
+        formula = Dimacs.fromResource(instance);
+    }
+
+    /**
+     * Load the formula and decide its satisfiability.
+     *
+     * @return <tt>true</tt> if the formula is satisfiable
+     */
+    @Benchmark
+    public boolean solve() {
+        SatSolver sat = load(formula);
+        return sat.ok_ && dpll(sat, 0, formula.nbVars);
+    }
+
+    /**
+     * @param formula a formula
+     * @return a SAT solver storing the clauses of <i>formula</i>
+     */
+    static SatSolver load(Dimacs formula) {
+        SatSolver sat = new SatSolver();
+        for (int i = 0; i < formula.nbVars; i++) {
+            sat.newVariable();
+        }
+        TIntArrayList lits = new TIntArrayList();
+        for (int[] clause : formula.clauses) {
+            lits.resetQuick();
+            for (int l : clause) {
+                lits.add(SatSolver.makeLiteral(Math.abs(l) - 1, l < 0));
+            }
+            sat.addClause(lits);
+        }
+        return sat;
+    }
+
+    /**
+     * Branch on variables <i>var</i> to <i>n - 1</i>.
+     * Branching on an assigned variable is harmless:
+     * its satisfied literal is propagated as a dummy decision and the other one fails.
+     */
+    static boolean dpll(SatSolver sat, int var, int n) {
+        if (var == n) {
+            return true;
+        }
+        int level = sat.trailMarker();
+        if (sat.propagateOneLiteral(SatSolver.makeLiteral(var, false)) && dpll(sat, var + 1, n)) {
+            return true;
+        }
+        sat.cancelUntil(level);
+        if (sat.propagateOneLiteral(SatSolver.makeLiteral(var, true)) && dpll(sat, var + 1, n)) {
+            return true;
+        }
+        sat.cancelUntil(level);
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.search;
+
+import org.chocosolver.examples.AbstractProblem;
+import org.chocosolver.examples.integer.CostasArrays;
+import org.chocosolver.examples.integer.GolombRuler;
+import org.chocosolver.examples.integer.Langford;
+import org.chocosolver.examples.integer.MagicSquare;
+import org.chocosolver.examples.nqueen.NQueenBinary;
+import org.chocosolver.examples.nqueen.NQueenGlobal;
+import org.chocosolver.parser.SetUpException;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end resolution of models from the <tt>examples</tt> module:
+ * each operation builds the model, configures its search as the example does and solves it.
+ * <ul>
+ * <li><b>nqueen-global-10</b> and <b>nqueen-binary-9</b>: enumerate all solutions,</li>
+ * <li><b>golomb-8</b>: find an optimal ruler and prove optimality,</li>
+ * <li><b>costas-12</b>, <b>langford-3-9</b> and <b>magicsquare-4</b>: find a first solution.</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExamplesBenchmark {
+
+    @Param({"nqueen-global-10", "nqueen-binary-9", "golomb-8", "costas-12", "langford-3-9", "magicsquare-4"})
+    public String problem;
+
+    /**
+     * @return the number of nodes explored
+     */
+    @Benchmark
+    public long solve() throws SetUpException {
+        Solver solver;
+        switch (problem) {
+            case "nqueen-global-10":
+                solver = build(new NQueenGlobal(), "-q", "10").getSolver();
+                while (solver.solve()) ;
+                break;
+            case "nqueen-binary-9":
+                solver = build(new NQueenBinary(), "-q", "9").getSolver();
+                while (solver.solve()) ;
+                break;
+            case "golomb-8":
+                Model model = build(new GolombRuler(), "-m", "8");
+                // as in GolombRuler#solve(), the last mark is the m-th declared variable
+                model.setObjective(Model.MINIMIZE, (IntVar) model.getVars()[7]);
+                solver = model.getSolver();
+                while (solver.solve()) ;
+                break;
+            case "costas-12":
+                solver = build(new CostasArrays(), "-o", "12").getSolver();
+                solver.solve();
+                break;
+            case "langford-3-9":
+                solver = build(new Langford(), "-k", "3", "-n", "9").getSolver();
+                solver.solve();
+                break;
+            case "magicsquare-4":
+                solver = build(new MagicSquare(), "-n", "4").getSolver();
+                solver.solve();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown problem: " + problem);
+        }
+        return solver.getNodeCount();
+    }
+
+    private static Model build(AbstractProblem problem, String... args) throws SetUpException {
+        problem.setUp(args);
+        problem.buildModel();
+        problem.configureSearch();
+        return problem.getModel();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.search;
+
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score-based variable selection on many decision variables,
+ * with a scan of the variables at each decision vs an incremental heap
+ * ({@code Settings.setHeapVarSelectionThreshold(int)}).
+ * <p>
+ * The model is a chain of <i>n</i> variables over [0,9] with binary constraints
+ * <i>x_i + x_{i+1} &ne; 9</i> and <i>x_i &ne; x_{i+7}</i>, solved without failure:
+ * the resolution time is then dominated by the variable selection.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class VarSelectionBenchmark {
+
+    @Param({"domOverWDeg", "domOverWDegRef", "conflictHistory", "activity", "firstFail"})
+    public String strategy;
+
+    @Param({"scan", "heap"})
+    public String selection;
+
+    @Param({"10000"})
+    public int n;
+
+    /**
+     * @return the number of nodes explored
+     */
+    @Benchmark
+    public long solve() {
+        Model model = new Model("chain", new DefaultSettings()
+                .setHeapVarSelectionThreshold("heap".equals(selection) ? 0 : Integer.MAX_VALUE));
+        IntVar[] x = model.intVarArray("x", n, 0, 9, false);
+        for (int i = 0; i + 1 < n; i++) {
+            model.arithm(x[i], "+", x[i + 1], "!=", 9).post();
+        }
+        for (int i = 0; i + 7 < n; i += 7) {
+            model.arithm(x[i], "!=", x[i + 7]).post();
+        }
+        Solver solver = model.getSolver();
+        switch (strategy) {
+            case "domOverWDeg":
+                solver.setSearch(Search.domOverWDegSearch(x));
+                break;
+            case "domOverWDegRef":
+                solver.setSearch(Search.domOverWDegRefSearch(x));
+                break;
+            case "conflictHistory":
+                solver.setSearch(Search.conflictHistorySearch(x));
+                break;
+            case "activity":
+                solver.setSearch(Search.activityBasedSearch(x));
+                break;
+            case "firstFail":
+                solver.setSearch(Search.minDomLBSearch(x));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+        solver.solve();
+        return solver.getNodeCount();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.variables;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitset-based ({@code BitsetIntVarImpl}) vs sparse-set-based ({@code SparseSetIntVarImpl}) enumerated domains,
+ * selected with {@code Settings.setSparseSetDomains(boolean)}, on models dominated by value removals.
+ * <p>
+ * Each operation runs a fixed set of random dives, as in
+ * {@link org.chocosolver.benchmarks.propagation.PropagatorBenchmark}, but on larger domains:
+ * <ul>
+ * <li><b>table</b>: random positive tables ({@code PropCompactTable}) over domains of 100 values,</li>
+ * <li><b>alldifferent</b>: one AC alldifferent ({@code PropAllDiffAC}) over 60 variables,</li>
+ * <li><b>neq</b>: a clique of binary disequalities over 60 variables.</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark {
+
+    /**
+     * Number of dives per operation
+     */
+    private static final int DIVES = 20;
+
+    @Param({"bitset", "sparseset"})
+    public String domain;
+
+    @Param({"table", "alldifferent", "neq"})
+    public String model;
+
+    private Model m;
+
+    private IntVar[] decisions;
+
+    /**
+     * Random numbers picking a value for each decision of each dive
+     */
+    private int[][] dives;
+
+    @Setup
+    public void setup() throws ContradictionException {
+        Random rnd = new Random(0);
+        m = new Model(model, new DefaultSettings().setSparseSetDomains("sparseset".equals(domain)));
+        switch (model) {
+            case "table":
+                table(rnd, 40, 30, 4, 2000, 100);
+                break;
+            case "alldifferent":
+                decisions = m.intVarArray("X", 60, 0, 65, false);
+                m.allDifferent(decisions, "AC").post();
+                break;
+            case "neq":
+                decisions = m.intVarArray("X", 60, 0, 69, false);
+                m.allDifferent(decisions, "NEQS").post();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        m.getSolver().propagate();
+        dives = new int[DIVES][decisions.length];
+        for (int[] dive : dives) {
+            for (int i = 0; i < dive.length; i++) {
+                dive[i] = rnd.nextInt(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * @return the number of decisions applied
+     */
+    @Benchmark
+    public int dive() {
+        IEnvironment env = m.getEnvironment();
+        Solver solver = m.getSolver();
+        int count = 0;
+        for (int[] dive : dives) {
+            int root = env.getWorldIndex();
+            try {
+                for (int i = 0; i < decisions.length; i++) {
+                    IntVar var = decisions[i];
+                    if (!var.isInstantiated()) {
+                        env.worldPush();
+                        var.instantiateTo(kth(var, dive[i] % var.getDomainSize()), Cause.Null);
+                        solver.propagate();
+                        count++;
+                    }
+                }
+            } catch (ContradictionException ignored) {
+                // the dive stops on failure
+            }
+            env.worldPopUntil(root);
+        }
+        return count;
+    }
+
+    private static int kth(IntVar var, int k) {
+        int v = var.getLB();
+        while (k-- > 0) {
+            v = var.nextValue(v);
+        }
+        return v;
+    }
+
+    private void table(Random rnd, int n, int c, int arity, int nbTuples, int d) {
+        IntVar[] vars = m.intVarArray("X", n, 0, d - 1, false);
+        int[] sol = new int[n];
+        for (int i = 0; i < n; i++) {
+            sol[i] = rnd.nextInt(d);
+        }
+        for (int j = 0; j < c; j++) {
+            IntVar[] scope = new IntVar[arity];
+            int[] hidden = new int[arity];
+            for (int i = 0; i < arity; i++) {
+                int x = (j + i * 7) % n;
+                scope[i] = vars[x];
+                hidden[i] = sol[x];
+            }
+            Tuples tuples = new Tuples(true);
+            tuples.add(hidden);
+            for (int t = 1; t < nbTuples; t++) {
+                int[] tuple = new int[arity];
+                for (int i = 0; i < arity; i++) {
+                    tuple[i] = rnd.nextInt(d);
+                }
+                tuples.add(tuple);
+            }
+            m.table(scope, tuples, "CT+").post();
+        }
+        decisions = vars;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.variables;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.view.MinusView;
+import org.chocosolver.solver.variables.view.OffsetView;
+import org.chocosolver.solver.variables.view.ScaleView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nested views vs views collapsed on creation by {@code IViewFactory}.
+ * <p>
+ * The model is a n-queens problem whose diagonals are expressed as chains of views:
+ * <i>2.(-(q_i + i)) + 1</i> and <i>2.(q_i - i) + 1</i>.
+ * When <b>nested</b>, each chain is built with view constructors, and an event on <i>q_i</i> crosses three views
+ * before reaching a propagator.
+ * When <b>collapsed</b>, the chain is built with the factory, which returns a single {@code AffineView}
+ * over <i>q_i</i>.
+ * Each operation runs a fixed set of random dives, as in {@link DomainBenchmark}.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewChainBenchmark {
+
+    /**
+     * Number of dives per operation
+     */
+    private static final int DIVES = 20;
+
+    @Param({"nested", "collapsed"})
+    public String chain;
+
+    @Param({"30", "60"})
+    public int n;
+
+    private Model m;
+
+    private IntVar[] decisions;
+
+    /**
+     * Random numbers picking a value for each decision of each dive
+     */
+    private int[][] dives;
+
+    @Setup
+    public void setup() throws ContradictionException {
+        Random rnd = new Random(0);
+        m = new Model(chain);
+        decisions = m.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            if ("nested".equals(chain)) {
+                diag1[i] = new OffsetView(new ScaleView(new MinusView(new OffsetView(decisions[i], i)), 2), 1);
+                diag2[i] = new OffsetView(new ScaleView(new OffsetView(decisions[i], -i), 2), 1);
+            } else {
+                diag1[i] = m.intOffsetView(m.intScaleView(m.intMinusView(m.intOffsetView(decisions[i], i)), 2), 1);
+                diag2[i] = m.intOffsetView(m.intScaleView(m.intOffsetView(decisions[i], -i), 2), 1);
+            }
+        }
+        m.allDifferent(decisions, "BC").post();
+        m.allDifferent(diag1, "BC").post();
+        m.allDifferent(diag2, "BC").post();
+        m.getSolver().propagate();
+        dives = new int[DIVES][n];
+        for (int[] dive : dives) {
+            for (int i = 0; i < dive.length; i++) {
+                dive[i] = rnd.nextInt(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * @return the number of decisions applied
+     */
+    @Benchmark
+    public int dive() {
+        IEnvironment env = m.getEnvironment();
+        Solver solver = m.getSolver();
+        int count = 0;
+        for (int[] dive : dives) {
+            int root = env.getWorldIndex();
+            try {
+                for (int i = 0; i < decisions.length; i++) {
+                    IntVar var = decisions[i];
+                    if (!var.isInstantiated()) {
+                        env.worldPush();
+                        var.instantiateTo(kth(var, dive[i] % var.getDomainSize()), Cause.Null);
+                        solver.propagate();
+                        count++;
+                    }
+                }
+            } catch (ContradictionException ignored) {
+                // the dive stops on failure
+            }
+            env.worldPopUntil(root);
+        }
+        return count;
+    }
+
+    private static int kth(IntVar var, int k) {
+        int v = var.getLB();
+        while (k-- > 0) {
+            v = var.nextValue(v);
+        }
+        return v;
+    }
+}
@@ -19,10 +19,10 @@ import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -109,15 +109,16 @@ public class Flatzinc extends RegParser {
     @Override
     public void buildModel() {
         listeners.forEach(ParserListener::beforeParsingFile);
+        // the instance is read once, then parsed by each model
+        byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(instance));
+        } catch (IOException e) {
+            throw new Error(e.getMessage());
+        }
         List<Model> models = portfolio.getModels();
         for (int i = 0; i < models.size(); i++) {
-            try {
-                FileInputStream fileInputStream = new FileInputStream(new File(instance));
-                parse(models.get(i), datas[i], fileInputStream);
-                fileInputStream.close();
-            } catch (IOException e) {
-                throw new Error(e.getMessage());
-            }
+            parse(models.get(i), datas[i], new ByteArrayInputStream(content));
         }
         listeners.forEach(ParserListener::afterParsingFile);
     }
@@ -84,6 +84,10 @@ public class Datas {
     // METHODS
     //***********************************************************************************
 
+    public Model getModel() {
+        return model;
+    }
+
     public void register(String name, Object o) {
         map.put(name, o);
     }
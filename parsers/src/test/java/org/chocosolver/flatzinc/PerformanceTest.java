@@ -12,6 +12,7 @@ package org.chocosolver.flatzinc;
 import org.chocosolver.parser.SetUpException;
 import org.chocosolver.parser.flatzinc.BaseFlatzincListener;
 import org.chocosolver.parser.flatzinc.Flatzinc;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.SearchState;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -92,4 +93,43 @@ public class PerformanceTest {
         }
     }
 
+    @DataProvider()
+    public Object[][] parallel() {
+        return new Object[][]{
+                {ROOT + "2020" + File.separator + "bnn+inventory_4_8s.fzn", 17},
+                {ROOT + "2012" + File.separator + "filters+filter+dct_1_1.fzn", 34},
+                {ROOT + "2020" + File.separator + "pentominoes+02.fzn", null},
+        };
+    }
+
+    @Test(groups = "mzn", dataProvider = "parallel", timeOut = 120000)
+    public void testCopies(String path, Integer bst) throws SetUpException {
+        String file = this.getClass().getResource(path).getFile();
+        String[] args = new String[]{
+                file,
+                "-limit", "[100s]",
+                "-p", "3"
+        };
+        Flatzinc fzn = new Flatzinc();
+        fzn.addListener(new BaseFlatzincListener(fzn));
+        fzn.setUp(args);
+        fzn.createSolver();
+        fzn.buildModel();
+        // each worker parses the instance into its own model
+        Assert.assertEquals(fzn.datas.length, 3);
+        Model first = fzn.datas[0].getModel();
+        for (int i = 1; i < 3; i++) {
+            Model copy = fzn.datas[i].getModel();
+            Assert.assertNotSame(copy, first);
+            Assert.assertEquals(copy.getNbVars(), first.getNbVars());
+            Assert.assertEquals(copy.getNbCstrs(), first.getNbCstrs());
+        }
+        fzn.configureSearch();
+        fzn.solve();
+        Assert.assertTrue(fzn.getModel().getSolver().getSolutionCount() > 0, "No solution found");
+        if (bst != null) {
+            Assert.assertEquals(fzn.getModel().getSolver().getObjectiveManager().getBestSolutionValue(), bst, "Unexpected best solution");
+        }
+    }
+
 }
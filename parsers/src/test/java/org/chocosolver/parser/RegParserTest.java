@@ -142,6 +142,8 @@ public class RegParserTest {
         Assert.assertEquals(parser.varH, Search.VarH.DEFAULT);
         p.parseArgument("-f", "-varh", "input", "/file");
         Assert.assertEquals(parser.varH, Search.VarH.INPUT);
+        p.parseArgument("-f", "-varh", "vsids", "/file");
+        Assert.assertEquals(parser.varH, Search.VarH.VSIDS);
     }
 
     @Test(groups = "1s", expectedExceptions = CmdLineException.class)
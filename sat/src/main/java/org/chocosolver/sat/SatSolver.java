@@ -11,17 +11,17 @@ package org.chocosolver.sat;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 
 /**
  * A MiniSat solver.
  * <p>
  * (or-tools, booleans.cc, ty L. Perron).
  * <br/>
+ * Data structures are indexed by literal (or variable) and stored in primitive arrays.
+ * Clauses of size 3 or more are stored in a contiguous arena, and referenced by their position in it.
+ * Each watcher of a clause also stores a <i>blocker</i> literal, which avoids inspecting the clause when true.
  *
  * @author Charles Prud'homme
  * @since 12/07/13
@@ -34,20 +34,39 @@ public class SatSolver implements SatFactory {
      */
     private static final int kUndefinedLiteral = -2;
 
+    /**
+     * Values of a variable, as stored in {@link #assignment_}, see {@link Boolean}
+     */
+    private static final byte TRUE = 0, FALSE = 1, UNDEF = 2;
+
+    private static final Boolean[] BOOLEANS = Boolean.values();
+
     // If false, the constraints are already unsatisfiable. No part of
     // the solver state may be used!
     public boolean ok_;
-    // List of problem addClauses.
-    public ArrayList<Clause> clauses;
-    // List of learnt addClauses.
-    public ArrayList<Clause> learnts;
+    // List of problem addClauses, as references in 'arena_'.
+    public TIntArrayList clauses;
+    // List of learnt addClauses, as references in 'arena_'.
+    public TIntArrayList learnts;
+    // Clauses of size 3 or more: the size of a clause followed by its literals.
+    private int[] arena_;
+    // Number of cells used in 'arena_'.
+    private int arenaSize_;
+    // Number of cells of 'arena_' used by detached clauses.
+    private int wasted_;
     // 'watches_[lit]' is a list of constraints watching 'lit'(will go
-    // there if literal becomes true).
-    private TIntObjectHashMap<ArrayList<Watcher>> watches_;
+    // there if literal becomes true), stored as pairs (clause reference, blocker).
+    private int[][] watches_;
+    // Number of cells used in each list of 'watches_'.
+    private int[] nWatches_;
     // implies_[lit] is a list of literals to set to true if 'lit' becomes true.
-    public TIntObjectHashMap<TIntArrayList> implies_;
+    private int[][] implies_;
+    // Number of literals in each list of 'implies_'.
+    private int[] nImplies_;
+    // Number of binary clauses.
+    private int nBinaries_;
     // The current assignments.
-    TIntObjectHashMap<Boolean> assignment_;
+    private byte[] assignment_;
     // Assignment stack; stores all assigments made in the order they
     // were made.
     TIntArrayList trail_;
@@ -61,6 +80,9 @@ public class SatSolver implements SatFactory {
     // Number of variables
     int sec_vars_ = -10;
 
+    // Secret variables are negative, shift variable indices in arrays by 'offset_'.
+    private int offset_;
+
     private TIntArrayList temporary_add_vector_;
     public TIntArrayList touched_variables_;
 
@@ -69,11 +91,14 @@ public class SatSolver implements SatFactory {
         this.ok_ = true;
         this.qhead_ = 0;
         num_vars_ = 0;
-        this.clauses = new ArrayList<>();
-        this.learnts = new ArrayList<>();
-        this.watches_ = new TIntObjectHashMap<>();
-        this.implies_ = new TIntObjectHashMap<>();
-        this.assignment_ = new TIntObjectHashMap<>();
+        this.clauses = new TIntArrayList();
+        this.learnts = new TIntArrayList();
+        this.arena_ = new int[64];
+        this.watches_ = new int[16][];
+        this.nWatches_ = new int[16];
+        this.implies_ = new int[16][];
+        this.nImplies_ = new int[16];
+        this.assignment_ = new byte[8];
         this.trail_ = new TIntArrayList();
         this.trail_markers_ = new TIntArrayList();
         this.temporary_add_vector_ = new TIntArrayList();
@@ -88,9 +113,8 @@ public class SatSolver implements SatFactory {
     // Add a new variable.
     public int newVariable() {
         int v = incrementVariableCounter();
-//            watches_.resize(2 * v + 2);
-//        implies_.resize(2 * v.value() + 2);
-        assignment_.put(v, Boolean.kUndefined);
+        ensureCapacity(v + offset_ + 1);
+        assignment_[v + offset_] = UNDEF;
         return v;
     }
 
@@ -98,10 +122,48 @@ public class SatSolver implements SatFactory {
     // That is a variable not known from CP solver
     protected int newSecretVariable(){
         int v = sec_vars_--;
-        assignment_.put(v, Boolean.kUndefined);
+        if (v + offset_ < 0) {
+            shift(-v - offset_);
+        }
+        assignment_[v + offset_] = UNDEF;
         return v;
     }
 
+    /**
+     * Make sure that arrays indexed by variable can store <i>n</i> variables (shift included).
+     */
+    private void ensureCapacity(int n) {
+        if (n > assignment_.length) {
+            int size = assignment_.length;
+            int ns = Math.max(n, size * 3 / 2 + 1);
+            assignment_ = Arrays.copyOf(assignment_, ns);
+            Arrays.fill(assignment_, size, ns, UNDEF);
+            watches_ = Arrays.copyOf(watches_, 2 * ns);
+            nWatches_ = Arrays.copyOf(nWatches_, 2 * ns);
+            implies_ = Arrays.copyOf(implies_, 2 * ns);
+            nImplies_ = Arrays.copyOf(nImplies_, 2 * ns);
+        }
+    }
+
+    /**
+     * Shift variable indices by <i>delta</i>, to make room for secret variables.
+     */
+    private void shift(int delta) {
+        int n = num_vars_ + offset_;
+        ensureCapacity(n + delta);
+        System.arraycopy(assignment_, 0, assignment_, delta, n);
+        Arrays.fill(assignment_, 0, delta, UNDEF);
+        System.arraycopy(watches_, 0, watches_, 2 * delta, 2 * n);
+        Arrays.fill(watches_, 0, 2 * delta, null);
+        System.arraycopy(nWatches_, 0, nWatches_, 2 * delta, 2 * n);
+        Arrays.fill(nWatches_, 0, 2 * delta, 0);
+        System.arraycopy(implies_, 0, implies_, 2 * delta, 2 * n);
+        Arrays.fill(implies_, 0, 2 * delta, null);
+        System.arraycopy(nImplies_, 0, nImplies_, 2 * delta, 2 * n);
+        Arrays.fill(nImplies_, 0, 2 * delta, 0);
+        offset_ += delta;
+    }
+
 
     // Add a clause to the solver.
     public boolean addClause(TIntList ps) {
@@ -134,22 +196,12 @@ public class SatSolver implements SatFactory {
             case 2:
                 int l0 = ps.get(0);
                 int l1 = ps.get(1);
-                TIntArrayList i0 = implies_.get(negated(l0));
-                if (i0 == null) {
-                    i0 = new TIntArrayList();
-                    implies_.put(negated(l0), i0);
-                }
-                i0.add(l1);
-
-                TIntArrayList i1 = implies_.get(negated(l1));
-                if (i1 == null) {
-                    i1 = new TIntArrayList();
-                    implies_.put(negated(l1), i1);
-                }
-                i1.add(l0);
+                imply(negated(l0), l1);
+                imply(negated(l1), l0);
+                nBinaries_++;
                 break;
             default:
-                Clause cr = new Clause(ps.toArray());
+                int cr = allocClause(ps.toArray());
                 clauses.add(cr);
                 attachClause(cr);
                 break;
@@ -172,7 +224,7 @@ public class SatSolver implements SatFactory {
                 dynUncheckedEnqueue(ps[0]);
                 return (ok_ = propagate());
             default:
-                Clause cr = new Clause(ps);
+                int cr = allocClause(ps);
                 learnts.add(cr);
                 attachClause(cr);
                 break;
@@ -180,6 +232,62 @@ public class SatSolver implements SatFactory {
         return true;
     }
 
+    /**
+     * Add a clause of two literals or more during resolution, without propagating it.
+     * The literals are reordered so that the watched ones are, in that order,
+     * true literals, free literals and false literals assigned last.
+     * The clause is added only if it can be watched by two literals that are not false,
+     * otherwise it may not be correctly watched after backtrack.
+     * @param ps clause to add, reordered in place
+     * @return <tt>false</tt> if the clause is satisfied, unit or falsified by only one literal
+     * under the current assignment, in which case it is not added and <code>ps[0]</code> is the literal to assert
+     */
+    public boolean learnWatchedClause(int... ps) {
+        assert ps.length > 1;
+        watchFirst(ps, 0);
+        watchFirst(ps, 1);
+        if (litValue(ps[1]) == FALSE) {
+            return false;
+        }
+        int cr = allocClause(ps);
+        learnts.add(cr);
+        attachClause(cr);
+        return true;
+    }
+
+    // Move to position 'from' the literal of 'ps[from..]' that suits best to be watched.
+    private void watchFirst(int[] ps, int from) {
+        int best = from;
+        int rank = watchRank(ps[from]);
+        for (int i = from + 1; i < ps.length; i++) {
+            int r = watchRank(ps[i]);
+            if (r > rank) {
+                best = i;
+                rank = r;
+            }
+        }
+        int l = ps[from];
+        ps[from] = ps[best];
+        ps[best] = l;
+    }
+
+    // True literals first, then free ones, then false ones by decreasing position in the trail.
+    private int watchRank(int l) {
+        switch (litValue(l)) {
+            case TRUE:
+                return Integer.MAX_VALUE;
+            case UNDEF:
+                return Integer.MAX_VALUE - 1;
+            default:
+                int x = var(l);
+                int c = trail_.size() - 1;
+                while (var(trail_.getQuick(c)) != x) {
+                    c--;
+                }
+                return c;
+        }
+    }
+
     // Add the empty clause, making the solver contradictory.
     boolean addEmptyClause() {
         temporary_add_vector_.resetQuick();
@@ -220,8 +328,8 @@ public class SatSolver implements SatFactory {
     public void cancelUntil(int level) {
         if (trailMarker() > level) {
             for (int c = trail_.size() - 1; c >= trail_markers_.get(level); c--) {
-                int x = var(trail_.get(c));
-                assignment_.put(x, Boolean.kUndefined);
+                int x = var(trail_.getQuick(c));
+                assignment_[x + offset_] = UNDEF;
             }
             qhead_ = trail_markers_.get(level);
             trail_.remove(trail_markers_.get(level), trail_.size() - trail_markers_.get(level));
@@ -236,13 +344,18 @@ public class SatSolver implements SatFactory {
 
     // The current value of a variable.
     Boolean valueVar(int x) {
-        return assignment_.get(x);
+        return BOOLEANS[assignment_[x + offset_]];
     }
 
     // The current value of a literal.
     Boolean valueLit(int l) {
-        Boolean b = assignment_.get(var(l));
-        return b == Boolean.kUndefined ? Boolean.kUndefined : xor(b, sign(l));
+        return BOOLEANS[litValue(l)];
+    }
+
+    // The current value of a literal, as a byte.
+    private byte litValue(int l) {
+        byte b = assignment_[(l >> 1) + offset_];
+        return b == UNDEF ? UNDEF : (byte) (b ^ (l & 1));
     }
 
     // The current number of original clauses.
@@ -255,6 +368,46 @@ public class SatSolver implements SatFactory {
         return learnts.size();
     }
 
+    // The current number of binary clauses.
+    int nBinaries() {
+        return nBinaries_;
+    }
+
+    /**
+     * @param cr reference of a clause, as stored in {@link #clauses} or {@link #learnts}
+     * @return the number of literals in the clause
+     */
+    public int clauseSize(int cr) {
+        return arena_[cr];
+    }
+
+    /**
+     * @param cr reference of a clause, as stored in {@link #clauses} or {@link #learnts}
+     * @param i  position of a literal in the clause
+     * @return the <i>i</i><sup>th</sup> literal of the clause
+     */
+    public int clauseLiteral(int cr, int i) {
+        return arena_[cr + 1 + i];
+    }
+
+    /**
+     * @param lit a literal
+     * @return the number of literals set to true when <i>lit</i> becomes true, because of binary clauses
+     */
+    public int nImplies(int lit) {
+        int l = lit + 2 * offset_;
+        return l < nImplies_.length ? nImplies_[l] : 0;
+    }
+
+    /**
+     * @param lit a literal
+     * @param i   an index lower than {@link #nImplies(int)}
+     * @return the <i>i</i><sup>th</sup> literal set to true when <i>lit</i> becomes true
+     */
+    public int implied(int lit, int i) {
+        return implies_[lit + 2 * offset_][i];
+    }
+
     // Propagates one literal, returns true if successful, false in case
     // of failure.
     public boolean propagateOneLiteral(int lit) {
@@ -273,7 +426,7 @@ public class SatSolver implements SatFactory {
         pushTrailMarker();
         // Unchecked enqueue
         assert valueLit(lit) == Boolean.kUndefined;
-        assignment_.put(var(lit), makeBoolean(!sign(lit)));
+        assignment_[var(lit) + offset_] = (byte) (lit & 1);
         trail_.add(lit);
         return propagate();
     }
@@ -291,10 +444,11 @@ public class SatSolver implements SatFactory {
     // Enqueue a literal. Assumes value of literal is undefined.
     void uncheckedEnqueue(int l) {
         assert valueLit(l) == Boolean.kUndefined;
-        if (assignment_.get(var(l)) == Boolean.kUndefined) {
+        int x = var(l) + offset_;
+        if (assignment_[x] == UNDEF) {
             touched_variables_.add(l);
         }
-        assignment_.put(var(l), sign(l) ? Boolean.kFalse : Boolean.kTrue);
+        assignment_[x] = (byte) (l & 1);
         trail_.add(l);
     }
 
@@ -305,56 +459,124 @@ public class SatSolver implements SatFactory {
 
     // Test if fact 'p' contradicts current state, Enqueue otherwise.
     private boolean enqueue(int l) {
-        if (valueLit(l) != Boolean.kUndefined) {
-            return valueLit(l) != Boolean.kFalse;
+        byte b = litValue(l);
+        if (b != UNDEF) {
+            return b != FALSE;
         } else {
             uncheckedEnqueue(l);
             return true;
         }
     }
 
-    // Attach a clause to watcher lists.
-    private void attachClause(Clause cr) {
-        assert cr.size() > 1;
-        ArrayList<Watcher> l0 = watches_.get(negated(cr._g(0)));
-        if (l0 == null) {
-            l0 = new ArrayList<>();
-            watches_.put(negated(cr._g(0)), l0);
+    // Store the clause in the arena, returns its reference.
+    private int allocClause(int[] ps) {
+        if (wasted_ > arenaSize_ / 2) {
+            garbageCollect();
+        }
+        int cr = arenaSize_;
+        int ns = cr + ps.length + 1;
+        if (ns > arena_.length) {
+            arena_ = Arrays.copyOf(arena_, Math.max(ns, arena_.length * 3 / 2));
+        }
+        arena_[cr] = ps.length;
+        System.arraycopy(ps, 0, arena_, cr + 1, ps.length);
+        arenaSize_ = ns;
+        return cr;
+    }
+
+    // Compact the arena, relocating attached clauses.
+    private void garbageCollect() {
+        int[] from = arena_;
+        arena_ = new int[Math.max(64, arenaSize_ - wasted_)];
+        arenaSize_ = 0;
+        wasted_ = 0;
+        relocate(from, clauses);
+        relocate(from, learnts);
+        // the header of a relocated clause now stores its new reference
+        for (int l = 0; l < watches_.length; l++) {
+            int[] ws = watches_[l];
+            for (int i = 0; i < nWatches_[l]; i += 2) {
+                ws[i] = from[ws[i]];
+            }
         }
-        ArrayList<Watcher> l1 = watches_.get(negated(cr._g(1)));
-        if (l1 == null) {
-            l1 = new ArrayList<>();
-            watches_.put(negated(cr._g(1)), l1);
+    }
+
+    private void relocate(int[] from, TIntArrayList refs) {
+        for (int i = 0; i < refs.size(); i++) {
+            int cr = refs.getQuick(i);
+            int size = from[cr];
+            int ncr = arenaSize_;
+            System.arraycopy(from, cr, arena_, ncr, size + 1);
+            arenaSize_ += size + 1;
+            from[cr] = ncr;
+            refs.setQuick(i, ncr);
         }
-        l0.add(new Watcher(cr, cr._g(1)));
-        l1.add(new Watcher(cr, cr._g(0)));
     }
 
-    public void detachLearnt(int ci) {
-        Clause cr = learnts.get(ci);
-        learnts.remove(ci);
+    // Add 'l' to the literals implied by 'p'.
+    private void imply(int p, int l) {
+        int lp = p + 2 * offset_;
+        int[] is = implies_[lp];
+        int n = nImplies_[lp];
+        if (is == null) {
+            implies_[lp] = is = new int[4];
+        } else if (n == is.length) {
+            implies_[lp] = is = Arrays.copyOf(is, n * 2);
+        }
+        is[n] = l;
+        nImplies_[lp] = n + 1;
+    }
 
-        ArrayList<Watcher> ws = watches_.get(negated(cr._g(0)));
-        int i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+    // Add the clause 'cr' to the watchers of 'p', with 'blocker' as blocker.
+    private void watch(int p, int cr, int blocker) {
+        int lp = p + 2 * offset_;
+        int[] ws = watches_[lp];
+        int n = nWatches_[lp];
+        if (ws == null) {
+            watches_[lp] = ws = new int[8];
+        } else if (n == ws.length) {
+            watches_[lp] = ws = Arrays.copyOf(ws, n * 2);
         }
-        assert i > -1;
-        ws.remove(i);
-        ws = watches_.get(negated(cr._g(1)));
-        i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+        ws[n] = cr;
+        ws[n + 1] = blocker;
+        nWatches_[lp] = n + 2;
+    }
+
+    // Remove the clause 'cr' from the watchers of 'p'.
+    private void unwatch(int p, int cr) {
+        int lp = p + 2 * offset_;
+        int[] ws = watches_[lp];
+        int n = nWatches_[lp];
+        int i = n - 2;
+        while (i >= 0 && ws[i] != cr) {
+            i -= 2;
         }
         assert i > -1;
-        ws.remove(i);
+        System.arraycopy(ws, i + 2, ws, i, n - i - 2);
+        nWatches_[lp] = n - 2;
+    }
+
+    // Attach a clause to watcher lists.
+    private void attachClause(int cr) {
+        assert arena_[cr] > 1;
+        int l0 = arena_[cr + 1];
+        int l1 = arena_[cr + 2];
+        watch(negated(l0), cr, l1);
+        watch(negated(l1), cr, l0);
+    }
+
+    public void detachLearnt(int ci) {
+        int cr = learnts.removeAt(ci);
+        unwatch(negated(arena_[cr + 1]), cr);
+        unwatch(negated(arena_[cr + 2]), cr);
+        wasted_ += arena_[cr] + 1;
     }
 
     // Perform unit propagation. returns true upon success.
     boolean propagate() {
         boolean result = true;
         while (qhead_ < trail_.size()) {
-            int p = trail_.get(qhead_++);
+            int p = trail_.getQuick(qhead_++);
             // Propagate the implies first.
             if(!propagateImplies(p)){
                 return false;
@@ -367,48 +589,51 @@ public class SatSolver implements SatFactory {
     private boolean propagateClauses(int p) {
         boolean result = true;
         // 'p' is enqueued fact to propagate.
-        ArrayList<Watcher> ws = watches_.get(p);
+        int lp = p + 2 * offset_;
+        int[] ws = watches_[lp];
+        int n = nWatches_[lp];
+        final int[] arena = arena_;
+        final int false_lit = negated(p);
 
         int i = 0;
         int j = 0;
-        while (ws != null && i < ws.size()) {
+        while (i < n) {
             // Try to avoid inspecting the clause:
-            int blocker = ws.get(i).blocker;
-            if (valueLit(blocker) == Boolean.kTrue) {
-                ws.set(j++, ws.get(i++));
+            int cr = ws[i];
+            int blocker = ws[i + 1];
+            if (litValue(blocker) == TRUE) {
+                ws[j++] = cr;
+                ws[j++] = blocker;
+                i += 2;
                 continue;
             }
 
             // Make sure the false literal is data[1]:
-            Clause cr = ws.get(i).clause;
-            final int false_lit = negated(p);
-            if (cr._g(0) == false_lit) {
-                cr._s(0, cr._g(1));
-                cr._s(1, false_lit);
+            int c0 = cr + 1;
+            if (arena[c0] == false_lit) {
+                arena[c0] = arena[c0 + 1];
+                arena[c0 + 1] = false_lit;
             }
-            assert (cr._g(1) == false_lit);
-            i++;
+            assert (arena[c0 + 1] == false_lit);
+            i += 2;
 
             // If 0th watch is true, then clause is already satisfied.
-            final int first = cr._g(0);
-            Watcher w = new Watcher(cr, first);
-            if (first != blocker && valueLit(first) == Boolean.kTrue) {
-                ws.set(j++, w);
+            final int first = arena[c0];
+            if (first != blocker && litValue(first) == TRUE) {
+                ws[j++] = cr;
+                ws[j++] = first;
                 continue;
             }
 
             // Look for new watch:
             boolean cont = false;
-            for (int k = 2; k < cr.size(); k++) {
-                if (valueLit(cr._g(k)) != Boolean.kFalse) {
-                    cr._s(1, cr._g(k));
-                    cr._s(k, false_lit);
-                    ArrayList<Watcher> lw = watches_.get(negated(cr._g(1)));
-                    if (lw == null) {
-                        lw = new ArrayList<>();
-                        watches_.put(negated(cr._g(1)), lw);
-                    }
-                    lw.add(w);
+            int end = c0 + arena[cr];
+            for (int k = c0 + 2; k < end; k++) {
+                int l = arena[k];
+                if (litValue(l) != FALSE) {
+                    arena[c0 + 1] = l;
+                    arena[k] = false_lit;
+                    watch(negated(l), cr, first);
                     cont = true;
                     break;
                 }
@@ -416,13 +641,14 @@ public class SatSolver implements SatFactory {
 
             // Did not find watch -- clause is unit under assignment:
             if (!cont) {
-                ws.set(j++, w);
-                if (valueLit(first) == Boolean.kFalse) {
+                ws[j++] = cr;
+                ws[j++] = first;
+                if (litValue(first) == FALSE) {
                     result = false;
                     qhead_ = trail_.size();
                     // Copy the remaining watches_:
-                    while (i < ws.size()) {
-                        ws.set(j++, ws.get(i++));
+                    while (i < n) {
+                        ws[j++] = ws[i++];
                     }
                     touched_variables_.add(first);
                 } else {
@@ -430,22 +656,18 @@ public class SatSolver implements SatFactory {
                 }
             }
         }
-        if (ws != null) {
-            if (ws.size() > j) {
-                ws.subList(j, ws.size()).clear();
-            }
-        }
+        nWatches_[lp] = j;
         return result;
     }
 
     private boolean propagateImplies(int p) {
-        TIntList to_add = implies_.get(p);
-        if (to_add != null) {
-            for (int i = 0; i < to_add.size(); ++i) {
-                if (!enqueue(to_add.get(i))) {
-                    touched_variables_.add(to_add.get(i));
-                    return false;
-                }
+        int lp = p + 2 * offset_;
+        int[] to_add = implies_[lp];
+        int n = nImplies_[lp];
+        for (int i = 0; i < n; ++i) {
+            if (!enqueue(to_add[i])) {
+                touched_variables_.add(to_add[i]);
+                return false;
             }
         }
         return true;
@@ -487,81 +709,6 @@ public class SatSolver implements SatFactory {
         return (l >> 1);
     }
 
-    /**
-     * inline Boolean MakeBoolean(bool x) { return Boolean(!x); }
-     */
-    private static Boolean makeBoolean(boolean b) {
-        return (b ? Boolean.kTrue : Boolean.kFalse);
-    }
-
-    /**
-     * inline Boolean Xor(Boolean a, bool b) {
-     * return Boolean((uint8)(a.value() ^ (uint8) b));
-     * }
-     */
-    private static Boolean xor(Boolean a, boolean b) {
-        return Boolean.make((byte) (a.value() ^ (b ? 1 : 0)));
-    }
-
-
-    /**
-     * Clause -- a simple class for representing a clause
-     * <br/>
-     *
-     * @author Charles Prud'homme, Laurent Perron
-     * @since 12/07/13
-     */
-    public static class Clause {
-        private int[] literals_;
-
-        Clause(int[] ps) {
-            literals_ = ps.clone();
-        }
-
-        public int size() {
-            return literals_.length;
-        }
-
-        public int _g(int i) {
-            return literals_[i];
-        }
-
-        int _s(int pos, int l) {
-            return literals_[pos] = l;
-        }
-
-        int pos(int l) {
-            int i = literals_.length - 1;
-            while (i >= 0 && literals_[i] != l) {
-                i--;
-            }
-            return i;
-        }
-
-        public String toString() {
-            return Arrays.toString(literals_);
-        }
-    }
-
-    /**
-     * // A watcher represent a clause attached to a literal.
-     * <br/>
-     * (or-tools, booleans.cc, ty L. Perron).
-     *
-     * @author Charles Prud'homme
-     * @since 12/07/13
-     */
-    static class Watcher {
-
-        Clause clause;
-        int blocker;
-
-        Watcher(final Clause cr, int l) {
-            this.clause = cr;
-            this.blocker = l;
-        }
-    }
-
     /**
      * <br/>
      * (or-tools, booleans.cc, ty L. Perron).
@@ -599,6 +746,8 @@ public class SatSolver implements SatFactory {
         this.ok_ = o.ok_;
         this.qhead_ = o.qhead_;
         this.num_vars_ = o.num_vars_;
+        this.sec_vars_ = o.sec_vars_;
+        this.offset_ = o.offset_;
         this.trail_.resetQuick();
         this.trail_.addAll(o.trail_);
         this.trail_markers_.resetQuick();
@@ -607,45 +756,33 @@ public class SatSolver implements SatFactory {
         this.touched_variables_.addAll(o.touched_variables_);
         this.temporary_add_vector_.resetQuick();
         this.temporary_add_vector_.addAll(o.temporary_add_vector_);
-        for (int k : o.assignment_.keys()) {
-            this.assignment_.putIfAbsent(k, o.assignment_.get(k));
-        }
-        for (int k : o.implies_.keys()) {
-            TIntArrayList tl = this.implies_.get(k);
-            if(tl == null){
-                tl = new TIntArrayList();
-                this.implies_.put(k, tl);
-            }else{
-                tl.resetQuick();
-            }
-            tl.addAll(o.implies_.get(k));
-        }
-        final HashMap<Clause, Clause> map = new HashMap<>();
-        this.clauses.clear();
-        for (Clause cl : o.clauses) {
-            Clause _cl = new Clause(cl.literals_);
-            map.put(cl, _cl);
-            this.clauses.add(_cl);
-        }
-        this.learnts.clear();
-        for (Clause cl : o.learnts) {
-            Clause _cl = new Clause(cl.literals_);
-            map.put(cl, _cl);
-            this.learnts.add(_cl);
-        }
-        this.watches_.clear();
-        for (int k : o.watches_.keys()) {
-            ArrayList<Watcher> ws = o.watches_.get(k);
-            ArrayList<Watcher> _ws = new ArrayList<>(ws.size());
-            for (Watcher w : ws) {
-                _ws.add(new Watcher(map.get(w.clause), w.blocker));
+        this.assignment_ = o.assignment_.clone();
+        this.implies_ = deepCopy(o.implies_);
+        this.nImplies_ = o.nImplies_.clone();
+        this.nBinaries_ = o.nBinaries_;
+        this.arena_ = o.arena_.clone();
+        this.arenaSize_ = o.arenaSize_;
+        this.wasted_ = o.wasted_;
+        this.clauses.resetQuick();
+        this.clauses.addAll(o.clauses);
+        this.learnts.resetQuick();
+        this.learnts.addAll(o.learnts);
+        this.watches_ = deepCopy(o.watches_);
+        this.nWatches_ = o.nWatches_.clone();
+    }
+
+    private static int[][] deepCopy(int[][] lists) {
+        int[][] copy = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i] != null) {
+                copy[i] = lists[i].clone();
             }
-            this.watches_.put(k, _ws);
         }
+        return copy;
     }
 
     public long nbclauses() {
-        return clauses.size() + learnts.size() + implies_.size() / 2;
+        return clauses.size() + learnts.size() + nBinaries_;
     }
 
     public long numvars() {
@@ -654,4 +791,4 @@ public class SatSolver implements SatFactory {
 
 
 
-}
\ No newline at end of file
+}
@@ -53,18 +53,18 @@ public class SatSolverTest {
 
     @Test(groups = "1s")
     public void testAddClause() throws Exception {
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
 
         Assert.assertTrue(sat.addClause(SatSolver.makeLiteral(a, true)));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         Assert.assertTrue(sat.addClause(SatSolver.makeLiteral(b, false)));
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kTrue);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kTrue);
         Assert.assertEquals(sat.qhead_, 2);
         Assert.assertEquals(sat.clauses.size(), 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.nBinaries(), 0);
     }
 
     @Test(groups = "1s")
@@ -82,17 +82,17 @@ public class SatSolverTest {
         int ap = SatSolver.makeLiteral(a, true);
         int bp = SatSolver.makeLiteral(b, true);
         Assert.assertTrue(sat.addClause(ap,bp));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.clauses.size(), 0);
-        Assert.assertEquals(sat.implies_.size(), 2);
+        Assert.assertEquals(sat.nBinaries(), 1);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertNull(sat.implies_.get(ap));
-        Assert.assertNull(sat.implies_.get(bp));
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(ap)).size(), 1);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(ap)).get(0), bp);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(bp)).size(), 1);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(bp)).get(0), ap);
+        Assert.assertEquals(sat.nImplies(ap), 0);
+        Assert.assertEquals(sat.nImplies(bp), 0);
+        Assert.assertEquals(sat.nImplies(SatSolver.negated(ap)), 1);
+        Assert.assertEquals(sat.implied(SatSolver.negated(ap), 0), bp);
+        Assert.assertEquals(sat.nImplies(SatSolver.negated(bp)), 1);
+        Assert.assertEquals(sat.implied(SatSolver.negated(bp), 0), ap);
     }
 
     @Test(groups = "1s")
@@ -101,11 +101,11 @@ public class SatSolverTest {
         int bp = SatSolver.makeLiteral(b, true);
         int cp = SatSolver.makeLiteral(c, true);
         Assert.assertTrue(sat.addClause(ap,bp, cp));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.nBinaries(), 0);
         Assert.assertEquals(sat.clauses.size(), 1);
     }
 
@@ -116,12 +116,12 @@ public class SatSolverTest {
         int cp = SatSolver.makeLiteral(c, true);
         int dp = SatSolver.makeLiteral(d, true);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{ap,bp, cp, dp})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.nBinaries(), 0);
         Assert.assertEquals(sat.clauses.size(), 1);
     }
 
@@ -129,12 +129,12 @@ public class SatSolverTest {
     public void testAddClause4() throws Exception {
         int a1 = SatSolver.makeLiteral(a, true);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{a1,a1,a1, a1})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 1);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.nBinaries(), 0);
         Assert.assertEquals(sat.clauses.size(), 0);
     }
 
@@ -143,12 +143,12 @@ public class SatSolverTest {
         int a1 = SatSolver.makeLiteral(a, true);
         int a2 = SatSolver.makeLiteral(a, false);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{a1,a2})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.nBinaries(), 0);
         Assert.assertEquals(sat.clauses.size(), 0);
     }
 
@@ -156,11 +156,11 @@ public class SatSolverTest {
     public void testAddClause6() throws Exception {
         int ap = SatSolver.makeLiteral(a, true);
         sat.uncheckedEnqueue(ap);
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         int an = SatSolver.makeLiteral(a, false);
         Assert.assertFalse(sat.addClause(an));
         sat.propagate();
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         Assert.assertEquals(sat.qhead_, 1);
         Assert.assertFalse(sat.ok_);
     }
@@ -349,11 +349,6 @@ public class SatSolverTest {
 
     }
 
-    @Test(groups = "1s")
-    public void testDetachLearnt() throws Exception {
-
-    }
-
     @Test(groups = "1s")
     public void testPropagate() throws Exception {
         sat.addBoolOrArrayEqualTrue(a, b, c, d);
@@ -731,4 +726,78 @@ public class SatSolverTest {
         Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s")
+    public void testDetachLearnt() throws Exception {
+        int e = sat.newVariable();
+        int ap = SatSolver.makeLiteral(a, true);
+        int bp = SatSolver.makeLiteral(b, true);
+        int cp = SatSolver.makeLiteral(c, true);
+        int dn = SatSolver.makeLiteral(d, false);
+        int en = SatSolver.makeLiteral(e, false);
+        // learn and forget enough clauses to compact the arena
+        Assert.assertTrue(sat.learnClause(ap, bp, en));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(sat.learnClause(ap, bp, cp, dn));
+            sat.detachLearnt(1);
+        }
+        Assert.assertEquals(sat.nLearnt(), 1);
+        int cr = sat.learnts.get(0);
+        Assert.assertEquals(sat.clauseSize(cr), 3);
+        sat.propagateOneLiteral(SatSolver.makeLiteral(a, false));
+        sat.propagateOneLiteral(SatSolver.makeLiteral(b, false));
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(e), SatSolver.Boolean.kTrue);
+        sat.cancelUntil(0);
+        Assert.assertEquals(sat.valueVar(e), SatSolver.Boolean.kUndefined);
+    }
+
+    @Test(groups = "1s")
+    public void testSecretVariable() throws Exception {
+        int ap = SatSolver.makeLiteral(a, true);
+        int bp = SatSolver.makeLiteral(b, true);
+        int cp = SatSolver.makeLiteral(c, true);
+        int s = sat.newSecretVariable();
+        Assert.assertTrue(s < 0);
+        Assert.assertEquals(sat.valueVar(s), SatSolver.Boolean.kUndefined);
+        int sn = SatSolver.makeLiteral(s, false);
+        Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{ap, bp, sn})));
+        Assert.assertTrue(sat.addClause(SatSolver.negated(sn), cp));
+        int e = sat.newVariable();
+        Assert.assertEquals(e, 4);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        sat.propagateOneLiteral(SatSolver.makeLiteral(c, false));
+        Assert.assertEquals(sat.valueVar(s), SatSolver.Boolean.kFalse);
+        sat.propagateOneLiteral(SatSolver.makeLiteral(a, false));
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(e), SatSolver.Boolean.kUndefined);
+    }
+
+    @Test(groups = "1s")
+    public void testLearnWatchedClause() throws Exception {
+        int ap = SatSolver.makeLiteral(a, true);
+        int bp = SatSolver.makeLiteral(b, true);
+        int cp = SatSolver.makeLiteral(c, true);
+        int dp = SatSolver.makeLiteral(d, true);
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(ap)));
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(bp)));
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(dp)));
+        int[] ps = {ap, bp, cp, dp};
+        // c is free, d is the false literal assigned last: the clause is unit
+        Assert.assertFalse(sat.learnWatchedClause(ps));
+        Assert.assertEquals(ps[0], cp);
+        Assert.assertEquals(ps[1], dp);
+        Assert.assertEquals(sat.nLearnt(), 0);
+        sat.cancelUntil(2);
+        Assert.assertEquals(sat.valueLit(dp), SatSolver.Boolean.kUndefined);
+        // c and d are free, the clause is watched
+        Assert.assertTrue(sat.learnWatchedClause(ps));
+        Assert.assertEquals(sat.nLearnt(), 1);
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(cp)));
+        Assert.assertEquals(sat.valueLit(dp), SatSolver.Boolean.kTrue);
+        // d is true but assigned after b
+        ps = new int[]{bp, dp};
+        Assert.assertFalse(sat.learnWatchedClause(ps));
+        Assert.assertEquals(ps[0], dp);
+    }
+}
@@ -21,6 +21,8 @@ module org.chocosolver.solver {
     exports org.chocosolver.memory.trailing.trail.flatten;
     exports org.chocosolver.memory.trailing.trail.chunck;
     exports org.chocosolver.memory.structure;
+    exports org.chocosolver.memory.copying;
+    exports org.chocosolver.memory.copying.store;
 
     exports org.chocosolver.cutoffseq;
 
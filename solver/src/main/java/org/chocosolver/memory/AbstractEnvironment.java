@@ -12,7 +12,7 @@ package org.chocosolver.memory;
 import org.chocosolver.memory.structure.BasicIndexedBipartiteSet;
 import org.chocosolver.memory.structure.OneWordS32BitSet;
 import org.chocosolver.memory.structure.OneWordS64BitSet;
-import org.chocosolver.memory.structure.S64BitSet;
+import org.chocosolver.memory.structure.PackedS64BitSet;
 
 /**
  * Super class of all environments !
@@ -59,7 +59,7 @@ public abstract class AbstractEnvironment implements IEnvironment {
         } else if (size < 64) {
             return new OneWordS64BitSet(this, size);
         } else {
-            return new S64BitSet(this, size);
+            return new PackedS64BitSet(this, size);
         }
     }
 
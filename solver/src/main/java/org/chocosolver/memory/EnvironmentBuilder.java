@@ -9,6 +9,7 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
@@ -178,6 +179,16 @@ public class EnvironmentBuilder {
         return env;
     }
 
+    /**
+     * Build a copying environment, which copies the values of all backtrackable primitives
+     * on each world push instead of trailing them.
+     * Trails declared in this builder are ignored, except world number, world size and load factor.
+     * @return the resulting environment
+     */
+    public EnvironmentCopying buildCopying(){
+        return new EnvironmentCopying(worldsize, worldnumber, worldsize, loadfactor);
+    }
+
     /**
      * Build a chunk environment
      * @return {@code this}
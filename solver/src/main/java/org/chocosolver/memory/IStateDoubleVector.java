@@ -89,6 +89,15 @@ public abstract class IStateDoubleVector  {
         return index < size.get() && index >= 0;
     }
 
+    /**
+     * Returns the current size of the vector.
+     *
+     * @return the number of elements in the vector
+     */
+    public final int size() {
+        return size.get();
+    }
+
     /**
      * Unsafe setter => don't do bound verification
      *
@@ -70,6 +70,15 @@ public abstract class IStateIntVector  {
         return index < size.get() && index >= 0;
     }
 
+    /**
+     * Returns the current size of the vector.
+     *
+     * @return the number of elements in the vector
+     */
+    public final int size() {
+        return size.get();
+    }
+
     /**
      * Adds a new search at the end of the vector.
      *
@@ -0,0 +1,213 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.*;
+import org.chocosolver.memory.copying.store.StoredBoolCopy;
+import org.chocosolver.memory.copying.store.StoredDoubleCopy;
+import org.chocosolver.memory.copying.store.StoredIntCopy;
+import org.chocosolver.memory.copying.store.StoredLongCopy;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.chocosolver.memory.trailing.trail.IOperationTrail;
+import org.chocosolver.memory.trailing.trail.flatten.OperationTrail;
+
+/**
+ * An environment which manages backtrackable primitives by copying.
+ * <p/>
+ * Instead of saving the former value of a primitive each time it is modified in a new world,
+ * the values of all primitives are copied, in contiguous arrays, each time a world is pushed,
+ * and restored from these copies each time a world is popped.
+ * This is worthwhile when primitives are few and frequently modified (e.g., many small-domain variables
+ * and deep search trees), as modifications do not pay for any stamp check.
+ * <p/>
+ * This environment is hybrid: {@link IOperation}s, as well as vector entries, are still trailed.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class EnvironmentCopying extends AbstractEnvironment {
+
+    /**
+     * The initial number of primitives a store can handle.
+     */
+    public static final int NBOBJECTS = 256;
+
+    private final StoredIntCopy intCopy;
+    private final StoredBoolCopy boolCopy;
+    private final StoredLongCopy longCopy;
+    private final StoredDoubleCopy doubleCopy;
+    private final IOperationTrail operationTrail;
+
+    /**
+     * Contains all the {@link org.chocosolver.memory.IStorage} for
+     * storing different kinds of data.
+     */
+    private final IStorage[] stores;
+
+    /**
+     * Create a copying environment.
+     *
+     * @param nObjects   initial number of primitives per type
+     * @param nWorlds    initial number of worlds
+     * @param nUpdates   initial number of operations that can be trailed
+     * @param loadfactor load factor for structures
+     */
+    public EnvironmentCopying(int nObjects, int nWorlds, int nUpdates, double loadfactor) {
+        intCopy = new StoredIntCopy(nObjects, nWorlds, loadfactor);
+        boolCopy = new StoredBoolCopy(nObjects, nWorlds, loadfactor);
+        longCopy = new StoredLongCopy(nObjects, nWorlds, loadfactor);
+        doubleCopy = new StoredDoubleCopy(nObjects, nWorlds, loadfactor);
+        operationTrail = new OperationTrail(nUpdates, nWorlds, loadfactor);
+        stores = new IStorage[]{intCopy, boolCopy, longCopy, doubleCopy, operationTrail};
+    }
+
+    /**
+     * Create a copying environment with default parameters.
+     */
+    public EnvironmentCopying() {
+        this(NBOBJECTS, EnvironmentTrailing.NBWORLDS, EnvironmentTrailing.NBUPATES, EnvironmentTrailing.LOADFACTOR);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPush() {
+        timestamp++;
+        final int wi = currentWorld + 1;
+        for (int i = 0; i < stores.length; i++) {
+            stores[i].worldPush(wi);
+        }
+        currentWorld++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPop() {
+        timestamp++;
+        final int wi = currentWorld;
+        for (int i = stores.length - 1; i >= 0; i--) {
+            stores[i].worldPop(wi);
+        }
+        currentWorld--;
+        assert currentWorld >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldCommit() {
+        if (currentWorld == 0) {
+            throw new IllegalStateException("Commit in world 0?");
+        }
+        final int wi = currentWorld;
+        for (int i = stores.length - 1; i >= 0; i--) {
+            stores[i].worldCommit(wi);
+        }
+        currentWorld--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt() {
+        return makeInt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new RcInt(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new RcBool(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntVector makeIntVector(final int size, final int initialValue) {
+        return new RcIntVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDoubleVector makeDoubleVector(final int size, final double initialValue) {
+        return new RcDoubleVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat() {
+        return makeFloat(Double.NaN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat(final double initialValue) {
+        return new RcDouble(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong() {
+        return makeLong(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new RcLong(this, init);
+    }
+
+    public StoredIntCopy getIntCopy() {
+        return intCopy;
+    }
+
+    public StoredBoolCopy getBoolCopy() {
+        return boolCopy;
+    }
+
+    public StoredLongCopy getLongCopy() {
+        return longCopy;
+    }
+
+    public StoredDoubleCopy getDoubleCopy() {
+        return doubleCopy;
+    }
+
+    @Override
+    public void save(IOperation operation) {
+        operationTrail.savePreviousState(operation);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateDoubleVector;
+
+/**
+ * Implements a backtrackable double vector for {@link EnvironmentCopying}.
+ * <p>
+ * The size of the vector is a recomputable int, so it is copied like any other one.
+ * Since entries may be numerous but seldom modified, their former values are saved as
+ * operations, at most once per entry and per world.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class RcDoubleVector extends IStateDoubleVector {
+
+    /**
+     * Contains time stamps for all entries (the world index of the last update for each entry)
+     */
+    private final int[] worldStamps;
+
+    /**
+     * Constructs a recomputable vector with an initial size, and initial values.
+     *
+     * @param env          The current environment.
+     * @param initialSize  The initial size.
+     * @param initialValue The initial common value.
+     */
+    public RcDoubleVector(EnvironmentCopying env, int initialSize, double initialValue) {
+        super(env, initialSize, initialValue);
+        this.worldStamps = new int[elementData.length];
+        int w = env.getWorldIndex();
+        for (int i = 0; i < initialSize; i++) {
+            this.worldStamps[i] = w;
+        }
+    }
+
+    @Override
+    public double quickSet(int index, double val) {
+        assert (rangeCheck(index));
+        final double oldValue = elementData[index];
+        if (val != oldValue) {
+            final int oldStamp = worldStamps[index];
+            final int wi = environment.getWorldIndex();
+            if (oldStamp < wi) {
+                environment.save(() -> {
+                    elementData[index] = oldValue;
+                    worldStamps[index] = oldStamp;
+                });
+                worldStamps[index] = wi;
+            }
+            elementData[index] = val;
+        }
+        return oldValue;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateIntVector;
+
+/**
+ * Implements a backtrackable int vector for {@link EnvironmentCopying}.
+ * <p>
+ * The size of the vector is a recomputable int, so it is copied like any other one.
+ * Since entries may be numerous but seldom modified, their former values are saved as
+ * operations, at most once per entry and per world.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class RcIntVector extends IStateIntVector {
+
+    /**
+     * Contains time stamps for all entries (the world index of the last update for each entry)
+     */
+    private int[] worldStamps;
+
+    /**
+     * Constructs a recomputable vector with an initial size, and initial values.
+     *
+     * @param env          The current environment.
+     * @param initialSize  The initial size.
+     * @param initialValue The initial common value.
+     */
+    public RcIntVector(EnvironmentCopying env, int initialSize, int initialValue) {
+        super(env, initialSize, initialValue);
+        this.worldStamps = new int[elementData.length];
+        int w = env.getWorldIndex();
+        for (int i = 0; i < initialSize; i++) {
+            this.worldStamps[i] = w;
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (minCapacity > oldCapacity) {
+            int[] oldData = elementData;
+            int[] oldStamps = worldStamps;
+            int newCapacity = Math.max(minCapacity, (oldCapacity * 3) / 2 + 1);
+            elementData = new int[newCapacity];
+            worldStamps = new int[newCapacity];
+            System.arraycopy(oldData, 0, elementData, 0, size.get());
+            System.arraycopy(oldStamps, 0, worldStamps, 0, size.get());
+        }
+    }
+
+    @Override
+    public void add(int i) {
+        int newsize = size.get() + 1;
+        ensureCapacity(newsize);
+        size.set(newsize);
+        elementData[newsize - 1] = i;
+        worldStamps[newsize - 1] = environment.getWorldIndex();
+    }
+
+    @Override
+    public int set(int index, int val) {
+        if (rangeCheck(index)) {
+            return quickSet(index, val);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
+    }
+
+    @Override
+    public int quickSet(int index, int val) {
+        assert (rangeCheck(index));
+        final int oldValue = elementData[index];
+        if (val != oldValue) {
+            final int oldStamp = worldStamps[index];
+            final int wi = environment.getWorldIndex();
+            if (oldStamp < wi) {
+                environment.save(() -> {
+                    elementData[index] = oldValue;
+                    worldStamps[index] = oldStamp;
+                });
+                worldStamps[index] = wi;
+            }
+            elementData[index] = val;
+        }
+        return oldValue;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateLong;
+
+/**
+ * A class implementing a recomputable long.
+ * Its former values are not trailed but copied, world after world, by {@link EnvironmentCopying}.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class RcLong extends IStateLong {
+
+    /**
+     * Constructs a recomputable long with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public RcLong(final EnvironmentCopying env, final long i) {
+        super(env, i);
+        env.getLongCopy().add(this);
+    }
+
+    /**
+     * Modifies the value, its former value is restored from the copy of the world.
+     */
+    @Override
+    public final void set(final long y) {
+        currentValue = y;
+    }
+}
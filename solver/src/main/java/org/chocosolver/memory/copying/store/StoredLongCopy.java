@@ -0,0 +1,124 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying.store;
+
+import org.chocosolver.memory.IStorage;
+import org.chocosolver.memory.copying.RcLong;
+
+/**
+ * A store that keeps track of every {@link RcLong} created by a copying environment
+ * and saves their values, world after world, in contiguous primitive arrays.
+ * <p>
+ * On {@link #worldPush(int)}, the current values of all registered objects are copied into the
+ * snapshot dedicated to the new world.
+ * On {@link #worldPop(int)}, the values are restored from that snapshot.
+ * Objects created after a world was pushed are not restored when it is popped.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class StoredLongCopy implements IStorage {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Registered objects
+     */
+    private RcLong[] objects;
+
+    /**
+     * Number of registered objects
+     */
+    private int position;
+
+    /**
+     * Values of the registered objects, per world
+     */
+    private long[][] worlds;
+
+    /**
+     * Number of objects saved, per world
+     */
+    private int[] sizes;
+
+    /**
+     * Create a store for backtrackable longs.
+     *
+     * @param nObjects   initial number of objects that can be registered
+     * @param nWorlds    initial number of worlds that can be stored
+     * @param loadfactor load factor for structures
+     */
+    public StoredLongCopy(int nObjects, int nWorlds, double loadfactor) {
+        this.loadfactor = loadfactor;
+        this.objects = new RcLong[nObjects];
+        this.worlds = new long[nWorlds][];
+        this.sizes = new int[nWorlds];
+        this.position = 0;
+    }
+
+    /**
+     * Register a new object in this store.
+     *
+     * @param rc the object to register
+     */
+    public void add(RcLong rc) {
+        if (position == objects.length) {
+            RcLong[] tmp = objects;
+            objects = new RcLong[Math.max(position + 1, (int) (position * loadfactor))];
+            System.arraycopy(tmp, 0, objects, 0, position);
+        }
+        objects[position++] = rc;
+    }
+
+    @Override
+    public void worldPush(int worldIndex) {
+        if (worldIndex == worlds.length) {
+            int ns = Math.max(worldIndex + 1, (int) (worldIndex * loadfactor));
+            long[][] tmp = worlds;
+            worlds = new long[ns][];
+            System.arraycopy(tmp, 0, worlds, 0, tmp.length);
+            int[] tmp2 = sizes;
+            sizes = new int[ns];
+            System.arraycopy(tmp2, 0, sizes, 0, tmp2.length);
+        }
+        long[] values = worlds[worldIndex];
+        if (values == null || values.length < position) {
+            values = worlds[worldIndex] = new long[Math.max(position, (int) (position * loadfactor))];
+        }
+        for (int i = 0; i < position; i++) {
+            values[i] = objects[i].get();
+        }
+        sizes[worldIndex] = position;
+    }
+
+    @Override
+    public void worldPop(int worldIndex) {
+        final long[] values = worlds[worldIndex];
+        final int w = worldIndex - 1;
+        for (int i = sizes[worldIndex] - 1; i >= 0; i--) {
+            objects[i]._set(values[i], w);
+        }
+    }
+
+    @Override
+    public void worldCommit(int worldIndex) {
+        // nothing to do: current values are kept and the snapshot of 'worldIndex' is forgotten
+    }
+
+    /**
+     * @return the number of objects registered in this store
+     */
+    public int getSize() {
+        return position;
+    }
+}
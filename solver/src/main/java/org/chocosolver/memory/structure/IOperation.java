@@ -23,4 +23,16 @@ public interface IOperation {
      * Method called by the environment upon backtracking, to undo this operation
      */
     void undo();
+
+    /**
+     * Method called by the environment when the world this operation was saved in is committed,
+     * that is, merged with the previous one.
+     * By default, the operation is forgotten.
+     *
+     * @param worldIndex index of the committed world
+     * @return <i>true</i> if this operation has to be kept in the previous world, <i>false</i> if it can be forgotten
+     */
+    default boolean commit(int worldIndex) {
+        return false;
+    }
 }
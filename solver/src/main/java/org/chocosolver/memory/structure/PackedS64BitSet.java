@@ -0,0 +1,440 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.structure;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+
+import java.util.Arrays;
+
+/**
+ * A backtrackable bit set whose words are packed in a single <code>long[]</code>.
+ * <p/>
+ * Contrary to {@link S64BitSet}, a word is not a backtrackable long on its own.
+ * The bit set maintains its own word-level trail: the first time a word is modified in a world,
+ * its index, its former value and its former stamp are pushed into primitive buffers.
+ * A single {@link IOperation}, saved in the environment the first time the bit set is modified in a world,
+ * restores all the words modified in that world upon backtrack.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class PackedS64BitSet implements IStateBitSet, IOperation {
+
+    /*
+     * BitSets are packed into arrays of "words."  Currently a word is
+     * a long, which consists of 64 bits, requiring 6 address bits.
+     * The choice of word size is determined purely by performance concerns.
+     */
+    private final static int ADDRESS_BITS_PER_WORD = 6;
+    private final static int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    /* Used to shift left or right for a partial word mask */
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    /**
+     * The current environment.
+     */
+    private final IEnvironment environment;
+
+    /**
+     * The words of this bit set.
+     */
+    private long[] words;
+
+    /**
+     * For each word, the world index of its last modification.
+     */
+    private int[] stamps;
+
+    /**
+     * Word-level trail: index and former stamp of saved words, two entries per saved word.
+     */
+    private int[] trailIdx;
+
+    /**
+     * Word-level trail: former value of saved words.
+     */
+    private long[] trailWord;
+
+    /**
+     * Number of saved words.
+     */
+    private int trailSize;
+
+    /**
+     * For each world this bit set was modified in: the size of the trail when the world was entered.
+     */
+    private int[] worldStarts;
+
+    /**
+     * For each world this bit set was modified in: its index.
+     */
+    private int[] worldIndices;
+
+    /**
+     * Number of worlds this bit set was modified in and that are not popped yet.
+     */
+    private int nbWorlds;
+
+    /**
+     * Creates a bit set whose initial size is large enough to explicitly
+     * represent bits with indices in the range <code>0</code> through
+     * <code>nbits-1</code>. All bits are initially <code>false</code>.
+     *
+     * @param environment backtrackable environment
+     * @param nbits       the initial size of the bit set.
+     * @throws NegativeArraySizeException if the specified initial size
+     *                                    is negative.
+     */
+    public PackedS64BitSet(IEnvironment environment, int nbits) {
+        if (nbits < 0)
+            throw new NegativeArraySizeException("nbits < 0: " + nbits);
+        this.environment = environment;
+        int n = wordIndex(nbits - 1) + 1;
+        this.words = new long[n];
+        this.stamps = new int[n];
+        if (!environment.fakeHistoryNeeded()) {
+            Arrays.fill(stamps, environment.getWorldIndex());
+        }
+        this.trailIdx = new int[16];
+        this.trailWord = new long[8];
+        this.worldStarts = new int[8];
+        this.worldIndices = new int[8];
+    }
+
+    /**
+     * Given a bit index, return word index containing it.
+     *
+     * @param bitIndex bit index
+     */
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * Checks that fromIndex ... toIndex is a valid range of bit indices.
+     *
+     * @param fromIndex starting index
+     * @param toIndex   ending index
+     */
+    private static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (toIndex < 0)
+            throw new IndexOutOfBoundsException("toIndex < 0: " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
+    }
+
+    /**
+     * Ensures that the bit set can hold enough words.
+     *
+     * @param wordsRequired the minimum acceptable number of words.
+     */
+    private void ensureCapacity(int wordsRequired) {
+        if (words.length < wordsRequired) {
+            int request = Math.max(2 * words.length, wordsRequired);
+            int oldSize = words.length;
+            words = Arrays.copyOf(words, request);
+            stamps = Arrays.copyOf(stamps, request);
+            // new words are considered as created in the root world, they are all-zero there
+            Arrays.fill(stamps, oldSize, request, 0);
+        }
+    }
+
+    /**
+     * Set the value of a word, saving its former value if needed.
+     *
+     * @param wordIndex index of the word
+     * @param word      new value
+     */
+    private void setWord(int wordIndex, long word) {
+        long old = words[wordIndex];
+        if (old != word) {
+            int wi = environment.getWorldIndex();
+            if (stamps[wordIndex] < wi) {
+                save(wordIndex, old, wi);
+            }
+            words[wordIndex] = word;
+        }
+    }
+
+    private void save(int wordIndex, long old, int wi) {
+        if (nbWorlds == 0 || worldIndices[nbWorlds - 1] < wi) {
+            if (nbWorlds == worldStarts.length) {
+                worldStarts = Arrays.copyOf(worldStarts, nbWorlds * 3 / 2 + 1);
+                worldIndices = Arrays.copyOf(worldIndices, nbWorlds * 3 / 2 + 1);
+            }
+            worldStarts[nbWorlds] = trailSize;
+            worldIndices[nbWorlds++] = wi;
+            environment.save(this);
+        }
+        if (trailSize == trailWord.length) {
+            trailWord = Arrays.copyOf(trailWord, trailSize * 3 / 2 + 1);
+            trailIdx = Arrays.copyOf(trailIdx, trailWord.length * 2);
+        }
+        trailIdx[2 * trailSize] = wordIndex;
+        trailIdx[2 * trailSize + 1] = stamps[wordIndex];
+        trailWord[trailSize++] = old;
+        stamps[wordIndex] = wi;
+    }
+
+    /**
+     * Restore all the words modified in the last world this bit set was modified in.
+     */
+    @Override
+    public void undo() {
+        int start = worldStarts[--nbWorlds];
+        while (trailSize > start) {
+            trailSize--;
+            int idx = trailIdx[2 * trailSize];
+            words[idx] = trailWord[trailSize];
+            stamps[idx] = trailIdx[2 * trailSize + 1];
+        }
+    }
+
+    /**
+     * Merge the words saved in the committed world with the previous world, as trails do:
+     * the stamps of the words are set to the previous world and the former values already saved
+     * in the previous world are discarded.
+     */
+    @Override
+    public boolean commit(int worldIndex) {
+        final int prevWorld = worldIndex - 1;
+        int start = worldStarts[--nbWorlds];
+        int writeIdx = start;
+        for (int k = start; k < trailSize; k++) {
+            int idx = trailIdx[2 * k];
+            int stamp = trailIdx[2 * k + 1];
+            stamps[idx] = prevWorld;
+            if (stamp != prevWorld) {
+                if (writeIdx != k) {
+                    trailIdx[2 * writeIdx] = idx;
+                    trailIdx[2 * writeIdx + 1] = stamp;
+                    trailWord[writeIdx] = trailWord[k];
+                }
+                writeIdx++;
+            } // otherwise, the former value in the previous world is already saved, or does not need to be
+        }
+        trailSize = writeIdx;
+        if (nbWorlds > 0 && worldIndices[nbWorlds - 1] == prevWorld) {
+            // the operation saved in the previous world restores the remaining words too
+            return false;
+        }
+        if (writeIdx == start) {
+            return false;
+        }
+        worldStarts[nbWorlds] = start;
+        worldIndices[nbWorlds++] = prevWorld;
+        return true;
+    }
+
+    @Override
+    public void set(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        ensureCapacity(wordIndex + 1);
+        setWord(wordIndex, words[wordIndex] | (1L << bitIndex));
+    }
+
+    @Override
+    public void set(int bitIndex, boolean value) {
+        if (value)
+            set(bitIndex);
+        else
+            clear(bitIndex);
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        ensureCapacity(endWordIndex + 1);
+
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            setWord(startWordIndex, words[startWordIndex] | (firstWordMask & lastWordMask));
+        } else {
+            setWord(startWordIndex, words[startWordIndex] | firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                setWord(i, WORD_MASK);
+            setWord(endWordIndex, words[endWordIndex] | lastWordMask);
+        }
+    }
+
+    @Override
+    public void clear(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        if (wordIndex < words.length) {
+            setWord(wordIndex, words[wordIndex] & ~(1L << bitIndex));
+        }
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        if (startWordIndex >= words.length)
+            return;
+        int endWordIndex = wordIndex(toIndex - 1);
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (endWordIndex >= words.length) {
+            endWordIndex = words.length - 1;
+            lastWordMask = WORD_MASK;
+        }
+        long firstWordMask = WORD_MASK << fromIndex;
+        if (startWordIndex == endWordIndex) {
+            setWord(startWordIndex, words[startWordIndex] & ~(firstWordMask & lastWordMask));
+        } else {
+            setWord(startWordIndex, words[startWordIndex] & ~firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                setWord(i, 0);
+            setWord(endWordIndex, words[endWordIndex] & ~lastWordMask);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            setWord(i, 0);
+        }
+    }
+
+    @Override
+    public final boolean get(final int bitIndex) {
+        int wordIndex = bitIndex >> ADDRESS_BITS_PER_WORD;
+        return (wordIndex < words.length)
+                && ((words[wordIndex] & (1L << bitIndex)) != 0);
+    }
+
+    @Override
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return -1;
+        long word = words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return words.length * BITS_PER_WORD;
+            word = ~words[u];
+        }
+    }
+
+    @Override
+    public int prevSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        long word;
+        if (u >= words.length) {
+            u = words.length - 1;
+            word = words[u];
+        } else {
+            word = words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        }
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int prevClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = ~words[u];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int cardinality() {
+        int sum = 0;
+        for (int i = words.length - 1; i >= 0; i--)
+            sum += Long.bitCount(words[i]);
+        return sum;
+    }
+
+    @Override
+    public int size() {
+        return words.length * BITS_PER_WORD;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append('{');
+        int i = nextSetBit(0);
+        if (i != -1) {
+            b.append(i);
+            for (i = nextSetBit(i + 1); i >= 0; i = nextSetBit(i + 1)) {
+                b.append(", ").append(i);
+            }
+        }
+        b.append('}');
+        return b.toString();
+    }
+}
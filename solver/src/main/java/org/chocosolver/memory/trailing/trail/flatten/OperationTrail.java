@@ -85,8 +85,17 @@ public class OperationTrail implements IOperationTrail {
      * Comits a world: merging it with the previous one.
      */
     public void worldCommit(int worldIndex) {
+        // principle: operations of the committed world which ask for it are kept, and now belong to the previous world,
+        // the other ones are forgotten
         final int wsl = worldStartLevels[worldIndex];
-        while (currentLevel > wsl) {
+        int writeIdx = wsl;
+        for (int level = wsl; level < currentLevel; level++) {
+            final IOperation operation = valueStack[level];
+            if (operation.commit(worldIndex)) {
+                valueStack[writeIdx++] = operation;
+            }
+        }
+        while (currentLevel > writeIdx) {
             valueStack[--currentLevel] = null;
         }
     }
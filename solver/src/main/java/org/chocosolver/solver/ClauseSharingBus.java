@@ -0,0 +1,231 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.queues.MPSCRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A lock-free bus to share short learnt clauses among equivalent models solved concurrently,
+ * typically the workers of a {@link ParallelPortfolio}.
+ * <p>
+ * Each model registered on the bus owns an {@link Endpoint}, which is declared as a hook of the model.
+ * Clause stores ({@link org.chocosolver.solver.constraints.nary.sat.PropNogoods} and
+ * {@link org.chocosolver.solver.constraints.nary.clauses.ClauseStore}) export their short learnt
+ * clauses through it: a clause is offered to the bounded inbox of each other endpoint,
+ * and silently dropped by inboxes that are full.
+ * Each worker then imports the clauses of its inbox when it is in a safe state, typically on restarts.
+ * </p>
+ * <p>
+ * Shared clauses refer to variables by their ID,
+ * so all models registered on the same bus have to be equivalent (ie, each variable has the same ID in each model).
+ * Numbers of clauses exported and imported by a model are recorded in its measures.
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class ClauseSharingBus {
+
+    /**
+     * Name of the model hook that refers to the endpoint of the model
+     */
+    public static final String HOOK_NAME = "H_SHARING";
+
+    /**
+     * A clause that can be exchanged between equivalent models.
+     * Implementations are expected to be immutable and free of any reference to the exporting model.
+     */
+    public interface SharedClause {
+
+        /**
+         * @return the number of literals in this clause
+         */
+        int size();
+
+        /**
+         * Add this clause to the clause store of the model of <i>endpoint</i>.
+         * This is called by the thread that solves that model.
+         *
+         * @param endpoint the endpoint of the importing model
+         * @return <tt>true</tt> if the clause has been added
+         */
+        boolean importInto(Endpoint endpoint);
+    }
+
+    /**
+     * Maximum number of clauses waiting to be imported by a model
+     */
+    private final int capacity;
+
+    /**
+     * Maximum number of literals of a shared clause
+     */
+    private final int maxSize;
+
+    /**
+     * Endpoints of the registered models
+     */
+    private final List<Endpoint> endpoints;
+
+    /**
+     * Create a bus that shares clauses with at most <i>maxSize</i> literals.
+     *
+     * @param capacity maximum number of clauses waiting to be imported by a model
+     * @param maxSize  maximum number of literals of a shared clause
+     */
+    public ClauseSharingBus(int capacity, int maxSize) {
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        this.endpoints = new ArrayList<>();
+    }
+
+    /**
+     * Create a bus that shares clauses with at most 8 literals, each model storing at most 1024 of them.
+     */
+    public ClauseSharingBus() {
+        this(1024, 8);
+    }
+
+    /**
+     * Register <i>model</i> on this bus.
+     * This has to be done before starting the resolution of any registered model.
+     *
+     * @param model    a model
+     * @param exporter set to <tt>false</tt> if the model should only import clauses,
+     *                 for instance because it is not reliable
+     * @return the endpoint of <i>model</i>
+     * @throws SolverException if <i>model</i> is already registered on a bus
+     */
+    public Endpoint register(Model model, boolean exporter) {
+        if (model.getHook(HOOK_NAME) != null) {
+            throw new SolverException("The model is already registered on a clause sharing bus.");
+        }
+        Endpoint endpoint = new Endpoint(model, exporter);
+        endpoints.add(endpoint);
+        model.addHook(HOOK_NAME, endpoint);
+        return endpoint;
+    }
+
+    /**
+     * @return the maximum number of literals of a shared clause
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param model a model
+     * @return the endpoint of <i>model</i>, or <tt>null</tt> if the model is not registered on a bus
+     */
+    public static Endpoint endpointOf(Model model) {
+        return (Endpoint) model.getHook(HOOK_NAME);
+    }
+
+    /**
+     * The access point of a model to a {@link ClauseSharingBus}.
+     */
+    public final class Endpoint {
+
+        private final Model model;
+
+        private final boolean exporter;
+
+        private final MPSCRingBuffer<SharedClause> inbox;
+
+        /**
+         * Binds variable ID to variable, lazily built by the importing thread
+         */
+        private TIntObjectHashMap<Variable> id2var;
+
+        private Endpoint(Model model, boolean exporter) {
+            this.model = model;
+            this.exporter = exporter;
+            this.inbox = new MPSCRingBuffer<>(capacity);
+        }
+
+        /**
+         * @return the model of this endpoint
+         */
+        public Model getModel() {
+            return model;
+        }
+
+        /**
+         * Indicate whether a clause of <i>size</i> literals would be exported by this endpoint,
+         * helpful to avoid building clauses that will not be shared.
+         *
+         * @param size number of literals of a clause
+         * @return <tt>true</tt> if such a clause would be exported
+         */
+        public boolean accepts(int size) {
+            return exporter && size <= maxSize && endpoints.size() > 1;
+        }
+
+        /**
+         * Offer <i>clause</i> to every other endpoint of the bus.
+         * This is called by the thread that solves the model of this endpoint.
+         *
+         * @param clause a clause learnt by the model of this endpoint
+         */
+        public void export(SharedClause clause) {
+            if (accepts(clause.size())) {
+                boolean sent = false;
+                for (int i = 0; i < endpoints.size(); i++) {
+                    Endpoint other = endpoints.get(i);
+                    if (other != this) {
+                        sent |= other.inbox.offer(clause);
+                    }
+                }
+                if (sent) {
+                    model.getSolver().getMeasures().incExportedClauseCount();
+                }
+            }
+        }
+
+        /**
+         * Import all clauses waiting in the inbox of this endpoint into its model.
+         * This is called by the thread that solves the model of this endpoint.
+         *
+         * @return the number of imported clauses
+         */
+        public int importClauses() {
+            int n = 0;
+            SharedClause clause;
+            while ((clause = inbox.poll()) != null) {
+                if (clause.importInto(this)) {
+                    n++;
+                }
+            }
+            model.getSolver().getMeasures().addImportedClauseCount(n);
+            return n;
+        }
+
+        /**
+         * @param id ID of a variable
+         * @return the variable of the model of this endpoint with ID <i>id</i>,
+         * or <tt>null</tt> if there is none
+         */
+        public Variable getVar(int id) {
+            if (id2var == null || id2var.size() != model.getNbVars()) {
+                id2var = new TIntObjectHashMap<>(model.getNbVars());
+                for (Variable v : model.getVars()) {
+                    id2var.put(v.getId(), v);
+                }
+            }
+            return id2var.get(id);
+        }
+    }
+}
@@ -47,6 +47,10 @@ public class DefaultSettings implements Settings {
 
     private int maxDomSizeForEnumerated = 1 << 16;
 
+    private boolean sparseSetDomains = false;
+
+    private boolean bitsetSetVars = false;
+
     private int minCardForSumDecomposition = 50;
 
     private boolean enableTableSubstitution = true;
@@ -81,6 +85,14 @@ public class DefaultSettings implements Settings {
 
     private byte hybridEngine = 0b00;
 
+    private boolean costAwareEngine = false;
+
+    private boolean compactSubscriptions = false;
+
+    private boolean lowFootprint = false;
+
+    private int heapVarSelectionThreshold = Integer.MAX_VALUE;
+
     private int nbMaxLearnt = 100_000;
 
     private int maxLearntCardinlity = Integer.MAX_VALUE / 100;
@@ -89,6 +101,8 @@ public class DefaultSettings implements Settings {
 
     private int dominancePerimeter = 4;
 
+    private boolean learntClausesInSat = false;
+
     private boolean explainGlobalFailureInSum = true;
 
     private double ibexContractionRatio = Ibex.RATIO;
@@ -164,6 +178,28 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableSparseSetDomains() {
+        return sparseSetDomains;
+    }
+
+    @Override
+    public Settings setSparseSetDomains(boolean sparseSet) {
+        this.sparseSetDomains = sparseSet;
+        return this;
+    }
+
+    @Override
+    public boolean enableBitsetSetVars() {
+        return bitsetSetVars;
+    }
+
+    @Override
+    public Settings setBitsetSetVars(boolean bitset) {
+        this.bitsetSetVars = bitset;
+        return this;
+    }
+
     @Override
     public int getMinCardForSumDecomposition() {
         return minCardForSumDecomposition;
@@ -375,6 +411,50 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableCostAwarePropagationEngine() {
+        return costAwareEngine;
+    }
+
+    @Override
+    public Settings setCostAwarePropagationEngine(boolean costAware) {
+        this.costAwareEngine = costAware;
+        return this;
+    }
+
+    @Override
+    public boolean enableCompactSubscriptions() {
+        return compactSubscriptions;
+    }
+
+    @Override
+    public Settings setCompactSubscriptions(boolean compact) {
+        this.compactSubscriptions = compact;
+        return this;
+    }
+
+    @Override
+    public boolean enableLowFootprint() {
+        return lowFootprint;
+    }
+
+    @Override
+    public Settings setLowFootprint(boolean lowFootprint) {
+        this.lowFootprint = lowFootprint;
+        return this;
+    }
+
+    @Override
+    public int getHeapVarSelectionThreshold() {
+        return heapVarSelectionThreshold;
+    }
+
+    @Override
+    public Settings setHeapVarSelectionThreshold(int threshold) {
+        this.heapVarSelectionThreshold = threshold;
+        return this;
+    }
+
     @Override
     public int getNbMaxLearntClauses() {
         return nbMaxLearnt;
@@ -419,6 +499,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean learntClausesInSat() {
+        return learntClausesInSat;
+    }
+
+    @Override
+    public Settings setLearntClausesInSat(boolean b) {
+        this.learntClausesInSat = b;
+        return this;
+    }
+
     @Override
     public boolean explainGlobalFailureInSum() {
         return explainGlobalFailureInSum;
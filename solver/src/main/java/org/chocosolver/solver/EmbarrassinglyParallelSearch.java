@@ -0,0 +1,514 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.measure.IMeasures;
+import org.chocosolver.solver.search.measure.MeasuresRecorder;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * An Embarrassingly Parallel Search (EPS) helper.
+ * </p>
+ * <p>
+ * Contrary to {@link ParallelPortfolio}, which races different search strategies on the same problem,
+ * this class splits the search tree of a problem in many subproblems and solves them in parallel.
+ * The resolution is made of three steps:
+ * <ol>
+ *     <li>the first model declared decomposes the root node into subproblems, or <i>cubes</i>.
+ *     A cube is a conjunction of decisions, computed by a breadth-first exploration of the search tree
+ *     with a decomposition strategy (first-fail by default), until there are enough cubes to feed workers.
+ *     Cubes that are detected infeasible by propagation are discarded during the decomposition,</li>
+ *     <li>each worker, that is each declared model, repeatedly takes a cube from a shared queue,
+ *     imposes it, and solves it with its own search strategy until the queue is empty.
+ *     Since cubes are pulled on demand, idle workers take remaining cubes over from busy ones,</li>
+ *     <li>solutions and measures of all workers are merged.</li>
+ * </ol>
+ * </p>
+ * <p>
+ *     When dealing with an optimization problem, the best bound found so far is shared among workers:
+ *     it is imposed on each worker's {@link IObjectiveManager} before each cube and polled before each
+ *     down branch.
+ * </p>
+ * <p>
+ *     All models <b>must</b> be equivalent, that is, they must declare the same variables in the same order
+ *     (so that each variable has the same ID in each model), and the same constraints.
+ *     They may have different search strategies though.
+ *     Note that stop criteria declared in the models are ignored, since each solver is reset before each cube.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+ * int n = 4; // number of workers
+ * for (int i = 0; i < n; i++) {
+ *      eps.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = eps.findAllSolutions();
+ * </code>
+ * </pre>
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class EmbarrassinglyParallelSearch {
+
+    /**
+     * Default number of subproblems per worker.
+     */
+    public static final int NB_CUBES_PER_WORKER = 30;
+
+    /**
+     * List of {@link Model}s, one per worker.
+     */
+    private final List<Model> models = new ArrayList<>();
+
+    /**
+     * Expected number of subproblems per worker.
+     */
+    private final int nbCubesPerWorker;
+
+    /**
+     * Creates the strategy used to decompose the root node.
+     */
+    private Function<Model, AbstractStrategy<?>> decomposition = m -> Search.minDomLBSearch(decisionVars(m));
+
+    /**
+     * Subproblems to solve.
+     */
+    private final ConcurrentLinkedQueue<Cube> cubes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of subproblems computed by the last decomposition.
+     */
+    private int nbCubes;
+
+    /**
+     * Set to <i>true</i> to stop all workers.
+     */
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+
+    /**
+     * Best bound found so far (optimization problems only).
+     */
+    private final AtomicInteger bestBound = new AtomicInteger();
+
+    /**
+     * Best solution found so far (optimization problems only).
+     */
+    private Solution bestSolution;
+
+    /**
+     * Merged measures of all workers.
+     */
+    private MeasuresRecorder measures;
+
+    /**
+     * Creates a new EPS helper.
+     *
+     * @param nbCubesPerWorker expected number of subproblems per worker
+     */
+    public EmbarrassinglyParallelSearch(int nbCubesPerWorker) {
+        if (nbCubesPerWorker < 1) {
+            throw new SolverException("The number of subproblems per worker should be positive");
+        }
+        this.nbCubesPerWorker = nbCubesPerWorker;
+    }
+
+    /**
+     * Creates a new EPS helper, with {@link #NB_CUBES_PER_WORKER} subproblems per worker.
+     */
+    public EmbarrassinglyParallelSearch() {
+        this(NB_CUBES_PER_WORKER);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a model, that is a worker.
+     * The first model added is also in charge of the decomposition.
+     * <p>
+     * When dealing with optimization problems, the objective variable <b>HAS</b> to be declared eagerly with
+     * {@link Model#setObjective(boolean, Variable)}.
+     * </p>
+     *
+     * @param model a model to add
+     */
+    public void addModel(Model model) {
+        this.models.add(model);
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this EPS
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Overrides the strategy used to decompose the root node.
+     * Only decisions on integer variables are used to build subproblems.
+     *
+     * @param decomposition creates a decomposition strategy for the first model
+     */
+    public void setDecompositionStrategy(Function<Model, AbstractStrategy<?>> decomposition) {
+        this.decomposition = decomposition;
+    }
+
+    /**
+     * @return the number of subproblems computed by the last decomposition
+     */
+    public int getNbSubproblems() {
+        return nbCubes;
+    }
+
+    /**
+     * @return the measures of all workers merged, or <i>null</i> if no resolution has been run
+     */
+    public IMeasures getMeasures() {
+        return measures;
+    }
+
+    /**
+     * Attempts to find all solutions of a satisfaction problem.
+     * Each solution refers to the model of the worker which found it.
+     *
+     * @return a list that contains the found solutions
+     * @throws SolverException if no model has been added or if the problem is an optimization one.
+     */
+    public List<Solution> findAllSolutions() {
+        check();
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            throw new SolverException("findAllSolutions() is restricted to satisfaction problems");
+        }
+        Queue<Solution> solutions = new ConcurrentLinkedQueue<>();
+        run(m -> solutions.add(new Solution(m).record()));
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * Attempts to find the optimal solution of an optimization problem.
+     * The solution returned refers to the model of the worker which found it.
+     *
+     * @return the best solution found, or <i>null</i> if no solution has been found
+     * @throws SolverException if no model has been added or if the problem is a satisfaction one.
+     */
+    public Solution findOptimalSolution() {
+        check();
+        ResolutionPolicy policy = models.get(0).getResolutionPolicy();
+        if (policy == ResolutionPolicy.SATISFACTION) {
+            throw new SolverException("findOptimalSolution() is restricted to optimization problems");
+        }
+        bestSolution = null;
+        bestBound.set(policy == ResolutionPolicy.MINIMIZE ? Integer.MAX_VALUE : Integer.MIN_VALUE);
+        run(this::updateFromSolution);
+        if (bestSolution != null) {
+            IObjectiveManager<?> om = models.get(0).getSolver().getObjectiveManager();
+            om.updateBestSolution(bestBound.get());
+            measures.setBoundsManager(om);
+        }
+        return bestSolution;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void check() {
+        if (models.isEmpty()) {
+            throw new SolverException("No model found in the EmbarrassinglyParallelSearch.");
+        }
+        Model m0 = models.get(0);
+        if (m0.getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            Variable objective = m0.getObjective();
+            if (objective == null || (objective.getTypeAndKind() & Variable.INT) == 0) {
+                throw new UnsupportedOperationException("EPS requires an integer objective variable");
+            }
+        }
+    }
+
+    private static IntVar[] decisionVars(Model model) {
+        AbstractStrategy<?> search = model.getSolver().getSearch();
+        if (search != null && search.getVariables().length > 0) {
+            return Arrays.stream(search.getVariables())
+                    .filter(v -> (v.getTypeAndKind() & Variable.INT) != 0)
+                    .map(v -> (IntVar) v)
+                    .toArray(IntVar[]::new);
+        }
+        return model.retrieveIntVars(true);
+    }
+
+    private void run(SolutionHandler onSolution) {
+        measures = new MeasuresRecorder(models.get(0).getName());
+        measures.startStopwatch();
+        measures.setSearchState(SearchState.RUNNING);
+        terminated.set(false);
+        cubes.clear();
+        decompose(models.get(0));
+        nbCubes = cubes.size();
+        ForkJoinPool pool = new ForkJoinPool(models.size());
+        try {
+            List<ForkJoinTask<?>> tasks = models.stream()
+                    .map(m -> pool.submit(() -> work(m, onSolution)))
+                    .collect(Collectors.toList());
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            terminated.set(true);
+            if (e.getCause() instanceof SolverException) {
+                throw (SolverException) e.getCause();
+            }
+            throw new SolverException(e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            measures.stopStopwatch();
+        }
+        boolean complete = !terminated.get() && cubes.isEmpty();
+        measures.setSearchState(complete ? SearchState.TERMINATED : SearchState.STOPPED);
+        measures.setObjectiveOptimal(complete && models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION);
+    }
+
+    /**
+     * Solves subproblems with <i>model</i> until there is no more subproblem to solve.
+     */
+    private void work(Model model, SolutionHandler onSolution) {
+        Solver solver = model.getSolver();
+        boolean opt = model.getResolutionPolicy() != ResolutionPolicy.SATISFACTION;
+        IMonitorSolution ms = () -> onSolution.onSolution(model);
+        IMonitorDownBranch md = new IMonitorDownBranch() {
+            @Override
+            public void beforeDownBranch(boolean left) {
+                solver.getObjectiveManager().updateBestSolution(bestBound.get());
+            }
+        };
+        solver.plugMonitor(ms);
+        if (opt) {
+            solver.plugMonitor(md);
+        }
+        Map<Integer, IntVar> vars = Arrays.stream(model.retrieveIntVars(true))
+                .collect(Collectors.toMap(Variable::getId, v -> v));
+        try {
+            Cube cube;
+            while (!terminated.get() && (cube = cubes.poll()) != null) {
+                solver.reset();
+                solver.addStopCriterion(terminated::get);
+                if (opt) {
+                    solver.getObjectiveManager().updateBestSolution(bestBound.get());
+                }
+                Constraint[] cstrs = cube.post(model, vars);
+                //noinspection StatementWithEmptyBody
+                while (solver.solve()) ;
+                synchronized (this) {
+                    measures.add(solver.getMeasures());
+                }
+                solver.reset();
+                model.unpost(cstrs);
+            }
+        } catch (RuntimeException | Error e) {
+            // stop the other workers right away, not after the ones submitted before this one complete
+            terminated.set(true);
+            throw e;
+        } finally {
+            solver.unplugMonitor(ms);
+            if (opt) {
+                solver.unplugMonitor(md);
+            }
+        }
+    }
+
+    private synchronized void updateFromSolution(Model model) {
+        int val = ((IntVar) model.getObjective()).getValue();
+        int best = bestBound.get();
+        if (model.getResolutionPolicy() == ResolutionPolicy.MINIMIZE ? val < best : val > best) {
+            bestBound.set(val);
+            bestSolution = new Solution(model).record();
+        }
+    }
+
+    /**
+     * Splits the root node of <i>model</i> into subproblems, breadth-first, until there are enough of them.
+     */
+    private void decompose(Model model) {
+        Solver solver = model.getSolver();
+        IEnvironment env = model.getEnvironment();
+        int target = nbCubesPerWorker * models.size();
+        Map<Integer, IntVar> vars = Arrays.stream(model.retrieveIntVars(true))
+                .collect(Collectors.toMap(Variable::getId, v -> v));
+        AbstractStrategy<?> strategy = decomposition.apply(model);
+        int w = env.getWorldIndex();
+        env.worldPush();
+        List<Cube> current = new ArrayList<>();
+        try {
+            strategy.init();
+            solver.propagate();
+            current.add(new Cube());
+        } catch (ContradictionException ignored) {
+            // the problem has no solution
+        }
+        boolean split = true;
+        while (split && current.size() < target) {
+            split = false;
+            List<Cube> next = new ArrayList<>();
+            for (Cube cube : current) {
+                env.worldPush();
+                try {
+                    cube.apply(model, vars);
+                    solver.propagate();
+                    Decision<?> d = strategy.getDecision();
+                    if (d instanceof IntDecision) {
+                        IntDecision id = (IntDecision) d;
+                        next.add(new Cube(cube, id.getDecisionVariable().getId(), id.getDecOp(), id.getDecisionValue()));
+                        next.add(new Cube(cube, id.getDecisionVariable().getId(), id.getDecOp().opposite(),
+                                refutedValue(id.getDecOp(), id.getDecisionValue())));
+                        split = true;
+                    } else {
+                        // solution or non-integer decision: the cube cannot be split further
+                        next.add(cube);
+                    }
+                    if (d != null) {
+                        d.free();
+                    }
+                } catch (ContradictionException ignored) {
+                    // the cube has no solution
+                    solver.getEngine().flush();
+                }
+                env.worldPop();
+            }
+            current = next;
+        }
+        env.worldPopUntil(w);
+        solver.getEngine().reset();
+        strategy.remove();
+        cubes.addAll(current);
+    }
+
+    /**
+     * @return the value to associate with the opposite operator to express the refutation of a decision
+     */
+    private static int refutedValue(DecisionOperator<IntVar> op, int value) {
+        if (op == DecisionOperatorFactory.makeIntSplit()) {
+            return value + 1;
+        } else if (op == DecisionOperatorFactory.makeIntReverseSplit()) {
+            return value - 1;
+        }
+        return value;
+    }
+
+    /**
+     * Action to execute on each solution found by a worker.
+     */
+    private interface SolutionHandler {
+        void onSolution(Model model);
+    }
+
+    /**
+     * A subproblem, that is a conjunction of decisions on integer variables.
+     * Variables are referenced by their ID, so that a cube can be imposed to any equivalent model.
+     */
+    private static final class Cube {
+
+        private final int[] ids;
+        private final DecisionOperator<IntVar>[] ops;
+        private final int[] values;
+
+        @SuppressWarnings("unchecked")
+        Cube() {
+            this.ids = new int[0];
+            this.ops = new DecisionOperator[0];
+            this.values = new int[0];
+        }
+
+        Cube(Cube parent, int id, DecisionOperator<IntVar> op, int value) {
+            int n = parent.ids.length;
+            this.ids = Arrays.copyOf(parent.ids, n + 1);
+            this.ops = Arrays.copyOf(parent.ops, n + 1);
+            this.values = Arrays.copyOf(parent.values, n + 1);
+            this.ids[n] = id;
+            this.ops[n] = op;
+            this.values[n] = value;
+        }
+
+        /**
+         * Apply the decisions of this cube to the variables of <i>model</i>.
+         *
+         * @param vars variables of <i>model</i>, indexed by ID
+         */
+        void apply(Model model, Map<Integer, IntVar> vars) throws ContradictionException {
+            for (int i = 0; i < ids.length; i++) {
+                ops[i].apply(find(model, vars, ids[i]), values[i], Cause.Null);
+            }
+        }
+
+        private static IntVar find(Model model, Map<Integer, IntVar> vars, int id) {
+            IntVar var = vars.get(id);
+            if (var == null) {
+                throw new SolverException("No variable with ID " + id + " in " + model.getName());
+            }
+            return var;
+        }
+
+        /**
+         * Post the decisions of this cube as constraints in <i>model</i>.
+         *
+         * @return the constraints posted
+         */
+        Constraint[] post(Model model, Map<Integer, IntVar> vars) {
+            Constraint[] cstrs = new Constraint[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                cstrs[i] = model.arithm(find(model, vars, ids[i]), operator(ops[i]), values[i]);
+                cstrs[i].post();
+            }
+            return cstrs;
+        }
+
+        private static String operator(DecisionOperator<IntVar> op) {
+            if (op == DecisionOperatorFactory.makeIntEq()) {
+                return "=";
+            } else if (op == DecisionOperatorFactory.makeIntNeq()) {
+                return "!=";
+            } else if (op == DecisionOperatorFactory.makeIntSplit()) {
+                return "<=";
+            } else if (op == DecisionOperatorFactory.makeIntReverseSplit()) {
+                return ">=";
+            }
+            throw new SolverException("Unknown decision operator " + op);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.variables.Variable;
+
+import java.io.PrintStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the memory footprint of a {@link Model}, in bytes:
+ * variables are grouped by implementation class, constraints by name (their propagators included),
+ * and the backtrackable environment (the trail) is measured apart.
+ * <p>
+ * The estimation walks the object graph by reflection, starting from each variable, each constraint
+ * and the environment. The walk stops at other variables, propagators, constraints, the model,
+ * the solver and the environment, so that an object is charged to its owner only.
+ * An array reachable from several variables or constraints, like the arrays of propagators shared by
+ * variables when subscriptions are compacted, is charged apart (see {@link #getSharedBytes()}).
+ * Any other object reachable from several owners is charged to the first one measured.
+ * Sizes are computed for a 64-bit JVM with compressed oops (12-byte headers, 4-byte references,
+ * 8-byte alignment); the content of JDK objects is estimated through their public API only,
+ * including the arrays of value holders like {@link BitSet}.
+ * </p>
+ * <p>
+ * The walk visits every object of the model once, it may then take a while on very large models.
+ * </p>
+ *
+ * @author agent
+ * @see Model#getMemoryReport()
+ * @since 4.10.7
+ */
+public class MemoryReport {
+
+    private static final int HEADER = 12;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int REF = 4;
+
+    /**
+     * Estimated footprint of a group of objects
+     */
+    public static final class Footprint {
+        private final String name;
+        private int count;
+        private long bytes;
+
+        Footprint(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return name of the group: a class name for variables, a constraint name for constraints
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return number of objects in the group
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return estimated number of bytes retained by the group
+         */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    private final Map<String, Footprint> variables = new HashMap<>();
+
+    private final Map<String, Footprint> constraints = new HashMap<>();
+
+    private final long trail;
+
+    private long shared;
+
+    /**
+     * Objects already charged, with their owner
+     */
+    private final IdentityHashMap<Object, Object> visited = new IdentityHashMap<>();
+
+    /**
+     * Footprint of each variable and constraint measured so far
+     */
+    private final IdentityHashMap<Object, Footprint> owners = new IdentityHashMap<>();
+
+    /**
+     * Shallow size and reference fields per class
+     */
+    private final Map<Class<?>, Layout> layouts = new HashMap<>();
+
+    private final ArrayDeque<Object> stack = new ArrayDeque<>();
+
+    /**
+     * Estimate the footprint of <i>model</i>.
+     *
+     * @param model a model
+     */
+    MemoryReport(Model model) {
+        for (int i = 0; i < model.getNbVars(); i++) {
+            Variable var = model.getVar(i);
+            Footprint f = charge(variables, var.getClass().getSimpleName(), measure(var, var));
+            owners.put(var, f);
+        }
+        for (Constraint c : model.getCstrs()) {
+            long bytes = measure(c, c);
+            for (Propagator<?> p : c.getPropagators()) {
+                bytes += measure(p, c);
+            }
+            owners.put(c, charge(constraints, c.getName(), bytes));
+        }
+        trail = measure(model.getEnvironment(), model.getEnvironment());
+        visited.clear();
+        owners.clear();
+        layouts.clear();
+    }
+
+    private static Footprint charge(Map<String, Footprint> map, String name, long bytes) {
+        Footprint f = map.computeIfAbsent(name, Footprint::new);
+        f.count++;
+        f.bytes += bytes;
+        return f;
+    }
+
+    /**
+     * @return estimated footprint of variables, grouped by class, in decreasing order of bytes
+     */
+    public List<Footprint> getVariables() {
+        return sort(variables.values());
+    }
+
+    /**
+     * @return estimated footprint of constraints and their propagators, grouped by name,
+     * in decreasing order of bytes
+     */
+    public List<Footprint> getConstraints() {
+        return sort(constraints.values());
+    }
+
+    private static List<Footprint> sort(Collection<Footprint> footprints) {
+        List<Footprint> list = new ArrayList<>(footprints);
+        list.sort(Comparator.comparingLong(Footprint::getBytes).reversed());
+        return list;
+    }
+
+    /**
+     * @return estimated number of bytes retained by variables
+     */
+    public long getVariablesBytes() {
+        return variables.values().stream().mapToLong(Footprint::getBytes).sum();
+    }
+
+    /**
+     * @return estimated number of bytes retained by constraints and their propagators
+     */
+    public long getConstraintsBytes() {
+        return constraints.values().stream().mapToLong(Footprint::getBytes).sum();
+    }
+
+    /**
+     * @return estimated number of bytes retained by the environment and not already charged to
+     * variables or constraints, that is mainly the trail
+     */
+    public long getTrailBytes() {
+        return trail;
+    }
+
+    /**
+     * @return estimated number of bytes of the arrays reachable from several variables or constraints,
+     * like the arrays of propagators shared by variables when subscriptions are compacted
+     */
+    public long getSharedBytes() {
+        return shared;
+    }
+
+    /**
+     * @return estimated number of bytes retained by the model
+     */
+    public long getTotalBytes() {
+        return getVariablesBytes() + getConstraintsBytes() + shared + trail;
+    }
+
+    /**
+     * Print the report as a table, groups being sorted in decreasing order of bytes.
+     *
+     * @param out output stream
+     */
+    public void printTable(PrintStream out) {
+        String format = "%-40.40s %12s %14s %12s%n";
+        String line = "%-40.40s %12d %14d %12.1f%n";
+        out.println("- Memory footprint per variable class -");
+        out.printf(format, "variable", "count", "bytes", "bytes/var");
+        for (Footprint f : getVariables()) {
+            out.printf(line, f.name, f.count, f.bytes, f.bytes / (double) f.count);
+        }
+        out.println("- Memory footprint per constraint -");
+        out.printf(format, "constraint", "count", "bytes", "bytes/cstr");
+        for (Footprint f : getConstraints()) {
+            out.printf(line, f.name, f.count, f.bytes, f.bytes / (double) f.count);
+        }
+        out.printf("- Variables: %d bytes, constraints: %d bytes, shared: %d bytes, trail: %d bytes, total: %d bytes -%n",
+                getVariablesBytes(), getConstraintsBytes(), shared, trail, getTotalBytes());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Memory footprint: %d bytes (variables: %d, constraints: %d, shared: %d, trail: %d)",
+                getTotalBytes(), getVariablesBytes(), getConstraintsBytes(), shared, trail);
+    }
+
+    /**
+     * Sum up the size of the objects reachable from <i>root</i> and not charged yet.
+     * An array already charged to another owner than <i>owner</i> is moved to the shared arrays.
+     */
+    private long measure(Object root, Object owner) {
+        long bytes = 0;
+        push(root, root, owner);
+        while (!stack.isEmpty()) {
+            Object o = stack.pop();
+            Class<?> c = o.getClass();
+            if (c.isArray()) {
+                bytes += arraySize(c.getComponentType(), Array.getLength(o));
+                if (!c.getComponentType().isPrimitive()) {
+                    for (Object e : (Object[]) o) {
+                        push(e, root, owner);
+                    }
+                }
+            } else if (o instanceof String) {
+                bytes += align(HEADER + 12) + arraySize(byte.class, ((String) o).length());
+            } else if (o instanceof Collection && c.getName().startsWith("java.")) {
+                Collection<?> col = (Collection<?>) o;
+                bytes += layout(c).size + arraySize(Object.class, col.size());
+                for (Object e : col) {
+                    push(e, root, owner);
+                }
+            } else if (o instanceof Map && c.getName().startsWith("java.")) {
+                Map<?, ?> map = (Map<?, ?>) o;
+                // one entry object per mapping, plus the table
+                bytes += layout(c).size + (long) map.size() * (align(HEADER + 4 + 3 * REF) + REF);
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    push(e.getKey(), root, owner);
+                    push(e.getValue(), root, owner);
+                }
+            } else if (c == BitSet.class) {
+                // the words, which are not reachable by reflection
+                bytes += layout(c).size + arraySize(long.class, ((BitSet) o).size() / Long.SIZE);
+            } else if (c == StringBuilder.class) {
+                bytes += layout(c).size + arraySize(char.class, ((StringBuilder) o).capacity());
+            } else {
+                Layout l = layout(c);
+                bytes += l.size;
+                for (Field f : l.refs) {
+                    try {
+                        push(f.get(o), root, owner);
+                    } catch (IllegalAccessException ignored) {
+                        // counted as a reference only
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void push(Object o, Object root, Object owner) {
+        if (o != null && (o == root || !isBoundary(o))) {
+            Object first = visited.putIfAbsent(o, owner);
+            if (first == null) {
+                stack.push(o);
+            } else if (first != owner && first != this && o.getClass().isArray() && owners.containsKey(first)) {
+                long bytes = arraySize(o.getClass().getComponentType(), Array.getLength(o));
+                owners.get(first).bytes -= bytes;
+                shared += bytes;
+                visited.put(o, this); // already shared
+            }
+        }
+    }
+
+    private static boolean isBoundary(Object o) {
+        return o instanceof Variable
+                || o instanceof Propagator
+                || o instanceof Constraint
+                || o instanceof Model
+                || o instanceof Solver
+                || o instanceof Settings
+                || o instanceof IEnvironment
+                || o instanceof Class
+                || o instanceof Enum;
+    }
+
+    private Layout layout(Class<?> c) {
+        Layout l = layouts.get(c);
+        if (l == null) {
+            long size = HEADER;
+            List<Field> refs = new ArrayList<>();
+            for (Class<?> k = c; k != null; k = k.getSuperclass()) {
+                for (Field f : k.getDeclaredFields()) {
+                    if (Modifier.isStatic(f.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> t = f.getType();
+                    size += t.isPrimitive() ? primitiveSize(t) : REF;
+                    if (!t.isPrimitive() && !k.getName().startsWith("java.")) {
+                        try {
+                            f.setAccessible(true);
+                            refs.add(f);
+                        } catch (RuntimeException ignored) {
+                            // not accessible, counted as a reference only
+                        }
+                    }
+                }
+            }
+            l = new Layout(align(size), refs.toArray(new Field[0]));
+            layouts.put(c, l);
+        }
+        return l;
+    }
+
+    private static long arraySize(Class<?> component, int length) {
+        return align(ARRAY_HEADER + (long) length * (component.isPrimitive() ? primitiveSize(component) : REF));
+    }
+
+    private static int primitiveSize(Class<?> t) {
+        if (t == long.class || t == double.class) {
+            return 8;
+        } else if (t == int.class || t == float.class) {
+            return 4;
+        } else if (t == short.class || t == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Shallow size and reference fields of a class
+     */
+    private static final class Layout {
+        private final long size;
+        private final Field[] refs;
+
+        Layout(long size, Field[] refs) {
+            this.size = size;
+            this.refs = refs;
+        }
+    }
+}
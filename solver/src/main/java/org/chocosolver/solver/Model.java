@@ -513,6 +513,17 @@ public class Model implements IModel {
         return environment;
     }
 
+    /**
+     * Estimate the memory footprint of <code>this</code> model: bytes per variable class,
+     * per constraint and for the trail (see {@link MemoryReport}).
+     * The estimation walks the whole object graph of the model, so it should not be called during search.
+     *
+     * @return a memory report of this model
+     */
+    public MemoryReport getMemoryReport() {
+        return new MemoryReport(this);
+    }
+
     /**
      * Return the (possibly null) objective variable
      *
@@ -0,0 +1,216 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.lns.ElitePool;
+import org.chocosolver.solver.search.loop.lns.neighbors.ElitePoolNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.search.loop.lns.neighbors.PropagationGuidedNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.RandomNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.ReversePropagationGuidedNeighborhood;
+import org.chocosolver.solver.search.loop.move.MoveLNS;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.bandit.MOSS;
+import org.chocosolver.util.bandit.SynchronizedPolicy;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A multi-threaded Large Neighborhood Search helper, for optimization problems.
+ * </p>
+ * <p>
+ * Each worker runs a LNS on its own model, built by the same modeller, in a {@link ParallelPortfolio}.
+ * As in any portfolio, models <b>must</b> be equivalent, that is, they must declare the same variables
+ * in the same order, so that solutions can be shared.
+ * The workers share:
+ * <ul>
+ *     <li>an {@link ElitePool} of the best solutions found so far:
+ *     each solution found by a worker is published in the pool, and each worker relaxes solutions picked in it,</li>
+ *     <li>a bandit policy ({@link MOSS}) which selects the operator that computes the next fragment
+ *     (random, propagation-guided or reverse propagation-guided), rewarded when a fragment leads to a solution,</li>
+ *     <li>the best objective value found so far, which any new solution must improve.</li>
+ * </ul>
+ * The operators of the workers rely on distinct seeds and fragment sizes.
+ * A worker which has not found a solution on its own yet starts relaxing the best solution of the pool
+ * on the next call to {@link #solve()}, that is, as soon as there is one.
+ * </p>
+ * <p>
+ * As {@link ParallelPortfolio#solve()}, {@link #solve()} returns as soon as a worker finds a new best solution,
+ * and the next call resumes all workers.
+ * Since LNS does not prove optimality, limits should be declared on each model
+ * (see {@link #getModels()}) before the first call.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>ParallelLNS lns = new ParallelLNS(() -> modeller(), m -> decisionVariables(m), 4);
+ * lns.getModels().forEach(m -> m.getSolver().limitTime("10s"));
+ * while (lns.solve()) {
+ *     Solution best = lns.getBestSolution();
+ * }
+ * </code>
+ * </pre>
+ * </p>
+ *
+ * @author agent
+ * @see ElitePoolNeighborhood
+ * @since 4.10.7
+ */
+public class ParallelLNS {
+
+    /**
+     * Number of operators declared by each worker
+     */
+    private static final int OPERATORS = 3;
+
+    /**
+     * Runs the workers
+     */
+    private final ParallelPortfolio portfolio;
+    /**
+     * Solutions shared by workers
+     */
+    private final ElitePool pool;
+    /**
+     * Selection policy of the operators, shared by workers
+     */
+    private final SynchronizedPolicy policy;
+    /**
+     * Set to <tt>true</tt> for a worker once it has found or loaded a solution
+     */
+    private final boolean[] bootstrapped;
+
+    /**
+     * Creates a parallel LNS with a pool of 10 solutions and a fast restart every 1000 fails.
+     *
+     * @param modeller  builds a new populated model with an integer objective variable on each call
+     * @param vars      returns the pool of variables to be freezed of a model built by <i>modeller</i>
+     * @param nbWorkers number of workers, that is, of models to build
+     * @see #ParallelLNS(Supplier, Function, int, int, long)
+     */
+    public ParallelLNS(Supplier<Model> modeller, Function<Model, IntVar[]> vars, int nbWorkers) {
+        this(modeller, vars, nbWorkers, 10, 1000);
+    }
+
+    /**
+     * Creates a parallel LNS.
+     *
+     * @param modeller  builds a new populated model with an integer objective variable on each call
+     * @param vars      returns the pool of variables to be freezed of a model built by <i>modeller</i>
+     * @param nbWorkers number of workers, that is, of models to build
+     * @param capacity  maximum number of solutions in the elite pool
+     * @param failLimit number of fails before a fast restart is triggered in a worker
+     * @throws SolverException if the models have no integer objective variable
+     */
+    public ParallelLNS(Supplier<Model> modeller, Function<Model, IntVar[]> vars, int nbWorkers,
+                       int capacity, long failLimit) {
+        if (nbWorkers < 1) {
+            throw new IllegalArgumentException("A parallel LNS requires at least one worker");
+        }
+        Model model = modeller.get();
+        Variable objective = model.getObjective();
+        if (model.getResolutionPolicy() == ResolutionPolicy.SATISFACTION
+                || (objective.getTypeAndKind() & Variable.INT) == 0) {
+            throw new SolverException("A parallel LNS requires an integer objective variable");
+        }
+        this.pool = new ElitePool(capacity, model.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE);
+        this.policy = new SynchronizedPolicy(new MOSS(OPERATORS));
+        this.policy.init();
+        this.bootstrapped = new boolean[nbWorkers];
+        this.portfolio = new ParallelPortfolio(false);
+        portfolio.addModel(model);
+        portfolio.addCopies(nbWorkers - 1, modeller);
+        List<Model> models = portfolio.getModels();
+        for (int i = 0; i < models.size(); i++) {
+            configure(models.get(i), vars.apply(models.get(i)), i, failLimit);
+        }
+    }
+
+    /**
+     * Run the workers in parallel, until one of them finds a new best solution or they all stop.
+     *
+     * @return <code>true</code> if and only if at least one new solution has been found.
+     * @see ParallelPortfolio#solve()
+     */
+    public boolean solve() {
+        bootstrap();
+        return portfolio.solve();
+    }
+
+    /**
+     * @return a model which has found the best solution, or <tt>null</tt> if no solution has been found
+     */
+    public Model getBestModel() {
+        return portfolio.getBestModel();
+    }
+
+    /**
+     * @return the best solution found so far, or <tt>null</tt> if no solution has been found
+     */
+    public Solution getBestSolution() {
+        ElitePool.Entry best = pool.getBest();
+        return best == null ? null : best.getSolution();
+    }
+
+    /**
+     * @return the models of the workers, in the order they were built
+     */
+    public List<Model> getModels() {
+        return portfolio.getModels();
+    }
+
+    /**
+     * @return the pool of solutions shared by the workers
+     */
+    public ElitePool getPool() {
+        return pool;
+    }
+
+    /**
+     * Declares LNS on a worker, with operators whose seeds and fragment sizes depend on the worker.
+     */
+    private void configure(Model model, IntVar[] vars, int workerID, long failLimit) {
+        int size = workerID % 3;
+        INeighbor neighbor = new ElitePoolNeighborhood(model, pool, policy, workerID,
+                new RandomNeighborhood(vars, 3 + size, workerID),
+                new PropagationGuidedNeighborhood(vars, 30 + 10 * size, 10, workerID),
+                new ReversePropagationGuidedNeighborhood(vars, 0, 30 + 10 * size, workerID));
+        Solver solver = model.getSolver();
+        solver.setLNS(neighbor, new FailCounter(model, failLimit));
+    }
+
+    /**
+     * Makes the workers which have not found a solution on their own relax the best solution of the pool.
+     * This is done while the workers are idle, since loading a solution restarts the search.
+     */
+    private void bootstrap() {
+        ElitePool.Entry best = pool.getBest();
+        if (best == null) {
+            return;
+        }
+        List<Model> models = portfolio.getModels();
+        for (int i = 0; i < models.size(); i++) {
+            if (!bootstrapped[i]) {
+                bootstrapped[i] = true;
+                Solver solver = models.get(i).getSolver();
+                if (solver.getSolutionCount() == 0) {
+                    ((MoveLNS) solver.getMove()).loadFromSolution(best.getSolution(), solver);
+                }
+            }
+        }
+    }
+}
@@ -11,12 +11,13 @@ package org.chocosolver.solver;
 
 import org.chocosolver.cutoffseq.LubyCutoffStrategy;
 import org.chocosolver.solver.constraints.Constraint;
-import org.chocosolver.solver.constraints.nary.sat.NogoodStealer;
 import org.chocosolver.solver.constraints.real.RealConstraint;
 import org.chocosolver.solver.exception.InvalidSolutionException;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
 import org.chocosolver.solver.search.strategy.Search;
@@ -30,7 +31,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -116,9 +119,9 @@ public class ParallelPortfolio {
     private boolean searchAutoConf;
 
     /**
-     * This manager is used to synchronize nogood sharing.
+     * This bus is used to share learnt clauses among workers, <tt>null</tt> if clauses are not shared.
      */
-    private NogoodStealer manager = NogoodStealer.NONE;
+    private ClauseSharingBus bus;
 
     /**
      * Stores whether or not prepare() method has been called
@@ -135,9 +138,15 @@ public class ParallelPortfolio {
     private AtomicInteger solverRunning = new AtomicInteger(0);
 
     /**
-     * Point to (one of) the solver(s) which found a solution
+     * Point to (one of) the solver(s) which found a solution (satisfaction problems only)
      */
-    private Model finder;
+    private volatile Model finder;
+
+    /**
+     * The best solution value found so far, and the model which found it (optimization problems only).
+     * Workers poll it on node opening and on restart.
+     */
+    private final AtomicReference<Incumbent> incumbent = new AtomicReference<>();
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
@@ -171,14 +180,34 @@ public class ParallelPortfolio {
 
     /**
      * Calling this method will ensure that workers equipped with a restart policy not only
-     * record nogoods from themselves (based on {@link NogoodFromRestarts}) but also based on
-     * other workers of the portfolio.
+     * record nogoods from themselves (based on {@link NogoodFromRestarts}) but also import the ones
+     * recorded by other workers of the portfolio.
+     * This is a shortcut for {@code shareClauses(new ClauseSharingBus())}.
      *
      * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
      * the same ID in each worker).
      */
     public void stealNogoodsOnRestarts() {
-        this.manager = new NogoodStealer();
+        shareClauses(new ClauseSharingBus());
+    }
+
+    /**
+     * Share short learnt clauses among workers through <i>bus</i>.
+     * Reliable workers export the nogoods they record on restarts (based on {@link NogoodFromRestarts})
+     * and the signed clauses they learn, if any.
+     * Each worker imports the clauses exported by the others on restarts.
+     * Numbers of clauses exported and imported by a worker are available in its measures.
+     *
+     * @param bus the bus to share clauses with, not yet used by any model
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     * @see ClauseSharingBus
+     */
+    public void shareClauses(ClauseSharingBus bus) {
+        if (isPrepared) {
+            throw new SolverException("Clause sharing must be declared before the first resolution of the portfolio.");
+        }
+        this.bus = bus;
     }
 
     /**
@@ -245,6 +274,32 @@ public class ParallelPortfolio {
         this.reliableness.put(model, reliable);
     }
 
+    /**
+     * <p>
+     * Adds <i>nbCopies</i> models built by <i>modeller</i> to the list of models to run in parallel.
+     * Each call to <i>modeller</i> has to return a new populated model, equivalent to the models already declared
+     * (ie, declaring the same variables in the same order, so that each variable has the same ID in each worker).
+     * </p>
+     * <p>
+     * The models added share the reliableness of the first model declared, if any,
+     * and are reliable otherwise.
+     * </p>
+     *
+     * @param nbCopies number of models to add
+     * @param modeller builds a new model on each call
+     * @return the models added, in order
+     */
+    public List<Model> addCopies(int nbCopies, Supplier<Model> modeller) {
+        boolean reliable = models.isEmpty() || reliableness.get(models.get(0));
+        List<Model> copies = new ArrayList<>(nbCopies);
+        for (int i = 0; i < nbCopies; i++) {
+            Model copy = modeller.get();
+            addModel(copy, reliable);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
     /**
      * Run the solve() instruction of every model of the portfolio in parallel.
      *
@@ -267,7 +322,7 @@ public class ParallelPortfolio {
             forkJoinPool.submit(() -> models.parallelStream().forEach(m -> {
                 if (!getSolverTerminated().get()) {
                     boolean so = m.getSolver().solve();
-                    if (!so || finder == m) {
+                    if (!so || getBestModel() == m) {
                         getSolverTerminated().set(so || reliableness.get(m) || getSolverRunning().decrementAndGet() <= 0);
                     }
                 }
@@ -316,7 +371,8 @@ public class ParallelPortfolio {
      * @return the first model which finds a solution (or the best one) or <tt>null</tt> if no such model exists.
      */
     public Model getBestModel() {
-        return finder;
+        Incumbent inc = incumbent.get();
+        return inc == null ? finder : inc.model;
     }
 
     /**
@@ -386,35 +442,39 @@ public class ParallelPortfolio {
         isPrepared = true;
         check();
         for (int i = 0; i < models.size(); i++) {
-            Solver s = models.get(i).getSolver();
+            Model m = models.get(i);
+            Solver s = m.getSolver();
             s.addStopCriterion(() -> getSolverTerminated().get());
-            s.plugMonitor((IMonitorSolution) () -> updateFromSolution(s.getModel()));
+            if (bus != null) {
+                bus.register(m, reliableness.get(m));
+            }
+            s.plugMonitor(new Worker(m));
             if (searchAutoConf) {
                 configureModel(i);
             }
         }
     }
 
-    private synchronized void updateFromSolution(Model m) {
+    private void updateFromSolution(Model m) {
         if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
             finder = m;
             getSolutionFound().set(true);
         } else {
             int solverVal = ((IntVar) m.getObjective()).getValue();
             int bestVal = m.getSolver().getObjectiveManager().getBestSolutionValue().intValue();
-            if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
-                assert solverVal <= bestVal : solverVal + ">" + bestVal;
-            } else
-                assert
-                        m.getResolutionPolicy() != ResolutionPolicy.MINIMIZE || solverVal >= bestVal : solverVal + "<" + bestVal;
+            boolean maximize = m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE;
+            assert maximize ? solverVal <= bestVal : solverVal >= bestVal : solverVal + " vs. " + bestVal;
             if (solverVal == bestVal) {
+                Incumbent next = new Incumbent(bestVal, m);
+                Incumbent current;
+                do {
+                    current = incumbent.get();
+                    if (current != null && (maximize ? bestVal <= current.value : bestVal >= current.value)) {
+                        // another worker found a solution at least as good
+                        return;
+                    }
+                } while (!incumbent.compareAndSet(current, next));
                 getSolutionFound().set(true);
-                finder = m;
-                if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestLB(bestVal));
-                } else {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestUB(bestVal));
-                }
             }
         }
     }
@@ -461,9 +521,7 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 500, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                shareNogoods(worker);
                 break;
             case 1:
                 solver.setSearch(
@@ -472,9 +530,7 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 500, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                shareNogoods(worker);
                 break;
             case 2:
                 // input order + LC
@@ -483,9 +539,7 @@ public class ParallelPortfolio {
                                 VarH.INPUT.make(solver, ivars, ValH.MIN, opt)
                         )
                 );
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                shareNogoods(worker);
                 break;
             case 3:
                 if (!opt) {
@@ -505,9 +559,7 @@ public class ParallelPortfolio {
                     );
                     solver.setLNS(INeighborFactory.blackBox(ivars), new FailCounter(solver.getModel(), 1000));
                 }
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                shareNogoods(worker);
                 break;
             case 4:
                 // ABS  + fast restart + LC
@@ -548,9 +600,7 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 40, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                shareNogoods(worker);
                 break;
             default:
                 // random search (various seeds) + LNS if optim
@@ -559,7 +609,7 @@ public class ParallelPortfolio {
                     solver.setLNS(INeighborFactory.blackBox(ivars), new FailCounter(solver.getModel(), 1000));
                 }
                 if (reliableness.containsKey(worker)) {
-                    solver.plugMonitor(new NogoodFromRestarts(worker, manager));
+                    solver.plugMonitor(new NogoodFromRestarts(worker));
                 }
                 solver.setRestarts(count -> solver.getFailCount() >= count, new LubyCutoffStrategy(500), 5000);
                 break;
@@ -574,6 +624,15 @@ public class ParallelPortfolio {
         }
     }
 
+    /**
+     * When clauses are shared, makes <i>worker</i> record nogoods on restarts, so that they can be exported.
+     */
+    private void shareNogoods(Model worker) {
+        if (bus != null && reliableness.get(worker)) {
+            worker.getSolver().plugMonitor(new NogoodFromRestarts(worker));
+        }
+    }
+
     private void check() {
         if (models.size() == 0) {
             throw new SolverException("No model found in the ParallelPortfolio.");
@@ -605,4 +664,66 @@ public class ParallelPortfolio {
     private synchronized AtomicInteger getSolverRunning() {
         return solverRunning;
     }
+
+    /**
+     * A solution value and the model which found it.
+     */
+    private static final class Incumbent {
+
+        private final int value;
+
+        private final Model model;
+
+        Incumbent(int value, Model model) {
+            this.value = value;
+            this.model = model;
+        }
+    }
+
+    /**
+     * Connects a worker to the portfolio: records its solutions,
+     * polls the best solution value found so far and imports shared clauses.
+     */
+    private final class Worker implements IMonitorSolution, IMonitorOpenNode, IMonitorRestart {
+
+        private final Model model;
+
+        /**
+         * Last incumbent polled by this worker
+         */
+        private Incumbent seen;
+
+        Worker(Model model) {
+            this.model = model;
+        }
+
+        @Override
+        public void onSolution() {
+            updateFromSolution(model);
+        }
+
+        @Override
+        public void beforeOpenNode() {
+            poll();
+        }
+
+        @Override
+        public void beforeRestart() {
+            poll();
+            ClauseSharingBus.Endpoint endpoint = ClauseSharingBus.endpointOf(model);
+            if (endpoint != null) {
+                endpoint.importClauses();
+            }
+        }
+
+        private void poll() {
+            Incumbent inc = incumbent.get();
+            if (inc != seen) {
+                seen = inc;
+                if (inc != null && inc.model != model) {
+                    model.getSolver().getObjectiveManager().updateBestSolution(inc.value);
+                }
+            }
+        }
+    }
 }
@@ -56,6 +56,10 @@ public interface Settings {
                 "views.activate", this.enableViews()).toString()));
         this.setMaxDomSizeForEnumerated(Integer.parseInt(properties.getOrDefault(
                 "enumerated.threshold", this.getMaxDomSizeForEnumerated()).toString()));
+        this.setSparseSetDomains(Boolean.parseBoolean(properties.getOrDefault(
+                "enumerated.sparseSet", this.enableSparseSetDomains()).toString()));
+        this.setBitsetSetVars(Boolean.parseBoolean(properties.getOrDefault(
+                "set.bitset", this.enableBitsetSetVars()).toString()));
         this.setMinCardinalityForSumDecomposition(Integer.parseInt(properties.getOrDefault(
                 "sum.decomposition.threshold", this.getMinCardForSumDecomposition()).toString()));
         this.setEnableTableSubstitution(Boolean.parseBoolean(properties.getOrDefault(
@@ -82,6 +86,14 @@ public interface Settings {
                 "constraints.check", this.checkDeclaredConstraints()).toString()));
         this.setHybridizationOfPropagationEngine(Byte.parseByte(properties.getOrDefault(
                 "propagationEngine.hybridization", this.enableHybridizationOfPropagationEngine()).toString()));
+        this.setCostAwarePropagationEngine(Boolean.parseBoolean(properties.getOrDefault(
+                "propagationEngine.costAware", this.enableCostAwarePropagationEngine()).toString()));
+        this.setCompactSubscriptions(Boolean.parseBoolean(properties.getOrDefault(
+                "propagationEngine.compactSubscriptions", this.enableCompactSubscriptions()).toString()));
+        this.setLowFootprint(Boolean.parseBoolean(properties.getOrDefault(
+                "memory.lowFootprint", this.enableLowFootprint()).toString()));
+        this.setHeapVarSelectionThreshold(Integer.parseInt(properties.getOrDefault(
+                "search.heap.threshold", this.getHeapVarSelectionThreshold()).toString()));
         this.setNbMaxLearntClauses(Integer.parseInt(properties.getOrDefault(
                 "learnt.nbMax", this.getNbMaxLearntClauses()).toString()));
         this.setRatioForClauseStoreReduction(Float.parseFloat(properties.getOrDefault(
@@ -90,6 +102,8 @@ public interface Settings {
                 "learnt.maxCard", this.getMaxLearntClauseCardinality()).toString()));
         this.setLearntClausesDominancePerimeter(Integer.parseInt(properties.getOrDefault(
                 "learnt.dominance", this.getLearntClausesDominancePerimeter()).toString()));
+        this.setLearntClausesInSat(Boolean.parseBoolean(properties.getOrDefault(
+                "learnt.sat", this.learntClausesInSat()).toString()));
         this.explainGlobalFailureInSum(Boolean.parseBoolean(properties.getOrDefault(
                 "learnt.sum.global", this.explainGlobalFailureInSum()).toString()));
         this.setIbexContractionRatio(Double.parseDouble(properties.getOrDefault(
@@ -140,6 +154,8 @@ public interface Settings {
         properties.setProperty("welcome.message", this.getWelcomeMessage());
         properties.setProperty("views.activate", Boolean.toString(this.enableViews()));
         properties.setProperty("enumerated.threshold", Integer.toString(this.getMaxDomSizeForEnumerated()));
+        properties.setProperty("enumerated.sparseSet", Boolean.toString(this.enableSparseSetDomains()));
+        properties.setProperty("set.bitset", Boolean.toString(this.enableBitsetSetVars()));
         properties.setProperty("sum.decomposition.threshold", Integer.toString(this.getMinCardForSumDecomposition()));
         properties.setProperty("table.substitution", Boolean.toString(this.enableTableSubstitution()));
         properties.setProperty("MCR.precision", Double.toString(this.getMCRDecimalPrecision()));
@@ -154,10 +170,15 @@ public interface Settings {
         properties.setProperty("constraints.check", Boolean.toString(checkDeclaredConstraints()));
         properties.setProperty("constraints.check.printall", Boolean.toString(printAllUndeclaredConstraints()));
         properties.setProperty("propagationEngine.hybridization", Byte.toString(enableHybridizationOfPropagationEngine()));
+        properties.setProperty("propagationEngine.costAware", Boolean.toString(enableCostAwarePropagationEngine()));
+        properties.setProperty("propagationEngine.compactSubscriptions", Boolean.toString(enableCompactSubscriptions()));
+        properties.setProperty("memory.lowFootprint", Boolean.toString(enableLowFootprint()));
+        properties.setProperty("search.heap.threshold", Integer.toString(getHeapVarSelectionThreshold()));
         properties.setProperty("learnt.nbMax", Integer.toString(this.getNbMaxLearntClauses()));
         properties.setProperty("learnt.ratio", Float.toString(this.getRatioForClauseStoreReduction()));
         properties.setProperty("learnt.maxCard", Integer.toString(this.getMaxLearntClauseCardinality()));
         properties.setProperty("learnt.dominance", Integer.toString(this.getLearntClausesDominancePerimeter()));
+        properties.setProperty("learnt.sat", Boolean.toString(this.learntClausesInSat()));
         properties.setProperty("learnt.sum.global", Boolean.toString(this.explainGlobalFailureInSum()));
         properties.setProperty("constraints.ibex.contractionRation", Double.toString(this.getIbexContractionRatio()));
         properties.setProperty("constraints.ibex.restoreRounding", Boolean.toString(this.getIbexRestoreRounding()));
@@ -248,6 +269,42 @@ public interface Settings {
      */
     Settings setMaxDomSizeForEnumerated(int maxDomSizeForEnumerated);
 
+    /**
+     * @return <tt>true</tt> if enumerated integer variables are based on a reversible sparse set
+     * (see {@link org.chocosolver.solver.variables.impl.SparseSetIntVarImpl}),
+     * <tt>false</tt> if they are based on a bitset
+     * (see {@link org.chocosolver.solver.variables.impl.BitsetIntVarImpl}).
+     */
+    boolean enableSparseSetDomains();
+
+    /**
+     * Define how enumerated integer variables are stored.
+     * A sparse set makes value removals and backtracks cheaper,
+     * but looking for the next value of a domain more expensive.
+     * Huge domains made of a few ranges are not impacted.
+     * @param sparseSet set to <tt>true</tt> to base enumerated integer variables on a sparse set,
+     *                  to <tt>false</tt> to base them on a bitset.
+     * @return the current instance
+     */
+    Settings setSparseSetDomains(boolean sparseSet);
+
+    /**
+     * @return <tt>true</tt> if set variables with a dense envelope are based on word-aligned bitsets
+     * (see {@link org.chocosolver.solver.variables.impl.BitsetSetVarImpl}),
+     * <tt>false</tt> if they are always based on {@link org.chocosolver.solver.variables.impl.SetVarImpl}.
+     */
+    boolean enableBitsetSetVars();
+
+    /**
+     * Define how set variables declared with {@code setVar(name, lb, ub)} are stored.
+     * When enabled, a set variable whose envelope holds at least one element per 64-bit word of its span
+     * is based on word-aligned bitsets, which lets set propagators filter word by word.
+     * @param bitset set to <tt>true</tt> to base dense set variables on word-aligned bitsets,
+     *               to <tt>false</tt> to always base them on {@link org.chocosolver.solver.variables.impl.SetVarImpl}.
+     * @return the current instance
+     */
+    Settings setBitsetSetVars(boolean bitset);
+
     /**
      * @return minimum number of cardinality threshold to a sum constraint to be decomposed
      */
@@ -508,6 +565,86 @@ public interface Settings {
      */
     Settings setHybridizationOfPropagationEngine(byte hybrid);
 
+    /**
+     * @return <tt>true</tt> if the solver relies on a {@link org.chocosolver.solver.propagation.CostAwarePropagationEngine},
+     * which schedules propagators wrt their cost and their yield learnt during propagation,
+     * <tt>false</tt> if it relies on a {@link org.chocosolver.solver.propagation.PropagationEngine},
+     * which schedules propagators wrt their static priority.
+     */
+    boolean enableCostAwarePropagationEngine();
+
+    /**
+     * Define which propagation engine is created by the solver.
+     * @param costAware set to <tt>true</tt> to schedule propagators wrt their cost and their yield learnt
+     *                  during propagation (see {@link org.chocosolver.solver.propagation.CostAwarePropagationEngine}),
+     *                  to <tt>false</tt> to schedule them wrt their static priority.
+     * @return the current instance
+     */
+    Settings setCostAwarePropagationEngine(boolean costAware);
+
+    /**
+     * @return <tt>true</tt> if the subscriptions of variables to propagators are gathered
+     * into two shared arrays when the propagation engine is initialized.
+     */
+    boolean enableCompactSubscriptions();
+
+    /**
+     * Define whether subscriptions of variables to propagators are compacted on engine initialization.
+     * Each variable then owns a contiguous slice of two arrays shared among all variables,
+     * instead of two arrays with spare capacity.
+     * A variable linked to a new propagator afterwards falls back on its own arrays.
+     * While a variable shares these arrays, its propagators are accessed through
+     * {@link org.chocosolver.solver.variables.Variable#getPropagator(int)}
+     * and {@link org.chocosolver.solver.variables.Variable#getIndexInPropagator(int)} only.
+     * Default is <tt>false</tt>.
+     * @param compact set to <tt>true</tt> to compact subscriptions
+     * @return the current instance
+     */
+    Settings setCompactSubscriptions(boolean compact);
+
+    /**
+     * @return <tt>true</tt> if the model is built to keep the memory footprint low,
+     * for very large models (see {@link #setLowFootprint(boolean)}).
+     */
+    boolean enableLowFootprint();
+
+    /**
+     * Define whether the model is built to keep the memory footprint low.
+     * When set to <tt>true</tt>, variables allocate their lists of propagators, views and monitors
+     * on first use only, and constants with the same value are shared whatever their name
+     * (see {@link Model#getCachedConstants()}).
+     * Iterators and deltas are always allocated on demand.
+     * {@link Model#getMemoryReport()} helps finding where memory goes.
+     * @param lowFootprint set to <tt>true</tt> to reduce the memory footprint of the model
+     * @return the current instance
+     */
+    Settings setLowFootprint(boolean lowFootprint);
+
+    /**
+     * @return the minimum number of decision variables from which score-based variable selectors
+     * maintain the variables in a heap instead of scanning them at each decision.
+     * @see #setHeapVarSelectionThreshold(int)
+     */
+    int getHeapVarSelectionThreshold();
+
+    /**
+     * Define the minimum number of decision variables from which score-based variable selectors
+     * ({@link org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg},
+     * {@link org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDegRef},
+     * {@link org.chocosolver.solver.search.strategy.selectors.variables.ConflictHistorySearch},
+     * {@link org.chocosolver.solver.search.strategy.selectors.variables.ActivityBased} and
+     * {@link org.chocosolver.solver.search.strategy.selectors.variables.FirstFail})
+     * maintain the variables in a heap (see
+     * {@link org.chocosolver.solver.search.strategy.selectors.variables.VariableHeap}).
+     * The score of a variable is then only updated when its domain is modified or when its weight changes,
+     * instead of being computed for each variable at each decision.
+     * Ties are then broken by a fixed priority per variable.
+     * Heaps are not used by default ({@link Integer#MAX_VALUE}).
+     * @param threshold minimum number of decision variables
+     * @return the current instance
+     */
+    Settings setHeapVarSelectionThreshold(int threshold);
+
     /**
      * @return maximum number of learnt clauses to store. When reached, a reduction is applied.
      * @see #setNbMaxLearntClauses(int)
@@ -593,6 +730,24 @@ public interface Settings {
      */
     Settings setLearntClausesDominancePerimeter(int n);
 
+    /**
+     * @return <i>true</i> if learnt signed clauses are translated into Boolean literals and stored in the SAT solver
+     * @see #setLearntClausesInSat(boolean)
+     */
+    boolean learntClausesInSat();
+
+    /**
+     * Set to <i>true</i> to translate learnt signed clauses, when possible, into clauses over
+     * <code>[x &le; v]</code> and <code>[x = v]</code> literals, created lazily and channeled with the domains,
+     * and to store them in the SAT solver of the nogood store, where they are propagated with two watched literals
+     * (see {@link org.chocosolver.solver.constraints.nary.sat.LiteralLayer}).
+     * Otherwise, learnt signed clauses are stored in the clause store.
+     * Default value is <i>false</i>.
+     * @param b boolean
+     * @return the current instance
+     */
+    Settings setLearntClausesInSat(boolean b);
+
     /**
      * @return <i>true</i> if additional clauses can be learned from sum's global failure
      */
@@ -18,6 +18,7 @@ import org.chocosolver.solver.learn.AbstractEventObserver;
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
+import org.chocosolver.solver.propagation.CostAwarePropagationEngine;
 import org.chocosolver.solver.propagation.PropagationEngine;
 import org.chocosolver.solver.search.SearchState;
 import org.chocosolver.solver.search.limits.ICounter;
@@ -248,7 +249,9 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     protected Solver(Model aModel) {
         mModel = aModel;
-        engine = new PropagationEngine(mModel);
+        engine = mModel.getSettings().enableCostAwarePropagationEngine() ?
+                new CostAwarePropagationEngine(mModel) :
+                new PropagationEngine(mModel);
         exception = new ContradictionException();
         eventObserver = AbstractEventObserver.SILENT_OBSERVER;
         objectivemanager = ObjectiveFactory.SAT();
@@ -1379,6 +1382,16 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return getMeasures().getRestartCount();
     }
 
+    @Override
+    public long getExportedClauseCount() {
+        return getMeasures().getExportedClauseCount();
+    }
+
+    @Override
+    public long getImportedClauseCount() {
+        return getMeasures().getImportedClauseCount();
+    }
+
     @Override
     public long getSolutionCount() {
         return getMeasures().getSolutionCount();
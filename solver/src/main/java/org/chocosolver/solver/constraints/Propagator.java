@@ -904,7 +904,16 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
      * @return propagator priority
      */
     public int doSchedule(CircularQueue<Propagator>[] queues){
-        int prio = priority.priority;
+        return doSchedule(queues, priority.priority);
+    }
+
+    /**
+     * Apply scheduling instruction in a specific queue
+     * @param queues array of queues in which this can be scheduled
+     * @param prio index of the queue to add this in, if not already scheduled
+     * @return <i>prio</i>
+     */
+    public int doSchedule(CircularQueue<Propagator>[] queues, int prio){
         if(!scheduled) {
             queues[prio].addLast(this);
             schedule();
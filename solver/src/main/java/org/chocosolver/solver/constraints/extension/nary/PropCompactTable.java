@@ -20,6 +20,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 
 /**
@@ -43,6 +44,10 @@ public class PropCompactTable extends Propagator<IntVar> {
     protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
     private UnaryIntProcedure<Integer> onValRem;
+    /**
+     * Values to remove from a variable, removed all at once
+     */
+    private final IntIterableBitSet vrms;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -64,6 +69,7 @@ public class PropCompactTable extends Propagator<IntVar> {
             monitors[i] = vars[i].monitorDelta(this);
         }
         onValRem = makeProcedure();
+        vrms = new IntIterableBitSet();
     }
 
     //***********************************************************************************
@@ -210,17 +216,22 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     private void enumFilter(int i) throws ContradictionException {
         int ub = vars[i].getUB();
+        vrms.clear();
+        vrms.setOffset(vars[i].getLB());
         for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
             int index = residues[i][v - offset[i]];
             if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
                 index = currTable.intersectIndex(supports[i][v - offset[i]]);
                 if (index == -1) {
-                    vars[i].removeValue(v, this);
+                    vrms.add(v);
                 } else {
                     residues[i][v - offset[i]] = index;
                 }
             }
         }
+        if (!vrms.isEmpty()) {
+            vars[i].removeValues(vrms, this);
+        }
     }
 
     @Override
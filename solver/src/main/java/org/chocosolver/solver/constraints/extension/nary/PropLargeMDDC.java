@@ -18,6 +18,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.StoredSparseSet;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 
 /**
  * Implementation based on "Maintaining GAC on adhoc r-ary constraints", Cheng and Yap, CP12.
@@ -32,6 +33,10 @@ public class PropLargeMDDC extends Propagator<IntVar> {
     private final StoredSparseSet no;
     private final MultivaluedDecisionDiagram MDD;
     private final int nvars;
+    /**
+     * Values to remove from a variable, removed all at once
+     */
+    private final IntIterableBitSet vrms;
 
     /**
      * Create a propagator maintaining GAC based on a MDD.
@@ -45,6 +50,7 @@ public class PropLargeMDDC extends Propagator<IntVar> {
         this.MDD = MDD;
         this.nvars = vars.length;
         this.yes = new TIntHashSet();
+        this.vrms = new IntIterableBitSet();
         this.no = new StoredSparseSet(VARS[0].getEnvironment());
         this.sets = new TIntHashSet[nvars];
         for (int i = 0; i < nvars; i++) {
@@ -85,10 +91,15 @@ public class PropLargeMDDC extends Propagator<IntVar> {
         }
         mddcSeekSupport(0, 0);
         for (int i = 0; i < nvars; i++) {
-            int o = MDD.getOffset(i);
-            int[] values = sets[i].toArray();
-            for (int j = 0; j < values.length; j++) {
-                vars[i].removeValue(values[j] + o, this);
+            if (!sets[i].isEmpty()) {
+                int o = MDD.getOffset(i);
+                vrms.clear();
+                vrms.setOffset(vars[i].getLB());
+                sets[i].forEach(v -> {
+                    vrms.add(v + o);
+                    return true;
+                });
+                vars[i].removeValues(vrms, this);
             }
         }
     }
@@ -24,6 +24,7 @@ import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 import org.jgrapht.graph.DirectedMultigraph;
 
@@ -43,6 +44,10 @@ public class PropRegular extends Propagator<IntVar> {
     private final IAutomaton automaton;
     private final RemProc rem_proc;
     private final IIntDeltaMonitor[] idms;
+    /**
+     * Values to remove from a variable, removed all at once
+     */
+    private final IntIterableBitSet vrms;
 
     public PropRegular(IntVar[] variables, IAutomaton automaton) {
         super(variables, PropagatorPriority.LINEAR, true);
@@ -51,6 +56,7 @@ public class PropRegular extends Propagator<IntVar> {
             idms[i] = this.vars[i].monitorDelta(this);
         }
         rem_proc = new RemProc(this);
+        vrms = new IntIterableBitSet();
         this.automaton = automaton;
         graph = initGraph(model.getEnvironment(), vars, automaton);
     }
@@ -60,11 +66,16 @@ public class PropRegular extends Propagator<IntVar> {
         assert evtmask == PropagatorEventType.FULL_PROPAGATION.getMask();
         for (int i = 0; i < idms.length; i++) {
             idms[i].forEachRemVal(rem_proc.set(i));
+            vrms.clear();
+            vrms.setOffset(vars[i].getLB());
             for (int j = vars[i].getLB(); j <= vars[i].getUB(); j = vars[i].nextValue(j)) {
                 if (!graph.hasSupport(i, j)) {
-                    vars[i].removeValue(j, this);
+                    vrms.add(j);
                 }
             }
+            if (!vrms.isEmpty()) {
+                vars[i].removeValues(vrms, this);
+            }
         }
     }
 
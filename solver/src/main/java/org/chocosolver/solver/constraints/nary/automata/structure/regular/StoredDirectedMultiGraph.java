@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.constraints.nary.automata.structure.regular;
 
+import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.hash.TIntHashSet;
 import gnu.trove.stack.TIntStack;
 import gnu.trove.stack.array.TIntArrayStack;
@@ -20,6 +21,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.iterators.DisposableIntIterator;
 import org.chocosolver.util.objects.StoredIndexedBipartiteSet;
 import org.chocosolver.util.objects.StoredIndexedBipartiteSetWithOffset;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.jgrapht.graph.DirectedMultigraph;
 
 import java.util.Set;
@@ -37,6 +39,14 @@ public class StoredDirectedMultiGraph {
 	private int[] offsets;
 	private TIntStack stack = new TIntArrayStack();
 	private StoredIndexedBipartiteSetWithOffset[] supports;
+	/**
+	 * Values that lost their last support, per layer, removed all at once
+	 */
+	private IntIterableBitSet[] vrms;
+	/**
+	 * Layers with values to remove
+	 */
+	private TIntArrayList touched = new TIntArrayList();
 
 	private class Nodes {
 		private int[] states;
@@ -58,6 +68,11 @@ public class StoredDirectedMultiGraph {
 									int[] starts, int[] offsets, int supportLength) {
 		this.starts = starts;
 		this.offsets = offsets;
+		this.vrms = new IntIterableBitSet[offsets.length];
+		for (int i = 0; i < offsets.length; i++) {
+			vrms[i] = new IntIterableBitSet();
+			vrms[i].setOffset(offsets[i]);
+		}
 
 		this.GNodes = new Nodes();
 		this.GArcs = new Arcs();
@@ -161,13 +176,10 @@ public class StoredDirectedMultiGraph {
 			support.remove(arcId);
 
 			if (support.isEmpty()) {
-				IntVar var = propagator.getVar(layer);
-				try {
-					var.removeValue(value, propagator);
-				} catch (ContradictionException ex) {
-					stack.clear();
-					throw ex;
+				if (vrms[layer].isEmpty()) {
+					touched.add(layer);
 				}
+				vrms[layer].add(value);
 			}
 
 			DisposableIntIterator it;
@@ -206,6 +218,23 @@ public class StoredDirectedMultiGraph {
 		}
 	}
 
+	/**
+	 * Remove the values that lost their last support, one call per variable.
+	 */
+	private void removeValues(Propagator<IntVar> propagator) throws ContradictionException {
+		try {
+			for (int k = 0; k < touched.size(); k++) {
+				int layer = touched.getQuick(k);
+				propagator.getVar(layer).removeValues(vrms[layer], propagator);
+			}
+		} finally {
+			for (int k = 0; k < touched.size(); k++) {
+				vrms[touched.getQuick(k)].clear();
+			}
+			touched.resetQuick();
+		}
+	}
+
 	private void clearSupports(StoredIndexedBipartiteSet supports, Propagator<IntVar> p) throws ContradictionException {
 		if (supports != null) {
 			DisposableIntIterator it = supports.getIterator();
@@ -215,6 +244,7 @@ public class StoredDirectedMultiGraph {
 			}
 			it.dispose();
 			removeArc(p);
+			removeValues(p);
 		}
 	}
 
@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints.nary.clauses;
 
 import gnu.trove.map.hash.TIntObjectHashMap;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.nary.sat.LiteralLayer;
 import org.chocosolver.solver.learn.XParameters;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -62,6 +63,10 @@ public class ClauseBuilder {
      * Initial state of the variables
      */
     private final TIntObjectHashMap<IntIterableRangeSet> initialDomains;
+    /**
+     * When not null, clauses are translated into Boolean literals and stored in the SAT solver, when possible
+     */
+    private LiteralLayer literals;
 
     /**
      * Nogood builder, to ease declaration of nogoods
@@ -125,7 +130,9 @@ public class ClauseBuilder {
                         for (int i = 0; i < _vars.length; i++) {
                             ranges[i] = sets.get(_vars[i].getId());
                         }
-                        model.getClauseConstraint().addClause(_vars, ranges);
+                        if (literals == null || !literals.addLearnt(_vars, ranges)) {
+                            model.getClauseConstraint().addClause(_vars, ranges);
+                        }
                         break;
                 }
             } else {
@@ -228,6 +235,23 @@ public class ClauseBuilder {
         set.clear();
     }
 
+    /**
+     * Set a literal layer, so that clauses of two variables or more are stored in the SAT solver, when possible,
+     * instead of in the {@link ClauseStore}.
+     *
+     * @param literals a literal layer, or <i>null</i> to store clauses in the {@link ClauseStore}
+     */
+    public void setLiteralLayer(LiteralLayer literals) {
+        this.literals = literals;
+    }
+
+    /**
+     * @return the literal layer, or <i>null</i> if clauses are stored in the {@link ClauseStore}
+     */
+    public LiteralLayer getLiteralLayer() {
+        return literals;
+    }
+
     public IntIterableRangeSet getInitialDomain(IntVar var) {
         return initialDomains.get(var.getId());
     }
@@ -9,6 +9,9 @@
  */
 package org.chocosolver.solver.constraints.nary.clauses;
 
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.solver.ClauseSharingBus;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
@@ -20,12 +23,10 @@ import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.XParameters;
 import org.chocosolver.solver.search.strategy.selectors.variables.ClausesBased;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.ShrinkableList;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
-import org.chocosolver.util.objects.tree.Interval;
-import org.chocosolver.util.objects.tree.IntervalTree;
 import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.*;
@@ -74,7 +75,22 @@ public class ClauseStore extends Propagator<IntVar> {
      */
     private SignedClause last;
 
-    private HashMap<IntVar, IntervalTree<Container>> watches;
+    /**
+     * Watched literals of each variable, indexed like {@link #vars}
+     */
+    private VarWatches[] watches;
+    /**
+     * Binds variable ID to its index in {@link #vars}, -1 if the variable is not watched
+     */
+    private int[] id2idx;
+    /**
+     * Watchers no longer in use, to be recycled
+     */
+    private Watcher[] pool;
+    /**
+     * Number of watchers in {@link #pool}
+     */
+    private int poolSize;
     /**
      * Amount to bump clause with.
      */
@@ -97,7 +113,10 @@ public class ClauseStore extends Propagator<IntVar> {
         this.clauses = new ArrayList<>();
         this.learnts = new ArrayList<>();
         last = null;
-        this.watches = new HashMap<>();
+        this.watches = new VarWatches[16];
+        this.id2idx = new int[16];
+        Arrays.fill(id2idx, -1);
+        this.pool = new Watcher[16];
         setActive0();
     }
 
@@ -114,19 +133,25 @@ public class ClauseStore extends Propagator<IntVar> {
     }
 
     /**
-     * Declare a new signed clause in this store
+     * Declare a new signed clause in this store.
+     * If the model is registered on a {@link ClauseSharingBus}, a learnt signed clause is also exported
+     * to other models when it is short enough.
      */
     public void add(IntVar[] vars, IntIterableRangeSet[] ranges) {
         if (XParameters.INTERVAL_TREE) {
             SignedClause cl = new SignedClause(vars, ranges);
-            attach(new Watcher(cl.pos[0], cl));
-            attach(new Watcher(cl.pos[1], cl));
+            attach(cl.pos[0], cl);
+            attach(cl.pos[1], cl);
             if (model.getSolver().getEngine().isInitialized()) {
                 this.learnts.add(cl);
                 last = cl;
                 last.activity = clauseInc;
                 last.rawActivity = 1;
                 if (XParameters.PRINT_CLAUSE) System.out.printf("learn: %s\n", cl);
+                ClauseSharingBus.Endpoint endpoint = ClauseSharingBus.endpointOf(model);
+                if (endpoint != null && endpoint.accepts(vars.length)) {
+                    endpoint.export(new SharedSignedClause(vars, ranges));
+                }
             } else {
                 if (XParameters.PRINT_CLAUSE) System.out.printf("add: %s\n", cl);
                 this.clauses.add(cl);
@@ -139,20 +164,65 @@ public class ClauseStore extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * Declare a signed clause learnt by another model in this store.
+     * Unlike {@link #add(IntVar[], IntIterableRangeSet[])}, the clause is not considered as the last learnt one.
+     */
+    private void addImported(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        SignedClause cl = new SignedClause(vars, ranges);
+        attach(cl.pos[0], cl);
+        attach(cl.pos[1], cl);
+        this.learnts.add(cl);
+        cl.activity = clauseInc;
+        mSolver.getEngine().dynamicAddition(true, cl);
+    }
+
+    /**
+     * Watch the literal at position <i>p</i> in <i>c</i>, with a recycled watcher if any.
+     */
+    private void attach(int p, SignedClause c) {
+        Watcher w;
+        if (poolSize > 0) {
+            w = pool[--poolSize];
+            pool[poolSize] = null;
+        } else {
+            w = new Watcher();
+        }
+        w.p = p;
+        w.c = c;
+        attach(w);
+    }
+
     private void attach(Watcher w) {
         IntVar var = w.c.v(w.p);
-        IntervalTree<Container> wm = watches.get(var);
-        if (wm == null) {
-            wm = new IntervalTree<>();
-            watches.put(var, wm);
+        int id = var.getId();
+        if (id >= id2idx.length) {
+            int size = id2idx.length;
+            id2idx = Arrays.copyOf(id2idx, Math.max(id + 1, size * 3 / 2 + 1));
+            Arrays.fill(id2idx, size, id2idx.length, -1);
+        }
+        int idx = id2idx[id];
+        if (idx == -1) {
             this.addVariable(var);
+            idx = vars.length - 1;
+            id2idx[id] = idx;
+            if (idx >= watches.length) {
+                watches = Arrays.copyOf(watches, Math.max(idx + 1, watches.length * 3 / 2 + 1));
+            }
+            watches[idx] = new VarWatches();
         }
-        Container ct = wm.get(w.c.l(w.p), w.c.u(w.p));
-        if (ct == null) {
-            ct = new Container(w.c.l(w.p), w.c.u(w.p));
-            wm.insert(ct);
+        watches[idx].get(w.c.l(w.p), w.c.u(w.p)).add(w);
+    }
+
+    /**
+     * Make <i>w</i> available for recycling.
+     */
+    private void release(Watcher w) {
+        w.c = null;
+        if (poolSize == pool.length) {
+            pool = Arrays.copyOf(pool, poolSize * 3 / 2 + 1);
         }
-        ct.add(w);
+        pool[poolSize++] = w;
     }
 
     /**
@@ -275,17 +345,8 @@ public class ClauseStore extends Propagator<IntVar> {
             if (size > learnts.size() && model.getSettings().warnUser()) {
                 System.out.printf("Reduce DB: %d -> %d\n", size, learnts.size());
             }
-            for (IntervalTree<Container> t : watches.values()) {
-                Stack<Container> del = new Stack<>();
-                for (Container c : t) {
-                    c.watchers.removeIf(w -> !w.c.isConnected());
-                    if(c.watchers.isEmpty()){
-                        del.push(c);
-                    }
-                }
-                while(!del.isEmpty()){
-                    t.delete(del.pop());
-                }
+            for (int i = 0; i < vars.length; i++) {
+                watches[i].removeDisconnected();
             }
         }
     }
@@ -321,20 +382,7 @@ public class ClauseStore extends Propagator<IntVar> {
     @Override
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         // iterate over clauses that needs to be propagator
-        IntVar var = vars[idxVarInProp];
-        IntervalTree<Container> wm = watches.get(var);
-        int lb = var.getLB();
-        int ub = var.getUB();
-        if (IntEventType.isInstantiate(mask) || IntEventType.isRemove(mask)) {
-            sweep(wm.iterator(), var, lb, ub);
-        } else {
-            if (IntEventType.isInclow(mask)) {
-                wm.forAllBelow(lb, c -> checkCont(c, var, lb, ub));
-            }
-            if (IntEventType.isDecupp(mask)) {
-                wm.forAllAbove(ub, c -> checkCont(c, var, lb, ub));
-            }
-        }
+        watches[idxVarInProp].sweep(vars[idxVarInProp], mask);
     }
 
     @Override
@@ -350,14 +398,200 @@ public class ClauseStore extends Propagator<IntVar> {
     }
 
 
-    private void sweep(Iterator<Container> it, IntVar v, int lb, int ub) {
-        while (it.hasNext()) {
-            checkCont(it.next(), v, lb, ub);
+    /**
+     * The literals watched on a variable, stored in flat arrays.
+     * Literals are deduplicated: each range is associated with one {@link Container}.
+     * Ranges are also sorted by lower bound and by upper bound, so that an event only visits
+     * the ranges whose status may have changed.
+     */
+    private final class VarWatches {
+        /**
+         * Lower bounds of the watched ranges
+         */
+        int[] ls = new int[4];
+        /**
+         * Upper bounds of the watched ranges
+         */
+        int[] us = new int[4];
+        /**
+         * Watchers of the watched ranges
+         */
+        Container[] cts = new Container[4];
+        /**
+         * Positions of the watched ranges, sorted by increasing lower bound
+         */
+        int[] byL = new int[4];
+        /**
+         * Positions of the watched ranges, sorted by increasing upper bound
+         */
+        int[] byU = new int[4];
+        /**
+         * Number of watched ranges
+         */
+        int size;
+        /**
+         * Binds a range to its position
+         */
+        final TLongIntHashMap index = new TLongIntHashMap(8, .5f, Long.MIN_VALUE, -1);
+
+        private long key(int l, int u) {
+            return ((long) l << 32) | (u & 0xFFFFFFFFL);
+        }
+
+        /**
+         * @return the container of [l,u], created if it does not exist yet
+         */
+        Container get(int l, int u) {
+            long k = key(l, u);
+            int i = index.get(k);
+            if (i == -1) {
+                if (size == cts.length) {
+                    int ns = size * 3 / 2 + 1;
+                    ls = Arrays.copyOf(ls, ns);
+                    us = Arrays.copyOf(us, ns);
+                    cts = Arrays.copyOf(cts, ns);
+                    byL = Arrays.copyOf(byL, ns);
+                    byU = Arrays.copyOf(byU, ns);
+                }
+                i = size++;
+                ls[i] = l;
+                us[i] = u;
+                cts[i] = new Container(l, u);
+                index.put(k, i);
+                insert(byL, ls, i);
+                insert(byU, us, i);
+            }
+            return cts[i];
+        }
+
+        /**
+         * Insert the range at position <i>i</i>, the last one, in <i>order</i> sorted wrt <i>bounds</i>.
+         */
+        private void insert(int[] order, int[] bounds, int i) {
+            int b = bounds[i];
+            int j = size - 1;
+            while (j > 0 && bounds[order[j - 1]] > b) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        /**
+         * @return the first index in <i>order</i> whose range bound is strictly greater than <i>b</i>
+         */
+        private int firstAbove(int[] order, int[] bounds, int b) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (bounds[order[mid]] <= b) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Check the ranges whose status may have changed after the events in <i>mask</i>.
+         * A range becomes satisfied only when a bound crosses one of its bounds,
+         * and is falsified by a hole only when it is strictly inside the domain bounds.
+         */
+        void sweep(IntVar v, int mask) {
+            int lb = v.getLB();
+            int ub = v.getUB();
+            if (IntEventType.isInstantiate(mask)) {
+                for (int i = 0; i < size; i++) {
+                    visit(i, v, lb, ub);
+                }
+                return;
+            }
+            if (IntEventType.isInclow(mask)) {
+                // ranges ending before lb are falsified
+                int to = firstAbove(byU, us, lb - 1);
+                for (int j = 0; j < to; j++) {
+                    visit(byU[j], v, lb, ub);
+                }
+                // ranges starting at most at lb and ending at least at ub are satisfied
+                for (int j = firstAbove(byU, us, ub - 1); j < size; j++) {
+                    if (ls[byU[j]] <= lb) {
+                        visit(byU[j], v, lb, ub);
+                    }
+                }
+            }
+            if (IntEventType.isDecupp(mask)) {
+                // ranges starting after ub are falsified
+                for (int j = firstAbove(byL, ls, ub); j < size; j++) {
+                    visit(byL[j], v, lb, ub);
+                }
+                // ranges starting at most at lb and ending at least at ub are satisfied
+                int to = firstAbove(byL, ls, lb);
+                for (int j = 0; j < to; j++) {
+                    if (us[byL[j]] >= ub) {
+                        visit(byL[j], v, lb, ub);
+                    }
+                }
+            }
+            if (IntEventType.isRemove(mask)) {
+                // ranges strictly inside ]lb,ub[ may be falsified
+                int to = firstAbove(byL, ls, ub - 1);
+                for (int j = firstAbove(byL, ls, lb); j < to; j++) {
+                    if (us[byL[j]] < ub) {
+                        visit(byL[j], v, lb, ub);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sort the positions of the ranges in <i>order</i> wrt <i>bounds</i>.
+         */
+        private void sort(int[] order, int[] bounds) {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) bounds[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) keys[i];
+            }
+        }
+
+        private void visit(int i, IntVar v, int lb, int ub) {
+            if (cts[i].active) {
+                checkCont(cts[i], v, lb, ub);
+            }
+        }
+
+        /**
+         * Forget watchers of removed clauses and ranges that are no longer watched.
+         */
+        void removeDisconnected() {
+            int old = size;
+            for (int i = size - 1; i >= 0; i--) {
+                cts[i].removeDisconnected();
+                if (cts[i].size == 0) {
+                    index.remove(key(ls[i], us[i]));
+                    if (i < --size) {
+                        ls[i] = ls[size];
+                        us[i] = us[size];
+                        cts[i] = cts[size];
+                        index.put(key(ls[i], us[i]), i);
+                    }
+                    cts[size] = null;
+                }
+            }
+            if (size < old) {
+                // positions have changed
+                sort(byL, ls);
+                sort(byU, us);
+            }
         }
     }
 
     private void checkCont(Container ct, IntVar v, int lb, int ub) {
-        if (!ct.isActive()) return;
         ESat check = check(lb, ub, ct.s, ct.e, v);
         if (check != UNDEFINED) {
             if (check == FALSE) {
@@ -365,46 +599,37 @@ public class ClauseStore extends Propagator<IntVar> {
             } else {
                 ct.sweepOnTrue();
             }
-            model.getEnvironment().save(ct::setActive);
-            ct.setPassive();
+            model.getEnvironment().save(ct);
+            ct.active = false;
         }
     }
 
-    private final class Container implements Interval {
+    /**
+     * The watchers of a range. It is passive once the range is known to be satisfied or falsified,
+     * and made active again on backtrack.
+     */
+    private final class Container implements IOperation {
 
-        int s, e;
-        ShrinkableList<Watcher> watchers;
+        final int s, e;
+        Watcher[] watchers;
+        int size;
         boolean active = true;
 
         Container(int s, int e) {
             this.s = s;
             this.e = e;
-            this.watchers = new ShrinkableList<>();
+            this.watchers = new Watcher[2];
         }
 
-        @Override
-        public int start() {
-            return s;
+        void add(Watcher w) {
+            if (size == watchers.length) {
+                watchers = Arrays.copyOf(watchers, size * 3 / 2 + 1);
+            }
+            watchers[size++] = w;
         }
 
         @Override
-        public int end() {
-            return e;
-        }
-
-        public void add(Watcher w) {
-            this.watchers.add(w);
-        }
-
-        boolean isActive() {
-            return active;
-        }
-
-        void setPassive() {
-            active = false;
-        }
-
-        void setActive() {
+        public void undo() {
             active = true;
         }
 
@@ -412,70 +637,138 @@ public class ClauseStore extends Propagator<IntVar> {
             int i = 0;
             int j = i;
             int p;
-            int s = watchers.size();
+            int s = size;
             while (i < s) {
-                Watcher w = watchers.get(i++);
+                Watcher w = watchers[i++];
                 SignedClause c = w.c;
                 if (w.p != c.pos[p = 0] && w.p != c.pos[++p]) {
                     // watched literal loss, forget it
+                    release(w);
                     continue;
                 }
-                if (w.c.isScheduled()) { // clause already scheduled, skip it
-                    watchers.set(j++, w);
+                if (c.isScheduled()) { // clause already scheduled, skip it
+                    watchers[j++] = w;
                     continue;
                 }
-                if (!w.c.isActive()) {
-                    // clause passive, forget it
-                    model.getEnvironment().save(() -> {
-                        if (w.c.isConnected()) {
-                            attach(w);
-                        }
-                    });
+                if (!c.isActive()) {
+                    // clause passive, forget it until backtrack
+                    model.getEnvironment().save(w);
                     continue;
                 }/*else*/
                 {
-                    watchers.set(j++, w); // keep it, even it is false, since propagation may change the other WL
-                    mSolver.getEngine().schedule(w.c, p, 1);
+                    watchers[j++] = w; // keep it, even it is false, since propagation may change the other WL
+                    mSolver.getEngine().schedule(c, p, 1);
                 }
             }
             // shrink
-            watchers.removeRange(j, i);
+            shrink(j);
         }
 
         void sweepOnTrue() {
             int i = 0;
             int j = 0;
-            int s = watchers.size();
+            int s = size;
             while (i < s) {
-                Watcher w = watchers.get(i++);
+                Watcher w = watchers[i++];
                 SignedClause c = w.c;
                 if (w.p == c.pos[0] || w.p == c.pos[1]) {
-                    watchers.set(j++, w);
-                }// watched literal loss due to initial propagation
+                    watchers[j++] = w;
+                } else {// watched literal loss due to initial propagation
+                    release(w);
+                }
             }
             // shrink
-            watchers.removeRange(j, i);
+            shrink(j);
+        }
+
+        void removeDisconnected() {
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                Watcher w = watchers[i];
+                if (w.c.isConnected()) {
+                    watchers[j++] = w;
+                } else {
+                    release(w);
+                }
+            }
+            shrink(j);
+        }
+
+        private void shrink(int to) {
+            Arrays.fill(watchers, to, size, null);
+            size = to;
         }
 
         @Override
         public String toString() {
-            return String.format("[%d,%d]", start(), end());
+            return String.format("[%d,%d]", s, e);
         }
     }
 
+    /**
+     * A learnt signed clause expressed independently of any {@link ClauseStore}:
+     * each literal is defined by a variable ID and a set of allowed values.
+     */
+    private static final class SharedSignedClause implements ClauseSharingBus.SharedClause {
 
-    private static final class Watcher {
+        private final int[] ids;
+
+        private final IntIterableRangeSet[] ranges;
+
+        SharedSignedClause(IntVar[] vars, IntIterableRangeSet[] ranges) {
+            this.ids = new int[vars.length];
+            this.ranges = new IntIterableRangeSet[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                this.ids[i] = vars[i].getId();
+                this.ranges[i] = ranges[i].duplicate();
+            }
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public boolean importInto(ClauseSharingBus.Endpoint endpoint) {
+            Model target = endpoint.getModel();
+            if (target.getHook(Model.CLAUSES_HOOK_NAME) == null || !XParameters.INTERVAL_TREE) {
+                return false;
+            }
+            IntVar[] vars = new IntVar[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                Variable v = endpoint.getVar(ids[i]);
+                if (!(v instanceof IntVar)) {
+                    return false;
+                }
+                vars[i] = (IntVar) v;
+            }
+            target.getClauseConstraint().getClauseStore().addImported(vars, ranges);
+            return true;
+        }
+    }
+
+    /**
+     * Watches the literal at position <i>p</i> in clause <i>c</i>.
+     * Watchers are recycled once their literal is no longer watched.
+     * When its clause becomes passive, a watcher is detached and reattached on backtrack.
+     */
+    private final class Watcher implements IOperation {
         int p;
         SignedClause c; // clause watch by c.mvars[p]
 
-        Watcher(int p, SignedClause c) {
-            this.p = p;
-            this.c = c;
+        @Override
+        public void undo() {
+            if (c.isConnected()) {
+                attach(this);
+            } else {
+                release(this);
+            }
         }
 
         @Override
         public String toString() {
-            return c.toString();
+            return String.valueOf(c);
         }
     }
 
@@ -694,7 +987,7 @@ public class ClauseStore extends Propagator<IntVar> {
                         pos[1] = l;
                         pos[k] = pos[--to];
                         pos[to] = l1;
-                        attach(new Watcher(l, this));
+                        attach(l, this);
                         if (b == TRUE) {
                             setPassive();
                             FL = F0;
@@ -0,0 +1,162 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseBuilder;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+import static org.chocosolver.sat.SatSolver.negated;
+
+/**
+ * A Boolean literal layer over integer variables.
+ * <p>
+ * Literals <code>[x &le; v]</code> and <code>[x = v]</code> are created lazily, as variables of the SAT solver
+ * embedded in the nogood store of the model (see {@link PropNogoods}), and are channeled with the domain
+ * of <code>x</code> by this store.
+ * <p>
+ * Signed clauses, as learnt by {@link org.chocosolver.solver.search.loop.learn.LearnSignedClauses},
+ * can be translated into clauses over these literals, so that they are propagated by the SAT solver
+ * with two watched literals.
+ * A signed literal <code>x &isin; R</code> is translated range by range:
+ * a range that contains the lower (resp. upper) bound of the initial domain of <code>x</code>
+ * is translated into <code>[x &le; b]</code> (resp. <code>&not;[x &le; a - 1]</code>),
+ * a range in the middle of the initial domain is translated into <code>[x = v]</code> literals,
+ * as long as it holds at most {@link #MAX_EQ_LITERALS} values.
+ * Otherwise, the signed clause cannot be translated.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class LiteralLayer {
+
+    /**
+     * Maximum number of <code>[x = v]</code> literals to create to translate a range
+     */
+    public static final int MAX_EQ_LITERALS = 4;
+    /**
+     * The nogood store, which owns the SAT solver
+     */
+    private final PropNogoods png;
+    /**
+     * To get initial domains
+     */
+    private final ClauseBuilder builder;
+    /**
+     * Literals of the clause under translation
+     */
+    private final TIntArrayList lits;
+    /**
+     * Number of clauses translated so far
+     */
+    private int nbClauses;
+
+    /**
+     * Create a literal layer for <i>model</i>.
+     * The nogood store of the model is created and posted if it does not exist already,
+     * so this should be called before the resolution starts.
+     *
+     * @param model a model
+     */
+    public LiteralLayer(Model model) {
+        this.png = model.getNogoodStore().getPropNogoods();
+        this.builder = model.getClauseBuilder();
+        this.lits = new TIntArrayList();
+    }
+
+    /**
+     * @param var   an integer variable
+     * @param value a value
+     * @return the literal <code>[var &le; value]</code>
+     */
+    public int leq(IntVar var, int value) {
+        return png.Literal(var, value, false);
+    }
+
+    /**
+     * @param var   an integer variable
+     * @param value a value
+     * @return the literal <code>[var = value]</code>
+     */
+    public int eq(IntVar var, int value) {
+        return png.Literal(var, value, true);
+    }
+
+    /**
+     * @return number of signed clauses translated into the SAT solver
+     */
+    public int getNbClauses() {
+        return nbClauses;
+    }
+
+    /**
+     * Translate the signed clause <code>&or;<sub>i</sub> vars[i] &isin; ranges[i]</code>
+     * into a clause over Boolean literals and add it to the learnt clauses of the SAT solver.
+     *
+     * @param vars   variables of the signed clause
+     * @param ranges sets of the signed clause
+     * @return <tt>true</tt> if the clause has been translated, <tt>false</tt> if it cannot be,
+     * in which case nothing has been added
+     */
+    public boolean addLearnt(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        for (int i = 0; i < vars.length; i++) {
+            IntIterableRangeSet init = builder.getInitialDomain(vars[i]);
+            if (init == null || !translate(vars[i], ranges[i], init, false)) {
+                return false;
+            }
+        }
+        lits.resetQuick();
+        for (int i = 0; i < vars.length; i++) {
+            translate(vars[i], ranges[i], builder.getInitialDomain(vars[i]), true);
+        }
+        png.addLearnt(lits.toArray());
+        nbClauses++;
+        return true;
+    }
+
+    /**
+     * Translate <code>var &isin; set</code> and, if <i>create</i> is set to <tt>true</tt>,
+     * add the resulting literals to {@link #lits}.
+     *
+     * @param var    an integer variable
+     * @param set    a set of values
+     * @param init   initial domain of <i>var</i>
+     * @param create set to <tt>false</tt> to only check that the translation is possible
+     * @return <tt>false</tt> if the translation is not possible
+     */
+    private boolean translate(IntVar var, IntIterableRangeSet set, IntIterableRangeSet init, boolean create) {
+        int lb = init.min();
+        int ub = init.max();
+        for (int r = 0; r < set.getNbRanges(); r++) {
+            int a = Math.max(set.minOfRange(r), lb);
+            int b = Math.min(set.maxOfRange(r), ub);
+            if (a > b) continue;
+            if (a == lb && b == ub) {
+                return false; // always true, should have been detected before
+            } else if (a == lb) {
+                if (create) lits.add(leq(var, b));
+            } else if (b == ub) {
+                if (create) lits.add(negated(leq(var, a - 1)));
+            } else {
+                int n = 0;
+                for (int v = init.nextValue(a - 1); v <= b; v = init.nextValue(v)) {
+                    if (create) {
+                        lits.add(eq(var, v));
+                    } else if (++n > MAX_EQ_LITERALS) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -23,6 +23,10 @@ import org.chocosolver.solver.variables.Variable;
  * were created following the very same steps. The consequence is that a variable has the same ID in
  * all models.
  * <p>
+ * Reading the decision paths of other models requires to lock them.
+ * A {@link org.chocosolver.solver.ParallelPortfolio} relies on a {@link org.chocosolver.solver.ClauseSharingBus}
+ * instead, where each model exports the nogoods it records.
+ * <p>
  * Project: choco.
  *
  * @author Charles Prud'homme
@@ -16,7 +16,6 @@ import static org.chocosolver.sat.SatSolver.var;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.map.hash.TLongIntHashMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -25,7 +24,7 @@ import java.util.BitSet;
 import java.util.Deque;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.sat.SatSolver;
-import org.chocosolver.sat.SatSolver.Clause;
+import org.chocosolver.solver.ClauseSharingBus;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -109,11 +108,6 @@ public class PropNogoods extends Propagator<Variable> {
      */
     private Deque<Variable> fp;
 
-    /**
-     * Local-like parameter, for #why() method only, lazily initialized.
-     */
-    private TIntObjectHashMap<ArrayList<Clause>> inClauses;
-
     /**
      * Store new added variables when {@link #initialized} is <i>false</i>
      */
@@ -124,6 +118,30 @@ public class PropNogoods extends Propagator<Variable> {
      */
     private boolean initialized = false;
 
+    /**
+     * Learnt clauses of two literals or more not added to {@link #sat_} yet.
+     * They are added on propagation after backjump, once two of their literals are not false.
+     * Until then, they are unit or falsified and enforced by this propagator, on each propagation.
+     */
+    private final ArrayList<int[]> pending_learnts_;
+
+    /**
+     * Set to <tt>true</tt> when the next coarse grain propagation has to rebuild the assignment of {@link #sat_}
+     * from level 0, because early deductions were made (issue#327).
+     */
+    private boolean resync_ = true;
+
+    /**
+     * Number of times the assignment of {@link #sat_} was rebuilt from level 0.
+     */
+    private int resyncs_ = 0;
+
+    /**
+     * Value of {@link #resyncs_} in the current state, restored on backtrack.
+     * When it differs from {@link #resyncs_}, the levels stored in {@link #sat_trail_} do not match {@link #sat_} anymore.
+     */
+    private final IStateInt resync_stamp_;
+
     /**
      * Create a (unique) propagator for no-goods recording and propagation.
      *
@@ -145,9 +163,11 @@ public class PropNogoods extends Propagator<Variable> {
         sat_ = new SatSolver();
         early_deductions_ = new TIntArrayList();
         sat_trail_ = model.getEnvironment().makeInt();
+        resync_stamp_ = model.getEnvironment().makeInt(-1);
         test_eq = new BitSet();
         fp = new ArrayDeque<>();
         add_var = new ArrayList<>(16);
+        pending_learnts_ = new ArrayList<>();
     }
 
     @Override
@@ -155,12 +175,17 @@ public class PropNogoods extends Propagator<Variable> {
         initialize();
         if (!sat_.ok_) fails();
         fp.clear();
-        sat_.cancelUntil(0); // to deal with learnt clauses, only called on coarse grain propagation
-        storeEarlyDeductions();
-        applyEarlyDeductions();
-        for (int i = 0; i < vars.length; ++i) {
-            doVariableBound(vars[i]);
+        if (resync_ || resync_stamp_.get() != resyncs_) {
+            sat_.cancelUntil(0); // to deal with early deductions, only called on coarse grain propagation
+            resync_ = false;
+            resync_stamp_.set(++resyncs_);
+            storeEarlyDeductions();
+            applyEarlyDeductions();
+            for (int i = 0; i < vars.length; ++i) {
+                doVariableBound(vars[i]);
+            }
         }
+        addPendingLearnts();
         while (fp.size() > 0) {
             doVariableBound(fp.pollFirst());
         }
@@ -170,6 +195,10 @@ public class PropNogoods extends Propagator<Variable> {
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         fp.clear();
         doVariableBound(vars[idxVarInProp]);
+        if (!pending_learnts_.isEmpty() && !resync_ && resync_stamp_.get() == resyncs_) {
+            // the event may have made pending learnt clauses watchable, do not wait for a coarse propagation
+            addPendingLearnts();
+        }
         while (fp.size() > 0) {
             doVariableBound(fp.pollFirst());
         }
@@ -231,7 +260,8 @@ public class PropNogoods extends Propagator<Variable> {
             int var, val;
             long value;
             boolean sign, eq;
-            for (int k : sat_.implies_.keys()) {
+            for (int k = 0; k < 2 * sat_.numvars(); k++) {
+                if (sat_.nImplies(k) == 0) continue;
                 sign = sign(negated(k));
                 var = var(k);
                 Variable avar = vars[lit2pos[var]];
@@ -242,12 +272,12 @@ public class PropNogoods extends Propagator<Variable> {
                     IntVar ivar = (IntVar) avar;
                     if ((eq && sign != ivar.contains(val))
                             || (!eq && sign != ivar.getUB() <= val)) {
-                        OK &= impliesEntailed(sat_.implies_.get(k));
+                        OK &= impliesEntailed(k);
                     }
                 } else if (VariableUtils.isSet(avar)) {
                     SetVar svar = (SetVar) avar;
                     if (eq && sign != svar.getLB().contains(val)) {
-                        OK &= impliesEntailed(sat_.implies_.get(k));
+                        OK &= impliesEntailed(k);
                     }
                 } else {
                     throw new UnsupportedOperationException("Unknown case");
@@ -260,12 +290,13 @@ public class PropNogoods extends Propagator<Variable> {
         return ESat.UNDEFINED;
     }
 
-    private boolean impliesEntailed(TIntList lits) {
+    private boolean impliesEntailed(int k) {
         int var;
         long value;
         boolean sign;
         Variable avar;
-        for (int l : lits.toArray()) {
+        for (int i = 0; i < sat_.nImplies(k); i++) {
+            int l = sat_.implied(k, i);
             sign = sign(l);
             var = var(l);
             avar = vars[lit2pos[var]];
@@ -299,15 +330,17 @@ public class PropNogoods extends Propagator<Variable> {
         return true;
     }
 
-    private boolean clauseEntailed(ArrayList<Clause> clauses) {
+    private boolean clauseEntailed(TIntArrayList clauses) {
         int lit, var;
         long value;
         boolean sign;
         Variable avar;
-        for (Clause c : clauses) {
+        for (int c = 0; c < clauses.size(); c++) {
+            int cr = clauses.getQuick(c);
+            int size = sat_.clauseSize(cr);
             int cnt = 0;
-            for (int i = 0; i < c.size(); i++) {
-                lit = c._g(i);
+            for (int i = 0; i < size; i++) {
+                lit = sat_.clauseLiteral(cr, i);
                 sign = sign(lit);
                 var = var(lit);
                 avar = vars[lit2pos[var]];
@@ -338,7 +371,7 @@ public class PropNogoods extends Propagator<Variable> {
                     throw new UnsupportedOperationException("Unknown case");
                 }
             }
-            if (cnt == c.size()) return false;
+            if (cnt == size) return false;
         }
         return true;
     }
@@ -685,6 +718,7 @@ public class PropNogoods extends Propagator<Variable> {
     public boolean addNogood(int p) {
         boolean result = sat_.addClause(p);
         storeEarlyDeductions();
+        resync_ = true;
         return result;
     }
 
@@ -698,33 +732,97 @@ public class PropNogoods extends Propagator<Variable> {
     public boolean addNogood(TIntList lits) {
         boolean result = sat_.addClause(lits);
         storeEarlyDeductions();
+        resync_ = true;
         return result;
     }
 
     /**
-     * Add learnt clause to no-goods store
+     * Add learnt clause to no-goods store.
+     * If the model is registered on a {@link ClauseSharingBus}, the clause is also exported to other models
+     * when it is short enough.
      *
      * @param lits clause
      */
     public void addLearnt(int... lits) {
-        sat_.learnClause(lits);
-        // early deductions of learnt clause may lead to incorrect behavior on backtrack
-        // since early deduction is not backtrackable.
-        forcePropagationOnBacktrack(); // issue#327
+        ClauseSharingBus.Endpoint endpoint = ClauseSharingBus.endpointOf(model);
+        if (endpoint != null && endpoint.accepts(lits.length)) {
+            endpoint.export(new SharedNogood(this, lits));
+        }
+        learn(lits);
+    }
+
+    private void learn(int... lits) {
+        if (lits.length > 1) {
+            // added after backjump, when the literals to watch are known
+            pending_learnts_.add(lits.clone());
+        } else {
+            sat_.learnClause(lits);
+            // early deductions of learnt clause may lead to incorrect behavior on backtrack
+            // since early deduction is not backtrackable.
+            resync_ = true; // issue#327
+        }
+        forcePropagationOnBacktrack();
+    }
+
+    /**
+     * Add the pending learnt clauses to {@link #sat_} under the current assignment, without rebuilding it:
+     * the variables of the clauses are channeled, since some literals may have just been created,
+     * then each clause is watched if two of its literals are not false.
+     * Otherwise, the clause remains pending and its remaining literal is asserted.
+     *
+     * @throws ContradictionException if a learnt clause is falsified
+     */
+    private void addPendingLearnts() throws ContradictionException {
+        if (sat_trail_.get() < sat_.trailMarker()) {
+            sat_.cancelUntil(sat_trail_.get());
+        }
+        for (int i = 0; i < pending_learnts_.size(); i++) {
+            int[] lits = pending_learnts_.get(i);
+            for (int j = 0; j < lits.length; j++) {
+                doVariableBound(variableOf(var(lits[j])));
+            }
+        }
+        int n = pending_learnts_.size();
+        int i = 0;
+        int j = 0;
+        try {
+            while (i < n) {
+                int[] lits = pending_learnts_.get(i++);
+                if (sat_.learnWatchedClause(lits)) {
+                    detachDominated();
+                } else {
+                    pending_learnts_.set(j++, lits);
+                    doReduce(lits[0]);
+                }
+            }
+        } finally {
+            while (i < n) {
+                pending_learnts_.set(j++, pending_learnts_.get(i++));
+            }
+            pending_learnts_.subList(j, n).clear();
+        }
+    }
+
+    /**
+     * Detach the learnt clauses of {@link #sat_} dominated by the last one.
+     */
+    private void detachDominated() {
         // compare the current clauses with the previous stored one,
         // just in case the current one dominates the previous none
         if (sat_.nLearnt() > 1) {
-            Clause last = sat_.learnts.get(sat_.learnts.size() - 1);
+            int last = sat_.learnts.get(sat_.learnts.size() - 1);
+            int lsize = sat_.clauseSize(last);
             test_eq.clear();
-            for (int i = last.size() - 1; i >= 0; i--) {
-                test_eq.set(last._g(i));
+            for (int i = lsize - 1; i >= 0; i--) {
+                test_eq.set(sat_.clauseLiteral(last, i));
             }
             for (int c = sat_.learnts.size() - 2; c >= 0; c--) {
                 int s = test_eq.cardinality();
-                Clause prev = sat_.learnts.get(c);
-                if (last.size() > 1 && last.size() < prev.size()) {
-                    for (int i = prev.size() - 1; i >= 0; i--) {
-                        s -= test_eq.get(prev._g(i)) ? 1 : 0;
+                int prev = sat_.learnts.get(c);
+                int psize = sat_.clauseSize(prev);
+                if (lsize > 1 && lsize < psize) {
+                    for (int i = psize - 1; i >= 0; i--) {
+                        s -= test_eq.get(sat_.clauseLiteral(prev, i)) ? 1 : 0;
                     }
                     if (s == 0) { // then last dominates prev
                         sat_.detachLearnt(c);
@@ -734,6 +832,14 @@ public class PropNogoods extends Propagator<Variable> {
         }
     }
 
+    /**
+     * @param var a clause var
+     * @return the variable <i>var</i> refers to
+     */
+    private Variable variableOf(int var) {
+        return initialized ? vars[lit2pos[var]] : add_var.get(lit2pos[var]);
+    }
+
     private void storeEarlyDeductions() {
         for (int i = 0; i < sat_.touched_variables_.size(); ++i) {
             int lit = sat_.touched_variables_.get(i);
@@ -753,4 +859,57 @@ public class PropNogoods extends Propagator<Variable> {
             doReduce(lit);
         }
     }
+
+    /**
+     * A learnt no-good expressed independently of any {@link PropNogoods}:
+     * each literal is defined by a variable ID, a value and a sign.
+     */
+    private static final class SharedNogood implements ClauseSharingBus.SharedClause {
+
+        private final int[] ids;
+
+        private final long[] values;
+
+        private final boolean[] signs;
+
+        SharedNogood(PropNogoods png, int[] lits) {
+            this.ids = new int[lits.length];
+            this.values = new long[lits.length];
+            this.signs = new boolean[lits.length];
+            for (int i = 0; i < lits.length; i++) {
+                int var = var(lits[i]);
+                ids[i] = png.variableOf(var).getId();
+                values[i] = png.lit2val[var];
+                signs[i] = sign(lits[i]);
+            }
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public boolean importInto(ClauseSharingBus.Endpoint endpoint) {
+            // the no-good store of the importing model is posted on the first import
+            PropNogoods png = endpoint.getModel().getNogoodStore().getPropNogoods();
+            int[] lits = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                Variable v = endpoint.getVar(ids[i]);
+                int lit;
+                if (v == null) {
+                    return false;
+                } else if (VariableUtils.isInt(v)) {
+                    lit = png.Literal((IntVar) v, ivalue(values[i]), iseq(values[i]));
+                } else if (VariableUtils.isSet(v)) {
+                    lit = png.Literal((SetVar) v, ivalue(values[i]), iseq(values[i]));
+                } else {
+                    return false;
+                }
+                lits[i] = signs[i] ? lit : negated(lit);
+            }
+            png.learn(lits);
+            return true;
+        }
+    }
 }
@@ -11,11 +11,9 @@ package org.chocosolver.solver.constraints.nary.sat;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.sat.SatSolver;
-import org.chocosolver.sat.SatSolver.*;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -57,11 +55,6 @@ public class PropSat extends Propagator<BoolVar> {
      */
     private TIntList early_deductions_;
 
-    /**
-     * Local-like parameter, for #why() method only, lazily initialized.
-     */
-    private TIntObjectHashMap<ArrayList<Clause>> inClauses;
-
     /**
      * Store new added variables when {@link #initialized} is <i>false</i>
      */
@@ -119,14 +112,15 @@ public class PropSat extends Propagator<BoolVar> {
         if (isCompletelyInstantiated()) {
             int var, val;
             boolean sign;
-            for (int k : sat_.implies_.keys()) {
-                if (k < 0) continue; // ignore secret variables
+            for (int k = 0; k < 2 * sat_.numvars(); k++) { // ignore secret variables
+                int n = sat_.nImplies(k);
+                if (n == 0) continue;
                 sign = sign(negated(k));
                 var = var(k);
                 val = vars[var].getValue();
                 if (val == (sign ? 0 : 1)) {
-                    TIntList lits = sat_.implies_.get(k);
-                    for (int l : lits.toArray()) {
+                    for (int i = 0; i < n; i++) {
+                        int l = sat_.implied(k, i);
                         if (l < 0) continue; // ignore secret variables
                         sign = sign(l);
                         var = var(l);
@@ -150,13 +144,15 @@ public class PropSat extends Propagator<BoolVar> {
      * @param clauses list of clause
      * @return <tt>true</tt> if all clauses are satisfied, <tt>false</tt> otherwise
      */
-    private boolean clauseEntailed(ArrayList<Clause> clauses) {
+    private boolean clauseEntailed(TIntArrayList clauses) {
         int lit, var, val;
         boolean sign;
-        for (Clause c : clauses) {
+        for (int c = 0; c < clauses.size(); c++) {
+            int cr = clauses.getQuick(c);
+            int size = sat_.clauseSize(cr);
             int cnt = 0;
-            for (int i = 0; i < c.size(); i++) {
-                lit = c._g(i);
+            for (int i = 0; i < size; i++) {
+                lit = sat_.clauseLiteral(cr, i);
                 if (lit < 0) continue; // ignore secret variables
                 sign = sign(lit);
                 var = var(lit);
@@ -164,7 +160,7 @@ public class PropSat extends Propagator<BoolVar> {
                 if (val == (sign ? 0 : 1)) cnt++; // if the lit is ok
                 else break;
             }
-            if (cnt == c.size()) return false;
+            if (cnt == size) return false;
         }
         return true;
     }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.set;
+
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.impl.BitsetSetVarImpl;
+
+/**
+ * Utility methods for the word-level fast paths of set propagators,
+ * available when all the set variables are {@link BitsetSetVarImpl}.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+final class BitsetSets {
+
+    private BitsetSets() {
+    }
+
+    /**
+     * @param vars set variables
+     * @return <tt>true</tt> if all the variables are {@link BitsetSetVarImpl}
+     */
+    static boolean all(SetVar[] vars) {
+        for (SetVar var : vars) {
+            if (!(var instanceof BitsetSetVarImpl)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param vars bitset set variables
+     * @return the smallest index of a word used by the variables
+     */
+    static int firstWord(SetVar[] vars) {
+        int first = Integer.MAX_VALUE;
+        for (SetVar var : vars) {
+            BitsetSetVarImpl v = (BitsetSetVarImpl) var;
+            if (v.getNbWords() > 0) {
+                first = Math.min(first, v.getFirstWord());
+            }
+        }
+        return first == Integer.MAX_VALUE ? 0 : first;
+    }
+
+    /**
+     * @param vars bitset set variables
+     * @return the number of words needed to cover the universes of the variables
+     */
+    static int nbWords(SetVar[] vars) {
+        int first = firstWord(vars), end = first;
+        for (SetVar var : vars) {
+            BitsetSetVarImpl v = (BitsetSetVarImpl) var;
+            if (v.getNbWords() > 0) {
+                end = Math.max(end, v.getFirstWord() + v.getNbWords());
+            }
+        }
+        return end - first;
+    }
+}
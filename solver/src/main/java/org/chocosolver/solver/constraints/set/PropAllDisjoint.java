@@ -14,6 +14,7 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.impl.BitsetSetVarImpl;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.solver.variables.events.SetEventType;
 import org.chocosolver.util.ESat;
@@ -35,6 +36,11 @@ public class PropAllDisjoint extends Propagator<SetVar> {
     private int n, currentSet;
     private ISetDeltaMonitor[] sdm;
     private IntProcedure elementForced;
+    /**
+     * First word and scratch words, the latter being not null when all variables are bitset-based
+     */
+    private int from;
+    private long[] union, rem;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -61,6 +67,11 @@ public class PropAllDisjoint extends Propagator<SetVar> {
                 }
             }
         };
+        if (BitsetSets.all(vars)) {
+            from = BitsetSets.firstWord(vars);
+            union = new long[BitsetSets.nbWords(vars)];
+            rem = new long[union.length];
+        }
     }
 
     //***********************************************************************************
@@ -75,6 +86,10 @@ public class PropAllDisjoint extends Propagator<SetVar> {
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
+            if (union != null) {
+                propagateWords();
+                return;
+            }
             for (int i = 0; i < n; i++) {
                 for (int j : vars[i].getLB()) {
                     for (int i2 = 0; i2 < n; i2++) {
@@ -87,6 +102,34 @@ public class PropAllDisjoint extends Propagator<SetVar> {
         }
     }
 
+    /**
+     * Word-level filtering: the elements of a kernel are removed from the envelopes of the other sets.
+     *
+     * @throws ContradictionException if two kernels intersect
+     */
+    private void propagateWords() throws ContradictionException {
+        for (int w = 0; w < union.length; w++) {
+            long u = 0, t = 0;
+            for (int i = 0; i < n; i++) {
+                long k = ((BitsetSetVarImpl) vars[i]).getKernelWord(from + w);
+                t |= u & k;
+                u |= k;
+            }
+            // an element belongs to two kernels
+            if (t != 0) {
+                fails();
+            }
+            union[w] = u;
+        }
+        for (int i = 0; i < n; i++) {
+            BitsetSetVarImpl v = (BitsetSetVarImpl) vars[i];
+            for (int w = 0; w < union.length; w++) {
+                rem[w] = union[w] & ~v.getKernelWord(from + w);
+            }
+            v.removeWords(rem, from, this);
+        }
+    }
+
     @Override
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         currentSet = idxVarInProp;
@@ -21,6 +21,7 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.impl.BitsetSetVarImpl;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.solver.variables.events.SetEventType;
 import org.chocosolver.util.ESat;
@@ -37,6 +38,11 @@ public class PropIntersection extends Propagator<SetVar> {
     private int k;
     private ISetDeltaMonitor[] sdm;
     private IntProcedure intersectionForced, intersectionRemoved, setForced, setRemoved;
+    /**
+     * First word and scratch words, the latter being not null when all variables are bitset-based
+     */
+    private int from;
+    private long[] words;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -93,6 +99,10 @@ public class PropIntersection extends Propagator<SetVar> {
             }
         };
         setRemoved = element -> vars[k].remove(element, this);
+        if (k > 0 && BitsetSets.all(vars)) {
+            from = BitsetSets.firstWord(vars);
+            words = new long[BitsetSets.nbWords(vars)];
+        }
     }
 
     //***********************************************************************************
@@ -103,6 +113,10 @@ public class PropIntersection extends Propagator<SetVar> {
     public void propagate(int evtmask) throws ContradictionException {
         SetVar intersection = vars[k];
         if (PropagatorEventType.isFullPropagation(evtmask)) {
+            if (words != null) {
+                propagateWords();
+                return;
+            }
             ISetIterator iter = vars[0].getLB().iterator();
             while (iter.hasNext()){
                 int j = iter.nextInt();
@@ -135,6 +149,40 @@ public class PropIntersection extends Propagator<SetVar> {
         }
     }
 
+    /**
+     * Word-level filtering:
+     * the intersection of the kernels of the sets is added to the kernel of the intersection,
+     * the kernel of the intersection is added to the kernels of the sets
+     * and the envelope of the intersection is restricted to the intersection of the sets' envelopes.
+     *
+     * @throws ContradictionException if a failure occurs
+     */
+    private void propagateWords() throws ContradictionException {
+        BitsetSetVarImpl intersection = (BitsetSetVarImpl) vars[k];
+        for (int w = 0; w < words.length; w++) {
+            long a = -1L;
+            for (int i = 0; i < k; i++) {
+                a &= ((BitsetSetVarImpl) vars[i]).getKernelWord(from + w);
+            }
+            words[w] = a;
+        }
+        intersection.forceWords(words, from, this);
+        for (int w = 0; w < words.length; w++) {
+            words[w] = intersection.getKernelWord(from + w);
+        }
+        for (int i = 0; i < k; i++) {
+            ((BitsetSetVarImpl) vars[i]).forceWords(words, from, this);
+        }
+        for (int w = 0; w < words.length; w++) {
+            long a = -1L;
+            for (int i = 0; i < k; i++) {
+                a &= ((BitsetSetVarImpl) vars[i]).getEnvelopeWord(from + w);
+            }
+            words[w] = intersection.getEnvelopeWord(from + w) & ~a;
+        }
+        intersection.removeWords(words, from, this);
+    }
+
     @Override
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         if (idxVarInProp < k) {
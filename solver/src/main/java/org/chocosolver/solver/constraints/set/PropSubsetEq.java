@@ -21,6 +21,7 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.impl.BitsetSetVarImpl;
 import org.chocosolver.solver.variables.events.SetEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
@@ -39,6 +40,10 @@ public class PropSubsetEq extends Propagator<SetVar> {
 
     private ISetDeltaMonitor[] sdm;
     private IntProcedure elementForced, elementRemoved;
+    /**
+     * Scratch words of X, not null when both variables are bitset-based
+     */
+    private long[] words;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -59,6 +64,9 @@ public class PropSubsetEq extends Propagator<SetVar> {
         }
         elementForced = element -> vars[1].force(element, this);
         elementRemoved = element -> vars[0].remove(element, this);
+        if (BitsetSets.all(vars)) {
+            words = new long[((BitsetSetVarImpl) X).getNbWords()];
+        }
     }
 
     //***********************************************************************************
@@ -75,6 +83,10 @@ public class PropSubsetEq extends Propagator<SetVar> {
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
+        if (words != null) {
+            propagateWords();
+            return;
+        }
         ISetIterator iter = vars[0].getLB().iterator();
         while (iter.hasNext()){
             vars[1].force(iter.nextInt(), this);
@@ -87,6 +99,25 @@ public class PropSubsetEq extends Propagator<SetVar> {
         }
     }
 
+    /**
+     * Word-level filtering: ker(X) is added to ker(Y) and env(X) is restricted to env(Y).
+     *
+     * @throws ContradictionException if a failure occurs
+     */
+    private void propagateWords() throws ContradictionException {
+        BitsetSetVarImpl x = (BitsetSetVarImpl) vars[0];
+        BitsetSetVarImpl y = (BitsetSetVarImpl) vars[1];
+        int from = x.getFirstWord();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = x.getKernelWord(from + i);
+        }
+        y.forceWords(words, from, this);
+        for (int i = 0; i < words.length; i++) {
+            words[i] = x.getEnvelopeWord(from + i) & ~y.getEnvelopeWord(from + i);
+        }
+        x.removeWords(words, from, this);
+    }
+
     @Override
     public void propagate(int i, int mask) throws ContradictionException {
         if (i == 0)
@@ -97,6 +128,19 @@ public class PropSubsetEq extends Propagator<SetVar> {
 
     @Override
     public ESat isEntailed() {
+        if (words != null) {
+            BitsetSetVarImpl x = (BitsetSetVarImpl) vars[0];
+            BitsetSetVarImpl y = (BitsetSetVarImpl) vars[1];
+            int from = x.getFirstWord();
+            boolean entailed = true;
+            for (int i = 0; i < words.length; i++) {
+                if ((x.getKernelWord(from + i) & ~y.getEnvelopeWord(from + i)) != 0) {
+                    return ESat.FALSE;
+                }
+                entailed &= (x.getEnvelopeWord(from + i) & ~y.getKernelWord(from + i)) == 0;
+            }
+            return entailed ? ESat.TRUE : ESat.UNDEFINED;
+        }
         ISetIterator iter = vars[0].getLB().iterator();
         while (iter.hasNext()){
             if (!vars[1].getUB().contains(iter.nextInt())) {
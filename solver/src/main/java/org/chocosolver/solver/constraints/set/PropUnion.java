@@ -21,6 +21,7 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.impl.BitsetSetVarImpl;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.solver.variables.events.SetEventType;
 import org.chocosolver.util.ESat;
@@ -37,6 +38,11 @@ public class PropUnion extends Propagator<SetVar> {
     private int k;
     private ISetDeltaMonitor[] sdm;
     private IntProcedure unionForced, unionRemoved, setForced, setRemoved;
+    /**
+     * First word and scratch words, the latter being not null when all variables are bitset-based
+     */
+    private int from;
+    private long[] words, once;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -98,6 +104,11 @@ public class PropUnion extends Propagator<SetVar> {
                 }
             }
         };
+        if (BitsetSets.all(vars)) {
+            from = BitsetSets.firstWord(vars);
+            words = new long[BitsetSets.nbWords(vars)];
+            once = new long[words.length];
+        }
     }
 
     //***********************************************************************************
@@ -107,6 +118,10 @@ public class PropUnion extends Propagator<SetVar> {
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
+            if (words != null) {
+                propagateWords();
+                return;
+            }
             SetVar union = vars[k];
             for (int i = 0; i < k; i++) {
                 ISetIterator iter = vars[i].getLB().iterator();
@@ -152,6 +167,56 @@ public class PropUnion extends Propagator<SetVar> {
         }
     }
 
+    /**
+     * Word-level filtering:
+     * the kernels of the sets are added to the kernel of the union,
+     * the envelopes of the sets are restricted to the envelope of the union,
+     * elements of the union's envelope which belong to no set's envelope are removed
+     * and elements of the union's kernel which belong to exactly one set's envelope are forced in it.
+     *
+     * @throws ContradictionException if a failure occurs
+     */
+    private void propagateWords() throws ContradictionException {
+        BitsetSetVarImpl union = (BitsetSetVarImpl) vars[k];
+        for (int w = 0; w < words.length; w++) {
+            long u = 0;
+            for (int i = 0; i < k; i++) {
+                u |= ((BitsetSetVarImpl) vars[i]).getKernelWord(from + w);
+            }
+            words[w] = u;
+        }
+        union.forceWords(words, from, this);
+        for (int i = 0; i < k; i++) {
+            BitsetSetVarImpl set = (BitsetSetVarImpl) vars[i];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = set.getEnvelopeWord(from + w) & ~union.getEnvelopeWord(from + w);
+            }
+            set.removeWords(words, from, this);
+        }
+        for (int w = 0; w < words.length; w++) {
+            long any = 0, many = 0;
+            for (int i = 0; i < k; i++) {
+                long e = ((BitsetSetVarImpl) vars[i]).getEnvelopeWord(from + w);
+                many |= any & e;
+                any |= e;
+            }
+            long ker = union.getKernelWord(from + w);
+            if ((ker & ~any) != 0) {
+                union.contradiction(this, "kernel element in no set envelope");
+            }
+            words[w] = union.getEnvelopeWord(from + w) & ~ker & ~any;
+            once[w] = any & ~many;
+        }
+        union.removeWords(words, from, this);
+        for (int i = 0; i < k; i++) {
+            BitsetSetVarImpl set = (BitsetSetVarImpl) vars[i];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = union.getKernelWord(from + w) & once[w] & set.getEnvelopeWord(from + w);
+            }
+            set.forceWords(words, from, this);
+        }
+    }
+
     @Override
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         if (idxVarInProp < k) {
@@ -0,0 +1,177 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+
+import java.util.Arrays;
+
+/**
+ * A propagation engine that learns online the cost and the yield of each propagator
+ * to decide in which queue it is scheduled.
+ * <br/>
+ * The {@link PropagationEngine} schedules a propagator wrt its static {@link Propagator#getPriority()}.
+ * This one does the same during the first revisions of a propagator, then it relies on the time spent
+ * per <i>useful</i> revision, a revision being useful when it modifies a variable or raises a failure.
+ * Cheap and productive propagators are moved to the first queues,
+ * whereas expensive propagators that rarely filter are deferred to the last ones:
+ * they are revised once the cheaper ones have reached their fixpoint, which saves revisions.
+ * <p>
+ * All scheduled propagators are still revised before {@link #propagate()} ends,
+ * so the fixpoint reached is the same than with the default engine, only the revision order changes.
+ * </p>
+ * <p>
+ * Time is only measured on one revision out of {@link #SAMPLING}.
+ * Since the revision order depends on measured times, two runs may not explore exactly the same search tree
+ * when some propagators are not idempotent.
+ * This engine is selected with {@link org.chocosolver.solver.Settings#setCostAwarePropagationEngine(boolean)}.
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class CostAwarePropagationEngine extends PropagationEngine {
+
+    /**
+     * Number of revisions during which the static priority of a propagator is used
+     */
+    static final int WARMUP = 16;
+
+    /**
+     * Time is measured on one revision out of <i>SAMPLING</i>, must be a power of 2
+     */
+    static final int SAMPLING = 8;
+
+    /**
+     * Duration, in nanoseconds, of a useful revision scheduled in the first queue
+     */
+    private static final double UNIT = 32.;
+
+    /**
+     * Lower bound of the yield, to avoid dividing by zero
+     */
+    private static final double MIN_YIELD = 1. / 64;
+
+    /**
+     * Number of revisions per propagator, indexed by propagator ID
+     */
+    private int[] revisions;
+
+    /**
+     * Exponential moving average of the time spent per revision, indexed by propagator ID
+     */
+    private double[] costs;
+
+    /**
+     * Exponential moving average of the usefulness of revisions, indexed by propagator ID
+     */
+    private double[] yields;
+
+    /**
+     * Learnt queue index, indexed by propagator ID
+     */
+    private byte[] queues;
+
+    /**
+     * The propagator in revision
+     */
+    private Propagator current;
+
+    /**
+     * Number of events generated by {@link #current}
+     */
+    private int events;
+
+    /**
+     * A cost-aware propagation engine.
+     *
+     * @param model the declaring model
+     */
+    public CostAwarePropagationEngine(Model model) {
+        super(model);
+        this.revisions = new int[16];
+        this.costs = new double[16];
+        this.yields = new double[16];
+        this.queues = new byte[16];
+    }
+
+    @Override
+    public void schedule(Propagator prop, int pindice, int mask) {
+        prop.doScheduleEvent(pindice, mask);
+        if (!prop.isScheduled()) {
+            schedule(prop, queueOf(prop));
+        }
+    }
+
+    @Override
+    public void onVariableUpdate(Variable variable, IEventType type, ICause cause) {
+        if (cause == current) {
+            events++;
+        }
+        super.onVariableUpdate(variable, type, cause);
+    }
+
+    @Override
+    protected void revise(Propagator propagator) throws ContradictionException {
+        int id = propagator.getId();
+        ensureCapacity(id);
+        int r = revisions[id]++;
+        boolean sample = (r & (SAMPLING - 1)) == SAMPLING - 1;
+        current = propagator;
+        events = 0;
+        long start = sample ? System.nanoTime() : 0L;
+        try {
+            super.revise(propagator);
+        } catch (ContradictionException cex) {
+            learn(id, r, sample, start, true);
+            throw cex;
+        }
+        learn(id, r, sample, start, events > 0);
+    }
+
+    private void learn(int id, int r, boolean sample, long start, boolean useful) {
+        current = null;
+        double y = useful ? 1. : 0.;
+        yields[id] = r == 0 ? y : yields[id] + (y - yields[id]) / WARMUP;
+        if (sample) {
+            long time = System.nanoTime() - start;
+            costs[id] = costs[id] == 0. ? time : costs[id] + (time - costs[id]) / 4;
+            int q = 1 + Math.getExponent(Math.max(1., costs[id] / Math.max(yields[id], MIN_YIELD) / UNIT)) / 2;
+            queues[id] = (byte) Math.min(q, 7);
+        }
+    }
+
+    /**
+     * @param prop a propagator
+     * @return the index of the queue in which <i>prop</i> is scheduled
+     */
+    int queueOf(Propagator prop) {
+        int id = prop.getId();
+        if (id < revisions.length && revisions[id] >= WARMUP) {
+            return queues[id];
+        }
+        return prop.getPriority().priority;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= revisions.length) {
+            int size = Math.max(id + 1, revisions.length * 3 / 2);
+            revisions = Arrays.copyOf(revisions, size);
+            costs = Arrays.copyOf(costs, size);
+            yields = Arrays.copyOf(yields, size);
+            queues = Arrays.copyOf(queues, size);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.solver.variables.impl.AbstractVariable;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.queues.CircularQueue;
 
@@ -30,6 +31,8 @@ import java.util.function.Consumer;
  * This engine is priority-driven constraint-oriented seven queues engine.
  * <br/>On a call to {@code onVariableUpdate}, it stores the event generated and schedules the propagator in
  * one of the 7 queues wrt to its priority for future revision.
+ * <br/>Successive modifications of a variable are aggregated into a single mask
+ * and dispatched to its propagators once, when the current propagator returns.
  * <p>
  * <br/>
  *
@@ -89,6 +92,10 @@ public class PropagationEngine {
      * when set to '0b10', this workds as a variable- oriented propagation engine.
      */
     private final byte hybrid;
+    /**
+     * Records propagators' executions, <tt>null</tt> when profiling is disabled
+     */
+    private PropagationProfiler profiler;
     /**
      * For dynamyc addition, avoid creating a new lambda at each call
      */
@@ -150,9 +157,57 @@ public class PropagationEngine {
                 propagators.get(i).setPosition(i);
                 awake_queue.addLast(propagators.get(i));
             }
+            if (model.getSettings().enableCompactSubscriptions()) {
+                compactSubscriptions();
+            }
         }
     }
 
+    /**
+     * Gather the subscriptions of all variables into two arrays, each variable owning a contiguous slice
+     * in which its propagators are still grouped by propagation conditions.
+     * Propagators added later fall back on arrays owned by the variable (see {@link AbstractVariable#link(Propagator, int)}).
+     */
+    private void compactSubscriptions() {
+        int n = model.getNbVars();
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            size += model.getVar(i).getNbProps();
+        }
+        Propagator[] props = new Propagator[size];
+        int[] idx = new int[size];
+        int from = 0;
+        for (int i = 0; i < n; i++) {
+            Variable var = model.getVar(i);
+            if (var instanceof AbstractVariable) {
+                from = ((AbstractVariable) var).compactSubscriptions(props, idx, from);
+            }
+        }
+    }
+
+    /**
+     * Attach a profiler to this engine, which then records every propagator execution.
+     *
+     * @param profiler a profiler, or <tt>null</tt> to disable profiling
+     */
+    public void setProfiler(PropagationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler attached to this engine, or <tt>null</tt> if profiling is disabled
+     */
+    public PropagationProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return the number of modified variables waiting to be dispatched to their propagators
+     */
+    int getNbPendingVariables() {
+        return var_queue.size();
+    }
+
     /**
      * Is the engine initialized?
      * Important for dynamic addition of constraints
@@ -181,15 +236,10 @@ public class PropagationEngine {
                 }
                 // revision of the variable
                 lastProp.unschedule();
-                delayedPropagationType = 0;
-                if (lastProp.reactToFineEvent()) {
-                    lastProp.doFinePropagation();
-                    // now we can check whether a delayed propagation has been scheduled
-                    if (delayedPropagationType > 0) {
-                        lastProp.propagate(delayedPropagationType);
-                    }
-                } else if (lastProp.isActive()) { // need to be checked due to views
-                    lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                if (profiler == null) {
+                    revise(lastProp);
+                } else {
+                    profiledRevise(lastProp);
                 }
                 if (hybrid < 0b01) {
                     manageModifications();
@@ -198,6 +248,46 @@ public class PropagationEngine {
         } while (!var_queue.isEmpty());
     }
 
+    /**
+     * Propagate the pending events of <i>propagator</i>
+     *
+     * @param propagator a propagator to revise
+     * @throws ContradictionException if propagation fails
+     */
+    protected void revise(Propagator propagator) throws ContradictionException {
+        delayedPropagationType = 0;
+        if (propagator.reactToFineEvent()) {
+            propagator.doFinePropagation();
+            // now we can check whether a delayed propagation has been scheduled
+            if (delayedPropagationType > 0) {
+                propagator.propagate(delayedPropagationType);
+            }
+        } else if (propagator.isActive()) { // need to be checked due to views
+            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        }
+    }
+
+    /**
+     * Same as {@link #revise(Propagator)} but the execution is recorded by {@link #profiler}
+     *
+     * @param propagator a propagator to revise
+     * @throws ContradictionException if propagation fails
+     */
+    private void profiledRevise(Propagator propagator) throws ContradictionException {
+        boolean fine = propagator.reactToFineEvent();
+        if (!fine && !propagator.isActive()) {
+            return;
+        }
+        profiler.before(propagator);
+        try {
+            revise(propagator);
+        } catch (ContradictionException cex) {
+            profiler.after(propagator, fine, !fine || delayedPropagationType > 0, true);
+            throw cex;
+        }
+        profiler.after(propagator, fine, !fine || delayedPropagationType > 0, false);
+    }
+
     /**
      * Checks if some propagators were added or have to be propagated on backtrack
      * @throws ContradictionException if a propagation fails
@@ -222,7 +312,18 @@ public class PropagationEngine {
             propagator.setActive();
         }
         if (propagator.isActive()) {
-            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            if (profiler == null) {
+                propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            } else {
+                profiler.before(propagator);
+                try {
+                    propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                } catch (ContradictionException cex) {
+                    profiler.after(propagator, false, true, true);
+                    throw cex;
+                }
+                profiler.after(propagator, false, true, false);
+            }
             while (!var_queue.isEmpty()) {
                 schedule(var_queue.pollFirst());
             }
@@ -279,7 +380,11 @@ public class PropagationEngine {
             }
             assert found : variable + " not in scope of " + cause;
         }
-        var_queue.addLast(variable);
+        // events are OR-ed into the variable until it is scheduled,
+        // so a variable is queued only once whatever the number of modifications
+        if (variable.getMask() == 0) {
+            var_queue.addLast(variable);
+        }
         variable.storeEvents(type.getMask(), cause);
     }
 
@@ -287,15 +392,16 @@ public class PropagationEngine {
         int mask = variable.getMask();
         if (mask > 0) {
             ICause cause = variable.getCause();
-            Propagator[] vpropagators = variable.getPropagators();
-            int[] vindices = variable.getPIndices();
+            Propagator[] vpropagators = variable.getPropagatorStorage();
+            int[] vindices = variable.getPIndiceStorage();
+            int o = variable.getPOffset();
             Propagator prop;
             EvtScheduler si = variable.getEvtScheduler();
             //noinspection unchecked
             si.init(mask);
             while (si.hasNext()) {
-                int p = variable.getDindex(si.next());
-                int t = variable.getDindex(si.next());
+                int p = o + variable.getDindex(si.next());
+                int t = o + variable.getDindex(si.next());
                 for (; p < t; p++) {
                     prop = vpropagators[p];
                     if (prop.isActive() && cause != prop) {
@@ -312,6 +418,17 @@ public class PropagationEngine {
         notEmpty |= (1 << prop.doSchedule(pro_queue));
     }
 
+    /**
+     * Schedule a propagator, which is not already scheduled, in a specific queue
+     *
+     * @param prop  a propagator not scheduled yet
+     * @param queue index of the queue, from 0 (executed first) to 7 (executed last)
+     */
+    protected final void schedule(Propagator prop, int queue) {
+        assert !prop.isScheduled();
+        notEmpty |= (1 << prop.doSchedule(pro_queue, queue));
+    }
+
     /**
      * Exeucte a delayed propagator
      *
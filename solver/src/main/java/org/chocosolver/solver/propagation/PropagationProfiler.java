@@ -0,0 +1,279 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records, for each propagator executed by a {@link PropagationEngine},
+ * the number of invocations (fine revisions and coarse propagations), the time spent, the number of failures raised
+ * and the number of values removed from the integer variables of its scope.
+ * <p>
+ * A profiler is attached to an engine with {@link PropagationEngine#setProfiler(PropagationProfiler)},
+ * or more simply with {@link org.chocosolver.solver.Solver#profilePropagation()}.
+ * When no profiler is attached, the engine only pays a null check per propagator execution.
+ * Profiling is not free: the domain sizes of a propagator's scope are summed up before and after each
+ * execution (this is not included in the measured time).
+ * </p>
+ * <p>
+ * Statistics are reported per propagator and aggregated per constraint name, either as a table
+ * ({@link #printTable(PrintStream, int)}) or in CSV format ({@link #printCSV(PrintStream)}).
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class PropagationProfiler {
+
+    /**
+     * Statistics of a propagator, or of a group of propagators
+     */
+    public static final class Profile {
+        private final String name;
+        private final String constraint;
+        private long fineCalls;
+        private long coarseCalls;
+        private long time;
+        private long failures;
+        private long removals;
+
+        Profile(String name, String constraint) {
+            this.name = name;
+            this.constraint = constraint;
+        }
+
+        /**
+         * @return name of the profiled propagator, or of the constraint for aggregated statistics
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return name of the constraint the propagator belongs to
+         */
+        public String getConstraint() {
+            return constraint;
+        }
+
+        /**
+         * @return number of invocations, that is, fine revisions plus coarse propagations
+         */
+        public long getInvocations() {
+            return fineCalls + coarseCalls;
+        }
+
+        /**
+         * @return number of fine revisions, that is, calls to {@link Propagator#doFinePropagation()}.
+         * A revision calls {@link Propagator#propagate(int, int)} once per variable with pending events,
+         * so this is not the number of calls to the latter.
+         */
+        public long getFineCalls() {
+            return fineCalls;
+        }
+
+        /**
+         * @return number of calls to {@link Propagator#propagate(int)}
+         */
+        public long getCoarseCalls() {
+            return coarseCalls;
+        }
+
+        /**
+         * @return time spent in propagation, in nanoseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * @return number of failures raised
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return number of values removed from integer variables
+         */
+        public long getRemovals() {
+            return removals;
+        }
+
+        /**
+         * @return average number of values removed per invocation
+         */
+        public double getYield() {
+            long calls = getInvocations();
+            return calls == 0 ? 0. : (double) removals / calls;
+        }
+
+        private void add(Profile p) {
+            fineCalls += p.fineCalls;
+            coarseCalls += p.coarseCalls;
+            time += p.time;
+            failures += p.failures;
+            removals += p.removals;
+        }
+    }
+
+    /**
+     * Statistics per propagator
+     */
+    private final Map<Propagator, Profile> profiles = new HashMap<>();
+
+    /**
+     * Sum of the domain sizes of the scope of the propagator in execution
+     */
+    private long sizes;
+
+    /**
+     * Starting time of the execution of a propagator
+     */
+    private long start;
+
+    /**
+     * Called by the engine just before executing <i>propagator</i>.
+     *
+     * @param propagator the propagator about to be executed
+     */
+    void before(Propagator propagator) {
+        sizes = sizeOf(propagator);
+        start = System.nanoTime();
+    }
+
+    /**
+     * Called by the engine just after having executed <i>propagator</i>.
+     *
+     * @param propagator the propagator executed
+     * @param fine       <tt>true</tt> if it was a fine execution
+     * @param coarse     <tt>true</tt> if it was (or it ended with) a coarse execution
+     * @param failure    <tt>true</tt> if the execution raised a failure
+     */
+    void after(Propagator propagator, boolean fine, boolean coarse, boolean failure) {
+        long time = System.nanoTime() - start;
+        Profile p = profiles.get(propagator);
+        if (p == null) {
+            Constraint c = propagator.getConstraint();
+            p = new Profile(propagator.toString(), c == null ? "-" : c.getName());
+            profiles.put(propagator, p);
+        }
+        p.time += time;
+        if (fine) {
+            p.fineCalls++;
+        }
+        if (coarse) {
+            p.coarseCalls++;
+        }
+        if (failure) {
+            p.failures++;
+        }
+        p.removals += Math.max(0, sizes - sizeOf(propagator));
+    }
+
+    private static long sizeOf(Propagator propagator) {
+        long size = 0;
+        for (int i = 0; i < propagator.getNbVars(); i++) {
+            Variable v = propagator.getVar(i);
+            if ((v.getTypeAndKind() & Variable.INT) != 0) {
+                size += ((IntVar) v).getDomainSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Forget all statistics recorded so far.
+     */
+    public void reset() {
+        profiles.clear();
+    }
+
+    /**
+     * @return statistics per propagator, sorted by decreasing time spent
+     */
+    public List<Profile> getProfiles() {
+        return sorted(profiles.values());
+    }
+
+    /**
+     * @return statistics aggregated per constraint name, sorted by decreasing time spent
+     */
+    public List<Profile> getProfilesPerConstraint() {
+        Map<String, Profile> groups = new LinkedHashMap<>();
+        for (Profile p : profiles.values()) {
+            groups.computeIfAbsent(p.constraint, k -> new Profile(k, k)).add(p);
+        }
+        return sorted(groups.values());
+    }
+
+    private static List<Profile> sorted(Collection<Profile> profiles) {
+        List<Profile> list = new ArrayList<>(profiles);
+        list.sort((p1, p2) -> Long.compare(p2.time, p1.time));
+        return list;
+    }
+
+    /**
+     * Print statistics aggregated per constraint name, then the statistics
+     * of the <i>top</i> most time-consuming propagators.
+     *
+     * @param out output stream
+     * @param top maximum number of propagators to print
+     */
+    public void printTable(PrintStream out, int top) {
+        String format = "%-40.40s %12s %12s %12s %10s %8s %10s %9s%n";
+        String line = "%-40.40s %12d %12d %12d %10.3f %8d %10d %9.3f%n";
+        out.println("- Propagation profile per constraint -");
+        out.printf(format, "constraint", "calls", "fine", "coarse", "time(ms)", "fails", "removals", "yield");
+        for (Profile p : getProfilesPerConstraint()) {
+            print(out, line, p.name, p);
+        }
+        out.printf("- Top %d propagators -%n", top);
+        out.printf(format, "propagator", "calls", "fine", "coarse", "time(ms)", "fails", "removals", "yield");
+        List<Profile> list = getProfiles();
+        for (int i = 0; i < Math.min(top, list.size()); i++) {
+            print(out, line, list.get(i).name, list.get(i));
+        }
+    }
+
+    private static void print(PrintStream out, String format, String name, Profile p) {
+        out.printf(format, name, p.getInvocations(), p.fineCalls, p.coarseCalls,
+                p.time / 1_000_000d, p.failures, p.removals, p.getYield());
+    }
+
+    /**
+     * Print the statistics of each propagator in CSV format.
+     * The header is:
+     * <pre>
+     *     propagator;constraint;calls;fineCalls;coarseCalls;time(ns);failures;removals;
+     * </pre>
+     *
+     * @param out output stream
+     */
+    public void printCSV(PrintStream out) {
+        out.println("propagator;constraint;calls;fineCalls;coarseCalls;time(ns);failures;removals;");
+        for (Profile p : getProfiles()) {
+            out.printf("\"%s\";\"%s\";%d;%d;%d;%d;%d;%d;%n",
+                    p.name.replace("\"", "\"\""), p.constraint.replace("\"", "\"\""),
+                    p.getInvocations(), p.fineCalls, p.coarseCalls, p.time, p.failures, p.removals);
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.chocosolver.solver.search.loop.learn;
 
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
+import org.chocosolver.solver.constraints.nary.sat.LiteralLayer;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
@@ -62,6 +63,9 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
     public LearnSignedClauses(Solver solver) {
         this.mSolver = solver;
         solver.getModel().getClauseBuilder(); // mandatory to store initial domains
+        if (solver.getModel().getSettings().learntClausesInSat()) {
+            solver.getModel().getClauseBuilder().setLiteralLayer(new LiteralLayer(solver.getModel()));
+        }
         this.ngstore = mSolver.getModel().getClauseConstraint().getClauseStore();
         this.max_card = mSolver.getModel().getSettings().getMaxLearntClauseCardinality();
     }
@@ -0,0 +1,155 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A bounded pool of the best solutions found so far, shared by LNS workers.
+ * Solutions are sorted from the best to the worst, with respect to their objective value.
+ * When the pool is full, a new solution replaces the worst one, if it is better.
+ * <p>
+ * Since solutions refer to variables by their ID, a solution recorded in a model
+ * can be read from any equivalent model, that is, a model which declares the same variables in the same order.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class ElitePool {
+
+    /**
+     * A solution and its objective value.
+     */
+    public static final class Entry {
+
+        private final int value;
+
+        private final Solution solution;
+
+        Entry(int value, Solution solution) {
+            this.value = value;
+            this.solution = solution;
+        }
+
+        /**
+         * @return the objective value of the solution
+         */
+        public int getValue() {
+            return value;
+        }
+
+        /**
+         * @return the solution, which must not be modified
+         */
+        public Solution getSolution() {
+            return solution;
+        }
+    }
+
+    /**
+     * Maximum number of solutions stored
+     */
+    private final int capacity;
+    /**
+     * Set to <i>true</i> when the objective is to maximize
+     */
+    private final boolean maximize;
+    /**
+     * Solutions stored, from the best to the worst
+     */
+    private final List<Entry> entries;
+    /**
+     * Number of solutions accepted so far
+     */
+    private volatile int version;
+
+    /**
+     * Create an empty pool.
+     * @param capacity maximum number of solutions stored
+     * @param maximize set to <i>true</i> when the objective is to maximize
+     */
+    public ElitePool(int capacity, boolean maximize) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of an elite pool should be positive");
+        }
+        this.capacity = capacity;
+        this.maximize = maximize;
+        this.entries = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Offer a solution to this pool.
+     * The solution is stored unless the pool is full and all its solutions are at least as good.
+     * @param value objective value of the solution
+     * @param solution a recorded solution, not to be modified afterwards
+     * @return <i>true</i> if the solution has been stored
+     */
+    public synchronized boolean offer(int value, Solution solution) {
+        int i = entries.size();
+        while (i > 0 && better(value, entries.get(i - 1).value)) {
+            i--;
+        }
+        if (i == capacity) {
+            return false;
+        }
+        if (entries.size() == capacity) {
+            entries.remove(capacity - 1);
+        }
+        entries.add(i, new Entry(value, solution));
+        version++;
+        return true;
+    }
+
+    /**
+     * Pick a solution in this pool, better solutions being more likely to be picked.
+     * @param random a pseudorandom numbers generator
+     * @return a solution of this pool, or <i>null</i> if it is empty
+     */
+    public synchronized Entry pick(Random random) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        double r = random.nextDouble();
+        return entries.get((int) (r * r * entries.size()));
+    }
+
+    /**
+     * @return the best solution of this pool, or <i>null</i> if it is empty
+     */
+    public synchronized Entry getBest() {
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    /**
+     * @return the number of solutions in this pool
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of solutions accepted so far, which allows to detect changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private boolean better(int v1, int v2) {
+        return maximize ? v1 > v2 : v1 < v2;
+    }
+}
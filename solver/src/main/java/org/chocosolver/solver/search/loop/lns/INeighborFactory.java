@@ -9,9 +9,14 @@
  */
 package org.chocosolver.solver.search.loop.lns;
 
+import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.search.loop.lns.neighbors.*;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.Task;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
 
 /**
  * Factory to creates INeighbor objects that configures LNS
@@ -91,6 +96,92 @@ public class INeighborFactory {
         return new ReversePropagationGuidedNeighborhood(vars, 0, 30, seed);
     }
 
+    /**
+     * Creates an adaptive LNS neighbor, which selects the operator (random, propagation-guided or reverse propagation-guided)
+     * and the size of the next fragment with a bandit policy, and adapts the fragment sizes
+     * to the outcome of the search of each fragment.
+     * @param vars the pool of variables to be freezed
+     * @return an adaptive LNS neighbor
+     * @see BanditNeighborhood
+     */
+    public static INeighbor adaptive(IntVar... vars) {
+        return adaptive(0, vars);
+    }
+
+    /**
+     * Creates an adaptive LNS neighbor, which selects the operator (random, propagation-guided or reverse propagation-guided)
+     * and the size of the next fragment with a bandit policy, and adapts the fragment sizes
+     * to the outcome of the search of each fragment.
+     * @param seed the seed for randomness
+     * @param vars the pool of variables to be freezed
+     * @return an adaptive LNS neighbor
+     * @see BanditNeighborhood
+     */
+    public static INeighbor adaptive(long seed, IntVar... vars) {
+        return new BanditNeighborhood(.3,
+            random(seed, vars),
+            propagationGuided(seed, vars),
+            reversedPropagationGuided(seed, vars)
+        );
+    }
+
+    /**
+     * Creates a neighbor which relaxes variables connected in the constraint graph
+     * @param vars the pool of variables to be freezed
+     * @return a constraint-graph neighbor
+     * @see ConstraintGraphNeighborhood
+     */
+    public static IntNeighbor constraintGraph(IntVar... vars) {
+        return constraintGraph(0, p -> true, vars);
+    }
+
+    /**
+     * Creates a neighbor which relaxes variables connected in the constraint graph,
+     * only following the propagators accepted by <i>filter</i>
+     * @param seed the seed for randomness
+     * @param filter the propagators to follow
+     * @param vars the pool of variables to be freezed
+     * @return a constraint-graph neighbor
+     * @see ConstraintGraphNeighborhood
+     */
+    public static IntNeighbor constraintGraph(long seed, Predicate<Propagator<?>> filter, IntVar... vars) {
+        return new ConstraintGraphNeighborhood(vars, .3, filter, seed);
+    }
+
+    /**
+     * Creates a neighbor which relaxes the tasks starting in a time window
+     * @param seed the seed for randomness
+     * @param starts the starting times of the tasks
+     * @return a time-window neighbor
+     * @see TimeWindowNeighborhood
+     */
+    public static IntNeighbor timeWindow(long seed, IntVar... starts) {
+        return new TimeWindowNeighborhood(starts, .3, seed);
+    }
+
+    /**
+     * Creates a neighbor which relaxes the tasks starting in a time window
+     * @param seed the seed for randomness
+     * @param tasks the tasks
+     * @return a time-window neighbor
+     * @see TimeWindowNeighborhood
+     */
+    public static IntNeighbor timeWindow(long seed, Task... tasks) {
+        return timeWindow(seed, Arrays.stream(tasks).map(Task::getStart).toArray(IntVar[]::new));
+    }
+
+    /**
+     * Creates a neighbor which relaxes segments of a circuit
+     * @param seed the seed for randomness
+     * @param offset the offset of the successors
+     * @param succs the successors of the nodes
+     * @return a circuit-segment neighbor
+     * @see CircuitSegmentNeighborhood
+     */
+    public static IntNeighbor circuitSegment(long seed, int offset, IntVar... succs) {
+        return new CircuitSegmentNeighborhood(succs, offset, .3, seed);
+    }
+
     /**
      * Creates a composite INeighbor grouping a set of neighbors
      * @param neighbors a set of neighbors to be grouped
@@ -0,0 +1,232 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.bandit.MOSS;
+import org.chocosolver.util.bandit.Policy;
+
+import java.util.Arrays;
+
+/**
+ * An adaptive large neighborhood, which selects both the operator computing the next fragment
+ * and the size of this fragment with a bandit policy.
+ * <p>
+ * Each operator has a base relaxation ratio (the proportion of variables to relax).
+ * An arm of the bandit is a pair (operator, size), where the size is either half the base ratio,
+ * the base ratio or twice the base ratio.
+ * An arm is rewarded when the fragment leads to a solution, the more quickly the better,
+ * compared to the average time spent on a fragment.
+ * The base ratio of an operator is updated after each of its fragments:
+ * <ul>
+ *     <li>when the fragment leads to a solution, the base ratio is set to the ratio of that fragment,</li>
+ *     <li>when the search space induced by the fragment is entirely explored without solution,
+ *     the fragment is too small and the base ratio grows,</li>
+ *     <li>otherwise, the fail limit was reached, the fragment is too large and the base ratio shrinks.</li>
+ * </ul>
+ * The operators are expected to support {@link #setRelaxationRatio(double)}, as
+ * {@link RandomNeighborhood}, {@link PropagationGuidedNeighborhood} and {@link ReversePropagationGuidedNeighborhood} do.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class BanditNeighborhood implements INeighbor {
+
+    /**
+     * Factors applied to the base ratio of an operator, one arm per factor
+     */
+    private static final double[] FACTORS = {.5, 1., 2.};
+    /**
+     * Growth factor of a base ratio, its inverse is applied to shrink it
+     */
+    private static final double GROWTH = 1.2;
+    /**
+     * Smallest relaxation ratio
+     */
+    private static final double MIN_RATIO = .01;
+
+    /**
+     * Operators which compute the fragments
+     */
+    private final INeighbor[] operators;
+    /**
+     * Selects the next arm
+     */
+    private final Policy policy;
+    /**
+     * Initial relaxation ratio
+     */
+    private final double ratio;
+    /**
+     * Base relaxation ratio of each operator
+     */
+    private final double[] ratios;
+    /**
+     * Number of fragments computed so far
+     */
+    private int step;
+    /**
+     * Arm currently played, -1 if none
+     */
+    private int action;
+    /**
+     * Relaxation ratio of the current fragment
+     */
+    private double applied;
+    /**
+     * Set to <i>true</i> when a solution has been found since the last fragment
+     */
+    private boolean improved;
+    /**
+     * Set to <i>true</i> when the search space of the current fragment has been entirely explored
+     */
+    private boolean exhausted;
+    /**
+     * Time when the current fragment was computed
+     */
+    private long start;
+    /**
+     * Moving average of the time spent on a fragment
+     */
+    private double meanTime;
+
+    /**
+     * Create an adaptive neighbor based on {@link MOSS}.
+     *
+     * @param ratio     initial proportion of variables to relax, in ]0,1]
+     * @param operators neighbors which compute the fragments
+     */
+    public BanditNeighborhood(double ratio, INeighbor... operators) {
+        this(new MOSS(operators.length * FACTORS.length), ratio, operators);
+    }
+
+    /**
+     * Create an adaptive neighbor.
+     *
+     * @param policy    selection policy, with three arms per operator: arm <i>3i+j</i> relaxes
+     *                  with operator <i>i</i> half (<i>j</i>=0), once (<i>j</i>=1) or twice (<i>j</i>=2) its base ratio
+     * @param ratio     initial proportion of variables to relax, in ]0,1]
+     * @param operators neighbors which compute the fragments
+     */
+    public BanditNeighborhood(Policy policy, double ratio, INeighbor... operators) {
+        if (ratio <= 0. || ratio > 1.) {
+            throw new IllegalArgumentException("BanditNeighborhood: ratio should be in ]0,1]");
+        }
+        this.policy = policy;
+        this.ratio = ratio;
+        this.operators = operators;
+        this.ratios = new double[operators.length];
+    }
+
+    @Override
+    public void init() {
+        for (INeighbor operator : operators) {
+            operator.init();
+        }
+        policy.init();
+        Arrays.fill(ratios, ratio);
+        step = 0;
+        action = -1;
+        meanTime = 0.;
+    }
+
+    @Override
+    public void recordSolution() {
+        for (INeighbor operator : operators) {
+            operator.recordSolution();
+        }
+        improved = true;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        for (INeighbor operator : operators) {
+            operator.loadFromSolution(solution);
+        }
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        if (action >= 0) {
+            learn();
+        }
+        action = policy.nextAction(step++);
+        int op = action / FACTORS.length;
+        applied = Math.min(1., Math.max(MIN_RATIO, ratios[op] * FACTORS[action % FACTORS.length]));
+        operators[op].setRelaxationRatio(applied);
+        start = System.nanoTime();
+        operators[op].fixSomeVariables();
+    }
+
+    /**
+     * Rewards the current arm and updates the base ratio of the current operator,
+     * depending on how the search of the current fragment ended.
+     */
+    private void learn() {
+        int op = action / FACTORS.length;
+        double time = Math.max(1L, System.nanoTime() - start);
+        meanTime = meanTime == 0. ? time : .9 * meanTime + .1 * time;
+        double reward = 0.;
+        if (improved) {
+            reward = Math.min(1., meanTime / time);
+            ratios[op] = applied;
+        } else if (exhausted) {
+            ratios[op] = Math.min(1., ratios[op] * GROWTH);
+        } else {
+            ratios[op] = Math.max(MIN_RATIO, ratios[op] / GROWTH);
+        }
+        policy.update(action, reward);
+        improved = false;
+        exhausted = false;
+    }
+
+    @Override
+    public void onExhaustedFragment() {
+        exhausted = true;
+    }
+
+    /**
+     * @implNote the sizes of the fragments are managed by this neighbor, so nothing is done
+     */
+    @Override
+    public void restrictLess() {
+        // Intentionally left empty.
+    }
+
+    /**
+     * Sets the base relaxation ratio of all operators.
+     *
+     * @param ratio proportion of variables to relax, in ]0,1]
+     */
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        Arrays.fill(ratios, ratio);
+    }
+
+    @Override
+    public boolean isSearchComplete() {
+        boolean isComplete = false;
+        for (INeighbor operator : operators) {
+            isComplete |= operator.isSearchComplete();
+        }
+        return isComplete;
+    }
+
+    /**
+     * @param operator index of an operator
+     * @return the current base relaxation ratio of <i>operator</i>
+     */
+    public double getRatio(int operator) {
+        return ratios[operator];
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * A neighbor for routing problems, which relaxes a segment of the (sub-)circuit of the last recorded solution.
+ * <p>
+ * The variables are the successors of the nodes, as in a circuit or a subcircuit constraint.
+ * A node is selected randomly, then the successors of the nodes met by following the circuit from it are relaxed,
+ * as well as the successor of its predecessor, so that the segment can be reordered or reconnected.
+ * The other successors are frozen.
+ * When the segment loops before enough nodes are relaxed, another segment is started.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class CircuitSegmentNeighborhood extends StructuredNeighborhood {
+
+    /**
+     * Offset of the successors, the successor of node <i>i</i> being node <i>succs[i] - offset</i>
+     */
+    private final int offset;
+    /**
+     * Predecessor of each node in the last recorded solution, computed on demand
+     */
+    private final int[] pred;
+
+    /**
+     * Create a neighbor which relaxes segments of a circuit.
+     *
+     * @param succs  successors of the nodes
+     * @param offset offset of the successors (0 by default)
+     * @param ratio  initial proportion of nodes to relax, in ]0,1]
+     * @param seed   for randomness
+     */
+    public CircuitSegmentNeighborhood(IntVar[] succs, int offset, double ratio, long seed) {
+        super(succs, ratio, seed);
+        this.offset = offset;
+        this.pred = new int[n];
+    }
+
+    @Override
+    protected void relax(int size) {
+        for (int i = 0; i < n; i++) {
+            pred[i] = i;
+        }
+        for (int i = 0; i < n; i++) {
+            int j = values[i] - offset;
+            if (j >= 0 && j < n) {
+                pred[j] = i;
+            }
+        }
+        int count = 0;
+        while (count < size) {
+            int i = randomUnrelaxed();
+            if (i < 0) {
+                break;
+            }
+            if (!fragment.get(pred[i])) {
+                fragment.set(pred[i]);
+                count++;
+            }
+            while (count < size && !fragment.get(i)) {
+                fragment.set(i);
+                count++;
+                int j = values[i] - offset;
+                if (j < 0 || j >= n) {
+                    break;
+                }
+                i = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A neighbor which relaxes variables connected in the constraint graph,
+ * where two variables are connected when they share a propagator.
+ * <p>
+ * Starting from a variable selected randomly, the variables are relaxed in a breadth-first way:
+ * the variables of the propagators of a relaxed variable are relaxed in turn, until enough variables are relaxed.
+ * Only non-entailed propagators accepted by a filter are followed, for instance the propagators of some cumulative
+ * constraints, so that the variables which share a resource are relaxed together.
+ * When the connected component is too small, another variable is selected randomly.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class ConstraintGraphNeighborhood extends StructuredNeighborhood {
+
+    /**
+     * Propagators to follow
+     */
+    private final Predicate<Propagator<?>> filter;
+    /**
+     * Map (variable id - position in {@link #variables})
+     */
+    private final IntMap v2i;
+    /**
+     * Relaxed variables whose propagators are not followed yet
+     */
+    private final int[] queue;
+    /**
+     * Propagators already followed in the current fragment
+     */
+    private final Set<Propagator<?>> followed;
+
+    /**
+     * Create a neighbor which relaxes variables connected in the constraint graph.
+     *
+     * @param vars   variables to consider
+     * @param ratio  initial proportion of variables to relax, in ]0,1]
+     * @param filter propagators to follow
+     * @param seed   for randomness
+     */
+    public ConstraintGraphNeighborhood(IntVar[] vars, double ratio, Predicate<Propagator<?>> filter, long seed) {
+        super(vars, ratio, seed);
+        this.filter = filter;
+        this.v2i = new IntMap(n * 3 / 2 + 1, -1);
+        for (int i = n - 1; i >= 0; i--) {
+            v2i.put(vars[i].getId(), i);
+        }
+        this.queue = new int[n];
+        this.followed = new HashSet<>();
+    }
+
+    @Override
+    protected void relax(int size) {
+        followed.clear();
+        int count = 0;
+        int head = 0, tail = 0;
+        while (count < size) {
+            if (head == tail) {
+                int i = randomUnrelaxed();
+                if (i < 0) {
+                    break;
+                }
+                fragment.set(i);
+                queue[tail++] = i;
+                count++;
+            }
+            IntVar var = variables[queue[head++]];
+            int np = var.getNbProps();
+            int o = np > 1 ? random.nextInt(np) : 0;
+            for (int k = 0; k < np && count < size; k++) {
+                Propagator<?> p = var.getPropagator((o + k) % np);
+                if (p.isPassive() || !filter.test(p) || !followed.add(p)) {
+                    continue;
+                }
+                int nv = p.getNbVars();
+                int o2 = random.nextInt(nv);
+                for (int l = 0; l < nv && count < size; l++) {
+                    int j = v2i.get(p.getVar((o2 + l) % nv).getId());
+                    if (j > -1 && !fragment.get(j)) {
+                        fragment.set(j);
+                        queue[tail++] = j;
+                        count++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.ElitePool;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.bandit.SynchronizedPolicy;
+
+import java.util.Random;
+
+/**
+ * A neighbor which relaxes solutions picked in an {@link ElitePool}, shared with other LNS workers.
+ * <p>
+ * Each solution found is published in the pool as soon as it is found.
+ * Whenever the pool changes, a solution is picked in it (the better, the more likely)
+ * and serves as a basis for the next fragments.
+ * The operator which computes a fragment is selected by a bandit policy, shared with other workers too,
+ * which is rewarded each time a fragment leads to a solution.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class ElitePoolNeighborhood implements INeighbor, IMonitorSolution {
+
+    /**
+     * The model this neighbor relies on
+     */
+    private final Model model;
+    /**
+     * Solutions shared by workers
+     */
+    private final ElitePool pool;
+    /**
+     * Selects the operator to apply, shared by workers
+     */
+    private final SynchronizedPolicy policy;
+    /**
+     * Operators which compute the fragments
+     */
+    private final INeighbor[] operators;
+    /**
+     * For randomness
+     */
+    private final Random random;
+    /**
+     * Solution currently relaxed
+     */
+    private Solution current;
+    /**
+     * Version of the pool when a solution was picked for the last time
+     */
+    private int seen;
+    /**
+     * Operator currently applied, -1 if none
+     */
+    private int who;
+    /**
+     * Set to <i>true</i> when a solution has been found since the last fragment
+     */
+    private boolean improved;
+
+    /**
+     * Create a neighbor which relaxes solutions picked in a shared pool.
+     * @param model the model the operators rely on, it must have an integer objective variable
+     * @param pool solutions shared by workers
+     * @param policy selection policy of the operators, shared by workers which declare the same operators
+     * @param seed for randomness
+     * @param operators neighbors which compute the fragments
+     */
+    public ElitePoolNeighborhood(Model model, ElitePool pool, SynchronizedPolicy policy, long seed,
+                                 INeighbor... operators) {
+        this.model = model;
+        this.pool = pool;
+        this.policy = policy;
+        this.operators = operators;
+        this.random = new Random(seed);
+        this.seen = -1;
+        this.who = -1;
+    }
+
+    @Override
+    public void init() {
+        if (!model.getSolver().getSearchMonitors().contains(this)) {
+            model.getSolver().plugMonitor(this);
+        }
+        for (INeighbor operator : operators) {
+            operator.init();
+        }
+    }
+
+    @Override
+    public void onSolution() {
+        current = new Solution(model).record();
+        pool.offer(((IntVar) model.getObjective()).getValue(), current);
+        seen = pool.getVersion();
+    }
+
+    @Override
+    public void recordSolution() {
+        for (INeighbor operator : operators) {
+            operator.recordSolution();
+        }
+        improved = true;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        for (INeighbor operator : operators) {
+            operator.loadFromSolution(solution);
+        }
+        current = solution;
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        if (who >= 0) {
+            policy.update(who, improved ? 1. : 0.);
+        }
+        improved = false;
+        int version = pool.getVersion();
+        if (version != seen) {
+            seen = version;
+            ElitePool.Entry entry = pool.pick(random);
+            if (entry != null && entry.getSolution() != current) {
+                loadFromSolution(entry.getSolution());
+            }
+        }
+        who = policy.nextAction();
+        operators[who].fixSomeVariables();
+    }
+
+    @Override
+    public void restrictLess() {
+        if (who >= 0) {
+            operators[who].restrictLess();
+        }
+    }
+
+    @Override
+    public void onExhaustedFragment() {
+        if (who >= 0) {
+            operators[who].onExhaustedFragment();
+        }
+    }
+
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        for (INeighbor operator : operators) {
+            operator.setRelaxationRatio(ratio);
+        }
+    }
+
+    @Override
+    public boolean isSearchComplete() {
+        boolean isComplete = false;
+        for (INeighbor operator : operators) {
+            isComplete |= operator.isSearchComplete();
+        }
+        return isComplete;
+    }
+
+    /**
+     * @return the operator currently applied, -1 if none
+     */
+    public int getCurrentOperator() {
+        return who;
+    }
+}
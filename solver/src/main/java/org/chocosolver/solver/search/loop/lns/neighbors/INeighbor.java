@@ -48,6 +48,26 @@ public interface INeighbor extends ICause {
         // Intentionally left empty.
     }
 
+    /**
+     * Informs this neighbor that the search space induced by the last fragment has been entirely explored
+     * without finding any new solution, that is, the fragment was too restrictive.
+     * Called before {@link #restrictLess()}.
+     */
+    default void onExhaustedFragment(){
+        // Intentionally left empty.
+    }
+
+    /**
+     * Sets the proportion of variables to relax in the next fragments.
+     * Once set, it overrides the way this neighbor sizes its fragments.
+     * A neighbor which cannot size its fragments ignores it.
+     *
+     * @param ratio proportion of variables to relax, in ]0,1]
+     */
+    default void setRelaxationRatio(double ratio){
+        // Intentionally left empty.
+    }
+
     /**
      * @return true iff the search is in a complete mode (no fixed variable)
      */
@@ -84,6 +84,14 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
      * Reference to the model
      */
     protected Model mModel;
+    /**
+     * Proportion of variables to relax, if set, negative otherwise
+     */
+    private double ratio = -1.;
+    /**
+     * Logarithmic cardinality of the initial domains
+     */
+    private double maxLogSum;
 
     /**
      * Create a propagation-guided neighbor for LNS
@@ -110,6 +118,9 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
         logSum = Arrays.stream(variables).mapToDouble(v -> MathUtils.log2(v.getDomainSize())).sum();
         System.arraycopy(curDoms, 0, befDoms, 0, curDoms.length);
         fragment.set(0, n); // all variables are frozen
+        if (ratio > 0.) {
+            size = ratio * maxLogSum;
+        }
         update();
     }
 
@@ -188,12 +199,19 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
         size *= 1.01;
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
     @Override
     public void init() {
         this.curDoms = new int[n];
         this.befDoms = new int[n];
+        maxLogSum = 0.;
         for (int i = 0; i < n; i++) {
             curDoms[i] = variables[i].getDomainSize();
+            maxLogSum += Math.log(curDoms[i]);
         }
     }
 }
@@ -53,6 +53,10 @@ public class RandomNeighborhood extends IntNeighbor {
      * Indicate which variables are selected to be part of the fragment
      */
     protected BitSet fragment;
+    /**
+     * Proportion of variables to relax, if set, negative otherwise
+     */
+    private double ratio = -1.;
 
     /**
      * Create a neighbor for LNS which randomly selects variable to be part of a fragment
@@ -87,7 +91,11 @@ public class RandomNeighborhood extends IntNeighbor {
     @Override
     public void fixSomeVariables() throws ContradictionException {
         nbCall++;
-        restrictLess();
+        if (ratio > 0.) {
+            nbFixedVariables = (1. - ratio) * n + 1;
+        } else {
+            restrictLess();
+        }
         fragment.set(0, n); // all variables are frozen
         for (int i = 0; i < nbFixedVariables - 1 && fragment.cardinality() > 0; i++) {
             int id = selectVariable();
@@ -110,6 +118,11 @@ public class RandomNeighborhood extends IntNeighbor {
         return id;
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
     @Override
     public void restrictLess() {
         if (nbCall > limit) {
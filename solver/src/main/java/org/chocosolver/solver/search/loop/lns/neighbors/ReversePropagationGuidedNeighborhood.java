@@ -69,6 +69,14 @@ public class ReversePropagationGuidedNeighborhood extends IntNeighbor{
      * Restriction parameter
      */
     private double epsilon = 1.;
+    /**
+     * Proportion of variables to relax, if set, negative otherwise
+     */
+    private double ratio = -1.;
+    /**
+     * Logarithmic cardinality of the initial domains
+     */
+    private double maxLogSum;
     /**
      * Store the variable elligible for propagation
      */
@@ -105,7 +113,7 @@ public class ReversePropagationGuidedNeighborhood extends IntNeighbor{
     @Override
     public void fixSomeVariables() throws ContradictionException {
         logSum = 0;
-        size = desiredSize * epsilon;
+        size = ratio > 0. ? ratio * maxLogSum : desiredSize * epsilon;
         fragment.set(0, n); // all variables are frozen
         try {
             update();
@@ -180,9 +188,16 @@ public class ReversePropagationGuidedNeighborhood extends IntNeighbor{
     @Override
     public void init() {
         this.domSiz = new int[n];
+        maxLogSum = 0.;
         for (int i = 0; i < n; i++) {
             domSiz[i] = variables[i].getDomainSize();
+            maxLogSum += MathUtils.log2(domSiz[i]);
         }
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
 }
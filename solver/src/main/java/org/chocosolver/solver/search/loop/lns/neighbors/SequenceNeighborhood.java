@@ -77,6 +77,18 @@ public class SequenceNeighborhood implements INeighbor {
         neighbors[who].restrictLess();
     }
 
+    @Override
+    public void onExhaustedFragment() {
+        neighbors[who].onExhaustedFragment();
+    }
+
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        for (int i = 0; i < count; i++) {
+            neighbors[i].setRelaxationRatio(ratio);
+        }
+    }
+
     @Override
     public boolean isSearchComplete() {
         boolean isComplete = false;
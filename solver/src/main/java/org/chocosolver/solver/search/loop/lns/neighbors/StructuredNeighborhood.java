@@ -0,0 +1,145 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Base class of neighbors which relax a structured set of variables,
+ * for instance variables connected through constraints, tasks in a time window or a segment of a circuit.
+ * <p>
+ * A subclass selects the variables to relax in {@link #relax(int)},
+ * all other variables are frozen to their value in the last recorded solution.
+ * The number of variables to relax is a proportion of the variables,
+ * which slightly grows each time the LNS is trapped in a local optimum,
+ * and is reset when a solution is recorded.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public abstract class StructuredNeighborhood extends IntNeighbor {
+
+    /**
+     * Number of variables
+     */
+    protected final int n;
+    /**
+     * For randomness
+     */
+    protected final Random random;
+    /**
+     * Indicate which variables are relaxed in the current fragment
+     */
+    protected final BitSet fragment;
+    /**
+     * Initial proportion of variables to relax
+     */
+    private final double desiredRatio;
+    /**
+     * Current proportion of variables to relax
+     */
+    private double ratio;
+    /**
+     * Set to <i>true</i> when the proportion is set from outside
+     */
+    private boolean fixedRatio;
+
+    /**
+     * Create a structured neighbor for LNS.
+     *
+     * @param vars  variables to consider
+     * @param ratio initial proportion of variables to relax, in ]0,1]
+     * @param seed  for randomness
+     */
+    protected StructuredNeighborhood(IntVar[] vars, double ratio, long seed) {
+        super(vars);
+        if (ratio <= 0. || ratio > 1.) {
+            throw new IllegalArgumentException("Relaxation ratio should be in ]0,1]");
+        }
+        this.n = vars.length;
+        this.random = new Random(seed);
+        this.fragment = new BitSet(n);
+        this.desiredRatio = ratio;
+        this.ratio = ratio;
+    }
+
+    @Override
+    public void recordSolution() {
+        super.recordSolution();
+        if (!fixedRatio) {
+            ratio = desiredRatio;
+        }
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        super.loadFromSolution(solution);
+        if (!fixedRatio) {
+            ratio = desiredRatio;
+        }
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        fragment.clear();
+        relax(Math.max(1, (int) Math.round(ratio * n)));
+        for (int i = fragment.nextClearBit(0); i < n; i = fragment.nextClearBit(i + 1)) {
+            if (variables[i].contains(values[i])) {  // to deal with objective variable and related
+                freeze(i);
+            }
+        }
+    }
+
+    /**
+     * Select the variables to relax in the next fragment, by setting their position in {@link #fragment}.
+     * The values of the variables in the last recorded solution are available in {@link #values}.
+     *
+     * @param size number of variables expected to be relaxed
+     */
+    protected abstract void relax(int size);
+
+    @Override
+    public void restrictLess() {
+        if (!fixedRatio) {
+            ratio = Math.min(1., ratio * 1.01);
+        }
+    }
+
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+        this.fixedRatio = true;
+    }
+
+    /**
+     * Select a position in {@link #variables} which is not relaxed yet, uniformly at random.
+     *
+     * @return a position which is not relaxed, or -1 if all variables are relaxed
+     */
+    protected int randomUnrelaxed() {
+        int cc = n - fragment.cardinality();
+        if (cc == 0) {
+            return -1;
+        }
+        cc = random.nextInt(cc);
+        int i = fragment.nextClearBit(0);
+        while (cc-- > 0) {
+            i = fragment.nextClearBit(i + 1);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+
+/**
+ * A neighbor for scheduling problems, which relaxes the tasks that start in a time window
+ * of the last recorded solution.
+ * <p>
+ * The variables are the starting times of the tasks.
+ * The window is selected randomly and is as wide as needed to relax the expected number of tasks,
+ * the other tasks are frozen to their starting time.
+ * When tasks share a resource (for instance through a cumulative constraint), the relaxed tasks
+ * can then be reordered within the window.
+ * </p>
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class TimeWindowNeighborhood extends StructuredNeighborhood {
+
+    /**
+     * Positions of the tasks, sorted by starting time in the last recorded solution
+     */
+    private final int[] order;
+    /**
+     * Sort keys, combining a starting time and a position
+     */
+    private final long[] keys;
+    /**
+     * Set to <i>true</i> when {@link #order} is up to date
+     */
+    private boolean sorted;
+
+    /**
+     * Create a neighbor which relaxes the tasks starting in a time window.
+     *
+     * @param starts starting times of the tasks
+     * @param ratio  initial proportion of tasks to relax, in ]0,1]
+     * @param seed   for randomness
+     */
+    public TimeWindowNeighborhood(IntVar[] starts, double ratio, long seed) {
+        super(starts, ratio, seed);
+        this.order = new int[n];
+        this.keys = new long[n];
+    }
+
+    @Override
+    public void recordSolution() {
+        super.recordSolution();
+        sorted = false;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        super.loadFromSolution(solution);
+        sorted = false;
+    }
+
+    @Override
+    protected void relax(int size) {
+        if (!sorted) {
+            for (int i = 0; i < n; i++) {
+                keys[i] = ((long) values[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) keys[i];
+            }
+            sorted = true;
+        }
+        size = Math.min(size, n);
+        int from = random.nextInt(n - size + 1);
+        for (int i = from; i < from + size; i++) {
+            fragment.set(order[i]);
+        }
+    }
+}
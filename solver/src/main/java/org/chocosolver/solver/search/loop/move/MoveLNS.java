@@ -15,6 +15,7 @@ import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.search.SearchState;
 import org.chocosolver.solver.search.limits.ICounter;
 import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
 import org.chocosolver.solver.search.strategy.decision.RootDecision;
@@ -218,6 +219,7 @@ public class MoveLNS implements Move {
                 // but the neighbor cannot ensure completeness
                 if (!neighbor.isSearchComplete()) {
                     // then a restart is triggered
+                    neighbor.onExhaustedFragment();
                     doRestart(solver);
                     repair = true;
                 }
@@ -236,13 +238,14 @@ public class MoveLNS implements Move {
     /**
      * Give an initial solution to begin with if called before executing the solving process
      * or erase the last recorded one otherwise.
+     * Once the solving process has started, a restart is triggered, even if no solution has been found yet.
      * @param solution a solution to record
      * @param solver that manages the LNS
      */
     public void loadFromSolution(Solution solution, Solver solver){
         neighbor.loadFromSolution(solution);
         solutionLoaded = true;
-        if(solutions == 0){
+        if(solutions == 0 && solver.getSearchState() == SearchState.NEW){
             freshRestart = true;
         }else{
             doRestart(solver);
@@ -104,6 +104,18 @@ public interface IMeasures extends Serializable {
      */
     long getRestartCount();
 
+    /**
+     * @return the number of learnt clauses exported to other models
+     * @see org.chocosolver.solver.ClauseSharingBus
+     */
+    long getExportedClauseCount();
+
+    /**
+     * @return the number of clauses imported from other models
+     * @see org.chocosolver.solver.ClauseSharingBus
+     */
+    long getImportedClauseCount();
+
     /**
      * @return the solution count of the measure
      */
@@ -246,6 +258,12 @@ public interface IMeasures extends Serializable {
                 getRestartCount()
             )
         );
+        if (getExportedClauseCount() > 0 || getImportedClauseCount() > 0) {
+            st.append(String.format("\n\tShared clauses: %,d exported, %,d imported",
+                getExportedClauseCount(),
+                getImportedClauseCount()
+            ));
+        }
         return st.toString();
     }
 
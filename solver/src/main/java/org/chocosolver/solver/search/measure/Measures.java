@@ -87,6 +87,16 @@ public class Measures implements IMeasures, Cloneable {
      */
     protected long restartCount;
 
+    /**
+     * Counts the number of learnt clauses exported to other models.
+     */
+    protected long exportedClauseCount;
+
+    /**
+     * Counts the number of clauses imported from other models.
+     */
+    protected long importedClauseCount;
+
     /**
      * Stores the overall maximum depth
      */
@@ -138,6 +148,8 @@ public class Measures implements IMeasures, Cloneable {
         nodeCount = measures.getNodeCount();
         backtrackCount = measures.getBackTrackCount();
         restartCount = measures.getRestartCount();
+        exportedClauseCount = measures.getExportedClauseCount();
+        importedClauseCount = measures.getImportedClauseCount();
         failCount = measures.getFailCount();
         depth = measures.getCurrentDepth();
         maxDepth = measures.getMaxDepth();
@@ -195,6 +207,16 @@ public class Measures implements IMeasures, Cloneable {
         return restartCount;
     }
 
+    @Override
+    public final long getExportedClauseCount() {
+        return exportedClauseCount;
+    }
+
+    @Override
+    public final long getImportedClauseCount() {
+        return importedClauseCount;
+    }
+
     @Override
     public final long getMaxDepth() {
         return maxDepth;
@@ -115,6 +115,8 @@ public final class MeasuresRecorder extends Measures {
         backtrackCount = 0;
         failCount = 0;
         restartCount = 0;
+        exportedClauseCount = 0;
+        importedClauseCount = 0;
         depth = 0;
         maxDepth = 0;
     }
@@ -167,6 +169,21 @@ public final class MeasuresRecorder extends Measures {
         restartCount++;
     }
 
+    /**
+     * increment exported clause counter
+     */
+    public final void incExportedClauseCount() {
+        exportedClauseCount++;
+    }
+
+    /**
+     * add <i>n</i> to the imported clause counter
+     * @param n number of clauses imported
+     */
+    public final void addImportedClauseCount(long n) {
+        importedClauseCount += n;
+    }
+
     /**
      * increment solution counter
      */
@@ -174,6 +191,24 @@ public final class MeasuresRecorder extends Measures {
         solutionCount++;
     }
 
+    /**
+     * Add the counters of <i>measures</i> to the ones of this.
+     * Time-related measures are not modified, the maximum depth is updated.
+     * @param measures measures to add
+     */
+    public final void add(IMeasures measures) {
+        solutionCount += measures.getSolutionCount();
+        nodeCount += measures.getNodeCount();
+        backtrackCount += measures.getBackTrackCount();
+        backjumpCount += measures.getBackjumpCount();
+        failCount += measures.getFailCount();
+        fixpointCount += measures.getFixpointCount();
+        restartCount += measures.getRestartCount();
+        exportedClauseCount += measures.getExportedClauseCount();
+        importedClauseCount += measures.getImportedClauseCount();
+        maxDepth = Math.max(maxDepth, measures.getMaxDepth());
+    }
+
 
     /**
      * Update the current search state
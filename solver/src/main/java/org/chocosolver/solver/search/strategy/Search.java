@@ -353,6 +353,20 @@ public class Search {
         return new ConflictHistorySearch(vars, 0, new IntDomainMin());
     }
 
+    /**
+     * Assignment strategy which selects a variable according to its decayed activity in conflicts (<code>VSIDS</code>)
+     * and assigns it to its last value (phase saving) or, by default, to its lower bound.
+     * When signed clauses are learnt (see {@link Solver#setLearningSignedClauses()}),
+     * activities are bumped with the variables of the learnt clauses.
+     *
+     * @param vars list of variables
+     * @return assignment strategy
+     * @implNote This is based on "Chaff: Engineering an Efficient SAT Solver." Moskewicz et al. DAC 2001.
+     */
+    public static AbstractStrategy<IntVar> vsidsSearch(IntVar... vars) {
+        return new VSIDS(vars, 0.95, new IntDomainMin());
+    }
+
 
     /**
      * Randomly selects a variable and assigns it to a value randomly taken in - the domain in case
@@ -715,6 +729,21 @@ public class Search {
                         vars);
             }
         },
+        /**
+         * To select variables according to their decayed activity in conflicts,
+         * bumped with learnt signed clauses when learning is on.
+         * Values are selected with phase saving first.
+         *
+         * @see org.chocosolver.solver.search.strategy.selectors.variables.VSIDS
+         */
+        VSIDS {
+            @Override
+            public AbstractStrategy<IntVar> make(Solver solver, IntVar[] vars, Search.ValH valueSelector, boolean last) {
+                return new org.chocosolver.solver.search.strategy.selectors.variables.VSIDS(vars,
+                        0.95,
+                        valueSelector.make(solver, last));
+            }
+        },
         MAB_CHS_DWDEG_STATIC {
             @Override
             public AbstractStrategy<IntVar> make(Solver solver, IntVar[] vars, Search.ValH valueSelector, boolean last) {
@@ -50,6 +50,24 @@ public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<In
      */
     IntMap pid2arity;
 
+    /**
+     * Ids of the propagators stored in {@link #pid2arity}, to clear it without iterating over all the propagators
+     */
+    private final TIntArrayList pids = new TIntArrayList();
+
+    /**
+     * Heap of the variables keyed by an upper bound of their weight,
+     * when there are enough variables (see {@link org.chocosolver.solver.Settings#getHeapVarSelectionThreshold()}),
+     * <tt>null</tt> otherwise.
+     */
+    private VariableHeap heap;
+
+    /**
+     * Set to <tt>true</tt> while computing the key of a variable in {@link #heap}:
+     * all propagators are then considered as having future variables.
+     */
+    private boolean relaxed;
+
     public AbstractCriterionBasedStrategy(IntVar[] vars, long seed,
                                           IntValueSelector valueSelector) {
         super(vars);
@@ -57,13 +75,44 @@ public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<In
         this.valueSelector = valueSelector;
         this.last = vars[0].getModel().getEnvironment().makeInt(vars.length - 1);
         pid2arity = new IntMap(vars[0].getModel().getCstrs().length * 3 / 2 + 1, -1);
+        if (vars.length >= vars[0].getModel().getSettings().getHeapVarSelectionThreshold()) {
+            // ties are broken with a random permutation of the variables
+            int[] ties = new int[vars.length];
+            for (int i = 0; i < ties.length; i++) {
+                int j = random.nextInt(i + 1);
+                ties[i] = ties[j];
+                ties[j] = i;
+            }
+            heap = new VariableHeap(vars, ties, this::bound);
+        }
+    }
+
+    @Override
+    public boolean init() {
+        if (heap != null) {
+            heap.attach();
+        }
+        return true;
+    }
+
+    @Override
+    public void remove() {
+        if (heap != null) {
+            heap.detach();
+        }
     }
 
     @Override
     public Decision<IntVar> getDecision() {
+        for (int i = 0; i < pids.size(); i++) {
+            pid2arity.clear(pids.getQuick(i));
+        }
+        pids.resetQuick();
+        if (heap != null) {
+            return computeDecision(heap.select(this::weight));
+        }
         IntVar best = null;
         bests.resetQuick();
-        pid2arity.clear();
         double w = 0.;
         int to = last.get();
         for (int idx = 0; idx <= to; idx++) {
@@ -107,7 +156,43 @@ public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<In
 
     protected abstract double weight(IntVar v);
 
+    /**
+     * @param v a variable
+     * @return an upper bound of {@link #weight(IntVar)}, which only depends on <i>v</i> and the weights
+     */
+    private double bound(IntVar v) {
+        relaxed = true;
+        double w = weight(v);
+        relaxed = false;
+        return w;
+    }
+
+    /**
+     * Informs this strategy that the weights related to <i>prop</i> have changed.
+     *
+     * @param prop a propagator
+     */
+    protected final void updateWeights(Propagator<?> prop) {
+        if (heap != null) {
+            for (int i = 0; i < prop.getNbVars(); i++) {
+                heap.update(prop.getVar(i));
+            }
+        }
+    }
+
+    /**
+     * Informs this strategy that the weights of all propagators have changed.
+     */
+    protected final void updateWeights() {
+        if (heap != null) {
+            heap.updateAll();
+        }
+    }
+
     protected final int futVars(Propagator prop) {
+        if (relaxed) {
+            return 2;
+        }
         int pid = prop.getId();
         int futVars = pid2arity.get(pid);
         if (futVars == -1) {
@@ -126,6 +211,7 @@ public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<In
             }
         }
         pid2arity.put(pid, futVars);
+        pids.add(pid);
         return futVars;
     }
 }
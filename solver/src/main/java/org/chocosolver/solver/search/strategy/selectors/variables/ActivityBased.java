@@ -130,6 +130,19 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
 
     private Move rfMove;
 
+    /**
+     * Heap of the variables keyed by their activity, when there are enough variables
+     * (see {@link org.chocosolver.solver.Settings#getHeapVarSelectionThreshold()}), <tt>null</tt> otherwise
+     */
+    private VariableHeap heap;
+
+    /**
+     * Product of the aging factors applied so far, when {@link #heap} is used.
+     * Activities are then stored divided by it, so that aging is a single multiplication
+     * (the activities of instantiated variables age too).
+     */
+    private double scale = 1d;
+
     public ActivityBased(final Model model, IntVar[] vars, IntValueSelector valueSelector,
                          double g, double d, int a, int samplingIterationForced, long seed) {
         super(vars);
@@ -157,6 +170,17 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
         this.samplingIterationForced = samplingIterationForced;
 //        idx_large = 0; // start the first variable
         model.getSolver().setRestartOnSolutions();
+        if (vars.length >= model.getSettings().getHeapVarSelectionThreshold()) {
+            // ties are broken with a random permutation of the variables
+            Random rnd = new Random(seed);
+            int[] ties = new int[vars.length];
+            for (int i = 0; i < ties.length; i++) {
+                int j = rnd.nextInt(i + 1);
+                ties[i] = ties[j];
+                ties[j] = i;
+            }
+            heap = new VariableHeap(vars, ties, this::score);
+        }
 //        init(vars);
     }
 
@@ -181,6 +205,9 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                 vars[i].addMonitor(this);
             }
         }
+        if (heap != null) {
+            heap.attach();
+        }
         for (int i = 0; i < vars.length; i++) {
             //TODO handle large domain size
             int ampl = vars[i].getUB() - vars[i].getLB() + 1;
@@ -210,6 +237,9 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                 vars[i].removeMonitor(this);
             }
         }
+        if (heap != null) {
+            heap.detach();
+        }
     	if (restartAfterEachFail) {
 		removeRFMove();
     	}
@@ -238,6 +268,13 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
 
     @Override
     public Decision<IntVar> getDecision() {
+        if (heap != null) {
+            IntVar best = heap.select(this::score);
+            if (best != null) {
+                currentVar = v2i.get(best.getId());
+            }
+            return computeDecision(best);
+        }
         IntVar best = null;
         bests.clear();
         double bestVal = -1.0d;
@@ -280,9 +317,17 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
         return 0;
     }
 
+    /**
+     * @param var a variable
+     * @return the activity of <i>var</i> divided by its domain size, up to {@link #scale}
+     */
+    private double score(IntVar var) {
+        return A[v2i.get(var.getId())] / var.getDomainSize();
+    }
+
     public double getActivity(IntVar var) {
         if (v2i.containsKey(var.getId())) {
-            return A[v2i.get(var.getId())] / var.getDomainSize();
+            return A[v2i.get(var.getId())] * scale / var.getDomainSize();
         } else {
             return 0.0d;
         }
@@ -304,12 +349,29 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
     @Override
     public void afterDownBranch(boolean left) {
         if (left && currentVar > -1) {  // if the decision was computed by another strategy
-            for (int i = 0; i < A.length; i++) {
-                if (vars[i].getDomainSize() > 1) {
-                    A[i] *= sampling ? ONE : g;
+            if (heap == null) {
+                for (int i = 0; i < A.length; i++) {
+                    if (vars[i].getDomainSize() > 1) {
+                        A[i] *= sampling ? ONE : g;
+                    }
+                    if (affected.get(i)) {
+                        A[i] += 1;
+                    }
+                }
+            } else {
+                if (!sampling) {
+                    scale *= g;
                 }
-                if (affected.get(i)) {
-                    A[i] += 1;
+                for (int i = affected.nextSetBit(0); i > -1; i = affected.nextSetBit(i + 1)) {
+                    A[i] += 1 / scale;
+                    heap.update(vars[i]);
+                }
+                if (scale < 1e-100) {
+                    for (int i = 0; i < A.length; i++) {
+                        A[i] *= scale;
+                    }
+                    scale = 1d;
+                    heap.updateAll();
                 }
             }
             double act = vAct[currentVar].activity(currentVal);
@@ -359,6 +421,10 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                     vAct[i].transfer();
                 }
             }
+            if (heap != null) {
+                scale = 1d;
+                heap.updateAll();
+            }
         }
     }
 
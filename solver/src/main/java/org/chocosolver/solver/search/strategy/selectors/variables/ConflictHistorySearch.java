@@ -69,7 +69,7 @@ public class ConflictHistorySearch
         if(!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
         }
-        return true;
+        return super.init();
     }
 
     @Override
@@ -78,6 +78,7 @@ public class ConflictHistorySearch
         if(solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
         }
+        super.remove();
     }
 
 
@@ -95,6 +96,7 @@ public class ConflictHistorySearch
             // update conflicts
             conflict.put(p, conflicts);
             conflicts++;
+            updateWeights(p);
         }
     }
 
@@ -118,5 +120,6 @@ public class ConflictHistorySearch
             q.put(p, qj * Math.pow(DECAY, (conflicts - conflict.get(p))));
         }
         a = .4d;
+        updateWeights();
     }
 }
@@ -65,7 +65,7 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
         if(!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
         }
-        return true;
+        return super.init();
     }
 
     @Override
@@ -74,6 +74,7 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
         if(solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
         }
+        super.remove();
     }
 
     @Override
@@ -81,6 +82,7 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
         if (cex.c instanceof Propagator) {
             Propagator p = (Propagator) cex.c;
             p2w.putOrAdjust(p.getId(), 1, 1);
+            updateWeights(p);
         }
     }
 
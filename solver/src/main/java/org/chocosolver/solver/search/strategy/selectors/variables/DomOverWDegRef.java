@@ -67,7 +67,7 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
         if (!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
         }
-        return true;
+        return super.init();
     }
 
     @Override
@@ -76,6 +76,7 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
         if (solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
         }
+        super.remove();
     }
 
     @SuppressWarnings("unchecked")
@@ -97,6 +98,7 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
                     weigths[i] += 1d / incWeight.inc(p, p.getVar(i));
                 }
             }
+            updateWeights(p);
         }
     }
 
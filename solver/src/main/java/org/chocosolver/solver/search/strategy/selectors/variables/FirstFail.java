@@ -24,6 +24,9 @@ import org.chocosolver.solver.variables.IntVar;
 public class FirstFail implements VariableSelector<IntVar>, VariableEvaluator<IntVar> {
 
     private final IStateInt lastIdx; // index of the last non-instantiated variable
+    private final int threshold; // minimum number of variables to select them with a heap
+    private IntVar[] heapVars; // variables stored in heap
+    private VariableHeap heap; // not null between init and remove, when there are enough variables
 
     /**
      * <b>First fail</b> variable selector.
@@ -31,11 +34,39 @@ public class FirstFail implements VariableSelector<IntVar>, VariableEvaluator<In
      */
     public FirstFail(Model model){
         lastIdx = model.getEnvironment().makeInt(0);
+        threshold = model.getSettings().getHeapVarSelectionThreshold();
     }
     
     
+    @Override
+    public void init(IntVar[] variables) {
+        remove();
+        if (variables.length >= threshold) {
+            // the leftmost variable wins ties
+            int[] ties = new int[variables.length];
+            for (int i = 0; i < ties.length; i++) {
+                ties[i] = i;
+            }
+            heap = new VariableHeap(variables, ties, v -> -v.getDomainSize());
+            heap.attach();
+            heapVars = variables;
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (heap != null) {
+            heap.detach();
+            heap = null;
+            heapVars = null;
+        }
+    }
+
     @Override
     public IntVar getVariable(IntVar[] variables) {
+        if (heapVars == variables) {
+            return heap.select(v -> -v.getDomainSize());
+        }
         IntVar smallVar = null;
         int smallDSize = Integer.MAX_VALUE;
         // get and update the index of the first uninstantiated variable
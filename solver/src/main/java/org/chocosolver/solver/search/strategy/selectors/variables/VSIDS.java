@@ -0,0 +1,251 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.loop.monitors.IMonitorUpBranch;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IVariableMonitor;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IntMap;
+
+/**
+ * Implementation of a VSIDS-like heuristic[1], for integer variables.
+ * <p>
+ * Each variable has an activity, bumped each time the variable appears in a conflict,
+ * and all activities decay exponentially: instead of decreasing all of them,
+ * the increment is divided by the decay factor after each conflict,
+ * and activities are rescaled when they become too large.
+ * The uninstantiated variable with the highest activity is selected, thanks to a {@link VariableHeap}.
+ * <p>
+ * When signed clauses are learnt (see {@link Solver#setLearningSignedClauses()}),
+ * the variables bumped are those of the learnt clause.
+ * Otherwise, the variables of the failing propagator are bumped.
+ * <p>
+ * The value is selected with phase saving: the last value the variable was instantiated to
+ * (by a decision or by propagation), if it is still in the domain,
+ * otherwise the value returned by the value selector.
+ * <p>
+ * [1]: M. W. Moskewicz, C. F. Madigan, Y. Zhao, L. Zhang and S. Malik, Chaff: Engineering an Efficient SAT Solver,
+ * DAC-01. <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class VSIDS extends AbstractStrategy<IntVar>
+        implements IMonitorContradiction, IMonitorUpBranch, IVariableMonitor<IntVar> {
+
+    /**
+     * Activities are rescaled when one of them exceeds this value
+     */
+    private static final double RESCALE = 1e100;
+
+    private final Solver solver;
+    /**
+     * Map (variable id - index in {@link #vars}), only the first occurrence of a variable is considered
+     */
+    private final IntMap v2i;
+    /**
+     * Activity of each variable
+     */
+    private final double[] activity;
+    /**
+     * Decay factor, in ]0,1]
+     */
+    private final double decay;
+    /**
+     * Current increment of activities
+     */
+    private double inc = 1d;
+    /**
+     * Last value each variable was instantiated to
+     */
+    private final int[] phase;
+    private final boolean[] saved;
+    /**
+     * The way value is selected for a given variable, when no phase is saved
+     */
+    private final IntValueSelector valueSelector;
+    private final VariableHeap heap;
+    /**
+     * Set on contradiction, to bump activities once the conflict is analysed
+     */
+    private boolean conflict;
+    private Propagator<?> failingPropagator;
+    private Variable failingVariable;
+    private boolean plugged;
+
+    /**
+     * Creates a VSIDS strategy
+     *
+     * @param vars          decision variables
+     * @param decay         decay factor of activities, in ]0,1] (usually 0.95)
+     * @param valueSelector a value selector, used when no phase is saved
+     */
+    public VSIDS(IntVar[] vars, double decay, IntValueSelector valueSelector) {
+        super(vars);
+        if (decay <= 0. || decay > 1.) {
+            throw new IllegalArgumentException("VSIDS: decay factor should be in ]0,1]");
+        }
+        this.solver = vars[0].getModel().getSolver();
+        this.decay = decay;
+        this.valueSelector = valueSelector;
+        this.v2i = new IntMap(vars.length * 3 / 2 + 1, -1);
+        for (int i = vars.length - 1; i >= 0; i--) {
+            v2i.put(vars[i].getId(), i);
+        }
+        this.activity = new double[vars.length];
+        this.phase = new int[vars.length];
+        this.saved = new boolean[vars.length];
+        int[] ties = new int[vars.length];
+        for (int i = 0; i < ties.length; i++) {
+            ties[i] = i;
+        }
+        this.heap = new VariableHeap(vars, ties, this::activity);
+    }
+
+    @Override
+    public boolean init() {
+        if (!solver.getSearchMonitors().contains(this)) {
+            solver.plugMonitor(this);
+        }
+        if (!plugged) {
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].addMonitor(this);
+                }
+            }
+            plugged = true;
+        }
+        heap.attach();
+        return true;
+    }
+
+    @Override
+    public void remove() {
+        if (solver.getSearchMonitors().contains(this)) {
+            solver.unplugMonitor(this);
+        }
+        if (plugged) {
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].removeMonitor(this);
+                }
+            }
+            plugged = false;
+        }
+        heap.detach();
+    }
+
+    @Override
+    public Decision<IntVar> getDecision() {
+        return computeDecision(heap.select(this::activity));
+    }
+
+    @Override
+    public Decision<IntVar> computeDecision(IntVar variable) {
+        if (variable == null || variable.isInstantiated()) {
+            return null;
+        }
+        int i = v2i.get(variable.getId());
+        int value;
+        if (i > -1 && saved[i] && variable.contains(phase[i])) {
+            value = phase[i];
+        } else {
+            value = valueSelector.selectValue(variable);
+        }
+        return solver.getDecisionPath().makeIntDecision(variable, DecisionOperatorFactory.makeIntEq(), value);
+    }
+
+    @Override
+    public void onUpdate(IntVar var, IEventType evt) {
+        if (var.isInstantiated()) {
+            int i = v2i.get(var.getId());
+            phase[i] = var.getValue();
+            saved[i] = true;
+        }
+    }
+
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        conflict = true;
+        failingPropagator = cex.c instanceof Propagator ? (Propagator<?>) cex.c : null;
+        failingVariable = cex.v;
+    }
+
+    @Override
+    public void beforeUpBranch() {
+        // the learnt clause, if any, is available until the search goes up
+        if (conflict) {
+            conflict = false;
+            if (solver.getLearner() instanceof LearnSignedClauses
+                    && ((LearnSignedClauses<?>) solver.getLearner()).getExplanation() != null
+                    && ((LearnSignedClauses<?>) solver.getLearner()).getExplanation().getCardinality() > 0) {
+                for (IntVar var : ((LearnSignedClauses<?>) solver.getLearner()).getExplanation().getLiterals()) {
+                    bump(var);
+                }
+            } else if (failingPropagator != null) {
+                for (int i = 0; i < failingPropagator.getNbVars(); i++) {
+                    bump(failingPropagator.getVar(i));
+                }
+            } else if (failingVariable != null) {
+                bump(failingVariable);
+            }
+            failingPropagator = null;
+            failingVariable = null;
+            inc /= decay;
+            if (inc > RESCALE) {
+                rescale();
+            }
+        }
+    }
+
+    private void bump(Variable var) {
+        int i = v2i.get(var.getId());
+        if (i > -1) {
+            activity[i] += inc;
+            heap.update(var);
+            if (activity[i] > RESCALE) {
+                rescale();
+            }
+        }
+    }
+
+    private void rescale() {
+        for (int i = 0; i < activity.length; i++) {
+            activity[i] /= RESCALE;
+        }
+        inc /= RESCALE;
+        heap.updateAll();
+    }
+
+    private double activity(IntVar var) {
+        return activity[v2i.get(var.getId())];
+    }
+
+    /**
+     * @param var a variable
+     * @return the current activity of <i>var</i>, relative to the activities of the other variables,
+     * or 0 if <i>var</i> is not a decision variable of this strategy
+     */
+    public double getActivity(IntVar var) {
+        int i = v2i.get(var.getId());
+        return i > -1 ? activity[i] / inc : 0.;
+    }
+}
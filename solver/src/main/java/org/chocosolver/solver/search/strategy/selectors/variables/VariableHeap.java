@@ -0,0 +1,354 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.solver.variables.IVariableMonitor;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An indexed priority heap over decision variables, ordered by decreasing key, that is maintained incrementally.
+ * It replaces a scan of all the variables at each decision by variable selectors based on a score
+ * (see {@link AbstractCriterionBasedStrategy}, {@link ActivityBased} or {@link FirstFail}).
+ * <p>
+ * The heap only stores uninstantiated variables.
+ * The key of a variable is recomputed only when its domain is modified (the heap monitors the variables)
+ * or when the strategy calls {@link #update(IntVar)}, for instance when a weight is bumped on a failure.
+ * On backtrack, the domains are restored without any event: the first modification of a variable in a world
+ * saves an operation which marks the variable as dirty when the world is popped,
+ * and dirty variables are re-keyed on the next call to {@link #select(ToDoubleFunction)}.
+ * <p>
+ * The key of a variable must be an upper bound of its exact score, which may depend on other variables
+ * (e.g., the number of uninstantiated variables of a propagator).
+ * The selection then pops variables while their key can beat the best exact score found so far.
+ * The key of a popped variable is tightened to its exact score until the next backtrack,
+ * since the exact score cannot increase while going down in the search tree.
+ * Ties are broken with a fixed priority per variable, the lowest being the best.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class VariableHeap implements IVariableMonitor<IntVar> {
+
+    /**
+     * Decision variables
+     */
+    private final IntVar[] vars;
+    /**
+     * Map (variable id - index in {@link #vars}), only the first occurrence of a variable is considered
+     */
+    private final IntMap v2i;
+    /**
+     * Computes the key of a variable
+     */
+    private final ToDoubleFunction<IntVar> key;
+    /**
+     * Priority of each variable to break ties
+     */
+    private final int[] ties;
+    private final double[] keys;
+    /**
+     * Binary heap of variable indices
+     */
+    private final int[] heap;
+    /**
+     * Position of each variable in {@link #heap}, -1 when it is not in it
+     */
+    private final int[] pos;
+    private int size;
+    /**
+     * Timestamp of the world in which an undo operation was last saved for each variable
+     */
+    private final int[] stamps;
+    /**
+     * Undo operation of each variable, created on demand
+     */
+    private final IOperation[] undos;
+    private final int[] dirty;
+    private final boolean[] isDirty;
+    private int nbDirty;
+    /**
+     * Variables popped during a selection
+     */
+    private final int[] popped;
+    private final IEnvironment environment;
+    /**
+     * Set to <tt>true</tt> when the world in which the heap was built is popped
+     */
+    private boolean stale = true;
+    private boolean attached;
+
+    /**
+     * Creates an indexed priority heap over <i>vars</i>.
+     *
+     * @param vars decision variables
+     * @param ties priority of each variable to break ties, the lowest being the best
+     * @param key  computes the key of a variable, an upper bound of its exact score
+     */
+    public VariableHeap(IntVar[] vars, int[] ties, ToDoubleFunction<IntVar> key) {
+        this.vars = vars;
+        this.ties = ties;
+        this.key = key;
+        int n = vars.length;
+        this.v2i = new IntMap(n * 3 / 2 + 1, -1);
+        for (int i = n - 1; i >= 0; i--) {
+            v2i.put(vars[i].getId(), i);
+        }
+        this.keys = new double[n];
+        this.heap = new int[n];
+        this.pos = new int[n];
+        this.stamps = new int[n];
+        this.undos = new IOperation[n];
+        this.dirty = new int[n];
+        this.isDirty = new boolean[n];
+        this.popped = new int[n];
+        this.environment = vars[0].getModel().getEnvironment();
+    }
+
+    /**
+     * Plugs the heap as a monitor of the variables, if not done yet.
+     */
+    public void attach() {
+        if (!attached) {
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].addMonitor(this);
+                }
+            }
+            attached = true;
+        }
+        stale = true;
+    }
+
+    /**
+     * Unplugs the heap from the variables, if not done yet.
+     */
+    public void detach() {
+        if (attached) {
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].removeMonitor(this);
+                }
+            }
+            attached = false;
+        }
+    }
+
+    /**
+     * Recomputes the key of <i>var</i>, if it is in the heap.
+     * To be called when the score of <i>var</i> changes for a reason other than a modification of its domain.
+     *
+     * @param var a variable
+     */
+    public void update(Variable var) {
+        int i = v2i.get(var.getId());
+        if (i > -1 && pos[i] > -1) {
+            keys[i] = key.applyAsDouble(vars[i]);
+            siftUp(pos[i]);
+            siftDown(pos[i]);
+        }
+    }
+
+    /**
+     * Recomputes the key of all the variables in the heap.
+     */
+    public void updateAll() {
+        for (int k = 0; k < size; k++) {
+            keys[heap[k]] = key.applyAsDouble(vars[heap[k]]);
+        }
+        for (int k = size / 2 - 1; k >= 0; k--) {
+            siftDown(k);
+        }
+    }
+
+    /**
+     * Selects the uninstantiated variable with the best exact score, ties being broken by the priorities.
+     *
+     * @param exact computes the exact score of a variable, never greater than its key
+     * @return the best variable, or <tt>null</tt> if all variables are instantiated
+     */
+    public IntVar select(ToDoubleFunction<IntVar> exact) {
+        if (stale) {
+            build();
+        } else {
+            flush();
+        }
+        int best = -1;
+        double score = Double.NEGATIVE_INFINITY;
+        int n = 0;
+        while (size > 0) {
+            int top = heap[0];
+            if (best > -1 && (keys[top] < score || (keys[top] == score && ties[top] > ties[best]))) {
+                break;
+            }
+            remove(top);
+            if (vars[top].isInstantiated()) {
+                // should not happen, but the variable is then re-keyed on backtrack
+                save(top);
+                continue;
+            }
+            popped[n++] = top;
+            double s = exact.applyAsDouble(vars[top]);
+            if (s < keys[top]) {
+                // the exact score can only increase on backtrack, the variable is then re-keyed
+                keys[top] = s;
+                save(top);
+            }
+            if (best == -1 || s > score || (s == score && ties[top] < ties[best])) {
+                best = top;
+                score = s;
+            }
+        }
+        while (n > 0) {
+            insert(popped[--n]);
+        }
+        return best > -1 ? vars[best] : null;
+    }
+
+    @Override
+    public void onUpdate(IntVar var, IEventType evt) {
+        int i = v2i.get(var.getId());
+        save(i);
+        if (var.isInstantiated()) {
+            if (pos[i] > -1) {
+                remove(i);
+            }
+        } else {
+            keys[i] = key.applyAsDouble(var);
+            if (pos[i] > -1) {
+                siftUp(pos[i]);
+                siftDown(pos[i]);
+            } else {
+                insert(i);
+            }
+        }
+    }
+
+    private void build() {
+        size = 0;
+        nbDirty = 0;
+        for (int i = 0; i < vars.length; i++) {
+            pos[i] = -1;
+            stamps[i] = -1;
+            isDirty[i] = false;
+            if (v2i.get(vars[i].getId()) == i && !vars[i].isInstantiated()) {
+                keys[i] = key.applyAsDouble(vars[i]);
+                pos[i] = size;
+                heap[size++] = i;
+            }
+        }
+        for (int k = size / 2 - 1; k >= 0; k--) {
+            siftDown(k);
+        }
+        stale = false;
+        environment.save(() -> stale = true);
+    }
+
+    private void flush() {
+        while (nbDirty > 0) {
+            int i = dirty[--nbDirty];
+            isDirty[i] = false;
+            if (vars[i].isInstantiated()) {
+                if (pos[i] > -1) {
+                    remove(i);
+                }
+            } else {
+                keys[i] = key.applyAsDouble(vars[i]);
+                if (pos[i] > -1) {
+                    siftUp(pos[i]);
+                    siftDown(pos[i]);
+                } else {
+                    insert(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves, once per world, an operation marking variable <i>i</i> as dirty on backtrack.
+     */
+    private void save(int i) {
+        int ts = environment.getTimeStamp();
+        if (stamps[i] != ts) {
+            stamps[i] = ts;
+            if (undos[i] == null) {
+                undos[i] = () -> {
+                    if (!isDirty[i]) {
+                        isDirty[i] = true;
+                        dirty[nbDirty++] = i;
+                    }
+                };
+            }
+            environment.save(undos[i]);
+        }
+    }
+
+    private boolean better(int i, int j) {
+        return keys[i] > keys[j] || (keys[i] == keys[j] && ties[i] < ties[j]);
+    }
+
+    private void insert(int i) {
+        pos[i] = size;
+        heap[size++] = i;
+        siftUp(pos[i]);
+    }
+
+    private void remove(int i) {
+        int k = pos[i];
+        int last = heap[--size];
+        pos[i] = -1;
+        if (last != i) {
+            heap[k] = last;
+            pos[last] = k;
+            siftUp(k);
+            siftDown(pos[last]);
+        }
+    }
+
+    private void siftUp(int k) {
+        int i = heap[k];
+        while (k > 0) {
+            int p = (k - 1) >> 1;
+            if (!better(i, heap[p])) {
+                break;
+            }
+            heap[k] = heap[p];
+            pos[heap[k]] = k;
+            k = p;
+        }
+        heap[k] = i;
+        pos[i] = k;
+    }
+
+    private void siftDown(int k) {
+        int i = heap[k];
+        int half = size >> 1;
+        while (k < half) {
+            int c = (k << 1) + 1;
+            if (c + 1 < size && better(heap[c + 1], heap[c])) {
+                c++;
+            }
+            if (!better(heap[c], i)) {
+                break;
+            }
+            heap[k] = heap[c];
+            pos[heap[k]] = k;
+            k = c;
+        }
+        heap[k] = i;
+        pos[i] = k;
+    }
+}
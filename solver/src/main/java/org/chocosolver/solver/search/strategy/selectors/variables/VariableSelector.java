@@ -32,4 +32,20 @@ public interface VariableSelector<V extends Variable>  {
      */
     V getVariable(V[] variables);
 
+    /**
+     * Prepare <code>this</code> to select among <i>variables</i>.
+     * Called when the strategy declaring <code>this</code> is initialized.
+     *
+     * @param variables the variables to select from
+     */
+    default void init(V[] variables) {
+    }
+
+    /**
+     * Release the data structures plugged by {@link #init(Variable[])}.
+     * Called when the strategy declaring <code>this</code> is removed.
+     */
+    default void remove() {
+    }
+
 }
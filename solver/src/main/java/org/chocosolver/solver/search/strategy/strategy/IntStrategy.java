@@ -79,9 +79,15 @@ public class IntStrategy extends AbstractStrategy<IntVar> {
 
     @Override
     public boolean init() {
+        variableSelector.init(vars);
         return true;
     }
 
+    @Override
+    public void remove() {
+        variableSelector.remove();
+    }
+
     @Override
     public Decision<IntVar> computeDecision(IntVar variable) {
         if (variable == null || variable.isInstantiated()) {
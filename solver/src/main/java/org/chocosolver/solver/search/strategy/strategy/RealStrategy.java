@@ -77,9 +77,15 @@ public class RealStrategy extends AbstractStrategy<RealVar> {
 
     @Override
     public boolean init() {
+        varselector.init(vars);
         return true;
     }
 
+    @Override
+    public void remove() {
+        varselector.remove();
+    }
+
     @Override
     public Decision<RealVar> computeDecision(RealVar variable) {
         if (variable == null || variable.isInstantiated()) {
@@ -66,9 +66,15 @@ public class SetStrategy extends AbstractStrategy<SetVar> {
 
     @Override
     public boolean init(){
+        varSelector.init(vars);
         return true;
     }
 
+    @Override
+    public void remove(){
+        varSelector.remove();
+    }
+
     @Override
     public Decision<SetVar> getDecision() {
         SetVar variable = varSelector.getVariable(vars);
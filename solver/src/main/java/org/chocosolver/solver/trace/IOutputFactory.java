@@ -12,6 +12,8 @@ package org.chocosolver.solver.trace;
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.loop.monitors.*;
 import org.chocosolver.solver.trace.frames.StatisticsPanel;
 import org.chocosolver.solver.variables.IntVar;
@@ -130,6 +132,70 @@ public interface IOutputFactory extends ISelf<Solver> {
         getOut().println(ref().getMeasures().toCSV());
     }
 
+    /**
+     * Enable the profiling of the propagation engine, if not already done.
+     * From now on, each propagator execution is recorded (see {@link PropagationProfiler}).
+     * <p>
+     * Recommended usage: to be called before the resolution step.
+     *
+     * @return the profiler attached to the propagation engine
+     */
+    default PropagationProfiler profilePropagation() {
+        PropagationEngine engine = ref().getEngine();
+        if (engine.getProfiler() == null) {
+            engine.setProfiler(new PropagationProfiler());
+        }
+        return engine.getProfiler();
+    }
+
+    /**
+     * Print the propagation profile, that is statistics per constraint
+     * and for the 20 most time-consuming propagators, if profiling is enabled.
+     * <p>
+     * Recommended usage: to be called after the resolution step.
+     *
+     * @see #profilePropagation()
+     */
+    default void printPropagationProfile() {
+        PropagationProfiler profiler = ref().getEngine().getProfiler();
+        if (profiler != null) {
+            profiler.printTable(getOut(), 20);
+        }
+    }
+
+    /**
+     * Print the propagation profile of each propagator in CSV format, if profiling is enabled.
+     * The header is:
+     * <pre>
+     *     propagator;constraint;calls;fineCalls;coarseCalls;time(ns);failures;removals;
+     * </pre>
+     *
+     * @see #profilePropagation()
+     */
+    default void printCSVPropagationProfile() {
+        PropagationProfiler profiler = ref().getEngine().getProfiler();
+        if (profiler != null) {
+            profiler.printCSV(getOut());
+        }
+    }
+
+    /**
+     * Enable the profiling of the propagation engine and plug a search monitor
+     * which calls {@link #printPropagationProfile()} after closing the search,
+     * that is, at the end of each call to {@link Solver#solve()}.
+     * <p>
+     * Recommended usage: to be called before the resolution step.
+     */
+    default void showPropagationProfile() {
+        profilePropagation();
+        ref().plugMonitor(new IMonitorClose() {
+            @Override
+            public void afterClose() {
+                printPropagationProfile();
+            }
+        });
+    }
+
     /**
      * Plug a search monitor which calls {@link #printVersion()}
      * and {@link #printStatistics()} before closing the search.
@@ -49,18 +49,21 @@ public interface IVariableFactory extends ISelf<Model> {
     }
 
     /**
-     * Create a constant boolean variable equal to 1 if <i>value</i> is true and 0 otherwise
+     * Create a constant boolean variable equal to 1 if <i>value</i> is true and 0 otherwise.
+     * When {@link org.chocosolver.solver.Settings#enableLowFootprint()} is set, the constant is shared
+     * with any other constant of the same value, whatever its name.
      * @param name name of the variable
      * @param value constant value of the boolean variable (true or false)
      * @return a constant of type BoolVar
      */
     default BoolVar boolVar(String name, boolean value) {
         int intVal = value ? 1 : 0;
-        if (name.equals(CSTE_NAME + intVal) && ref().getCachedConstants().containsKey(intVal)) {
+        boolean cached = name.equals(CSTE_NAME + intVal) || ref().getSettings().enableLowFootprint();
+        if (cached && ref().getCachedConstants().containsKey(intVal)) {
             return (BoolVar) ref().getCachedConstants().get(intVal);
         }
         BoolVar cste = new FixedBoolVarImpl(name, intVal, ref());
-        if (name.equals(CSTE_NAME + intVal)) {
+        if (cached) {
             ref().getCachedConstants().put(intVal, cste);
         }
         return cste;
@@ -189,7 +192,9 @@ public interface IVariableFactory extends ISelf<Model> {
     }
 
     /**
-     * Create a constant integer variable equal to <i>value</i>
+     * Create a constant integer variable equal to <i>value</i>.
+     * When {@link org.chocosolver.solver.Settings#enableLowFootprint()} is set, the constant is shared
+     * with any other constant of the same value, whatever its name.
      * @param name name of the variable
      * @param value value of the variable
      * @return a constant IntVar of domain {<i>value</i>}
@@ -199,11 +204,12 @@ public interface IVariableFactory extends ISelf<Model> {
         if (value == 0 || value == 1) {
             return boolVar(name, value == 1);
         }
-        if (name.equals(CSTE_NAME + value) && ref().getCachedConstants().containsKey(value)) {
+        boolean cached = name.equals(CSTE_NAME + value) || ref().getSettings().enableLowFootprint();
+        if (cached && ref().getCachedConstants().containsKey(value)) {
             return ref().getCachedConstants().get(value);
         }
         IntVar cste = new FixedIntVarImpl(name, value, ref());
-        if (name.equals(CSTE_NAME + value)) {
+        if (cached) {
             ref().getCachedConstants().put(value, cste);
         }
         return cste;
@@ -217,6 +223,8 @@ public interface IVariableFactory extends ISelf<Model> {
      * @param boundedDomain specifies whether to use a bounded domain or an enumerated domain.
      *                      When 'boundedDomain' only bounds modifications are handled
      *                      (any value removals in the middle of the domain will be ignored).
+     *                      Otherwise, domains larger than {@link Settings#getMaxDomSizeForEnumerated()}
+     *                      are stored as a list of ranges.
      * @return an IntVar of domain [<i>lb</i>, <i>ub</i>]
      */
     default IntVar intVar(String name, int lb, int ub, boolean boundedDomain) {
@@ -227,6 +235,10 @@ public interface IVariableFactory extends ISelf<Model> {
             return boolVar(name);
         } else if (boundedDomain) {
             return new IntervalIntVarImpl(name, lb, ub, ref());
+        } else if (ub - lb + 1 >= ref().getSettings().getMaxDomSizeForEnumerated()) {
+            return new RangeListIntVarImpl(name, lb, ub, ref());
+        } else if (ref().getSettings().enableSparseSetDomains()) {
+            return new SparseSetIntVarImpl(name, lb, ub, ref());
         } else {
             return new BitsetIntVarImpl(name, lb, ub, ref());
         }
@@ -249,7 +261,8 @@ public interface IVariableFactory extends ISelf<Model> {
 
     /**
      * Create an integer variable of initial domain <i>values</i>
-     * Uses an enumerated domain that supports holes
+     * Uses an enumerated domain that supports holes.
+     * Large domains made of a few ranges of consecutive values are stored as a list of ranges.
      * @param name name of the variable
      * @param values initial domain
      * @return an IntVar of domain <i>values</i>
@@ -263,8 +276,13 @@ public interface IVariableFactory extends ISelf<Model> {
             return boolVar(name);
         } else {
             int gap = values[values.length - 1] - values[0];
-            if (gap > 30 && gap / values.length > 5) {
+            if (gap >= ref().getSettings().getMaxDomSizeForEnumerated()
+                    && ArrayUtils.nbRanges(values) * 8 <= values.length) {
+                return new RangeListIntVarImpl(name, values, ref());
+            } else if (gap > 30 && gap / values.length > 5) {
                 return new BitsetArrayIntVarImpl(name, values, ref());
+            } else if (ref().getSettings().enableSparseSetDomains()) {
+                return new SparseSetIntVarImpl(name, values, ref());
             } else {
                 return new BitsetIntVarImpl(name, values, ref());
             }
@@ -743,8 +761,21 @@ public interface IVariableFactory extends ISelf<Model> {
      * @param lb initial domain lower bound (contains mandatory elements that should be present in every solution)
      * @param ub initial domain upper bound (contains potential elements)
      * @return a SetVar of domain [<i>lb</i>, <i>ub</i>]
+     * @implNote When {@link Settings#enableBitsetSetVars()} is set and <i>ub</i> is dense, that is,
+     * it holds at least as many elements as 64-bit words are needed to cover its span,
+     * a {@link BitsetSetVarImpl} is created.
      */
     default SetVar setVar(String name, int[] lb, int[] ub) {
+        if (ub.length > 0 && ref().getSettings().enableBitsetSetVars()) {
+            int min = ub[0], max = ub[0];
+            for (int i : ub) {
+                min = Math.min(min, i);
+                max = Math.max(max, i);
+            }
+            if ((max >> 6) - (min >> 6) < ub.length) {
+                return new BitsetSetVarImpl(name, lb, ub, ref());
+            }
+        }
         return new SetVarImpl(name, lb, SetType.BITSET, ub, SetType.BITSET, ref());
     }
 
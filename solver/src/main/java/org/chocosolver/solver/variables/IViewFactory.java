@@ -74,6 +74,9 @@ public interface IViewFactory extends ISelf<Model> {
             return ref().intVar(name, var.getValue() + cste);
         }
         if (ref().getSettings().enableViews()) {
+            if (isAffineView(var)) {
+                return intAffineView(1, var, cste);
+            }
             int p = checkDeclaredView(var, cste, OffsetView.class);
             if(p>-1){
                 return var.getView(p).asIntVar();
@@ -108,6 +111,8 @@ public interface IViewFactory extends ISelf<Model> {
         if (ref().getSettings().enableViews()) {
             if (var instanceof MinusView) {
                 return ((MinusView) var).getVariable();
+            } else if (isAffineView(var)) {
+                return intAffineView(-1, var, 0);
             } else {
                 int p = checkDeclaredView(var, -1, MinusView.class);
                 if(p>-1){
@@ -159,6 +164,9 @@ public interface IViewFactory extends ISelf<Model> {
                 return ref().intVar(var.getValue() * cste);
             }
             if (ref().getSettings().enableViews()) {
+                if (cste < 0 || isAffineView(var)) {
+                    return intAffineView(cste, var, 0);
+                }
                 boolean rev = cste < 0;
                 cste = Math.abs(cste);
                 int p = checkDeclaredView(var, cste, ScaleView.class);
@@ -228,20 +236,83 @@ public interface IViewFactory extends ISelf<Model> {
     /**
      * Creates an affine view over <i>x</i> such that: <i>a.x + b</i>.
      * <p>
+     * When <i>x</i> is itself an offset, scale, minus or affine view, the chain is collapsed:
+     * the view returned is based on the variable observed by <i>x</i>, with composed coefficients.
+     * Hence, events on that variable reach the propagators of the view directly.
+     * Depending on <i>a</i> and <i>b</i>, the view returned is an {@link OffsetView}, a {@link MinusView},
+     * a {@link ScaleView} or an {@link AffineView}.
+     * <p>
      *
      * @param a a coefficient
      * @param x an integer variable.
      * @param b a constant
-     * @return an IntVar equal to the absolute value of <i>var</i>
+     * @return an IntVar equal to <i>a.x + b</i>
      */
     default IntVar intAffineView(int a, IntVar x, int b) {
         if (x.isInstantiated()) {
             return ref().intVar(a * x.getValue() + b);
+        } else if (ref().getSettings().enableViews()) {
+            if (a == 0) {
+                return ref().intVar(b);
+            }
+            int[] ab = affineCoefficients(x);
+            if (ab != null) {
+                // a.(a'.y + b') + b = (a.a').y + (a.b' + b)
+                long a2 = (long) a * ab[0], b2 = (long) a * ab[1] + b;
+                if (a2 == (int) a2 && b2 == (int) b2) {
+                    return intAffineView((int) a2, ((IView) x).getVariable(), (int) b2);
+                }
+            }
+            int p;
+            if (a == 1 && b == 0) {
+                return x;
+            } else if (a == 1) {
+                p = checkDeclaredView(x, b, OffsetView.class);
+                return p > -1 ? x.getView(p).asIntVar() : new OffsetView(x, b);
+            } else if (a == -1 && b == 0) {
+                p = checkDeclaredView(x, -1, MinusView.class);
+                return p > -1 ? x.getView(p).asIntVar() : new MinusView(x);
+            } else if (a > 1 && b == 0) {
+                p = checkDeclaredView(x, a, ScaleView.class);
+                return p > -1 ? x.getView(p).asIntVar() : new ScaleView(x, a);
+            } else {
+                p = checkDeclaredAffineView(x, a, b);
+                return p > -1 ? x.getView(p).asIntVar() : new AffineView(x, a, b);
+            }
         } else {
             return intOffsetView(intScaleView(x, a), b);
         }
     }
 
+    /**
+     * @param x an integer variable
+     * @return <tt>true</tt> if <i>x</i> is an offset, scale, minus or affine view
+     */
+    static boolean isAffineView(IntVar x) {
+        return x instanceof OffsetView
+                || x instanceof ScaleView
+                || x instanceof MinusView
+                || x instanceof AffineView;
+    }
+
+    /**
+     * @param x an integer variable
+     * @return <i>{a, b}</i> such that <i>x = a.y + b</i> when <i>x</i> is an offset, scale, minus or affine view
+     * over <i>y</i>, <tt>null</tt> otherwise
+     */
+    static int[] affineCoefficients(IntVar x) {
+        if (x instanceof OffsetView) {
+            return new int[]{1, ((OffsetView) x).cste};
+        } else if (x instanceof ScaleView) {
+            return new int[]{((ScaleView) x).cste, 0};
+        } else if (x instanceof MinusView) {
+            return new int[]{-1, 0};
+        } else if (x instanceof AffineView) {
+            return new int[]{((AffineView) x).a, ((AffineView) x).b};
+        }
+        return null;
+    }
+
 
     /**
      * Creates an view over <i>x</i> such that: <i>(x = c) &hArr; b</i>.
@@ -257,6 +328,13 @@ public interface IViewFactory extends ISelf<Model> {
             return ref().boolVar(false);
         } else {
             if (ref().getSettings().enableViews()) {
+                if (x.isBool()) {
+                    return c == 1 ? (BoolVar) x : ((BoolVar) x).not();
+                } else if (isAffineView(x)) {
+                    // a.y + b = c iff y = (c - b) / a, which is integral since x contains c
+                    int[] ab = affineCoefficients(x);
+                    return intEqView(((IView) x).getVariable(), (int) (((long) c - ab[1]) / ab[0]));
+                }
                 int p = checkDeclaredView(x, c, EqView.class);
                 if (p >= 0) {
                     return x.getView(p).asBoolVar();
@@ -285,6 +363,9 @@ public interface IViewFactory extends ISelf<Model> {
             return ref().boolVar(true);
         } else {
             if (ref().getSettings().enableViews()) {
+                if (x.isBool() || isAffineView(x)) {
+                    return intEqView(x, c).not();
+                }
                 int p = checkDeclaredView(x, c, EqView.class);
                 if (p >= 0) {
                     return x.getView(p).asBoolVar().not();
@@ -313,6 +394,17 @@ public interface IViewFactory extends ISelf<Model> {
             return ref().boolVar(false);
         } else {
             if (ref().getSettings().enableViews()) {
+                if (x.isBool()) {
+                    return ((BoolVar) x).not();
+                } else if (isAffineView(x)) {
+                    // a.y + b <= c iff y <= floor((c - b) / a) when a > 0, y >= ceil((c - b) / a) otherwise
+                    int[] ab = affineCoefficients(x);
+                    IntVar y = ((IView) x).getVariable();
+                    long d = (long) c - ab[1];
+                    return ab[0] > 0 ?
+                            intLeView(y, (int) Math.floorDiv(d, ab[0])) :
+                            intGeView(y, (int) -Math.floorDiv(-d, ab[0]));
+                }
                 int p = checkDeclaredView(x, c, LeqView.class);
                 if (p >= 0) {
                     return x.getView(p).asBoolVar();
@@ -341,6 +433,17 @@ public interface IViewFactory extends ISelf<Model> {
             return ref().boolVar(false);
         } else {
             if (ref().getSettings().enableViews()) {
+                if (x.isBool()) {
+                    return (BoolVar) x;
+                } else if (isAffineView(x)) {
+                    // a.y + b >= c iff y >= ceil((c - b) / a) when a > 0, y <= floor((c - b) / a) otherwise
+                    int[] ab = affineCoefficients(x);
+                    IntVar y = ((IView) x).getVariable();
+                    long d = (long) c - ab[1];
+                    return ab[0] > 0 ?
+                            intGeView(y, (int) -Math.floorDiv(-d, ab[0])) :
+                            intLeView(y, (int) Math.floorDiv(d, ab[0]));
+                }
                 int p = checkDeclaredView(x, c - 1, LeqView.class);
                 if (p >= 0) {
                     return x.getView(p).asBoolVar().not();
@@ -355,6 +458,18 @@ public interface IViewFactory extends ISelf<Model> {
         }
     }
 
+    static int checkDeclaredAffineView(IntVar x, int a, int b) {
+        for (int i = 0; i < x.getNbViews(); i++) {
+            if (x.getView(i) instanceof AffineView) {
+                AffineView v = (AffineView) x.getView(i);
+                if (v.a == a && v.b == b) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
     static int checkDeclaredView(IntVar x, int c, Class clazz){
         for(int i = 0; i < x.getNbViews(); i++)
             if (clazz.isInstance(x.getView(i))) {
@@ -14,6 +14,7 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.view.IView;
 import org.chocosolver.solver.variables.view.OffsetView;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
@@ -116,9 +117,16 @@ public class Task {
     private static boolean isOffsetView(IntVar s, int d, IntVar e) {
         if(e instanceof OffsetView) {
             OffsetView offsetView = (OffsetView) e;
-            return offsetView.cste == d && offsetView.getVariable().equals(s);
+            if (offsetView.cste == d && offsetView.getVariable().equals(s)) {
+                return true;
+            }
         }
-        return false;
+        // view chains are collapsed on creation: s and e may both be views over the same variable
+        int[] fs = IViewFactory.affineCoefficients(s);
+        int[] fe = IViewFactory.affineCoefficients(e);
+        return fs != null && fe != null
+                && ((IView) s).getVariable().equals(((IView) e).getVariable())
+                && fs[0] == fe[0] && (long) fs[1] + d == fe[1];
     }
 
     private void declareMonitor() {
@@ -94,9 +94,22 @@ public interface Variable extends Identity, Comparable<Variable> {
      * Return the array of propagators this
      *
      * @return the array of proapgators of this
+     * @throws org.chocosolver.solver.exception.SolverException if the propagators of this are stored
+     * with the ones of other variables, see {@link org.chocosolver.solver.Settings#enableCompactSubscriptions()};
+     * {@link #getPropagator(int)} and {@link #getNbProps()} do not have this restriction
      */
     Propagator[] getPropagators();
 
+    /**
+     * Return the array in which the propagators of this are stored.
+     * The propagators of this start at position {@link #getPOffset()},
+     * since the array may be shared with other variables.
+     *
+     * @return the array storing the propagators of this
+     * @see #getPropagators()
+     */
+    Propagator[] getPropagatorStorage();
+
     /**
      * Return the "idx" th propagator of this
      *
@@ -115,9 +128,25 @@ public interface Variable extends Identity, Comparable<Variable> {
 
     /**
      * @return the array of indices of this variable in its propagators.
+     * @throws org.chocosolver.solver.exception.SolverException if the indices are stored
+     * with the ones of other variables, see {@link org.chocosolver.solver.Settings#enableCompactSubscriptions()};
+     * {@link #getIndexInPropagator(int)} and {@link #getNbProps()} do not have this restriction
      */
     int[] getPIndices();
 
+    /**
+     * @return the array in which the indices of this variable in its propagators are stored,
+     * starting at position {@link #getPOffset()}.
+     * @see #getPIndices()
+     */
+    int[] getPIndiceStorage();
+
+    /**
+     * @return position of the first propagator of this in {@link #getPropagatorStorage()}
+     * and {@link #getPIndiceStorage()}
+     */
+    int getPOffset();
+
     /**
      * Update the position of the variable in the propagator at position in {@link #getPropagators()}.
      * @param pos position of the propagator
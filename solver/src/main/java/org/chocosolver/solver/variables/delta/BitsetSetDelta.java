@@ -0,0 +1,118 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.delta;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.search.loop.TimeStampedObject;
+
+/**
+ * A word-level delta for set variables whose kernel and envelope are stored as bitsets.
+ * <p/>
+ * Instead of one entry per element, an entry stores a 64-bit word of elements together with its index,
+ * so that a bulk modification of a word is recorded at once.
+ * Word <i>w</i> covers the elements in <code>[64 * w, 64 * w + 63]</code>.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class BitsetSetDelta extends TimeStampedObject implements IDelta {
+    private static final int SIZE = 16;
+
+    private final int[][] idx;
+    private final long[][] bits;
+    private final ICause[][] causes;
+    private final int[] last;
+
+    public BitsetSetDelta(IEnvironment environment) {
+        super(environment);
+        idx = new int[2][SIZE];
+        bits = new long[2][SIZE];
+        causes = new ICause[2][SIZE];
+        last = new int[2];
+    }
+
+    private void ensureCapacity(int kerOrEnv) {
+        int l = last[kerOrEnv];
+        if (l >= idx[kerOrEnv].length) {
+            int nl = l * 3 / 2 + 1;
+            int[] tmp = new int[nl];
+            long[] tmpb = new long[nl];
+            ICause[] tmpc = new ICause[nl];
+            System.arraycopy(idx[kerOrEnv], 0, tmp, 0, l);
+            System.arraycopy(bits[kerOrEnv], 0, tmpb, 0, l);
+            System.arraycopy(causes[kerOrEnv], 0, tmpc, 0, l);
+            idx[kerOrEnv] = tmp;
+            bits[kerOrEnv] = tmpb;
+            causes[kerOrEnv] = tmpc;
+        }
+    }
+
+    @Override
+    public void lazyClear() {
+        if (needReset()) {
+            last[ISetDelta.LB] = 0;
+            last[ISetDelta.UB] = 0;
+            resetStamp();
+        }
+    }
+
+    /**
+     * Adds a word of elements to the delta
+     *
+     * @param word     index of the word
+     * @param mask     elements of the word to add, as a bit mask
+     * @param kerOrEnv {@link ISetDelta#LB} or {@link ISetDelta#UB}
+     * @param cause    cause of the modification
+     */
+    public void add(int word, long mask, int kerOrEnv, ICause cause) {
+        lazyClear();
+        ensureCapacity(kerOrEnv);
+        int l = last[kerOrEnv]++;
+        idx[kerOrEnv][l] = word;
+        bits[kerOrEnv][l] = mask;
+        causes[kerOrEnv][l] = cause;
+    }
+
+    /**
+     * @param kerOrEnv {@link ISetDelta#LB} or {@link ISetDelta#UB}
+     * @return the number of entries (words) stored
+     */
+    public int getSize(int kerOrEnv) {
+        return last[kerOrEnv];
+    }
+
+    /**
+     * @param index    index of the entry
+     * @param kerOrEnv {@link ISetDelta#LB} or {@link ISetDelta#UB}
+     * @return the index of the word of the entry
+     */
+    public int getWordIndex(int index, int kerOrEnv) {
+        return idx[kerOrEnv][index];
+    }
+
+    /**
+     * @param index    index of the entry
+     * @param kerOrEnv {@link ISetDelta#LB} or {@link ISetDelta#UB}
+     * @return the elements of the entry, as a bit mask
+     */
+    public long getWord(int index, int kerOrEnv) {
+        return bits[kerOrEnv][index];
+    }
+
+    /**
+     * @param index    index of the entry
+     * @param kerOrEnv {@link ISetDelta#LB} or {@link ISetDelta#UB}
+     * @return the cause of the entry
+     */
+    public ICause getCause(int index, int kerOrEnv) {
+        return causes[kerOrEnv][index];
+    }
+}
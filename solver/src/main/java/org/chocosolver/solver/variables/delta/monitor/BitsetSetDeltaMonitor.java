@@ -0,0 +1,79 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.delta.monitor;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.TimeStampedObject;
+import org.chocosolver.solver.variables.delta.BitsetSetDelta;
+import org.chocosolver.solver.variables.delta.ISetDelta;
+import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.events.SetEventType;
+import org.chocosolver.util.procedure.IntProcedure;
+
+/**
+ * A delta monitor for {@link BitsetSetDelta}: the elements of each recorded word are enumerated
+ * by scanning its set bits.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class BitsetSetDeltaMonitor extends TimeStampedObject implements ISetDeltaMonitor {
+
+    private final BitsetSetDelta delta;
+    private final int[] first;
+    private final int[] last;
+    private final ICause propagator;
+
+    public BitsetSetDeltaMonitor(BitsetSetDelta delta, ICause propagator) {
+        super(delta.getEnvironment());
+        this.delta = delta;
+        this.first = new int[2];
+        this.last = new int[2];
+        this.propagator = propagator;
+    }
+
+    private void freeze() {
+        if (needReset()) {
+            delta.lazyClear();
+            for (int i = 0; i < 2; i++) {
+                this.first[i] = 0;
+            }
+            resetStamp();
+        }
+        for (int i = 0; i < 2; i++) {
+            this.last[i] = delta.getSize(i);
+        }
+    }
+
+    @Override
+    public void forEach(IntProcedure proc, SetEventType evt) throws ContradictionException {
+        freeze();
+        int x;
+        if (evt == SetEventType.ADD_TO_KER) {
+            x = ISetDelta.LB;
+        } else if (evt == SetEventType.REMOVE_FROM_ENVELOPE) {
+            x = ISetDelta.UB;
+        } else {
+            throw new UnsupportedOperationException("The event in parameter should be ADD_TO_KER or REMOVE_FROM_ENVELOPE");
+        }
+        while (first[x] < last[x]) {
+            int i = first[x]++;
+            if (delta.getCause(i, x) != propagator) {
+                int base = delta.getWordIndex(i, x) << 6;
+                long word = delta.getWord(i, x);
+                while (word != 0) {
+                    proc.execute(base + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
@@ -69,6 +70,24 @@ public abstract class AbstractVariable implements Variable {
      */
     static final String MSG_BOUND = "new bounds are incorrect";
 
+    /**
+     * Message associated with forcing an element out of the envelope of a set variable.
+     */
+    static final String MSG_ENV = "element not in the envelope";
+
+    /**
+     * Message associated with removing an element of the kernel of a set variable.
+     */
+    static final String MSG_KER = "element in the kernel";
+
+    private static final IView[] NO_VIEWS = new IView[0];
+
+    private static final IVariableMonitor[] NO_MONITORS = new IVariableMonitor[0];
+
+    private static final Propagator[] NO_PROPAGATORS = new Propagator[0];
+
+    private static final int[] NO_INDICES = new int[0];
+
     /**
      * Unique ID of this variable.
      */
@@ -85,15 +104,26 @@ public abstract class AbstractVariable implements Variable {
     protected final String name;
 
     /**
-     * List of propagators of this variable.
+     * List of propagators of this variable, starting at {@link #offset}.
+     * Once subscriptions are compacted, this array is shared among variables.
      */
     protected Propagator[] propagators;
 
     /**
-     * Store the index of this variable in each of its propagators.
+     * Store the index of this variable in each of its propagators, starting at {@link #offset}.
      */
     int[] pindices;
 
+    /**
+     * Position of the first propagator of this variable in {@link #propagators} and {@link #pindices}.
+     */
+    private int offset;
+
+    /**
+     * Number of slots reserved to this variable in {@link #propagators} and {@link #pindices}.
+     */
+    private int capacity;
+
     /**
      * Dependency indices, for efficient scheduling purpose.
      */
@@ -152,10 +182,20 @@ public abstract class AbstractVariable implements Variable {
     protected AbstractVariable(String name, Model model) {
         this.name = name;
         this.model = model;
-        this.views = new IView[2];
-        this.monitors = new IVariableMonitor[2];
-        this.propagators = new Propagator[8];
-        this.pindices = new int[8];
+        if (model.getSettings().enableLowFootprint()) {
+            // allocated on first use
+            this.views = NO_VIEWS;
+            this.monitors = NO_MONITORS;
+            this.propagators = NO_PROPAGATORS;
+            this.pindices = NO_INDICES;
+            this.capacity = 0;
+        } else {
+            this.views = new IView[2];
+            this.monitors = new IVariableMonitor[2];
+            this.propagators = new Propagator[8];
+            this.pindices = new int[8];
+            this.capacity = 8;
+        }
         this.ID = this.model.nextId();
         this.model.associates(this);
         this.scheduler = createScheduler();
@@ -173,18 +213,17 @@ public abstract class AbstractVariable implements Variable {
     @Override
     public final int link(Propagator propagator, int idxInProp) {
         // 1. ensure capacity
-        if (dindices[dsize] == propagators.length) {
+        // (when subscriptions are compacted, this falls back on arrays owned by this variable)
+        if (dindices[dsize] == capacity) {
+            capacity = capacity * 3 / 2 + 1;
             Propagator[] tmp = propagators;
-            propagators = new Propagator[tmp.length * 3 / 2 + 1];
-            System.arraycopy(tmp, 0, propagators, 0, dindices[dsize]);
+            propagators = new Propagator[capacity];
+            System.arraycopy(tmp, offset, propagators, 0, dindices[dsize]);
 
             int[] itmp = pindices;
-            pindices = new int[itmp.length * 3 / 2 + 1];
-            System.arraycopy(itmp, 0, pindices, 0, dindices[dsize]);
-            if (pindices.length != propagators.length) {
-                throw new UnsupportedOperationException("error: pindices.length != propagators.length in " + this);
-            }
-
+            pindices = new int[capacity];
+            System.arraycopy(itmp, offset, pindices, 0, dindices[dsize]);
+            offset = 0;
         }
         // 2. put it in the right place
         int pc = propagator.getPropagationConditions(idxInProp);
@@ -199,22 +238,46 @@ public abstract class AbstractVariable implements Variable {
      * @param to   a position in {@link #propagators}
      */
     private void move(int from, int to) {
+        from += offset;
         if (propagators[from] != null) {
-            propagators[to] = propagators[from];
-            pindices[to] = pindices[from];
-            propagators[to].setVIndices(pindices[from], to);
+            Propagator p = propagators[from];
+            propagators[offset + to] = p;
+            pindices[offset + to] = pindices[from];
+            p.setVIndices(pindices[from], to);
             propagators[from] = null;
         }
     }
 
+    /**
+     * Copy the subscriptions of this variable into <i>props</i> and <i>idx</i>, from position <i>from</i>,
+     * and use these arrays from now on.
+     * The arrays are expected to be shared among variables, each of them owning a contiguous slice.
+     * If a propagator is linked to this variable afterwards, private arrays are allocated again.
+     *
+     * @param props shared array of propagators
+     * @param idx   shared array of indices in propagators
+     * @param from  first position reserved to this variable
+     * @return the first position after the slice of this variable
+     */
+    public final int compactSubscriptions(Propagator[] props, int[] idx, int from) {
+        int n = dindices[dsize];
+        System.arraycopy(propagators, offset, props, from, n);
+        System.arraycopy(pindices, offset, idx, from, n);
+        propagators = props;
+        pindices = idx;
+        offset = from;
+        capacity = n;
+        return from + n;
+    }
+
     int subscribe(Propagator p, int ip, int i) {
         int j = dsize - 1;
         for (; j >= i; j--) {
             move(dindices[j], dindices[j + 1]);
             dindices[j + 1]++;
         }
-        propagators[dindices[i]] = p;
-        pindices[dindices[i]] = ip;
+        propagators[offset + dindices[i]] = p;
+        pindices[offset + dindices[i]] = ip;
         return dindices[i];
     }
 
@@ -228,8 +291,8 @@ public abstract class AbstractVariable implements Variable {
             move(dindices[j + 1] - 1, dindices[j] - 1);
             dindices[j]--;
         }
-        propagators[dindices[dsize] - 1] = propagator;
-        pindices[dindices[dsize] - 1] = idxInProp;
+        propagators[offset + dindices[dsize] - 1] = propagator;
+        pindices[offset + dindices[dsize] - 1] = idxInProp;
         return dindices[dsize] - 1;
     }
 
@@ -237,7 +300,7 @@ public abstract class AbstractVariable implements Variable {
     public int swapOnActivate(Propagator propagator, int idxInProp) {
         int pp = propagator.getVIndice(idxInProp);
         if(pp > -1) {
-            assert propagators[pp] == propagator;
+            assert propagators[offset + pp] == propagator;
             assert dindices[dsize - 1] <= pp && pp <= dindices[dsize];
             int i = scheduler.select(propagator.getPropagationConditions(idxInProp));
             move(--dindices[dsize], pp);
@@ -245,8 +308,8 @@ public abstract class AbstractVariable implements Variable {
                 move(dindices[j], dindices[j + 1]);
                 dindices[j + 1]++;
             }
-            propagators[dindices[i]] = propagator;
-            pindices[dindices[i]] = idxInProp;
+            propagators[offset + dindices[i]] = propagator;
+            pindices[offset + dindices[i]] = idxInProp;
             return dindices[i];
         }else{
             assert propagator.getConstraint().getStatus() == Constraint.Status.FREE;
@@ -258,11 +321,11 @@ public abstract class AbstractVariable implements Variable {
     public final void unlink(Propagator propagator, int idxInProp) {
         int i = propagator.getVIndice(idxInProp); // todo deal with -1
         if (i > -1) {
-            assert propagators[i] == propagator : "Try to unlink :\n" + propagator + "\nfrom " + this.getName() + " but found:\n" + propagators[i];
+            assert propagators[offset + i] == propagator : "Try to unlink :\n" + propagator + "\nfrom " + this.getName() + " but found:\n" + propagators[offset + i];
             // Dynamic addition of a propagator may be not considered yet, so the assertion is not correct
             int mask = 0;
             if(i < dindices[dsize-1]){ // the position above this limit indicates a propagator that was swapped to passivate
-                mask = propagator.getPropagationConditions(pindices[i]);
+                mask = propagator.getPropagationConditions(pindices[offset + i]);
             }
             cancel(i, scheduler.select(mask));
             propagator.setVIndices(idxInProp, -1);
@@ -281,12 +344,21 @@ public abstract class AbstractVariable implements Variable {
 
     @Override
     public final Propagator[] getPropagators() {
+        if (isStorageShared()) {
+            throw new SolverException("The propagators of " + name + " are stored with the ones of other variables, " +
+                    "use getPropagator(int) and getNbProps() instead.");
+        }
+        return propagators;
+    }
+
+    @Override
+    public final Propagator[] getPropagatorStorage() {
         return propagators;
     }
 
     @Override
     public final Propagator getPropagator(int idx) {
-        return propagators[idx];
+        return propagators[offset + idx];
     }
 
     @Override
@@ -296,12 +368,34 @@ public abstract class AbstractVariable implements Variable {
 
     @Override
     public final int[] getPIndices() {
+        if (isStorageShared()) {
+            throw new SolverException("The indices of " + name + " in its propagators are stored with the ones of other variables, " +
+                    "use getIndexInPropagator(int) and getNbProps() instead.");
+        }
         return pindices;
     }
 
+    /**
+     * @return <tt>true</tt> if the propagators of this are stored with the ones of other variables,
+     * that is, once subscriptions are compacted
+     */
+    private boolean isStorageShared() {
+        return offset > 0 || propagators.length > capacity;
+    }
+
+    @Override
+    public final int[] getPIndiceStorage() {
+        return pindices;
+    }
+
+    @Override
+    public final int getPOffset() {
+        return offset;
+    }
+
     @Override
     public final void setPIndice(int pos, int val) {
-        pindices[pos] = val;
+        pindices[offset + pos] = val;
     }
 
     @Override
@@ -311,7 +405,7 @@ public abstract class AbstractVariable implements Variable {
 
     @Override
     public final int getIndexInPropagator(int pidx) {
-        return pindices[pidx];
+        return pindices[offset + pidx];
     }
 
     @Override
@@ -191,115 +191,63 @@ public final class BitsetArrayIntVarImpl extends AbstractVariable implements Int
     @Override
     public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
         assert cause != null;
-        int olb = getLB();
-        int oub = getUB();
-        int nlb = values.nextValue(olb - 1);
-        int nub = values.previousValue(oub + 1);
-        if (nlb > oub || nub < olb) {
-            return false;
-        }
-        int i;
-        // look for the new lb
-        while (nlb == olb && olb < Integer.MAX_VALUE) {
-            i = INDICES.nextSetBit(V2I.get(olb) + 1);
-            olb = i > -1 ? VALUES[i] : Integer.MAX_VALUE;
-            nlb = values.nextValue(olb - 1);
-        }
-        if (nlb <= nub) {
-            // look for the new ub
-            while (nub == oub && oub > Integer.MIN_VALUE) {
-                i = INDICES.prevSetBit(V2I.get(oub) - 1);
-                oub = i > -1 ? VALUES[i] : Integer.MIN_VALUE;
-                nub = values.previousValue(oub + 1);
-            }
-        }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(olb, oub, cause);
-        // now deal with holes
-        int value = nlb;
-        int to = nub;
-        boolean hasRemoved = false;
-        int count = SIZE.get();
-        while (value <= to) {
-            int index = V2I.get(value);
-            if (index > -1 && this.INDICES.get(index)) {
-                model.getSolver().getEventObserver().removeValue(this, value, cause);
-                if (count == 1) {
-                    this.contradiction(cause, MSG_REMOVE);
-                }
-                count--;
-                hasRemoved = true;
-                INDICES.clear(index);
-                if (reactOnRemoval) {
-                    delta.add(value, cause);
-                }
-            }
-            value = values.nextValue(value);
-        }
-        if (hasRemoved) {
-            notifyOnRemovals(count, cause);
-        }
-        return hasRemoved || hasChanged;
+        return remove(values, true, cause);
     }
 
     @Override
     public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
-        int olb = getLB();
-        int oub = getUB();
-        int nlb = values.nextValue(olb - 1);
-        int nub = values.previousValue(oub + 1);
-        int i;
-        // look for the new lb
-        while (nlb != olb && olb < Integer.MAX_VALUE && nlb < Integer.MAX_VALUE) {
-            i = INDICES.nextSetBit(V2I.get(olb) + 1);
-            olb = i > -1 ? VALUES[i] : Integer.MAX_VALUE;
-            nlb = values.nextValue(olb - 1);
-        }
-        if (nlb <= nub) {
-            // look for the new ub
-            while (nub != oub && olb > Integer.MIN_VALUE && oub > Integer.MIN_VALUE) {
-                i = INDICES.prevSetBit(V2I.get(oub) - 1);
-                oub = i > -1 ? VALUES[i] : Integer.MIN_VALUE;
-                nub = values.previousValue(oub + 1);
-            }
-        }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(nlb, nub, cause);
-        // now deal with holes
-        int to = UB.get() - 1;
-        boolean hasRemoved = false;
+        assert cause != null;
+        return remove(values, false, cause);
+    }
+
+    /**
+     * Removes from the domain the values that are in <i>values</i> (or not in <i>values</i>),
+     * then notifies propagators with a single event.
+     *
+     * @param values a set of values
+     * @param in     set to <tt>true</tt> to remove values in <i>values</i>,
+     *               to <tt>false</tt> to remove values not in <i>values</i>
+     * @param cause  removal releaser
+     * @return <tt>true</tt> if at least one value has been removed
+     * @throws ContradictionException if the domain becomes empty
+     */
+    private boolean remove(IntIterableSet values, boolean in, ICause cause) throws ContradictionException {
+        int olb = LB.get();
+        int oub = UB.get();
         int count = SIZE.get();
-        int value;
-        // iterate over the values in the domain, remove the ones that are not in values
-        for (int index = INDICES.nextSetBit(LB.get() + 1); index > -1 && index <= to; index = INDICES.nextSetBit(index + 1)) {
-            value = VALUES[index];
-            if (!values.contains(value)) {
+        int size = count;
+        for (int index = olb; index > -1 && index <= oub; index = INDICES.nextSetBit(index + 1)) {
+            int value = VALUES[index];
+            if (values.contains(value) == in) {
                 model.getSolver().getEventObserver().removeValue(this, value, cause);
                 if (count == 1) {
                     this.contradiction(cause, MSG_REMOVE);
                 }
                 count--;
-                hasRemoved = true;
                 INDICES.clear(index);
                 if (reactOnRemoval) {
                     delta.add(value, cause);
                 }
             }
         }
-        if (hasRemoved) {
-            notifyOnRemovals(count, cause);
-        }
-        return hasRemoved || hasChanged;
-    }
-
-
-    private void notifyOnRemovals(int count, ICause cause) throws ContradictionException {
-        SIZE.set(count);
-        IntEventType e = IntEventType.REMOVE;
-        if (count == 1) {
-            e = IntEventType.INSTANTIATE;
+        if (count < size) {
+            SIZE.set(count);
+            IntEventType e = IntEventType.REMOVE;
+            if (!INDICES.get(olb)) {
+                LB.set(INDICES.nextSetBit(olb));
+                e = IntEventType.INCLOW;
+            }
+            if (!INDICES.get(oub)) {
+                UB.set(INDICES.prevSetBit(oub));
+                e = e == IntEventType.INCLOW ? IntEventType.BOUND : IntEventType.DECUPP;
+            }
+            if (count == 1) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            return true;
         }
-        this.notifyPropagators(e, cause);
+        return false;
     }
 
     @Override
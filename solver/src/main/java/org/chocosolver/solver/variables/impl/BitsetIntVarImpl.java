@@ -15,6 +15,7 @@ import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.AbstractEventObserver;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.EnumDelta;
 import org.chocosolver.solver.variables.delta.IEnumDelta;
@@ -191,129 +192,146 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
     @Override
     public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
         assert cause != null;
-        int olb = getLB();
-        int oub = getUB();
-        int nlb = values.nextValue(olb - 1);
-        int nub = values.previousValue(oub + 1);
-        if (nlb > oub || nub < olb) {
-            return false;
-        }
-        int i;
-        // look for the new lb
-        while (nlb == olb && olb < Integer.MAX_VALUE) {
-            i = VALUES.nextSetBit(nlb + 1 - OFFSET);
-            olb = i > -1 ? i + OFFSET : Integer.MAX_VALUE;
-            nlb = values.nextValue(olb - 1);
-        }
-        if (nlb <= nub) {
-            // look for the new ub
-            while (nub == oub && oub > Integer.MIN_VALUE) {
-                i = VALUES.prevSetBit(nub - 1 - OFFSET);
-                oub = i > -1 ? i + OFFSET : Integer.MIN_VALUE;
-                nub = values.previousValue(oub + 1);
-            }
+        int olb = LB.get();
+        int oub = UB.get();
+        int ub = oub + OFFSET;
+        // first, compute the new bounds
+        int nlb = olb + OFFSET;
+        while (nlb <= ub && values.contains(nlb)) {
+            int out = values.nextValueOut(nlb);
+            nlb = out <= ub ? nextValue(out - 1) : Integer.MAX_VALUE;
         }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(olb, oub, cause);
-        // now deal with holes
-        int value = nlb;
-        int to = nub;
-        boolean hasRemoved = false;
-        int count = SIZE.get();
-        while (value <= to) {
-            int aValue = value - OFFSET;
-            if (aValue >= 0 && aValue <= LENGTH && VALUES.get(aValue)) {
-                model.getSolver().getEventObserver().removeValue(this, value, cause);
-                if (count == 1) {
-                    this.contradiction(cause, MSG_REMOVE);
-                }
-                count--;
-                hasRemoved = true;
-                VALUES.clear(aValue);
-                if (reactOnRemoval) {
-                    delta.add(value, cause);
-                }
-            }
-            value = values.nextValue(value);
+        if (nlb > ub) {
+            model.getSolver().getEventObserver().updateLowerBound(this, nlb, olb + OFFSET, cause);
+            this.contradiction(cause, MSG_LOW);
         }
-        if (hasRemoved) {
-            notifyRemovals(count, cause);
+        int nub = ub;
+        while (values.contains(nub)) {
+            nub = previousValue(values.previousValueOut(nub) + 1);
         }
-        return hasRemoved || hasChanged;
-    }
-
-    private void notifyRemovals(int count, ICause cause) throws ContradictionException {
-        SIZE.set(count);
-        IntEventType e = IntEventType.REMOVE;
-        if (count == 1) {
-            e = IntEventType.INSTANTIATE;
+        int size = SIZE.get();
+        updateBounds(olb, oub, nlb, nub, cause);
+        // then, remove holes
+        int from = values.nextValue(nlb);
+        while (from < nub) {
+            // [from, to] is a range of values to remove
+            int to = Math.min(values.nextValueOut(from) - 1, nub - 1);
+            clear(from - OFFSET, to - OFFSET, true, cause);
+            from = values.nextValue(to);
         }
-        this.notifyPropagators(e, cause);
+        return notifyRemovals(olb, oub, size, cause);
     }
 
     @Override
     public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
         assert cause != null;
-        int olb = getLB();
-        int oub = getUB();
-        int nlb = values.nextValue(olb - 1);
-        int nub = values.previousValue(oub + 1);
-        int i;
-        // look for the new lb
-        while (nlb != olb && olb < Integer.MAX_VALUE && nlb < Integer.MAX_VALUE) {
-            i = VALUES.nextSetBit(nlb - OFFSET);
-            olb = i > -1 ? i + OFFSET : Integer.MAX_VALUE;
-            nlb = values.nextValue(olb - 1);
-        }
-        // look for the new ub
-        if (nlb <= nub) {
-            while (nub != oub && oub > Integer.MIN_VALUE && nub > Integer.MIN_VALUE) {
-                i = VALUES.prevSetBit(nub - OFFSET);
-                oub = i > -1 ? i + OFFSET : Integer.MIN_VALUE;
-                nub = values.previousValue(oub + 1);
-            }
+        int olb = LB.get();
+        int oub = UB.get();
+        int ub = oub + OFFSET;
+        // first, compute the new bounds
+        int nlb = olb + OFFSET;
+        while (nlb <= ub && !values.contains(nlb)) {
+            int in = values.nextValue(nlb);
+            nlb = in <= ub ? nextValue(in - 1) : Integer.MAX_VALUE;
         }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(nlb, nub, cause);
-        // now deal with holes
-        boolean hasRemoved = false;
-        int count = SIZE.get();
-        int value;
-        int m0 = values.nextValueOut(nlb);
-        while (m0 < nub) {
-            int m1 = values.nextValue(m0) - OFFSET;
-            // iterate over the values in the domain, remove the ones that are not in values
-            int f = VALUES.nextSetBit(m0 - OFFSET);
-            int t = VALUES.nextClearBit(f);
-            int k = f;
-            while (k < m1) {
-                if (k < t) {
-                    value = k + OFFSET;
-                    assert !values.contains(value);
-                    model.getSolver().getEventObserver().removeValue(this, value, cause);
-                    if (count == 1) {
-                        this.contradiction(cause, MSG_REMOVE);
-                    }
-                    count--;
-                    hasRemoved = true;
-                    if (reactOnRemoval) {
-                        delta.add(value, cause);
-                    }
-                    k++;
-                } else {
-                    VALUES.clear(f, t);
-                    k = f = VALUES.nextSetBit(t);
-                    t = VALUES.nextClearBit(f);
+        if (nlb > ub) {
+            model.getSolver().getEventObserver().updateLowerBound(this, nlb, olb + OFFSET, cause);
+            this.contradiction(cause, MSG_LOW);
+        }
+        int nub = ub;
+        while (!values.contains(nub)) {
+            nub = previousValue(values.previousValue(nub) + 1);
+        }
+        int size = SIZE.get();
+        updateBounds(olb, oub, nlb, nub, cause);
+        // then, remove holes
+        int from = values.nextValueOut(nlb);
+        while (from < nub) {
+            // [from, to] is a range of values to remove
+            int to = Math.min(values.nextValue(from) - 1, nub - 1);
+            clear(from - OFFSET, to - OFFSET, true, cause);
+            from = values.nextValueOut(to);
+        }
+        return notifyRemovals(olb, oub, size, cause);
+    }
+
+    /**
+     * Removes the values out of [<i>nlb</i>, <i>nub</i>], which are reported as bound updates,
+     * without updating the bounds and the size.
+     *
+     * @param olb   lower bound before removals -- excludes offset
+     * @param oub   upper bound before removals -- excludes offset
+     * @param nlb   new lower bound -- includes offset
+     * @param nub   new upper bound -- includes offset
+     * @param cause removal releaser
+     */
+    private void updateBounds(int olb, int oub, int nlb, int nub, ICause cause) {
+        if (olb + OFFSET < nlb) {
+            model.getSolver().getEventObserver().updateLowerBound(this, nlb, olb + OFFSET, cause);
+            clear(olb, nlb - OFFSET - 1, false, cause);
+        }
+        if (nub < oub + OFFSET) {
+            model.getSolver().getEventObserver().updateUpperBound(this, nub, oub + OFFSET, cause);
+            clear(nub - OFFSET + 1, oub, false, cause);
+        }
+    }
+
+    /**
+     * Removes the values of [<i>from</i>, <i>to</i>] from the domain, word by word,
+     * without updating the bounds and the size.
+     *
+     * @param from  first value to remove -- excludes offset
+     * @param to    last value to remove -- excludes offset
+     * @param hole  set to true if the values are removed from inside the domain
+     * @param cause removal releaser
+     */
+    private void clear(int from, int to, boolean hole, ICause cause) {
+        AbstractEventObserver observer = model.getSolver().getEventObserver();
+        boolean observe = hole && observer != AbstractEventObserver.SILENT_OBSERVER;
+        if (reactOnRemoval || observe) {
+            // the iteration is mandatory for delta and observers
+            for (int i = VALUES.nextSetBit(from); i > -1 && i <= to; i = VALUES.nextSetBit(i + 1)) {
+                if (observe) {
+                    observer.removeValue(this, i + OFFSET, cause);
+                }
+                if (reactOnRemoval) {
+                    delta.add(i + OFFSET, cause);
                 }
             }
-            if (f < m1) VALUES.clear(f, m1);
-            m0 = values.nextValueOut(m1 + OFFSET);
         }
+        VALUES.clear(from, to + 1);
+    }
 
-        if (hasRemoved) {
-            notifyRemovals(count, cause);
+    /**
+     * Updates the size and the bounds after removals, then notifies propagators with a single event.
+     *
+     * @param olb   lower bound before removals -- excludes offset
+     * @param oub   upper bound before removals -- excludes offset
+     * @param size  size of the domain before removals
+     * @param cause removal releaser
+     * @return true if at least one value has been removed
+     * @throws ContradictionException if a propagator fails
+     */
+    private boolean notifyRemovals(int olb, int oub, int size, ICause cause) throws ContradictionException {
+        int count = VALUES.cardinality();
+        if (count == size) {
+            return false;
+        }
+        SIZE.set(count);
+        IntEventType e = IntEventType.REMOVE;
+        if (!VALUES.get(olb)) {
+            LB.set(VALUES.nextSetBit(olb));
+            e = IntEventType.INCLOW;
         }
-        return hasRemoved || hasChanged;
+        if (!VALUES.get(oub)) {
+            UB.set(VALUES.prevSetBit(oub));
+            e = e == IntEventType.INCLOW ? IntEventType.BOUND : IntEventType.DECUPP;
+        }
+        if (count == 1) {
+            e = IntEventType.INSTANTIATE;
+        }
+        this.notifyPropagators(e, cause);
+        return true;
     }
 
     @Override
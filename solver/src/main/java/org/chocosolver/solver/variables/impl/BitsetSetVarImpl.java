@@ -0,0 +1,520 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
+import org.chocosolver.solver.constraints.set.PropCardinality;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.delta.BitsetSetDelta;
+import org.chocosolver.solver.variables.delta.ISetDelta;
+import org.chocosolver.solver.variables.delta.monitor.BitsetSetDeltaMonitor;
+import org.chocosolver.solver.variables.events.SetEventType;
+import org.chocosolver.solver.variables.impl.scheduler.SetEvtScheduler;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+
+/**
+ * Set variable over a dense universe, whose kernel and envelope are trailed bitsets.
+ * <p/>
+ * Word <i>w</i> of a bitset covers the elements in <code>[64 * w, 64 * w + 63]</code>, whatever the variable,
+ * so that words of two such variables can be combined directly.
+ * Besides the element-wise modifiers of {@link SetVar}, whole words can be forced into the kernel
+ * or removed from the envelope at once, with {@link #forceWords(long[], int, ICause)} and
+ * {@link #removeWords(long[], int, ICause)}.
+ * Modifications are recorded word by word in a {@link BitsetSetDelta}.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class BitsetSetVarImpl extends AbstractVariable implements SetVar {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Index of the first word
+     */
+    private final int firstWord;
+    /**
+     * Number of words
+     */
+    private final int nbWords;
+    private final IStateLong[] ker, env;
+    private final IStateInt kerSize, envSize;
+    private final ISet lb, ub;
+    private BitsetSetDelta delta;
+    private boolean reactOnModification;
+    private IntVar cardinality = null;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Creates a set variable, of domain <code>[ker, env]</code>
+     *
+     * @param name  name of the variable
+     * @param ker   initial kernel domain
+     * @param env   initial envelope domain
+     * @param model solver of the variable.
+     */
+    public BitsetSetVarImpl(String name, int[] ker, int[] env, Model model) {
+        super(name, model);
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i : env) {
+            min = Math.min(min, i);
+            max = Math.max(max, i);
+        }
+        if (env.length > 0) {
+            firstWord = min >> 6;
+            nbWords = (max >> 6) - firstWord + 1;
+        } else {
+            firstWord = 0;
+            nbWords = 0;
+        }
+        long[] k = new long[nbWords];
+        long[] e = new long[nbWords];
+        for (int i : env) {
+            e[(i >> 6) - firstWord] |= 1L << i;
+        }
+        for (int i : ker) {
+            int w = (i >> 6) - firstWord;
+            if (w < 0 || w >= nbWords || (e[w] & 1L << i) == 0) {
+                throw new UnsupportedOperationException("Invalid SetVar domain definition : "
+                        + i + " is in the LB but not in the UB.");
+            }
+            k[w] |= 1L << i;
+        }
+        IEnvironment environment = model.getEnvironment();
+        this.ker = new IStateLong[nbWords];
+        this.env = new IStateLong[nbWords];
+        int kc = 0, ec = 0;
+        for (int w = 0; w < nbWords; w++) {
+            this.ker[w] = environment.makeLong(k[w]);
+            this.env[w] = environment.makeLong(e[w]);
+            kc += Long.bitCount(k[w]);
+            ec += Long.bitCount(e[w]);
+        }
+        kerSize = environment.makeInt(kc);
+        envSize = environment.makeInt(ec);
+        lb = new Bits(this.ker, kerSize);
+        ub = new Bits(this.env, envSize);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public boolean isInstantiated() {
+        return kerSize.get() == envSize.get();
+    }
+
+    @Override
+    public ISet getLB() {
+        return lb;
+    }
+
+    @Override
+    public ISet getUB() {
+        return ub;
+    }
+
+    @Override
+    public IntVar getCard() {
+        if (!hasCard()) {
+            int ubc = envSize.get(), lbc = kerSize.get();
+            if (ubc == lbc) cardinality = model.intVar(ubc);
+            else {
+                cardinality = model.intVar(name + ".card", lbc, ubc);
+                new Constraint(ConstraintsName.SETCARD, new PropCardinality(this, cardinality)).post();
+            }
+        }
+        return cardinality;
+    }
+
+    @Override
+    public boolean hasCard() {
+        return cardinality != null;
+    }
+
+    @Override
+    public void setCard(IntVar card) {
+        if (!hasCard()) {
+            cardinality = card;
+            new Constraint(ConstraintsName.SETCARD, new PropCardinality(this, card)).post();
+        } else {
+            model.arithm(cardinality, "=", card).post();
+        }
+    }
+
+    @Override
+    public boolean force(int element, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int w = (element >> 6) - firstWord;
+        long mask = 1L << element;
+        if (w < 0 || w >= nbWords || (env[w].get() & mask) == 0) {
+            contradiction(cause, MSG_ENV);
+            return true;
+        }
+        long k = ker[w].get();
+        if ((k & mask) == 0) {
+            ker[w].set(k | mask);
+            kerSize.add(1);
+            if (reactOnModification) {
+                delta.add(w + firstWord, mask, ISetDelta.LB, cause);
+            }
+            notifyPropagators(SetEventType.ADD_TO_KER, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(int element, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int w = (element >> 6) - firstWord;
+        if (w < 0 || w >= nbWords) {
+            return false;
+        }
+        long mask = 1L << element;
+        if ((ker[w].get() & mask) != 0) {
+            contradiction(cause, MSG_KER);
+            return true;
+        }
+        long e = env[w].get();
+        if ((e & mask) != 0) {
+            env[w].set(e & ~mask);
+            envSize.add(-1);
+            if (reactOnModification) {
+                delta.add(w + firstWord, mask, ISetDelta.UB, cause);
+            }
+            notifyPropagators(SetEventType.REMOVE_FROM_ENVELOPE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean instantiateTo(int[] value, ICause cause) throws ContradictionException {
+        boolean changed = !isInstantiated();
+        long[] words = new long[nbWords];
+        for (int i : value) {
+            int w = (i >> 6) - firstWord;
+            if (w < 0 || w >= nbWords) {
+                contradiction(cause, MSG_ENV);
+            }
+            words[w] |= 1L << i;
+        }
+        forceWords(words, firstWord, cause);
+        int card = 0;
+        for (int w = 0; w < nbWords; w++) {
+            card += Long.bitCount(words[w]);
+            words[w] = env[w].get() & ~words[w];
+        }
+        if (kerSize.get() != card) {
+            contradiction(cause, MSG_KER);
+        }
+        removeWords(words, firstWord, cause);
+        return changed;
+    }
+
+    /**
+     * @return index of the first word of this variable, that is, <code>min(envelope) >> 6</code>
+     */
+    public int getFirstWord() {
+        return firstWord;
+    }
+
+    /**
+     * @return number of words of this variable
+     */
+    public int getNbWords() {
+        return nbWords;
+    }
+
+    /**
+     * @param w index of a word
+     * @return the elements of the kernel in the word <i>w</i>, as a bit mask (0 if out of the universe)
+     */
+    public long getKernelWord(int w) {
+        w -= firstWord;
+        return w >= 0 && w < nbWords ? ker[w].get() : 0L;
+    }
+
+    /**
+     * @param w index of a word
+     * @return the elements of the envelope in the word <i>w</i>, as a bit mask (0 if out of the universe)
+     */
+    public long getEnvelopeWord(int w) {
+        w -= firstWord;
+        return w >= 0 && w < nbWords ? env[w].get() : 0L;
+    }
+
+    /**
+     * Adds elements to the kernel of this variable, word by word.
+     * The kernel is left unchanged if one of the elements does not belong to the envelope.
+     *
+     * @param words words of elements to add, <code>words[i]</code> being the word of index <code>from + i</code>
+     * @param from  index of the first word in <i>words</i>
+     * @param cause cause of the modification
+     * @return <tt>true</tt> if the kernel has been modified
+     * @throws ContradictionException if an element is not in the envelope
+     */
+    public boolean forceWords(long[] words, int from, ICause cause) throws ContradictionException {
+        assert cause != null;
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & ~getEnvelopeWord(from + i)) != 0) {
+                contradiction(cause, MSG_ENV);
+            }
+        }
+        int lo = Math.max(from, firstWord) - firstWord;
+        int hi = Math.min(from + words.length, firstWord + nbWords) - firstWord;
+        int count = 0;
+        for (int w = lo; w < hi; w++) {
+            long k = ker[w].get();
+            long add = words[w + firstWord - from] & ~k;
+            if (add != 0) {
+                ker[w].set(k | add);
+                count += Long.bitCount(add);
+                if (reactOnModification) {
+                    delta.add(w + firstWord, add, ISetDelta.LB, cause);
+                }
+            }
+        }
+        if (count > 0) {
+            kerSize.add(count);
+            notifyPropagators(SetEventType.ADD_TO_KER, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes elements from the envelope of this variable, word by word.
+     * The envelope is left unchanged if one of the elements belongs to the kernel.
+     * Elements out of the universe of this variable are ignored.
+     *
+     * @param words words of elements to remove, <code>words[i]</code> being the word of index <code>from + i</code>
+     * @param from  index of the first word in <i>words</i>
+     * @param cause cause of the modification
+     * @return <tt>true</tt> if the envelope has been modified
+     * @throws ContradictionException if an element is in the kernel
+     */
+    public boolean removeWords(long[] words, int from, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int lo = Math.max(from, firstWord) - firstWord;
+        int hi = Math.min(from + words.length, firstWord + nbWords) - firstWord;
+        for (int w = lo; w < hi; w++) {
+            if ((words[w + firstWord - from] & ker[w].get()) != 0) {
+                contradiction(cause, MSG_KER);
+            }
+        }
+        int count = 0;
+        for (int w = lo; w < hi; w++) {
+            long e = env[w].get();
+            long rem = words[w + firstWord - from] & e;
+            if (rem != 0) {
+                env[w].set(e & ~rem);
+                count += Long.bitCount(rem);
+                if (reactOnModification) {
+                    delta.add(w + firstWord, rem, ISetDelta.UB, cause);
+                }
+            }
+        }
+        if (count > 0) {
+            envSize.add(-count);
+            notifyPropagators(SetEventType.REMOVE_FROM_ENVELOPE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public BitsetSetDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | SET;
+    }
+
+    @Override
+    protected EvtScheduler createScheduler() {
+        return new SetEvtScheduler();
+    }
+
+    @Override
+    public String toString() {
+        if (isInstantiated()) {
+            return getName() + " = " + getLB().toString();
+        } else {
+            return getName() + " = [" + getLB() + ", " + getUB() + "]";
+        }
+    }
+
+    @Override
+    public void createDelta() {
+        if (!reactOnModification) {
+            reactOnModification = true;
+            delta = new BitsetSetDelta(model.getEnvironment());
+        }
+    }
+
+    @Override
+    public BitsetSetDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new BitsetSetDeltaMonitor(delta, propagator);
+    }
+
+    //***********************************************************************************
+    // KERNEL AND ENVELOPE
+    //***********************************************************************************
+
+    /**
+     * Read-only view of the kernel or the envelope
+     */
+    private final class Bits implements ISet {
+
+        private final IStateLong[] words;
+        private final IStateInt card;
+        private final ISetIterator iter = newIterator();
+
+        Bits(IStateLong[] words, IStateInt card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        /**
+         * @param from an element
+         * @return the smallest element greater than or equal to <i>from</i>, or {@link Integer#MAX_VALUE}
+         */
+        private int nextElement(int from) {
+            int w = (from >> 6) - firstWord;
+            long word;
+            if (w < 0) {
+                w = 0;
+                word = nbWords > 0 ? words[0].get() : 0L;
+            } else if (w < nbWords) {
+                word = words[w].get() & (-1L << from);
+            } else {
+                return Integer.MAX_VALUE;
+            }
+            while (word == 0) {
+                if (++w == nbWords) {
+                    return Integer.MAX_VALUE;
+                }
+                word = words[w].get();
+            }
+            return ((w + firstWord) << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public ISetIterator iterator() {
+            iter.reset();
+            return iter;
+        }
+
+        @Override
+        public ISetIterator newIterator() {
+            return new ISetIterator() {
+                private int from = firstWord << 6;
+
+                @Override
+                public void reset() {
+                    from = firstWord << 6;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return nextElement(from) != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public int nextInt() {
+                    int current = nextElement(from);
+                    from = current + 1;
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public boolean add(int element) {
+            throw new UnsupportedOperationException("this set is read-only");
+        }
+
+        @Override
+        public boolean remove(int element) {
+            throw new UnsupportedOperationException("this set is read-only");
+        }
+
+        @Override
+        public boolean contains(int element) {
+            int w = (element >> 6) - firstWord;
+            return w >= 0 && w < nbWords && (words[w].get() & 1L << element) != 0;
+        }
+
+        @Override
+        public int size() {
+            return card.get();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("this set is read-only");
+        }
+
+        @Override
+        public int min() {
+            if (isEmpty()) throw new IllegalStateException("cannot find minimum of an empty set");
+            return nextElement(firstWord << 6);
+        }
+
+        @Override
+        public int max() {
+            if (isEmpty()) throw new IllegalStateException("cannot find maximum of an empty set");
+            int w = nbWords - 1;
+            long word = words[w].get();
+            while (word == 0) {
+                word = words[--w].get();
+            }
+            return ((w + firstWord) << 6) + 63 - Long.numberOfLeadingZeros(word);
+        }
+
+        @Override
+        public SetType getSetType() {
+            return SetType.BITSET;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder st = new StringBuilder("{");
+            ISetIterator it = newIterator();
+            while (it.hasNext()) {
+                st.append(it.nextInt()).append(", ");
+            }
+            st.append("}");
+            return st.toString().replace(", }", "}");
+        }
+    }
+}
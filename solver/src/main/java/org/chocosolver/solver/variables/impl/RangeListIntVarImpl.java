@@ -0,0 +1,851 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.AbstractEventObserver;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.IIntervalDelta;
+import org.chocosolver.solver.variables.delta.IntervalDelta;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.monitor.IntervalDeltaMonitor;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.solver.variables.impl.siglit.SignedLiteral;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * <br/>IntVar implementation for large domains made of a few ranges, e.g. [0,999999] \ [1000,19999],
+ * where a bitset wastes memory and an interval loses holes.
+ * <p>
+ * The domain is stored as a sorted list of disjoint ranges (an {@link IntIterableRangeSet}).
+ * Locating a value is done by a dichotomic search, so removing a value or an interval costs
+ * O(log #ranges), plus a shift of the ranges on the right when a range is split or deleted.
+ * The list is not trailed: each modification saves an operation that puts back the removed ranges on backtrack.
+ * Removed ranges are stored in an {@link IntervalDelta}.
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class RangeListIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * Set to <tt>true</tt> if this variable reacts is associated with at least one propagator which reacts
+     * on value removal
+     */
+    private boolean reactOnRemoval = false;
+
+    /**
+     * The current domain
+     */
+    private final Ranges DOM;
+
+    /**
+     * To iterate over removed values
+     */
+    private IIntervalDelta delta = NoDelta.singleton;
+
+    /**
+     * Backtrackable environment
+     */
+    private final IEnvironment environment;
+
+    /**
+     * Recycled restoring operations
+     */
+    private Restore[] pool = new Restore[8];
+
+    /**
+     * Number of recycled restoring operations
+     */
+    private int poolSize;
+
+    /**
+     * Disposable values iterator
+     */
+    private DisposableValueIterator _viterator;
+
+    /**
+     * Disposable ranges iterator
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    /**
+     * Signed Literal
+     */
+    protected SignedLiteral.Set literal;
+
+    //////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an {@link IntVar} whose initial domain is <i>domain</i>.
+     *
+     * @param name   name of the variable
+     * @param domain initial domain, not empty, copied
+     * @param model  the model to declare this variable in
+     */
+    public RangeListIntVarImpl(String name, IntIterableRangeSet domain, Model model) {
+        super(name, model);
+        assert !domain.isEmpty();
+        this.environment = model.getEnvironment();
+        this.DOM = new Ranges();
+        this.DOM.addAll(domain);
+    }
+
+    /**
+     * Creates an {@link IntVar} whose initial domain is <i>values</i>.
+     *
+     * @param name   name of the variable
+     * @param values domain values, not necessarily sorted
+     * @param model  the model to declare this variable in
+     */
+    public RangeListIntVarImpl(String name, int[] values, Model model) {
+        this(name, new IntIterableRangeSet(values), model);
+    }
+
+    /**
+     * Creates an {@link IntVar} whose initial domain is [<i>min</i>,<i>max</i>].
+     *
+     * @param name  name of the variable
+     * @param min   lower bound
+     * @param max   upper bound
+     * @param model the model to declare this variable in
+     */
+    public RangeListIntVarImpl(String name, int min, int max, Model model) {
+        this(name, new IntIterableRangeSet(min, max), model);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (DOM.contains(value)) {
+            model.getSolver().getEventObserver().removeValue(this, value, cause);
+            if (DOM.cardinality() == 1) {
+                this.contradiction(cause, MSG_REMOVE);
+            }
+            IntEventType e = IntEventType.REMOVE;
+            if (value == DOM.lb()) {
+                e = IntEventType.INCLOW;
+            } else if (value == DOM.ub()) {
+                e = IntEventType.DECUPP;
+            }
+            restore().push(value, value);
+            DOM.remove(value);
+            if (reactOnRemoval) {
+                delta.add(value, value, cause);
+            }
+            if (this.isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = DOM.lb();
+        int oub = DOM.ub();
+        int card = DOM.cardinality();
+        int removed = 0;
+        Restore r = null;
+        int f = values.nextValue(olb - 1);
+        while (f <= oub) {
+            // [f,t] is a range of values to remove
+            int t = Math.min(values.nextValueOut(f) - 1, oub);
+            int n = count(f, t);
+            if (n > 0) {
+                if (removed + n == card) {
+                    observe(f, t, cause);
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                if (r == null) {
+                    r = restore();
+                }
+                remove(f, t, cause, r, true);
+                removed += n;
+            }
+            f = t < oub ? values.nextValue(t) : Integer.MAX_VALUE;
+        }
+        if (removed > 0) {
+            notifyOnRemovals(olb, oub, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = DOM.lb();
+        int oub = DOM.ub();
+        int card = DOM.cardinality();
+        int removed = 0;
+        Restore r = null;
+        int f = values.nextValueOut(olb - 1);
+        while (f <= oub) {
+            // [f,t] is a range of values to remove
+            int t = values.nextValue(f);
+            t = t <= oub ? t - 1 : oub;
+            int n = count(f, t);
+            if (n > 0) {
+                if (removed + n == card) {
+                    observe(f, t, cause);
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                if (r == null) {
+                    r = restore();
+                }
+                remove(f, t, cause, r, true);
+                removed += n;
+            }
+            f = t < oub ? values.nextValueOut(t) : Integer.MAX_VALUE;
+        }
+        if (removed > 0) {
+            notifyOnRemovals(olb, oub, cause);
+            return true;
+        }
+        return false;
+    }
+
+    private void notifyOnRemovals(int olb, int oub, ICause cause) throws ContradictionException {
+        IntEventType e;
+        if (isInstantiated()) {
+            e = IntEventType.INSTANTIATE;
+        } else if (olb != DOM.lb()) {
+            e = oub != DOM.ub() ? IntEventType.BOUND : IntEventType.INCLOW;
+        } else if (oub != DOM.ub()) {
+            e = IntEventType.DECUPP;
+        } else {
+            e = IntEventType.REMOVE;
+        }
+        this.notifyPropagators(e, cause);
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (from <= getLB()) {
+            return updateLowerBound(to + 1, cause);
+        } else if (getUB() <= to) {
+            return updateUpperBound(from - 1, cause);
+        } else if (count(from, to) > 0) {
+            // the bounds are kept, the domain cannot become empty
+            remove(from, to, cause, restore(), true);
+            this.notifyPropagators(IntEventType.REMOVE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (!DOM.contains(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            int lb = DOM.lb();
+            int ub = DOM.ub();
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, lb, ub);
+            Restore r = restore();
+            if (lb < value) {
+                remove(lb, value - 1, cause, r, false);
+            }
+            if (value < ub) {
+                remove(value + 1, ub, cause, r, false);
+            }
+            assert isInstantiatedTo(value);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = DOM.lb();
+        if (old < value) {
+            model.getSolver().getEventObserver().updateLowerBound(this, value, old, cause);
+            if (DOM.ub() < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                remove(old, value - 1, cause, restore(), false);
+                this.notifyPropagators(isInstantiated() ? IntEventType.INSTANTIATE : IntEventType.INCLOW, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = DOM.ub();
+        if (old > value) {
+            model.getSolver().getEventObserver().updateUpperBound(this, value, old, cause);
+            if (DOM.lb() > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                remove(value + 1, old, cause, restore(), false);
+                this.notifyPropagators(isInstantiated() ? IntEventType.INSTANTIATE : IntEventType.DECUPP, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int aLB, int aUB, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = DOM.lb();
+        int oub = DOM.ub();
+        if (olb < aLB || oub > aUB) {
+            IntEventType e = null;
+            if (oub < aLB) {
+                model.getSolver().getEventObserver().updateLowerBound(this, aLB, olb, cause);
+                this.contradiction(cause, MSG_LOW);
+            } else if (olb < aLB) {
+                model.getSolver().getEventObserver().updateLowerBound(this, aLB, olb, cause);
+                e = IntEventType.INCLOW;
+                // the domain is not empty since it contains oub
+                remove(olb, aLB - 1, cause, restore(), false);
+                olb = DOM.lb();
+            }
+            if (olb > aUB) {
+                model.getSolver().getEventObserver().updateUpperBound(this, aUB, oub, cause);
+                this.contradiction(cause, MSG_UPP);
+            } else if (oub > aUB) {
+                model.getSolver().getEventObserver().updateUpperBound(this, aUB, oub, cause);
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+                remove(aUB + 1, oub, cause, restore(), false);
+            }
+            if (isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of values of the domain in [<i>f</i>,<i>t</i>]
+     */
+    private int count(int f, int t) {
+        int n = 0;
+        for (int k = DOM.firstRangeFrom(f); k < DOM.getNbRanges() && DOM.minOfRange(k) <= t; k++) {
+            n += Math.min(t, DOM.maxOfRange(k)) - Math.max(f, DOM.minOfRange(k)) + 1;
+        }
+        return n;
+    }
+
+    /**
+     * Remove the values of [<i>f</i>,<i>t</i>] from the domain, recording the removed ranges in <i>r</i>.
+     * The domain must not become empty.
+     *
+     * @param observe set to <tt>true</tt> to notify the event observer of each value removed
+     */
+    private void remove(int f, int t, ICause cause, Restore r, boolean observe) {
+        for (int k = DOM.firstRangeFrom(f); k < DOM.getNbRanges() && DOM.minOfRange(k) <= t; k++) {
+            int a = Math.max(f, DOM.minOfRange(k));
+            int b = Math.min(t, DOM.maxOfRange(k));
+            r.push(a, b);
+            if (reactOnRemoval) {
+                delta.add(a, b, cause);
+            }
+            if (observe) {
+                observe(a, b, cause);
+            }
+        }
+        DOM.removeBetween(f, t);
+        assert !DOM.isEmpty();
+    }
+
+    private void observe(int f, int t, ICause cause) {
+        AbstractEventObserver observer = model.getSolver().getEventObserver();
+        if (observer != AbstractEventObserver.SILENT_OBSERVER) {
+            for (int v = DOM.nextValue(f - 1); v <= t; v = DOM.nextValue(v)) {
+                observer.removeValue(this, v, cause);
+            }
+        }
+    }
+
+    /**
+     * @return an empty restoring operation, already saved in the environment
+     */
+    private Restore restore() {
+        Restore r = poolSize > 0 ? pool[--poolSize] : new Restore();
+        environment.save(r);
+        return r;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return DOM.cardinality() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && DOM.lb() == value;
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        return DOM.contains(aValue);
+    }
+
+    /**
+     * Retrieves the current value of the variable if instantiated, otherwise the lower bound.
+     *
+     * @return the current value (or lower bound if not yet instantiated).
+     */
+    @Override
+    public int getValue() {
+        assert isInstantiated() : name + " not instantiated";
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return DOM.lb();
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return DOM.ub();
+    }
+
+    @Override
+    public int getDomainSize() {
+        return DOM.cardinality();
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    /**
+     * @return the number of ranges of the current domain
+     */
+    public int getNbRanges() {
+        return DOM.getNbRanges();
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        return DOM.nextValue(aValue);
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        return DOM.nextValueOut(aValue);
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        return DOM.previousValue(aValue);
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        return DOM.previousValueOut(aValue);
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IIntervalDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        if (isInstantiated()) {
+            return String.format("%s = %d", name, getLB());
+        }
+        return String.format("%s = %s", name, DOM.toSmartString());
+    }
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new IntervalDelta(model.getEnvironment());
+            reactOnRemoval = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new IntervalDeltaMonitor(delta, propagator);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    @Override
+    protected EvtScheduler createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Current range
+                 */
+                int range;
+
+                /**
+                 * Next value to return
+                 */
+                int value;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    range = 0;
+                    value = DOM.minOfRange(0);
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    range = DOM.getNbRanges() - 1;
+                    value = DOM.maxOfRange(range);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return range < DOM.getNbRanges();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return range >= 0;
+                }
+
+                @Override
+                public int next() {
+                    int old = value;
+                    if (value < DOM.maxOfRange(range)) {
+                        value++;
+                    } else if (++range < DOM.getNbRanges()) {
+                        value = DOM.minOfRange(range);
+                    }
+                    return old;
+                }
+
+                @Override
+                public int previous() {
+                    int old = value;
+                    if (value > DOM.minOfRange(range)) {
+                        value--;
+                    } else if (--range >= 0) {
+                        value = DOM.maxOfRange(range);
+                    }
+                    return old;
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Current range
+                 */
+                int range;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    range = 0;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    range = DOM.getNbRanges() - 1;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return range < DOM.getNbRanges();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return range >= 0;
+                }
+
+                @Override
+                public void next() {
+                    range++;
+                }
+
+                @Override
+                public void previous() {
+                    range--;
+                }
+
+                @Override
+                public int min() {
+                    return DOM.minOfRange(range);
+                }
+
+                @Override
+                public int max() {
+                    return DOM.maxOfRange(range);
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if (_javaIterator == null) {
+            _javaIterator = new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+
+    @Override
+    public void createLit(IntIterableRangeSet rootDomain) {
+        if (this.literal != null) {
+            throw new IllegalStateException("createLit(Implications) called twice");
+        }
+        this.literal = new SignedLiteral.Set(rootDomain);
+    }
+
+    @Override
+    public SignedLiteral getLit() {
+        if (this.literal == null) {
+            throw new NullPointerException("getLit() called on null, a call to createLit(Implications) is required");
+        }
+        return this.literal;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The domain, with direct access to its bounds and the ability to put back removed ranges.
+     */
+    private static final class Ranges extends IntIterableRangeSet {
+
+        int lb() {
+            return ELEMENTS[0];
+        }
+
+        int ub() {
+            return ELEMENTS[SIZE - 1];
+        }
+
+        /**
+         * @param f a value
+         * @return index, starting from 0, of the first range whose upper bound is greater than or equal to <i>f</i>
+         */
+        int firstRangeFrom(int f) {
+            int p = rangeOf(f);
+            return p > 0 ? p - 1 : -p - 1;
+        }
+
+        /**
+         * Put back the range [<i>a</i>,<i>b</i>], which is disjoint from the current ranges.
+         */
+        void restore(int a, int b) {
+            int p = rangeOf(a);
+            assert p < 0 : "restore a value which is still in the domain";
+            int i = (-p - 1) << 1;
+            boolean left = i > 0 && ELEMENTS[i - 1] + 1 == a;
+            boolean right = i < SIZE && ELEMENTS[i] - 1 == b;
+            if (left && right) {
+                // merge with both neighbours
+                ELEMENTS[i - 1] = ELEMENTS[i + 1];
+                System.arraycopy(ELEMENTS, i + 2, ELEMENTS, i, SIZE - i - 2);
+                SIZE -= 2;
+            } else if (left) {
+                ELEMENTS[i - 1] = b;
+            } else if (right) {
+                ELEMENTS[i] = a;
+            } else {
+                if (SIZE + 2 > ELEMENTS.length) {
+                    ELEMENTS = Arrays.copyOf(ELEMENTS, Math.max(SIZE + 2, ELEMENTS.length * 3 / 2));
+                }
+                System.arraycopy(ELEMENTS, i, ELEMENTS, i + 2, SIZE - i);
+                ELEMENTS[i] = a;
+                ELEMENTS[i + 1] = b;
+                SIZE += 2;
+            }
+            CARDINALITY += b - a + 1;
+        }
+    }
+
+    /**
+     * Puts back ranges removed from the domain on backtrack.
+     */
+    private final class Restore implements IOperation {
+
+        private int[] bounds = new int[4];
+
+        private int size;
+
+        void push(int a, int b) {
+            if (size + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[size++] = a;
+            bounds[size++] = b;
+        }
+
+        @Override
+        public void undo() {
+            for (int i = size - 2; i >= 0; i -= 2) {
+                DOM.restore(bounds[i], bounds[i + 1]);
+            }
+            size = 0;
+            if (poolSize == pool.length) {
+                pool = Arrays.copyOf(pool, poolSize * 2);
+            }
+            pool[poolSize++] = this;
+        }
+    }
+}
@@ -193,7 +193,7 @@ public class SetVarImpl extends AbstractVariable implements SetVar {
     public boolean force(int element, ICause cause) throws ContradictionException {
         assert cause != null;
         if (!ub.contains(element)) {
-            contradiction(cause, "");
+            contradiction(cause, MSG_ENV);
             return true;
         }
         if (lb.add(element)) {
@@ -211,7 +211,7 @@ public class SetVarImpl extends AbstractVariable implements SetVar {
     public boolean remove(int element, ICause cause) throws ContradictionException {
         assert cause != null;
         if (lb.contains(element)) {
-            contradiction(cause, "");
+            contradiction(cause, MSG_KER);
             return true;
         }
 		if (ub.remove(element)) {
@@ -232,7 +232,7 @@ public class SetVarImpl extends AbstractVariable implements SetVar {
             force(i, cause);
         }
         if (lb.size() != value.length) {
-            contradiction(cause, "");
+            contradiction(cause, MSG_KER);
         }
         if (ub.size() != value.length) {
             for (int i : getUB()) {
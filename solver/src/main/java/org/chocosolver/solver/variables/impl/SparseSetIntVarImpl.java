@@ -0,0 +1,902 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.EnumDelta;
+import org.chocosolver.solver.variables.delta.IEnumDelta;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.monitor.EnumDeltaMonitor;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.solver.variables.impl.siglit.SignedLiteral;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * <br/>Enumerated IntVar based on a reversible sparse set.
+ * <p>
+ * Values of the domain are stored in a dense array, the first <i>SIZE</i> ones being the current domain,
+ * and a sparse array gives the position of each value in the dense array.
+ * Removing a value swaps it with the last value of the domain and decrements <i>SIZE</i>:
+ * on backtrack, restoring <i>SIZE</i> puts back all removed values at once.
+ * Only <i>SIZE</i> and the bounds are trailed, which makes removals cheaper than with {@link BitsetIntVarImpl}
+ * when the domain is heavily filtered.
+ * Looking for the next value greater than a given one is more expensive though,
+ * since the dense array is not sorted.
+ * </p>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class SparseSetIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * Set to <tt>true</tt> if this variable reacts is associated with at least one propagator which reacts
+     * on value removal
+     */
+    private boolean reactOnRemoval = false;
+    /**
+     * Values of the initial domain -- includes offset.
+     * The first <i>SIZE</i> ones are in the current domain
+     */
+    private final int[] dense;
+    /**
+     * Position of each value in {@link #dense}, or <i>dense.length</i> if the value is not in the initial domain
+     * -- includes offset
+     */
+    private final int[] sparse;
+    /**
+     * Lower bound of the current domain -- includes offset
+     */
+    private final IStateInt LB;
+    /**
+     * Upper bound of the current domain -- includes offset
+     */
+    private final IStateInt UB;
+    /**
+     * Current size of domain
+     */
+    private final IStateInt SIZE;
+    /**
+     * offset of the lower bound and the first value in the domain
+     */
+    private final int OFFSET;
+    /**
+     * To iterate over removed values
+     */
+    private IEnumDelta delta = NoDelta.singleton;
+    /**
+     * To iterate over values in the domain
+     */
+    private DisposableValueIterator _viterator;
+    /**
+     * To iterate over ranges
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    /**
+     * Signed Literal
+     */
+    protected SignedLiteral.Set literal;
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     *
+     * @param name         name of the variable
+     * @param sortedValues original domain values
+     * @param model        declaring model
+     */
+    public SparseSetIntVarImpl(String name, int[] sortedValues, Model model) {
+        super(name, model);
+        IEnvironment env = model.getEnvironment();
+        OFFSET = sortedValues[0];
+        int n = sortedValues.length;
+        int capacity = sortedValues[n - 1] - OFFSET + 1;
+        this.dense = new int[n];
+        this.sparse = new int[capacity];
+        Arrays.fill(sparse, n);
+        for (int i = 0; i < n; i++) {
+            dense[i] = sortedValues[i] - OFFSET;
+            sparse[dense[i]] = i;
+        }
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(capacity - 1);
+        this.SIZE = env.makeInt(n);
+    }
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     *
+     * @param name  name of the variable
+     * @param min   lower bound
+     * @param max   upper bound
+     * @param model declaring model
+     */
+    public SparseSetIntVarImpl(String name, int min, int max, Model model) {
+        super(name, model);
+        IEnvironment env = this.model.getEnvironment();
+        this.OFFSET = min;
+        int capacity = max - min + 1;
+        this.dense = new int[capacity];
+        this.sparse = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            dense[i] = sparse[i] = i;
+        }
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(max - min);
+        this.SIZE = env.makeInt(capacity);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param a a value -- includes offset
+     * @param size the current size of the domain
+     * @return <tt>true</tt> if <i>a</i> is in the current domain
+     */
+    private boolean has(int a, int size) {
+        return a >= 0 && a < sparse.length && sparse[a] < size;
+    }
+
+    /**
+     * Swap the value <i>a</i>, which is in the current domain, with the last value of the domain.
+     * The caller is in charge of decrementing the size.
+     *
+     * @param a    a value of the current domain -- includes offset
+     * @param last position of the last value of the domain
+     */
+    private void swapOut(int a, int last) {
+        int i = sparse[a];
+        int b = dense[last];
+        dense[i] = b;
+        sparse[b] = i;
+        dense[last] = a;
+        sparse[a] = last;
+    }
+
+    /**
+     * @return the smallest value of the current domain greater than or equal to <i>a</i>,
+     * or <i>sparse.length</i> if there is none -- includes offset
+     */
+    private int first(int a, int size) {
+        int ub = UB.get();
+        if (ub - a > (long) size * size) {
+            // the domain is so sparse that scanning it is cheaper than scanning the range
+            int m = sparse.length;
+            for (int i = 0; i < size; i++) {
+                int b = dense[i];
+                if (a <= b && b < m) {
+                    m = b;
+                }
+            }
+            return m;
+        }
+        a = Math.max(a, 0);
+        while (a <= ub && sparse[a] >= size) {
+            a++;
+        }
+        return a <= ub ? a : sparse.length;
+    }
+
+    /**
+     * @return the greatest value of the current domain smaller than or equal to <i>a</i>,
+     * or -1 if there is none -- includes offset
+     */
+    private int last(int a, int size) {
+        int lb = LB.get();
+        if (a - lb > (long) size * size) {
+            int m = -1;
+            for (int i = 0; i < size; i++) {
+                int b = dense[i];
+                if (m < b && b <= a) {
+                    m = b;
+                }
+            }
+            return m;
+        }
+        a = Math.min(a, sparse.length - 1);
+        while (a >= lb && sparse[a] >= size) {
+            a--;
+        }
+        return a >= lb ? a : -1;
+    }
+
+    /**
+     * Remove all values of the domain strictly smaller than <i>aLB</i> or strictly greater than <i>aUB</i>,
+     * at least one value being kept, and update the size and the bounds.
+     * Values are iterated over either in the range or in the domain, whichever is smaller.
+     */
+    private void keepBetween(int aLB, int aUB, ICause cause) {
+        int size = SIZE.get();
+        int olb = LB.get();
+        int oub = UB.get();
+        if ((aLB - olb) + (oub - aUB) < size) {
+            for (int a = olb; a < aLB; a++) {
+                if (sparse[a] < size) {
+                    swapOut(a, --size);
+                    if (reactOnRemoval) {
+                        delta.add(a + OFFSET, cause);
+                    }
+                }
+            }
+            for (int a = oub; a > aUB; a--) {
+                if (sparse[a] < size) {
+                    swapOut(a, --size);
+                    if (reactOnRemoval) {
+                        delta.add(a + OFFSET, cause);
+                    }
+                }
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                int a = dense[i];
+                if (a < aLB || a > aUB) {
+                    swapOut(a, --size);
+                    if (reactOnRemoval) {
+                        delta.add(a + OFFSET, cause);
+                    }
+                }
+            }
+        }
+        assert size > 0;
+        SIZE.set(size);
+        if (olb < aLB) {
+            LB.set(first(aLB, size));
+        }
+        if (oub > aUB) {
+            UB.set(last(aUB, size));
+        }
+    }
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int aValue = value - OFFSET;
+        int size = SIZE.get();
+        boolean change = has(aValue, size);
+        if (change) {
+            model.getSolver().getEventObserver().removeValue(this, value, cause);
+            if (size == 1) {
+                this.contradiction(cause, MSG_REMOVE);
+            }
+            IntEventType e = IntEventType.REMOVE;
+            swapOut(aValue, --size);
+            this.SIZE.set(size);
+            if (reactOnRemoval) {
+                delta.add(value, cause);
+            }
+            if (aValue == LB.get()) {
+                LB.set(first(aValue + 1, size));
+                e = IntEventType.INCLOW;
+            } else if (aValue == UB.get()) {
+                UB.set(last(aValue - 1, size));
+                e = IntEventType.DECUPP;
+            }
+            if (this.isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+        }
+        return change;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = LB.get();
+        int oub = UB.get();
+        int size = SIZE.get();
+        int count = size;
+        for (int value = values.nextValue(olb + OFFSET - 1); value <= oub + OFFSET; value = values.nextValue(value)) {
+            int aValue = value - OFFSET;
+            if (sparse[aValue] < count) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                if (count == 1) {
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                swapOut(aValue, --count);
+                if (reactOnRemoval) {
+                    delta.add(value, cause);
+                }
+            }
+        }
+        return count < size && notifyRemovals(olb, oub, count, cause);
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = LB.get();
+        int oub = UB.get();
+        int size = SIZE.get();
+        int count = size;
+        for (int i = size - 1; i >= 0; i--) {
+            int value = dense[i] + OFFSET;
+            if (!values.contains(value)) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                if (count == 1) {
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                swapOut(value - OFFSET, --count);
+                if (reactOnRemoval) {
+                    delta.add(value, cause);
+                }
+            }
+        }
+        return count < size && notifyRemovals(olb, oub, count, cause);
+    }
+
+    /**
+     * Update the size and the bounds after removals, and notify propagators.
+     *
+     * @return <tt>true</tt>
+     */
+    private boolean notifyRemovals(int olb, int oub, int count, ICause cause) throws ContradictionException {
+        SIZE.set(count);
+        IntEventType e = IntEventType.REMOVE;
+        if (sparse[olb] >= count) {
+            LB.set(first(olb + 1, count));
+            e = IntEventType.INCLOW;
+        }
+        if (sparse[oub] >= count) {
+            UB.set(last(oub - 1, count));
+            e = e == IntEventType.INCLOW ? IntEventType.BOUND : IntEventType.DECUPP;
+        }
+        if (count == 1) {
+            e = IntEventType.INSTANTIATE;
+        }
+        this.notifyPropagators(e, cause);
+        return true;
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws
+            ContradictionException {
+        assert cause != null;
+        if (from <= getLB())
+            return updateLowerBound(to + 1, cause);
+        else if (getUB() <= to)
+            return updateUpperBound(from - 1, cause);
+        else {
+            int size = SIZE.get();
+            int count = size;
+            int f = from - OFFSET;
+            int t = to - OFFSET;
+            // the bounds are kept, the domain cannot become empty
+            if (t - f < size) {
+                for (int a = f; a <= t; a++) {
+                    if (sparse[a] < count) {
+                        swapOut(a, --count);
+                        if (reactOnRemoval) {
+                            delta.add(a + OFFSET, cause);
+                        }
+                        model.getSolver().getEventObserver().removeValue(this, a + OFFSET, cause);
+                    }
+                }
+            } else {
+                for (int i = size - 1; i >= 0; i--) {
+                    int a = dense[i];
+                    if (f <= a && a <= t) {
+                        swapOut(a, --count);
+                        if (reactOnRemoval) {
+                            delta.add(a + OFFSET, cause);
+                        }
+                        model.getSolver().getEventObserver().removeValue(this, a + OFFSET, cause);
+                    }
+                }
+            }
+            if (count < size) {
+                SIZE.set(count);
+                this.notifyPropagators(IntEventType.REMOVE, cause);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (!contains(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            int aValue = value - OFFSET;
+            if (reactOnRemoval) {
+                for (int i = SIZE.get() - 1; i >= 0; i--) {
+                    if (dense[i] != aValue) {
+                        delta.add(dense[i] + OFFSET, cause);
+                    }
+                }
+            }
+            // move the value in first position, the other ones are then out of the domain
+            swapOut(aValue, 0);
+            this.LB.set(aValue);
+            this.UB.set(aValue);
+            this.SIZE.set(1);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = this.getLB();
+        if (old < value) {
+            int oub = this.getUB();
+            model.getSolver().getEventObserver().updateLowerBound(this, value, old, cause);
+            if (oub < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                keepBetween(value - OFFSET, oub - OFFSET, cause);
+                this.notifyPropagators(isInstantiated() ? IntEventType.INSTANTIATE : IntEventType.INCLOW, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int oub = this.getUB();
+        if (oub > value) {
+            int olb = this.getLB();
+            model.getSolver().getEventObserver().updateUpperBound(this, value, oub, cause);
+            if (olb > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                keepBetween(olb - OFFSET, value - OFFSET, cause);
+                this.notifyPropagators(isInstantiated() ? IntEventType.INSTANTIATE : IntEventType.DECUPP, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int lb, int ub, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = this.getLB();
+        int oub = this.getUB();
+        if (olb < lb || oub > ub) {
+            IntEventType e = null;
+            if (olb < lb) {
+                model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
+                if (oub < lb || lb > ub) {
+                    this.contradiction(cause, MSG_LOW);
+                }
+                e = IntEventType.INCLOW;
+            }
+            if (oub > ub) {
+                model.getSolver().getEventObserver().updateUpperBound(this, ub, oub, cause);
+                if (Math.max(olb, lb) > ub) {
+                    this.contradiction(cause, MSG_UPP);
+                }
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+            }
+            int aLB = Math.max(olb, lb) - OFFSET;
+            int aUB = Math.min(oub, ub) - OFFSET;
+            if (first(aLB, SIZE.get()) > aUB) {
+                // no value left in the new bounds
+                this.contradiction(cause, MSG_EMPTY);
+            }
+            keepBetween(aLB, aUB, cause);
+            if (isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return SIZE.get() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && getLB() == value;
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        return has(aValue - OFFSET, SIZE.get());
+    }
+
+    /**
+     * Retrieves the current value of the variable if instantiated, otherwise the lower bound.
+     *
+     * @return the current value (or lower bound if not yet instantiated).
+     */
+    @Override
+    public int getValue() {
+        assert isInstantiated() : name + " not instantiated";
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return this.LB.get() + OFFSET;
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return this.UB.get() + OFFSET;
+    }
+
+    @Override
+    public int getDomainSize() {
+        return SIZE.get();
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        aValue -= OFFSET;
+        int lb = LB.get();
+        if (aValue < lb) return lb + OFFSET;
+        if (aValue >= UB.get()) return Integer.MAX_VALUE;
+        return first(aValue + 1, SIZE.get()) + OFFSET;
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb - 1 <= aValue && aValue <= ub) {
+            int size = SIZE.get();
+            int a = aValue - OFFSET + 1;
+            while (has(a, size)) {
+                a++;
+            }
+            return a + OFFSET;
+        }
+        return aValue + 1;
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        aValue -= OFFSET;
+        int ub = UB.get();
+        if (aValue > ub) return ub + OFFSET;
+        if (aValue <= LB.get()) return Integer.MIN_VALUE;
+        return last(aValue - 1, SIZE.get()) + OFFSET;
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb <= aValue && aValue <= ub + 1) {
+            int size = SIZE.get();
+            int a = aValue - OFFSET - 1;
+            while (has(a, size)) {
+                a--;
+            }
+            return a + OFFSET;
+        }
+        return aValue - 1;
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IEnumDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(20);
+        s.append(name).append(" = ");
+        if (SIZE.get() == 1) {
+            s.append(this.getLB());
+        } else {
+            int v = getLB(), w;
+            s.append('{').append(v);
+            w = nextValueOut(v);
+            if (v < w - 1) s.append("..").append(w - 1);
+            v = nextValue(w);
+            while (v < Integer.MAX_VALUE) {
+                s.append(",").append(v);
+                w = nextValueOut(v);
+                if (v < w - 1) s.append("..").append(w - 1);
+                v = nextValue(w);
+            }
+            s.append('}');
+        }
+        return s.toString();
+    }
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new EnumDelta(model.getEnvironment());
+            reactOnRemoval = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new EnumDeltaMonitor(delta, propagator);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    @Override
+    protected EvtScheduler createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Current value
+                 */
+                int value;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.value = getLB();
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.value = getUB();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return this.value != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.value != Integer.MIN_VALUE;
+                }
+
+                @Override
+                public int next() {
+                    int old = this.value;
+                    this.value = nextValue(this.value);
+                    return old;
+                }
+
+                @Override
+                public int previous() {
+                    int old = this.value;
+                    this.value = previousValue(this.value);
+                    return old;
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Lower bound of the current range
+                 */
+                int from;
+                /**
+                 * Upper bound of the current range
+                 */
+                int to;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.from = getLB();
+                    this.to = nextValueOut(from) - 1;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.to = getUB();
+                    this.from = previousValueOut(to) + 1;
+                }
+
+                public boolean hasNext() {
+                    return this.from != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.to != Integer.MIN_VALUE;
+                }
+
+                public void next() {
+                    this.from = nextValue(this.to);
+                    this.to = nextValueOut(this.from) - 1;
+                }
+
+                @Override
+                public void previous() {
+                    this.to = previousValue(this.from);
+                    this.from = previousValueOut(this.to) + 1;
+                }
+
+                @Override
+                public int min() {
+                    return from;
+                }
+
+                @Override
+                public int max() {
+                    return to;
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if (_javaIterator == null) {
+            _javaIterator = new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+
+    @Override
+    public void createLit(IntIterableRangeSet rootDomain) {
+        if (this.literal != null) {
+            throw new IllegalStateException("createLit(Implications) called twice");
+        }
+        this.literal = new SignedLiteral.Set(rootDomain);
+    }
+
+    @Override
+    public SignedLiteral getLit() {
+        if (this.literal == null) {
+            throw new NullPointerException("getLit() called on null, a call to createLit(Implications) is required");
+        }
+        return this.literal;
+    }
+}
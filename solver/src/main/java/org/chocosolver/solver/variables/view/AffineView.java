@@ -0,0 +1,477 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.view;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+
+import static org.chocosolver.solver.variables.events.IntEventType.DECUPP;
+import static org.chocosolver.solver.variables.events.IntEventType.INCLOW;
+
+/**
+ * declare an IntVar based on X, A and B, such as A * X + B, with A &ne; 0.
+ * <p>
+ * Such a view replaces a chain of offset, scale and minus views over the same variable
+ * (see {@link org.chocosolver.solver.variables.IViewFactory#intAffineView(int, IntVar, int)}),
+ * so that events on the observed variable reach the propagators of the view in a single step.
+ * <p>
+ * Based on "Views and Iterators for Generic Constraint Implementations" <br/>
+ * C. Shulte and G. Tack.<br/>
+ * Eleventh International Conference on Principles and Practice of Constraint Programming
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public final class AffineView extends IntView<IntVar> {
+
+    /**
+     * The coefficient, not null
+     */
+    public final int a;
+
+    /**
+     * The offset
+     */
+    public final int b;
+
+    /**
+     * Create a <i>a<i/> &times; <i>var<i/> + <i>b</i> view
+     *
+     * @param var an integer variable
+     * @param a   a non-null coefficient
+     * @param b   an offset
+     */
+    public AffineView(final IntVar var, final int a, final int b) {
+        super("(" + var.getName() + "*" + a + (b >= 0 ? "+" : "-") + Math.abs(b) + ")", var);
+        assert a != 0 : "view coefficient must be non-null";
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * @param x a value of the observed variable
+     * @return the corresponding value of this view
+     */
+    private int apply(int x) {
+        return a * x + b;
+    }
+
+    /**
+     * @param v a value of this view
+     * @return the largest value of the observed variable whose image is less than or equal to <i>v</i>
+     * (when <i>a</i> &gt; 0), or greater than or equal to <i>v</i> (when <i>a</i> &lt; 0)
+     */
+    private int floor(int v) {
+        return clamp(Math.floorDiv((long) v - b, a));
+    }
+
+    /**
+     * @param v a value of this view
+     * @return the ceiling of <i>(v - b) / a</i>
+     */
+    private int ceil(int v) {
+        return clamp(-Math.floorDiv(b - (long) v, a));
+    }
+
+    private static int clamp(long v) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, v));
+    }
+
+    /**
+     * @param v a value of this view
+     * @return <tt>true</tt> if <i>v</i> is the image of an integer
+     */
+    private boolean isImage(int v) {
+        return ((long) v - b) % a == 0;
+    }
+
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        var.createDelta();
+        if (var.getDelta() == NoDelta.singleton) {
+            return IIntDeltaMonitor.Default.NONE;
+        }
+        return new ViewDeltaMonitor(var.monitorDelta(propagator)) {
+            @Override
+            protected int transform(int value) {
+                return apply(value);
+            }
+        };
+    }
+
+    @Override
+    protected boolean doInstantiateVar(int value) throws ContradictionException {
+        if (!isImage(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, this, getLB(), getUB());
+            this.contradiction(this, MSG_INST);
+        }
+        return var.instantiateTo(floor(value), this);
+    }
+
+    @Override
+    protected boolean doUpdateLowerBoundOfVar(int value) throws ContradictionException {
+        if (a > 0) {
+            return var.updateLowerBound(ceil(value), this);
+        } else {
+            return var.updateUpperBound(floor(value), this);
+        }
+    }
+
+    @Override
+    protected boolean doUpdateUpperBoundOfVar(int value) throws ContradictionException {
+        if (a > 0) {
+            return var.updateUpperBound(floor(value), this);
+        } else {
+            return var.updateLowerBound(ceil(value), this);
+        }
+    }
+
+    @Override
+    protected boolean doRemoveValueFromVar(int value) throws ContradictionException {
+        return isImage(value) && var.removeValue(floor(value), this);
+    }
+
+    @Override
+    protected boolean doRemoveIntervalFromVar(int from, int to) throws ContradictionException {
+        if (a > 0) {
+            return var.removeInterval(ceil(from), floor(to), this);
+        } else {
+            return var.removeInterval(ceil(to), floor(from), this);
+        }
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return isImage(value) && var.contains(floor(value));
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isImage(value) && var.isInstantiatedTo(floor(value));
+    }
+
+    @Override
+    public int getValue() {
+        return apply(var.getValue());
+    }
+
+    @Override
+    public int getLB() {
+        return a > 0 ? apply(var.getLB()) : apply(var.getUB());
+    }
+
+    @Override
+    public int getUB() {
+        return a > 0 ? apply(var.getUB()) : apply(var.getLB());
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int v) {
+        if (a > 0) {
+            int value = var.nextValue(floor(v));
+            return value == Integer.MAX_VALUE ? value : apply(value);
+        } else {
+            int value = var.previousValue(ceil(v));
+            return value == Integer.MIN_VALUE ? Integer.MAX_VALUE : apply(value);
+        }
+    }
+
+    @Override
+    public int nextValueOut(int v) {
+        if (a == 1) {
+            return var.nextValueOut(v - b) + b;
+        } else if (a == -1) {
+            return b - var.previousValueOut(b - v);
+        }
+        // two consecutive values cannot both belong to the view
+        return contains(v + 1) ? v + 2 : v + 1;
+    }
+
+    @Override
+    public int previousValue(int v) {
+        if (a > 0) {
+            int value = var.previousValue(ceil(v));
+            return value == Integer.MIN_VALUE ? value : apply(value);
+        } else {
+            int value = var.nextValue(floor(v));
+            return value == Integer.MAX_VALUE ? Integer.MIN_VALUE : apply(value);
+        }
+    }
+
+    @Override
+    public int previousValueOut(int v) {
+        if (a == 1) {
+            return var.previousValueOut(v - b) + b;
+        } else if (a == -1) {
+            return b - var.nextValueOut(b - v);
+        }
+        return contains(v - 1) ? v - 2 : v - 1;
+    }
+
+    @Override
+    protected EvtScheduler createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    @Override
+    public String toString() {
+        return "(" + this.var.toString() + " * " + a + (b >= 0 ? " + " : " - ") + Math.abs(b)
+                + ") = [" + getLB() + "," + getUB() + "]";
+    }
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                DisposableValueIterator vit;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    vit = var.getValueIterator(a > 0);
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    vit = var.getValueIterator(a < 0);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return a > 0 ? vit.hasNext() : vit.hasPrevious();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return a > 0 ? vit.hasPrevious() : vit.hasNext();
+                }
+
+                @Override
+                public int next() {
+                    return apply(a > 0 ? vit.next() : vit.previous());
+                }
+
+                @Override
+                public int previous() {
+                    return apply(a > 0 ? vit.previous() : vit.next());
+                }
+
+                @Override
+                public void dispose() {
+                    super.dispose();
+                    vit.dispose();
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            if (a == 1 || a == -1) {
+                _riterator = new DisposableRangeIterator() {
+
+                    DisposableRangeIterator vir;
+
+                    @Override
+                    public void bottomUpInit() {
+                        super.bottomUpInit();
+                        vir = var.getRangeIterator(a > 0);
+                    }
+
+                    @Override
+                    public void topDownInit() {
+                        super.topDownInit();
+                        vir = var.getRangeIterator(a < 0);
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return a > 0 ? vir.hasNext() : vir.hasPrevious();
+                    }
+
+                    @Override
+                    public boolean hasPrevious() {
+                        return a > 0 ? vir.hasPrevious() : vir.hasNext();
+                    }
+
+                    @Override
+                    public void next() {
+                        if (a > 0) {
+                            vir.next();
+                        } else {
+                            vir.previous();
+                        }
+                    }
+
+                    @Override
+                    public void previous() {
+                        if (a > 0) {
+                            vir.previous();
+                        } else {
+                            vir.next();
+                        }
+                    }
+
+                    @Override
+                    public int min() {
+                        return apply(a > 0 ? vir.min() : vir.max());
+                    }
+
+                    @Override
+                    public int max() {
+                        return apply(a > 0 ? vir.max() : vir.min());
+                    }
+
+                    @Override
+                    public void dispose() {
+                        super.dispose();
+                        vir.dispose();
+                    }
+                };
+            } else {
+                // |a| > 1, so each value is a range
+                _riterator = new DisposableRangeIterator() {
+
+                    DisposableValueIterator vit;
+                    int min, max;
+
+                    @Override
+                    public void bottomUpInit() {
+                        super.bottomUpInit();
+                        vit = getValueIterator(true);
+                        if (vit.hasNext()) {
+                            min = vit.next();
+                        }
+                        max = min;
+                    }
+
+                    @Override
+                    public void topDownInit() {
+                        super.topDownInit();
+                        vit = getValueIterator(false);
+                        if (vit.hasPrevious()) {
+                            max = vit.previous();
+                        }
+                        min = max;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return min != Integer.MAX_VALUE;
+                    }
+
+                    @Override
+                    public boolean hasPrevious() {
+                        return max != -Integer.MAX_VALUE;
+                    }
+
+                    @Override
+                    public void next() {
+                        if (vit.hasNext()) {
+                            min = max = vit.next();
+                        } else {
+                            min = Integer.MAX_VALUE;
+                        }
+                    }
+
+                    @Override
+                    public void previous() {
+                        if (vit.hasPrevious()) {
+                            min = max = vit.previous();
+                        } else {
+                            max = -Integer.MAX_VALUE;
+                        }
+                    }
+
+                    @Override
+                    public int min() {
+                        return min;
+                    }
+
+                    @Override
+                    public int max() {
+                        return max;
+                    }
+                };
+            }
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public IEventType transformEvent(IEventType evt) {
+        if (a < 0) {
+            if (evt == INCLOW) {
+                return DECUPP;
+            } else if (evt == DECUPP) {
+                return INCLOW;
+            }
+        }
+        return evt;
+    }
+
+    @Override
+    public void justifyEvent(IntEventType mask, int one, int two, int three) {
+        switch (mask) {
+            case DECUPP:
+                if (a > 0) {
+                    model.getSolver().getEventObserver().updateUpperBound(this, apply(one), apply(two), this);
+                } else {
+                    model.getSolver().getEventObserver().updateLowerBound(this, apply(one), apply(two), this);
+                }
+                break;
+            case INCLOW:
+                if (a > 0) {
+                    model.getSolver().getEventObserver().updateLowerBound(this, apply(one), apply(two), this);
+                } else {
+                    model.getSolver().getEventObserver().updateUpperBound(this, apply(one), apply(two), this);
+                }
+                break;
+            case REMOVE:
+                model.getSolver().getEventObserver().removeValue(this, apply(one), this);
+                break;
+            case INSTANTIATE:
+                if (a > 0) {
+                    model.getSolver().getEventObserver().instantiateTo(this, apply(one), this, apply(two), apply(three));
+                } else {
+                    model.getSolver().getEventObserver().instantiateTo(this, apply(one), this, apply(three), apply(two));
+                }
+                break;
+        }
+    }
+}
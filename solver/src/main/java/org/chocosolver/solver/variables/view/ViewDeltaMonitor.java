@@ -9,7 +9,6 @@
  */
 package org.chocosolver.solver.variables.view;
 
-import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.util.procedure.IntProcedure;
@@ -18,45 +17,70 @@ import org.chocosolver.util.procedure.SafeIntProcedure;
 /**
  * A delta monitor dedicated to views
  * <br/>
+ * Removed values are read in place from the delta monitor of the observed variable
+ * and transformed on the fly, nothing is copied nor allocated.
  *
  * @author Charles Prud'homme
  * @since 11/01/13
  */
 public abstract class ViewDeltaMonitor implements IIntDeltaMonitor {
 
-    private class Filler implements SafeIntProcedure {
+    /**
+     * Forwards transformed values to a procedure that cannot throw a contradiction
+     */
+    private final class SafeForwarder implements SafeIntProcedure {
+
+        SafeIntProcedure proc;
 
         @Override
         public void execute(int i) {
-            values.add(i);
+            proc.execute(transform(i));
+        }
+    }
+
+    /**
+     * Forwards transformed values to a procedure that can throw a contradiction
+     */
+    private final class Forwarder implements IntProcedure {
+
+        IntProcedure proc;
+
+        @Override
+        public void execute(int i) throws ContradictionException {
+            proc.execute(transform(i));
         }
     }
 
-    private IIntDeltaMonitor deltamonitor;
-    private TIntArrayList values;
-    private Filler filler;
+    private final IIntDeltaMonitor deltamonitor;
+    private final SafeForwarder safeForwarder;
+    private final Forwarder forwarder;
 
     public ViewDeltaMonitor(IIntDeltaMonitor deltamonitor) {
         this.deltamonitor = deltamonitor;
-        values = new TIntArrayList(8);
-        filler = new Filler();
+        this.safeForwarder = new SafeForwarder();
+        this.forwarder = new Forwarder();
     }
 
     @Override
     public void forEachRemVal(SafeIntProcedure proc) {
-        values.clear();
-        deltamonitor.forEachRemVal(filler);
-        for (int v = 0; v < values.size(); v++) {
-            proc.execute(transform(values.toArray()[v]));
+        // the previous procedure is restored in case of reentrant calls
+        SafeIntProcedure previous = safeForwarder.proc;
+        safeForwarder.proc = proc;
+        try {
+            deltamonitor.forEachRemVal(safeForwarder);
+        } finally {
+            safeForwarder.proc = previous;
         }
     }
 
     @Override
     public void forEachRemVal(IntProcedure proc) throws ContradictionException {
-        values.clear();
-        deltamonitor.forEachRemVal(filler);
-        for (int v = 0; v < values.size(); v++) {
-            proc.execute(transform(values.toArray()[v]));
+        IntProcedure previous = forwarder.proc;
+        forwarder.proc = proc;
+        try {
+            deltamonitor.forEachRemVal(forwarder);
+        } finally {
+            forwarder.proc = previous;
         }
     }
 
@@ -0,0 +1,63 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.bandit;
+
+/**
+ * A thread-safe view of a {@link Policy}, to be shared by concurrent players.
+ * The steps are counted by this object, and all the plays of all the players are taken into account
+ * by the wrapped policy.
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class SynchronizedPolicy implements Policy {
+
+    /**
+     * The wrapped policy
+     */
+    private final Policy policy;
+    /**
+     * Number of actions selected so far
+     */
+    private int step;
+
+    /**
+     * Makes <i>policy</i> thread-safe.
+     * @param policy a policy, not to be used directly anymore
+     */
+    public SynchronizedPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public synchronized void init() {
+        step = 0;
+        policy.init();
+    }
+
+    /**
+     * Select the next action, the current step being the number of actions selected so far.
+     * @return the next action to play
+     */
+    public synchronized int nextAction() {
+        return policy.nextAction(step++);
+    }
+
+    @Override
+    public synchronized int nextAction(int step) {
+        return policy.nextAction(step);
+    }
+
+    @Override
+    public synchronized void update(int action, double reward) {
+        policy.update(action, reward);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects.queues;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer with multiple producers and a single consumer.
+ * <br/>
+ * Any thread can {@link #offer(Object)} an element, but only one thread, the owner of the buffer,
+ * is expected to {@link #poll()} elements.
+ * When the buffer is full, offered elements are rejected instead of blocking the producer.
+ * <br/>
+ * Like {@link CircularQueue}, the capacity is set to the closest greater power of 2 value,
+ * so that positions are computed with a bitwise AND operation.
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class MPSCRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elementData;
+    private final int mask;
+    /**
+     * Next position to claim by a producer
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * Next position to read by the consumer, only written by the consumer
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Create a ring buffer that can store at least <i>capacity</i> elements.
+     *
+     * @param capacity minimal capacity of the buffer
+     */
+    public MPSCRingBuffer(int capacity) {
+        int size = CircularQueue.closestGreater2n(Math.max(capacity, 2));
+        this.elementData = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add <i>e</i> at the end of this buffer, unless it is full.
+     * This method can be called by any thread.
+     *
+     * @param e the element to add, not null
+     * @return <tt>true</tt> if <i>e</i> has been added, <tt>false</tt> if the buffer was full
+     */
+    public boolean offer(E e) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        elementData.lazySet((int) t & mask, e);
+        return true;
+    }
+
+    /**
+     * Retrieve and remove the first element of this buffer.
+     * This method must only be called by the consumer thread.
+     * An element whose position has been claimed but which is not written yet is considered absent.
+     *
+     * @return the first element, or <tt>null</tt> if there is none
+     */
+    public E poll() {
+        long h = head.get();
+        int i = (int) h & mask;
+        E e = elementData.get(i);
+        if (e != null) {
+            elementData.lazySet(i, null);
+            head.lazySet(h + 1);
+        }
+        return e;
+    }
+
+    /**
+     * @return an estimate of the number of elements in this buffer
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * @return if there is (probably) no element in this buffer
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the maximum number of elements this buffer can store
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -782,4 +782,20 @@ public enum ArrayUtils {
         }
         return values;
     }
+
+    /**
+     * Counts the number of ranges of consecutive values in <i>values</i>
+     *
+     * @param values sorted array of values, without multiple occurrences
+     * @return the number of ranges of consecutive values, 0 if <i>values</i> is empty
+     */
+    public static int nbRanges(int[] values) {
+        int n = values.length > 0 ? 1 : 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] + 1 < values[i]) {
+                n++;
+            }
+        }
+        return n;
+    }
 }
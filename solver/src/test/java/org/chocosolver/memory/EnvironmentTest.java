@@ -9,6 +9,8 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
+import org.chocosolver.memory.structure.PackedS64BitSet;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
@@ -31,7 +33,8 @@ public class EnvironmentTest {
     public Object[][] env() {
         return new IEnvironment[][]{
             {new EnvironmentBuilder().fromFlat().build()},
-            {new EnvironmentBuilder().fromChunk().build()}
+            {new EnvironmentBuilder().fromChunk().build()},
+            {new EnvironmentBuilder().buildCopying()}
         };
     }
 
@@ -98,6 +101,29 @@ public class EnvironmentTest {
         testBitset(environment, 356, 512, 218, 219, 220);
     }
 
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testBitset2(IEnvironment environment) {
+        IStateBitSet prim = environment.makeBitSet(10_000);
+        prim.set(0, 10_000);
+        Assert.assertEquals(prim.cardinality(), 10_000);
+        for (int w = 1; w <= 10; w++) {
+            environment.worldPush();
+            prim.clear(w * 500, w * 500 + 250);
+            prim.clear(w);
+            prim.clear(w);
+            Assert.assertEquals(prim.cardinality(), 10_000 - w * 251);
+        }
+        prim.set(12_000);
+        Assert.assertTrue(prim.get(12_000));
+        for (int w = 10; w > 0; w--) {
+            Assert.assertEquals(prim.cardinality(), 10_000 - w * 251 + (w == 10 ? 1 : 0));
+            environment.worldPop();
+        }
+        Assert.assertEquals(prim.cardinality(), 10_000);
+        Assert.assertFalse(prim.get(12_000));
+        Assert.assertEquals(prim.nextClearBit(0), 10_000);
+    }
+
     private void testBitset(IEnvironment environment, int size, int max, int i8, int i9, int i10) {
         IStateBitSet prim = environment.makeBitSet(size);
         prim.set(i8);
@@ -317,4 +343,97 @@ public class EnvironmentTest {
             assert false;
         }
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s")
+    public void testConor7() {
+        EnvironmentCopying env = new EnvironmentCopying();
+        IStateInt snt = env.makeInt(0);
+        env.worldPush();
+        snt.set(2);
+        env.worldPush();
+        snt.set(4);
+        env.worldPush();
+        snt.set(6);
+        Assert.assertEquals(snt.get(), 6);
+        env.worldCommit();
+        Assert.assertEquals(snt.get(), 6);
+        env.worldPop();
+        Assert.assertEquals(snt.get(), 2);
+        env.worldPop();
+        Assert.assertEquals(snt.get(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testIntVector(IEnvironment env) {
+        IStateIntVector vec = env.makeIntVector(3, 0);
+        env.worldPush();
+        vec.quickSet(1, 5);
+        vec.add(7);
+        env.worldPush();
+        vec.quickSet(1, 6);
+        vec.quickSet(3, 8);
+        Assert.assertEquals(vec.quickGet(1), 6);
+        Assert.assertEquals(vec.quickGet(3), 8);
+        env.worldPop();
+        Assert.assertEquals(vec.quickGet(1), 5);
+        Assert.assertEquals(vec.quickGet(3), 7);
+        env.worldPop();
+        Assert.assertEquals(vec.quickGet(1), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPackedBitSetCommit() {
+        IEnvironment[] envs = {new EnvironmentTrailing(), new EnvironmentCopying()};
+        for (IEnvironment env : envs) {
+            PackedS64BitSet bs = new PackedS64BitSet(env, 256);
+            env.worldPush();
+            bs.set(3);
+            env.worldPush();
+            bs.set(5);
+            bs.set(70);
+            env.worldPush();
+            bs.set(7);
+            bs.set(130);
+            env.worldCommit();
+            Assert.assertEquals(bs.cardinality(), 5);
+            // the world index of the committed world is reused
+            env.worldPush();
+            bs.set(9);
+            bs.set(71);
+            bs.set(131);
+            env.worldPop();
+            Assert.assertEquals(bs.cardinality(), 5);
+            Assert.assertFalse(bs.get(9));
+            Assert.assertFalse(bs.get(71));
+            Assert.assertFalse(bs.get(131));
+            env.worldPop();
+            Assert.assertEquals(bs.cardinality(), 1);
+            Assert.assertTrue(bs.get(3));
+            env.worldPop();
+            Assert.assertTrue(bs.isEmpty());
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testCopyingSolve() {
+        for (int n = 6; n < 10; n++) {
+            Model[] models = {
+                    new Model(new EnvironmentBuilder().fromFlat().build(), "trailing"),
+                    new Model(new EnvironmentBuilder().buildCopying(), "copying")
+            };
+            for (Model model : models) {
+                IntVar[] q = model.intVarArray("q", n, 1, n, false);
+                model.allDifferent(q, "BC").post();
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                        model.arithm(q[i], "!=", q[j], "-", j - i).post();
+                    }
+                }
+                model.getSolver().findAllSolutions();
+            }
+            Assert.assertEquals(models[1].getSolver().getSolutionCount(), models[0].getSolver().getSolutionCount());
+            Assert.assertEquals(models[1].getSolver().getNodeCount(), models[0].getSolver().getNodeCount());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+
+/**
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class EmbarrassinglyParallelSearchTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNQueens() {
+        Model ref = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        long expected = ref.getSolver().streamSolutions().count();
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(8));
+        }
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), expected);
+        Assert.assertEquals(eps.getMeasures().getSolutionCount(), expected);
+        Assert.assertEquals(eps.getMeasures().getSearchState(), SearchState.TERMINATED);
+        Assert.assertTrue(eps.getNbSubproblems() > 1);
+        // cubes are disjoint, so are solutions
+        IntVar[] qs = ref.retrieveIntVars(true);
+        Set<String> unique = new HashSet<>();
+        for (Solution s : solutions) {
+            StringBuilder st = new StringBuilder();
+            for (IntVar q : qs) {
+                st.append(s.getIntVal(q)).append(',');
+            }
+            unique.add(st.toString());
+        }
+        Assert.assertEquals(unique.size(), expected);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOneWorker() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch(5);
+        eps.addModel(ProblemMaker.makeNQueenWithOneAlldifferent(6));
+        Assert.assertEquals(eps.findAllSolutions().size(), 4);
+        Assert.assertEquals(eps.getMeasures().getSolutionCount(), 4);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 2; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(3));
+        }
+        Assert.assertTrue(eps.findAllSolutions().isEmpty());
+        Assert.assertEquals(eps.getMeasures().getSearchState(), SearchState.TERMINATED);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testKnapsack() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(knapsack());
+        }
+        Solution best = eps.findOptimalSolution();
+        Assert.assertNotNull(best);
+        Assert.assertEquals(eps.getMeasures().getSearchState(), SearchState.TERMINATED);
+        Assert.assertTrue(eps.getMeasures().isObjectiveOptimal());
+        Assert.assertEquals(eps.getMeasures().getBestSolutionValue(), 51);
+    }
+
+    @Test(groups = "10s", timeOut = 120000)
+    public void testGolomb() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            Model m = ProblemMaker.makeGolombRuler(9);
+            if (i % 2 == 1) {
+                m.getSolver().setSearch(inputOrderLBSearch((IntVar[]) m.getHook("ticks")));
+            }
+            eps.addModel(m);
+        }
+        Solution best = eps.findOptimalSolution();
+        Assert.assertNotNull(best);
+        Assert.assertTrue(eps.getMeasures().isObjectiveOptimal());
+        Assert.assertEquals(eps.getMeasures().getBestSolutionValue(), 44);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testNoModel() {
+        new EmbarrassinglyParallelSearch().findAllSolutions();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testWrongPolicy() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        eps.addModel(knapsack());
+        eps.findAllSolutions();
+    }
+}
@@ -677,4 +677,62 @@ public class ModelTest {
                 }
         ));
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMemoryReport() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 10, 0, 9, false);
+        BoolVar[] b = model.boolVarArray("b", 5);
+        model.allDifferent(x).post();
+        model.sum(b, "=", x[0]).post();
+        MemoryReport report = model.getMemoryReport();
+        Assert.assertTrue(report.getVariablesBytes() > 0);
+        Assert.assertTrue(report.getConstraintsBytes() > 0);
+        Assert.assertTrue(report.getTrailBytes() > 0);
+        Assert.assertEquals(report.getTotalBytes(),
+                report.getVariablesBytes() + report.getConstraintsBytes() + report.getSharedBytes() + report.getTrailBytes());
+        Assert.assertEquals(report.getVariables().stream().mapToInt(MemoryReport.Footprint::getCount).sum(),
+                model.getNbVars());
+        Assert.assertEquals(report.getConstraints().stream().mapToInt(MemoryReport.Footprint::getCount).sum(),
+                model.getNbCstrs());
+        Assert.assertTrue(report.getConstraints().stream().anyMatch(f -> f.getName().equals("ALLDIFFERENT")));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMemoryReportShared() throws ContradictionException {
+        long[] bytes = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model(new DefaultSettings().setCompactSubscriptions(k == 1));
+            IntVar[] x = model.intVarArray("x", 20, 0, 30);
+            model.allDifferent(x).post();
+            for (int i = 0; i < x.length - 1; i++) {
+                model.arithm(x[i], "<", x[i + 1]).post();
+            }
+            model.getSolver().propagate();
+            MemoryReport report = model.getMemoryReport();
+            bytes[k] = report.getSharedBytes();
+            Assert.assertEquals(report.getTotalBytes(),
+                    report.getVariablesBytes() + report.getConstraintsBytes() + report.getSharedBytes() + report.getTrailBytes());
+        }
+        Assert.assertEquals(bytes[0], 0);
+        Assert.assertTrue(bytes[1] > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLowFootprint() throws ContradictionException {
+        long[] bytes = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model(new DefaultSettings().setLowFootprint(k == 1));
+            IntVar[] x = model.intVarArray("x", 200, 0, 1000, true);
+            for (int i = 0; i < x.length - 1; i++) {
+                model.arithm(x[i], "+", model.intVar("d" + i, 2 + i % 3), "<=", x[i + 1]).post();
+            }
+            Assert.assertEquals(model.intVar("a", 3) == model.intVar("b", 3), k == 1);
+            Assert.assertEquals(model.boolVar("a", true) == model.boolVar("b", true), k == 1);
+            bytes[k] = model.getMemoryReport().getTotalBytes();
+            model.getSolver().propagate();
+            Assert.assertEquals(x[x.length - 1].getLB(), 596);
+        }
+        Assert.assertTrue(bytes[1] < bytes[0], bytes[1] + " >= " + bytes[0]);
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.ElitePool;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static java.lang.Math.ceil;
+import static org.chocosolver.solver.search.strategy.Search.domOverWDegSearch;
+import static org.chocosolver.solver.search.strategy.Search.lastConflict;
+
+/**
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class ParallelLNSTest {
+
+    private static Model knapsack20() {
+        int[] capacities = {99, 1101};
+        int[] volumes = {54, 12, 47, 33, 30, 65, 56, 57, 91, 88, 77, 99, 29, 23, 39, 86, 12, 85, 22, 64};
+        int[] energies = {38, 57, 69, 90, 79, 89, 28, 70, 38, 71, 46, 41, 49, 43, 36, 68, 92, 33, 84, 90};
+        Model model = new Model("knapsack");
+        int nos = 20;
+        IntVar[] objects = new IntVar[nos];
+        for (int i = 0; i < nos; i++) {
+            objects[i] = model.intVar("o_" + (i + 1), 0, (int) ceil(capacities[1] / volumes[i]), true);
+        }
+        IntVar power = model.intVar("power", 0, 99999, true);
+        IntVar scalar = model.intVar("weight", capacities[0], capacities[1], true);
+        model.scalar(objects, volumes, "=", scalar).post();
+        model.scalar(objects, energies, "=", power).post();
+        model.knapsack(objects, scalar, power, volumes, energies).post();
+        model.setObjective(Model.MAXIMIZE, power);
+        model.getSolver().setSearch(lastConflict(domOverWDegSearch(objects)));
+        return model;
+    }
+
+    private static IntVar[] objects(Model model) {
+        IntVar[] objects = new IntVar[20];
+        for (int i = 0; i < 20; i++) {
+            objects[i] = (IntVar) model.getVar(i);
+        }
+        return objects;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testKnapsack() {
+        ParallelLNS lns = new ParallelLNS(ParallelLNSTest::knapsack20, ParallelLNSTest::objects, 3, 5, 200);
+        Assert.assertEquals(lns.getModels().size(), 3);
+        Model model = lns.getModels().get(0);
+        lns.getModels().forEach(m -> m.getSolver().limitFail(3000));
+        int nbSols = 0;
+        while (lns.solve()) {
+            nbSols++;
+            Assert.assertEquals(lns.getBestSolution().getIntVal((IntVar) lns.getBestModel().getObjective()),
+                    lns.getBestModel().getSolver().getBestSolutionValue().intValue());
+        }
+        Assert.assertTrue(nbSols > 1);
+        Model best = lns.getBestModel();
+        Assert.assertNotNull(best);
+        int value = best.getSolver().getBestSolutionValue().intValue();
+        Assert.assertTrue(value <= 8372);
+        ElitePool pool = lns.getPool();
+        Assert.assertTrue(pool.size() > 0 && pool.size() <= 5);
+        Assert.assertEquals(pool.getBest().getValue(), value);
+        Solution solution = lns.getBestSolution();
+        Assert.assertEquals(solution.getIntVal((IntVar) model.getObjective()), value);
+        for (Model m : lns.getModels()) {
+            Assert.assertTrue(m.getSolver().getBestSolutionValue().intValue() <= value);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testKnapsackOpt() {
+        ParallelLNS lns = new ParallelLNS(ParallelLNSTest::knapsack20, ParallelLNSTest::objects, 4);
+        lns.getModels().forEach(m -> m.getSolver().limitTime("5s"));
+        //noinspection StatementWithEmptyBody
+        while (lns.solve()) ;
+        Assert.assertEquals(lns.getPool().getBest().getValue(), 8372);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testSatisfaction() {
+        new ParallelLNS(() -> {
+            Model model = knapsack20();
+            model.clearObjective();
+            return model;
+        }, ParallelLNSTest::objects, 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testElitePool() {
+        Model model = knapsack20();
+        Solution s = new Solution(model);
+        ElitePool pool = new ElitePool(3, false);
+        Assert.assertNull(pool.getBest());
+        Assert.assertNull(pool.pick(new Random(0)));
+        Assert.assertTrue(pool.offer(5, s));
+        Assert.assertTrue(pool.offer(3, s));
+        Assert.assertTrue(pool.offer(7, s));
+        Assert.assertFalse(pool.offer(8, s));
+        Assert.assertFalse(pool.offer(7, s));
+        Assert.assertTrue(pool.offer(1, s));
+        Assert.assertEquals(pool.size(), 3);
+        Assert.assertEquals(pool.getVersion(), 4);
+        Assert.assertEquals(pool.getBest().getValue(), 1);
+        Random random = new Random(0);
+        for (int i = 0; i < 20; i++) {
+            int v = pool.pick(random).getValue();
+            Assert.assertTrue(v == 1 || v == 3 || v == 5);
+        }
+        pool = new ElitePool(2, true);
+        pool.offer(5, s);
+        pool.offer(3, s);
+        pool.offer(7, s);
+        Assert.assertEquals(pool.getBest().getValue(), 7);
+        Assert.assertEquals(pool.size(), 2);
+    }
+}
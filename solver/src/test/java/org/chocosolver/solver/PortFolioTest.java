@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ProblemMaker;
@@ -63,6 +64,70 @@ public class PortFolioTest {
         Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 55);
     }
 
+    @Test(groups = "10s", timeOut = 60000)
+    public void testShareNogoods() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        int n = 4; // number of solvers to use
+        for (int i = 0; i < n; i++) {
+            pares.addModel(ProblemMaker.makeGolombRuler(9));
+        }
+        pares.shareClauses(new ClauseSharingBus(256, 16));
+        //noinspection StatementWithEmptyBody
+        while (pares.solve()) ;
+        Model finder = pares.getBestModel();
+        Assert.assertNotNull(finder);
+        Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 44);
+        long exported = 0, imported = 0;
+        for (Model m : pares.getModels()) {
+            exported += m.getSolver().getExportedClauseCount();
+            imported += m.getSolver().getImportedClauseCount();
+        }
+        Assert.assertTrue(exported > 0);
+        Assert.assertTrue(imported > 0);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testShareSignedClauses() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 3; i++) {
+            // pigeonhole, infeasible
+            Model m = new Model();
+            IntVar[] x = m.intVarArray("x", 8, 0, 6, false);
+            m.allDifferent(x, "NEQS").post();
+            Solver s = m.getSolver();
+            s.setSearch(i == 0 ? inputOrderLBSearch(x) : i == 1 ? minDomLBSearch(x) : domOverWDegSearch(x));
+            s.setLearningSignedClauses();
+            s.setLubyRestart(50, new FailCounter(m, 50), 1000);
+            pares.addModel(m);
+        }
+        pares.shareClauses(new ClauseSharingBus());
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(pares.getModels().stream().mapToLong(m -> m.getSolver().getExportedClauseCount()).sum() > 0);
+        // no worker records nogoods, so no nogood store is posted
+        for (Model m : pares.getModels()) {
+            Assert.assertNull(m.getHook(Model.NOGOODS_HOOK_NAME));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncumbent() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 4; i++) {
+            pares.addModel(knapsack());
+        }
+        int best = Integer.MIN_VALUE;
+        while (pares.solve()) {
+            int val = pares.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue().intValue();
+            Assert.assertTrue(val > best, val + " <= " + best);
+            best = val;
+        }
+        Assert.assertEquals(best, 51);
+        for (Model m : pares.getModels()) {
+            Assert.assertEquals(m.getSolver().getExportedClauseCount(), 0);
+            Assert.assertEquals(m.getSolver().getImportedClauseCount(), 0);
+        }
+    }
+
     @Test(groups = "10s", timeOut = 60000)
     public void testParBug() {
         for (int iter = 0; iter < 50; iter++) {
@@ -269,4 +334,15 @@ public class PortFolioTest {
             System.gc();
         }
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAddCopies() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        pares.addModel(knapsack());
+        List<Model> copies = pares.addCopies(3, ModelTest::knapsack);
+        Assert.assertEquals(copies.size(), 3);
+        Assert.assertEquals(pares.getModels().size(), 4);
+        while (pares.solve()) ;
+        Assert.assertEquals(pares.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue(), 51);
+    }
 }
@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints.nary;
 
 import gnu.trove.set.hash.TIntHashSet;
 
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
@@ -18,7 +19,9 @@ import org.chocosolver.solver.constraints.nary.automata.FA.FiniteAutomaton;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IEventType;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -422,4 +425,24 @@ public class RegularTest {
         return null;
     }
 
-}
\ No newline at end of file
+    @Test(groups="1s", timeOut=60000)
+    public void testBulkRemovals() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("x", 2, 0, 9);
+        model.regular(vars, new FiniteAutomaton("1(2|4)|3(5|7)")).post();
+        List<IEventType> events = new ArrayList<>();
+        vars[1].addMonitor((IVariableMonitor<IntVar>) (v, e) -> events.add(e));
+        Solver solver = model.getSolver();
+        solver.propagate();
+        // unsupported values of a variable are removed at once
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(vars[1].getDomainSize(), 4);
+        events.clear();
+        // values 5 and 7 lose their last support in the graph together
+        vars[0].removeValue(3, Cause.Null);
+        solver.getEngine().propagate();
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(vars[1].getDomainSize(), 2);
+        Assert.assertTrue(vars[1].contains(2) && vars[1].contains(4));
+    }
+}
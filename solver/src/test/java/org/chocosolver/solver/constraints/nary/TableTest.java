@@ -22,8 +22,10 @@ import org.chocosolver.solver.constraints.extension.nary.TuplesLargeTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesVeryLargeTable;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
 import org.testng.Assert;
@@ -709,4 +711,30 @@ public class TableTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCTBulkRemovals() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 9);
+        Tuples t = new Tuples();
+        t.add(0, 0, 0);
+        t.add(2, 0, 1);
+        t.add(4, 1, 0);
+        t.add(6, 1, 1);
+        t.add(8, 1, 0);
+        model.table(xs, t, "CT+").post();
+        List<IEventType> events = new ArrayList<>();
+        xs[0].addMonitor((IVariableMonitor<IntVar>) (v, e) -> events.add(e));
+        Solver solver = model.getSolver();
+        solver.propagate();
+        // unsupported values of a variable are removed at once
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(xs[0].getDomainSize(), 5);
+        events.clear();
+        xs[1].removeValue(1, Cause.Null);
+        solver.getEngine().propagate();
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(xs[0].getDomainSize(), 2);
+        Assert.assertTrue(xs[0].contains(0) && xs[0].contains(2));
+    }
+}
@@ -224,6 +224,14 @@ public class EventRecorderTest {
                 model.getSolver().setLearningSignedClauses();
                 break;
             }
+            case 3: {
+                System.out.print("SCL (SAT)    :");
+                XParameters.ASSERT_NO_LEFT_BRANCH = false;
+                XParameters.INTERVAL_TREE = false;
+                model.getSettings().setLearntClausesInSat(true);
+                model.getSolver().setLearningSignedClauses();
+                break;
+            }
         }
     }
 
@@ -252,7 +260,7 @@ public class EventRecorderTest {
     public Object[][] dataLS() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 4; m < 15; m++) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -835,6 +843,32 @@ public class EventRecorderTest {
         rcpsp(2, 0, seed, iviews);
     }
 
+    @Test(groups = {"1s", "expl"}, timeOut = 60000)
+    public void testQueensLearntClausesInSat() {
+        int[] counts = {1, 0, 0, 2, 10, 4, 40, 92};
+        for (int n = 1; n <= 8; n++) {
+            Model model = new Model(new DefaultSettings().setLearntClausesInSat(true));
+            IntVar[] q = model.intVarArray("q", n, 1, n, false);
+            for (int i = 0; i < n - 1; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    model.arithm(q[i], "!=", q[j]).post();
+                    model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                    model.arithm(q[i], "!=", q[j], "+", i - j).post();
+                }
+            }
+            model.getSolver().setSearch(inputOrderLBSearch(q));
+            model.getSolver().setLearningSignedClauses();
+            while (model.getSolver().solve()) ;
+            assertEquals(model.getSolver().getSolutionCount(), counts[n - 1], "n = " + n);
+        }
+    }
+
+    @Test(groups = {"1s", "expl"}, timeOut = 120000)
+    public void testRCPSPLearntClausesInSat() {
+        rcpsp(3, 0, 1, true);
+        rcpsp(3, 0, 1, false);
+    }
+
     @Test(groups = {"10s", "expl"}, timeOut = 120000, dataProvider = "rcpspP")
     public void testRCPSP(int learn, int nbnodes, long seed, boolean eviews) {
         rcpsp(learn, nbnodes, seed, eviews);
@@ -952,6 +986,9 @@ public class EventRecorderTest {
         }
         solver.printShortStatistics();
         Assert.assertEquals(solver.getBoundsManager().getBestSolutionValue(), 53, "seed :" + seed);
+        if (learn == 3) {
+            Assert.assertTrue(model.getClauseBuilder().getLiteralLayer().getNbClauses() > 0);
+        }
         if (seed == 0) {
             Assert.assertEquals(solver.getSolutionCount(), 5);
             Assert.assertEquals(solver.getNodeCount(), nbnodes);
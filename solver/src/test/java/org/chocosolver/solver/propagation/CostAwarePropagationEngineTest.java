@@ -0,0 +1,123 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.minDomLBSearch;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class CostAwarePropagationEngineTest {
+
+    /**
+     * A propagator that takes time and never filters
+     */
+    private static class PropSlow extends Propagator<IntVar> {
+
+        PropSlow(IntVar... vars) {
+            super(vars, PropagatorPriority.BINARY, false);
+        }
+
+        @Override
+        public void propagate(int evtmask) throws ContradictionException {
+            long end = System.nanoTime() + 20_000;
+            //noinspection StatementWithEmptyBody
+            while (System.nanoTime() < end) ;
+        }
+
+        @Override
+        public ESat isEntailed() {
+            return ESat.UNDEFINED;
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSettings() {
+        Model model = new Model(new DefaultSettings().setCostAwarePropagationEngine(true));
+        Assert.assertTrue(model.getSolver().getEngine() instanceof CostAwarePropagationEngine);
+        model = new Model();
+        Assert.assertFalse(model.getSolver().getEngine() instanceof CostAwarePropagationEngine);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNQueens() {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        model.getSolver().setEngine(new CostAwarePropagationEngine(model));
+        while (model.getSolver().solve()) ;
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 92);
+        model = ProblemMaker.makeNQueenWithOneAlldifferent(8);
+        model.getSolver().setEngine(new CostAwarePropagationEngine(model));
+        while (model.getSolver().solve()) ;
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 92);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testGolomb() {
+        Model model = ProblemMaker.makeGolombRuler(8);
+        model.getSolver().setEngine(new CostAwarePropagationEngine(model));
+        model.getSolver().setSearch(minDomLBSearch((IntVar[]) model.getHook("ticks")));
+        int obj = Integer.MAX_VALUE;
+        while (model.getSolver().solve()) {
+            obj = ((IntVar) (model.getObjective())).getValue();
+        }
+        Assert.assertEquals(obj, 34);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSameSolutions() {
+        long[] counts = new long[2];
+        for (int i = 0; i < 2; i++) {
+            Model model = ProblemMaker.makeCostasArrays(7);
+            if (i == 1) {
+                model.getSolver().setEngine(new CostAwarePropagationEngine(model));
+            }
+            model.getSolver().findAllSolutions();
+            counts[i] = model.getSolver().getSolutionCount();
+        }
+        Assert.assertTrue(counts[0] > 0);
+        Assert.assertEquals(counts[1], counts[0]);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDeferral() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 4, 0, 3);
+        PropSlow slow = new PropSlow(xs);
+        new Constraint("SLOW", slow).post();
+        model.arithm(xs[0], "<", xs[1]).post();
+        model.arithm(xs[1], "<", xs[2]).post();
+        Solver solver = model.getSolver();
+        CostAwarePropagationEngine engine = new CostAwarePropagationEngine(model);
+        solver.setEngine(engine);
+        solver.setSearch(inputOrderLBSearch(xs));
+        Assert.assertEquals(engine.queueOf(slow), PropagatorPriority.BINARY.priority);
+        solver.findAllSolutions();
+        Assert.assertEquals(solver.getSolutionCount(), 16);
+        Assert.assertEquals(engine.queueOf(slow), 7);
+        for (Propagator p : model.getCstrs()[1].getPropagators()) {
+            Assert.assertTrue(engine.queueOf(p) < 7);
+        }
+    }
+}
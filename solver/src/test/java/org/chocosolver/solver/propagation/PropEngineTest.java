@@ -17,6 +17,7 @@ import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.ProblemMaker;
 import org.testng.Assert;
@@ -172,6 +173,68 @@ public class PropEngineTest {
         }
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testCoalescedEvents() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        int[] calls = new int[2];
+        new Constraint("watcher", new Propagator<IntVar>(new IntVar[]{x}, UNARY, true) {
+            @Override
+            public void propagate(int evtmask) {
+            }
+
+            @Override
+            public void propagate(int idxVarInProp, int mask) {
+                calls[0]++;
+                calls[1] |= mask;
+            }
+
+            @Override
+            public ESat isEntailed() {
+                return TRUE;
+            }
+        }).post();
+        Solver solver = model.getSolver();
+        solver.propagate();
+        x.updateLowerBound(2, Null);
+        x.updateUpperBound(8, Null);
+        x.removeValue(5, Null);
+        // the three modifications share a single entry in the variable queue
+        assertEquals(solver.getEngine().getNbPendingVariables(), 1);
+        solver.getEngine().propagate();
+        assertEquals(solver.getEngine().getNbPendingVariables(), 0);
+        assertEquals(calls[0], 1);
+        assertEquals(calls[1], IntEventType.INCLOW.getMask() | IntEventType.DECUPP.getMask() | IntEventType.REMOVE.getMask());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testCompactSubscriptions() throws ContradictionException {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        model.getSettings().setCompactSubscriptions(true);
+        IntVar[] vars = (IntVar[]) model.getHook("vars");
+        Solver solver = model.getSolver();
+        solver.getEngine().initialize();
+        Assert.assertSame(vars[0].getPropagatorStorage(), vars[7].getPropagatorStorage());
+        Assert.assertEquals(vars[1].getPOffset(), vars[0].getPOffset() + vars[0].getNbProps());
+        // the shared arrays are only reachable through offset-aware accessors
+        Assert.assertThrows(SolverException.class, () -> vars[1].getPropagators());
+        Assert.assertThrows(SolverException.class, () -> vars[1].getPIndices());
+        for (int i = 0; i < vars.length; i++) {
+            for (int j = 0; j < vars[i].getNbProps(); j++) {
+                Propagator p = vars[i].getPropagator(j);
+                Assert.assertSame(p.getVar(vars[i].getIndexInPropagator(j)), vars[i]);
+            }
+        }
+        while (solver.solve()) ;
+        assertEquals(solver.getSolutionCount(), 92);
+        // dynamic addition falls back on arrays owned by the variable
+        solver.reset();
+        model.arithm(vars[0], "<", 5).post();
+        Assert.assertNotSame(vars[0].getPropagatorStorage(), vars[7].getPropagatorStorage());
+        while (solver.solve()) ;
+        assertEquals(solver.getSolutionCount(), 46);
+    }
+
     @Test(groups="1s", timeOut=60000)
     public void testJG1() {
         Model model = new Model();
@@ -0,0 +1,104 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class PropagationProfilerTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDisabledByDefault() {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(6);
+        Assert.assertNull(model.getSolver().getEngine().getProfiler());
+        model.getSolver().printPropagationProfile();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNQueens() {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        Solver solver = model.getSolver();
+        PropagationProfiler profiler = solver.profilePropagation();
+        Assert.assertSame(solver.profilePropagation(), profiler);
+        while (solver.solve()) ;
+        List<PropagationProfiler.Profile> profiles = profiler.getProfiles();
+        Assert.assertEquals(profiles.size(), model.getCstrs().length);
+        long calls = 0, fails = 0, removals = 0;
+        for (int i = 0; i < profiles.size(); i++) {
+            PropagationProfiler.Profile p = profiles.get(i);
+            if (i > 0) {
+                Assert.assertTrue(profiles.get(i - 1).getTime() >= p.getTime());
+            }
+            Assert.assertEquals(p.getInvocations(), p.getFineCalls() + p.getCoarseCalls());
+            calls += p.getInvocations();
+            fails += p.getFailures();
+            removals += p.getRemovals();
+        }
+        Assert.assertTrue(calls > 0);
+        Assert.assertTrue(removals > 0);
+        // every failure occurs during propagation, but some are raised by decisions
+        Assert.assertTrue(fails > 0 && fails <= solver.getFailCount());
+        List<PropagationProfiler.Profile> perCstr = profiler.getProfilesPerConstraint();
+        Assert.assertEquals(perCstr.size(), 1);
+        Assert.assertEquals(perCstr.get(0).getInvocations(), calls);
+        Assert.assertEquals(perCstr.get(0).getFailures(), fails);
+        Assert.assertEquals(perCstr.get(0).getRemovals(), removals);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFineAndCoarse() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 5, 0, 4);
+        model.allDifferent(xs, "AC").post();
+        model.sum(xs, "=", 10).post();
+        Solver solver = model.getSolver();
+        PropagationProfiler profiler = solver.profilePropagation();
+        solver.findAllSolutions();
+        Assert.assertEquals(solver.getSolutionCount(), 120);
+        List<PropagationProfiler.Profile> perCstr = profiler.getProfilesPerConstraint();
+        Assert.assertEquals(perCstr.size(), 2);
+        for (PropagationProfiler.Profile p : perCstr) {
+            // both propagators are executed once with a full propagation at least
+            Assert.assertTrue(p.getCoarseCalls() > 0, p.getName());
+        }
+        profiler.reset();
+        Assert.assertTrue(profiler.getProfiles().isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOutputs() {
+        Model model = ProblemMaker.makeNQueenWithOneAlldifferent(6);
+        Solver solver = model.getSolver();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        solver.setOut(new PrintStream(bos));
+        solver.showPropagationProfile();
+        Assert.assertTrue(solver.solve());
+        String table = bos.toString();
+        Assert.assertTrue(table.contains("- Propagation profile per constraint -"), table);
+        Assert.assertTrue(table.contains("ALLDIFFERENT"), table);
+        bos.reset();
+        solver.printCSVPropagationProfile();
+        String[] lines = bos.toString().split("\n");
+        Assert.assertEquals(lines[0], "propagator;constraint;calls;fineCalls;coarseCalls;time(ns);failures;removals;");
+        Assert.assertEquals(lines.length, 1 + solver.getEngine().getProfiler().getProfiles().size());
+    }
+}
@@ -19,12 +19,18 @@ import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.limits.BacktrackCounter;
+import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.neighbors.BanditNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.CircuitSegmentNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.ConstraintGraphNeighborhood;
 import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.search.loop.lns.neighbors.IntNeighbor;
 import org.chocosolver.solver.search.loop.lns.neighbors.PropagationGuidedNeighborhood;
 import org.chocosolver.solver.search.loop.lns.neighbors.RandomNeighborhood;
 import org.chocosolver.solver.search.loop.lns.neighbors.ReversePropagationGuidedNeighborhood;
 import org.chocosolver.solver.search.loop.lns.neighbors.SequenceNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.TimeWindowNeighborhood;
 import org.chocosolver.solver.search.loop.move.Move;
 import org.chocosolver.solver.search.loop.move.MoveBinaryDFS;
 import org.chocosolver.solver.search.loop.move.MoveLNS;
@@ -35,11 +41,16 @@ import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
 import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.Task;
 import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
 /**
  * <br/>
  *
@@ -98,6 +109,9 @@ public class LNSTest {
                 r.setNoGoodRecordingFromRestarts();
                 r.setLNS(new RandomNeighborhood(objects, 200, 123456L));
                 break;
+            case 7:
+                r.setLNS(INeighborFactory.adaptive(123456L, objects));
+                break;
         }
         model.setObjective(Model.MAXIMIZE, power);
         int bw = 0, bp = 0;
@@ -111,7 +125,7 @@ public class LNSTest {
 
     @DataProvider(name = "lns")
     public Object[][] createData() {
-        return new Object[][]{{0}, {1}, {2}, {3}, {4}, {5}, {6}};
+        return new Object[][]{{0}, {1}, {2}, {3}, {4}, {5}, {6}, {7}};
     }
 
 
@@ -224,6 +238,43 @@ public class LNSTest {
         Assert.assertEquals(bw, 1092);
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testBandit() {
+        int[] capacities = {99, 1101};
+        int[] volumes = {54, 12, 47, 33, 30, 65, 56, 57, 91, 88, 77, 99, 29, 23, 39, 86, 12, 85, 22, 64};
+        int[] energies = {38, 57, 69, 90, 79, 89, 28, 70, 38, 71, 46, 41, 49, 43, 36, 68, 92, 33, 84, 90};
+
+        Model model = new Model();
+        int nos = 20;
+        IntVar[] objects = new IntVar[nos];
+        for (int i = 0; i < nos; i++) {
+            objects[i] = model.intVar("o_" + (i + 1), 0, (int) ceil(capacities[1] / volumes[i]), true);
+        }
+        final IntVar power = model.intVar("power", 0, 99999, true);
+        IntVar scalar = model.intVar("weight", capacities[0], capacities[1], true);
+        model.scalar(objects, volumes, "=", scalar).post();
+        model.scalar(objects, energies, "=", power).post();
+        model.knapsack(objects, scalar, power, volumes, energies).post();
+        model.setObjective(Model.MAXIMIZE, power);
+
+        Solver r = model.getSolver();
+        r.setSearch(lastConflict(domOverWDegSearch(objects)));
+        BanditNeighborhood bandit = new BanditNeighborhood(.3,
+                new RandomNeighborhood(objects, 3, 0L),
+                new PropagationGuidedNeighborhood(objects, 30, 10, 0L));
+        r.setLNS(bandit, new FailCounter(model, 50));
+        r.limitFail(5000);
+        int bp = 0;
+        while (r.solve()) {
+            Assert.assertTrue(power.getValue() > bp);
+            bp = power.getValue();
+        }
+        Assert.assertTrue(r.getSolutionCount() > 1);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(bandit.getRatio(i) >= .01 && bandit.getRatio(i) <= 1.);
+        }
+    }
+
     @Test(groups = "1s", timeOut = 60000)
     public void testPN1() {
         // Instance copied from meb-inst-18-09.eprime-param
@@ -349,6 +400,150 @@ public class LNSTest {
         Assert.assertEquals(solver.getObjectiveManager().getBestUB(), 318);
     }
 
+    private static int[] relaxed(IntNeighbor neighbor, IntVar[] vars, Solution solution) throws ContradictionException {
+        Model model = vars[0].getModel();
+        neighbor.init();
+        neighbor.loadFromSolution(solution);
+        model.getEnvironment().worldPush();
+        neighbor.fixSomeVariables();
+        int[] relaxed = IntStream.range(0, vars.length).filter(i -> !vars[i].isInstantiated()).toArray();
+        model.getEnvironment().worldPop();
+        return relaxed;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testConstraintGraphFragment() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("x", 30, 0, 9);
+        for (int g = 0; g < 3; g++) {
+            model.allDifferent(Arrays.copyOfRange(vars, 10 * g, 10 * g + 10)).post();
+        }
+        model.sum(vars, "<=", 200).post();
+        Solution solution = new Solution(model, vars);
+        for (int i = 0; i < 30; i++) {
+            solution.setIntVal(vars[i], i % 10);
+        }
+        for (long seed = 0; seed < 5; seed++) {
+            // only follow the alldifferent constraints
+            ConstraintGraphNeighborhood neighbor = new ConstraintGraphNeighborhood(vars, 1. / 3,
+                    p -> p.getNbVars() == 10, seed);
+            int[] relaxed = relaxed(neighbor, vars, solution);
+            Assert.assertEquals(relaxed.length, 10);
+            for (int i : relaxed) {
+                Assert.assertEquals(i / 10, relaxed[0] / 10);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTimeWindowFragment() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] starts = model.intVarArray("s", 12, 0, 20);
+        int[] values = {7, 3, 11, 0, 5, 9, 1, 10, 2, 8, 4, 6};
+        Solution solution = new Solution(model, starts);
+        for (int i = 0; i < 12; i++) {
+            solution.setIntVal(starts[i], values[i]);
+        }
+        for (long seed = 0; seed < 5; seed++) {
+            TimeWindowNeighborhood neighbor = new TimeWindowNeighborhood(starts, 1. / 3, seed);
+            int[] relaxed = relaxed(neighbor, starts, solution);
+            Assert.assertEquals(relaxed.length, 4);
+            int min = Arrays.stream(relaxed).map(i -> values[i]).min().getAsInt();
+            int max = Arrays.stream(relaxed).map(i -> values[i]).max().getAsInt();
+            Assert.assertEquals(max - min, 3);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCircuitSegmentFragment() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] succs = model.intVarArray("n", 10, 1, 10);
+        Solution solution = new Solution(model, succs);
+        for (int i = 0; i < 10; i++) {
+            solution.setIntVal(succs[i], (i + 1) % 10 + 1);
+        }
+        for (long seed = 0; seed < 5; seed++) {
+            CircuitSegmentNeighborhood neighbor = new CircuitSegmentNeighborhood(succs, 1, .3, seed);
+            int[] relaxed = relaxed(neighbor, succs, solution);
+            Assert.assertEquals(relaxed.length, 3);
+            // the segment is made of consecutive nodes
+            int first = IntStream.of(relaxed).filter(i -> IntStream.of(relaxed).noneMatch(j -> (j + 1) % 10 == i))
+                    .findFirst().getAsInt();
+            for (int k = 0; k < 3; k++) {
+                int node = (first + k) % 10;
+                Assert.assertTrue(IntStream.of(relaxed).anyMatch(i -> i == node));
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCircuitSegment() {
+        int n = 15;
+        Random random = new Random(0);
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                dist[i][j] = dist[j][i] = 1 + random.nextInt(100);
+            }
+        }
+        Model model = new Model();
+        IntVar[] succs = model.intVarArray("n", n, 0, n - 1);
+        IntVar[] costs = model.intVarArray("c", n, 0, 100);
+        model.circuit(succs).post();
+        for (int i = 0; i < n; i++) {
+            model.element(costs[i], dist[i], succs[i]).post();
+        }
+        IntVar total = model.intVar("total", 0, 100 * n);
+        model.sum(costs, "=", total).post();
+        model.setObjective(Model.MINIMIZE, total);
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(succs));
+        solver.setLNS(INeighborFactory.circuitSegment(0, 0, succs), new FailCounter(model, 100));
+        solver.limitFail(5000);
+        int first = -1, best = -1;
+        while (solver.solve()) {
+            if (first < 0) {
+                first = total.getValue();
+            }
+            best = total.getValue();
+        }
+        Assert.assertTrue(solver.getSolutionCount() > 1);
+        Assert.assertTrue(best < first);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTimeWindow() {
+        int n = 12;
+        int[] durations = {3, 5, 2, 4, 6, 1, 3, 2, 5, 4, 2, 3};
+        int[] heights = {2, 1, 3, 2, 1, 2, 3, 1, 2, 2, 1, 3};
+        Model model = new Model();
+        IntVar[] starts = model.intVarArray("s", n, 0, 60);
+        IntVar[] ends = new IntVar[n];
+        Task[] tasks = new Task[n];
+        for (int i = 0; i < n; i++) {
+            ends[i] = model.intOffsetView(starts[i], durations[i]);
+            tasks[i] = new Task(starts[i], model.intVar(durations[i]), ends[i]);
+        }
+        model.cumulative(tasks, IntStream.of(heights).mapToObj(model::intVar).toArray(IntVar[]::new),
+                model.intVar(4)).post();
+        IntVar makespan = model.intVar("makespan", 0, 70);
+        model.max(makespan, ends).post();
+        model.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderUBSearch(starts));
+        solver.setLNS(INeighborFactory.timeWindow(0, starts), new FailCounter(model, 100));
+        solver.limitFail(5000);
+        int first = -1, best = -1;
+        while (solver.solve()) {
+            if (first < 0) {
+                first = makespan.getValue();
+            }
+            best = makespan.getValue();
+        }
+        Assert.assertTrue(solver.getSolutionCount() > 1);
+        Assert.assertTrue(best < first);
+    }
+
 
     // --- LNS on a set var
 
@@ -0,0 +1,110 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class VSIDSTest {
+
+    private static IntVar[] queens(int n) {
+        Model model = new Model("queens");
+        IntVar[] q = model.intVarArray("q", n, 1, n, false);
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j]).post();
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "+", i - j).post();
+            }
+        }
+        return q;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAllSolutions() {
+        IntVar[] q = queens(8);
+        Solver solver = q[0].getModel().getSolver();
+        solver.setSearch(Search.vsidsSearch(q));
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getSolutionCount(), 92);
+    }
+
+    @Test(groups = {"1s", "expl"}, timeOut = 60000)
+    public void testAllSolutionsWithLearning() {
+        IntVar[] q = queens(8);
+        Solver solver = q[0].getModel().getSolver();
+        solver.setSearch(Search.vsidsSearch(q));
+        solver.setLearningSignedClauses();
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getSolutionCount(), 92);
+    }
+
+    @Test(groups = {"1s", "expl"}, timeOut = 60000)
+    public void testBumps() {
+        IntVar[] q = queens(10);
+        Solver solver = q[0].getModel().getSolver();
+        VSIDS vsids = new VSIDS(q, 0.95, new IntDomainMin());
+        solver.setSearch(vsids);
+        solver.setLearningSignedClauses();
+        Assert.assertTrue(solver.solve());
+        Assert.assertTrue(solver.getFailCount() > 0);
+        double sum = 0.;
+        for (IntVar v : q) {
+            Assert.assertTrue(vsids.getActivity(v) >= 0.);
+            sum += vsids.getActivity(v);
+        }
+        Assert.assertTrue(sum > 0.);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptimization() {
+        // a small scheduling problem: the optimum does not depend on the search
+        int[] best = {-1, -1};
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model();
+            int[] d = {3, 2, 4, 1, 3, 2};
+            int[] h = {2, 1, 2, 3, 1, 2};
+            IntVar[] s = model.intVarArray("s", d.length, 0, 20);
+            IntVar[] e = new IntVar[d.length];
+            Task[] tasks = new Task[d.length];
+            IntVar[] heights = new IntVar[d.length];
+            for (int i = 0; i < d.length; i++) {
+                e[i] = model.intOffsetView(s[i], d[i]);
+                tasks[i] = new Task(s[i], model.intVar(d[i]), e[i]);
+                heights[i] = model.intVar(h[i]);
+            }
+            IntVar makespan = model.intVar("M", 0, 30);
+            model.max(makespan, e).post();
+            model.cumulative(tasks, heights, model.intVar(3)).post();
+            model.arithm(e[0], "<=", s[3]).post();
+            model.arithm(e[1], "<=", s[4]).post();
+            model.setObjective(Model.MINIMIZE, makespan);
+            Solver solver = model.getSolver();
+            solver.setSearch(k == 0 ? Search.vsidsSearch(s) : Search.inputOrderLBSearch(s));
+            while (solver.solve()) {
+                best[k] = makespan.getValue();
+            }
+        }
+        Assert.assertTrue(best[0] > 0);
+        Assert.assertEquals(best[0], best[1]);
+    }
+}
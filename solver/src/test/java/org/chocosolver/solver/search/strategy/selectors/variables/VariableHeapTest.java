@@ -0,0 +1,125 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class VariableHeapTest {
+
+    private static IntVar[] queens(int n, int threshold) {
+        Model model = new Model("queens", new DefaultSettings().setHeapVarSelectionThreshold(threshold));
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            diag1[i] = model.intOffsetView(vars[i], i);
+            diag2[i] = model.intOffsetView(vars[i], -i);
+        }
+        model.allDifferent(vars, "BC").post();
+        model.allDifferent(diag1, "BC").post();
+        model.allDifferent(diag2, "BC").post();
+        return vars;
+    }
+
+    private static long count(IntVar[] vars, Function<IntVar[], AbstractStrategy<IntVar>> search) {
+        Solver solver = vars[0].getModel().getSolver();
+        solver.setSearch(search.apply(vars));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAllSolutions() {
+        Assert.assertEquals(count(queens(8, 0), Search::domOverWDegSearch), 92);
+        Assert.assertEquals(count(queens(8, 0), Search::domOverWDegRefSearch), 92);
+        Assert.assertEquals(count(queens(8, 0), Search::conflictHistorySearch), 92);
+        Assert.assertEquals(count(queens(8, 0), Search::minDomLBSearch), 92);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testActivityBased() {
+        // restarts on solutions: only look for the first one
+        IntVar[] vars = queens(30, 0);
+        Solver solver = vars[0].getModel().getSolver();
+        solver.setSearch(Search.activityBasedSearch(vars));
+        Assert.assertTrue(solver.solve());
+        Assert.assertTrue(solver.isSatisfied() == ESat.TRUE);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFirstFail() {
+        // the heap breaks ties like the scan: same search tree
+        for (int n = 8; n < 12; n++) {
+            IntVar[] scan = queens(n, Integer.MAX_VALUE);
+            IntVar[] heap = queens(n, 0);
+            Assert.assertEquals(count(heap, Search::minDomLBSearch), count(scan, Search::minDomLBSearch));
+            Assert.assertEquals(heap[0].getModel().getSolver().getNodeCount(),
+                    scan[0].getModel().getSolver().getNodeCount());
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFirstFailReplaced() {
+        // the heap is plugged on init and unplugged when the strategy is replaced
+        IntVar[] vars = queens(8, 0);
+        Solver solver = vars[0].getModel().getSolver();
+        Assert.assertEquals(count(vars, Search::minDomLBSearch), 92);
+        solver.reset();
+        Assert.assertEquals(count(vars, Search::inputOrderLBSearch), 92);
+        solver.reset();
+        Assert.assertEquals(count(vars, Search::minDomUBSearch), 92);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testBestWeight() {
+        IntVar[] vars = queens(12, 0);
+        int[] checks = new int[1];
+        DomOverWDeg dwd = new DomOverWDeg(vars, 0, new IntDomainMin()) {
+            @Override
+            public Decision<IntVar> getDecision() {
+                Decision<IntVar> d = super.getDecision();
+                double best = 0.;
+                for (IntVar v : vars) {
+                    if (!v.isInstantiated()) {
+                        best = Math.max(best, weight(v));
+                    }
+                }
+                if (d != null) {
+                    Assert.assertEquals(weight(d.getDecisionVariable()), best);
+                    checks[0]++;
+                }
+                return d;
+            }
+        };
+        Solver solver = vars[0].getModel().getSolver();
+        solver.setSearch(dwd);
+        solver.limitFail(500);
+        while (solver.solve()) ;
+        Assert.assertTrue(checks[0] > 0);
+    }
+}
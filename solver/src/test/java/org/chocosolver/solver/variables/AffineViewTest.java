@@ -0,0 +1,230 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.checker.DomainBuilder;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.view.AffineView;
+import org.chocosolver.solver.variables.view.EqView;
+import org.chocosolver.solver.variables.view.IView;
+import org.chocosolver.solver.variables.view.LeqView;
+import org.chocosolver.solver.variables.view.OffsetView;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * <br/>
+ *
+ * @author agent
+ * @since 4.10.7
+ */
+public class AffineViewTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCollapse1() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 5);
+        IntVar v = model.intOffsetView(model.intScaleView(model.intMinusView(x), 3), 2);
+        Assert.assertTrue(v instanceof AffineView);
+        Assert.assertEquals(((AffineView) v).a, -3);
+        Assert.assertEquals(((AffineView) v).b, 2);
+        Assert.assertEquals(((IView) v).getVariable(), x);
+        Assert.assertEquals(v.getLB(), -13);
+        Assert.assertEquals(v.getUB(), 17);
+        // the same view is returned when declared twice
+        Assert.assertEquals(model.intAffineView(-3, x, 2), v);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCollapse2() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 5);
+        Assert.assertEquals(model.intOffsetView(model.intOffsetView(x, 3), -3), x);
+        Assert.assertEquals(model.intMinusView(model.intMinusView(x)), x);
+        IntVar o = model.intOffsetView(model.intOffsetView(x, 3), 4);
+        Assert.assertTrue(o instanceof OffsetView);
+        Assert.assertEquals(((OffsetView) o).cste, 7);
+        Assert.assertEquals(((IView) o).getVariable(), x);
+        IntVar s = model.intScaleView(model.intScaleView(x, 2), 3);
+        Assert.assertEquals(((IView) s).getVariable(), x);
+        Assert.assertEquals(s.getUB(), 30);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCollapse3() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 5);
+        IntVar v = model.intAffineView(-2, x, 1);
+        BoolVar e = model.intEqView(v, 5);
+        Assert.assertTrue(e instanceof EqView);
+        Assert.assertEquals(((IView) e).getVariable(), x);
+        Assert.assertEquals(((EqView) e).cste, -2);
+        BoolVar l = model.intLeView(v, 4);
+        // -2.x + 1 <= 4 iff x >= -1
+        Assert.assertEquals(((IView) l.not()).getVariable(), x);
+        Assert.assertTrue(l.not() instanceof LeqView);
+        Assert.assertEquals(((LeqView) l.not()).cste, -2);
+        BoolVar b = model.boolVar("b");
+        Assert.assertEquals(model.intEqView(b, 1), b);
+        Assert.assertEquals(model.intEqView(b, 0), b.not());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCollapse4() {
+        Model model = new Model();
+        model.getSettings().setEnableViews(false);
+        IntVar x = model.intVar("x", -5, 5);
+        IntVar v = model.intOffsetView(model.intOffsetView(x, 3), 4);
+        Assert.assertFalse(v instanceof IView);
+        model.arithm(x, "=", 1).post();
+        while (model.getSolver().solve()) {
+            Assert.assertEquals(v.getValue(), 8);
+        }
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDomain() throws ContradictionException {
+        Random random = new Random();
+        for (int seed = 0; seed < 200; seed++) {
+            random.setSeed(seed);
+            Model model = new Model();
+            int[][] domains = DomainBuilder.buildFullDomains(1, -5, 5, random, random.nextDouble(), random.nextBoolean());
+            IntVar o = model.intVar("o", domains[0]);
+            int a = random.nextInt(4) + 2;
+            if (random.nextBoolean()) {
+                a = -a;
+            }
+            int b = random.nextInt(11) - 5;
+            IntVar v = new AffineView(o, a, b);
+            check(o, v, a, b);
+            model.getEnvironment().worldPush();
+            int c = v.getLB() + random.nextInt(v.getUB() - v.getLB() + 1);
+            if (v.getUB() > c) {
+                v.updateLowerBound(c, Cause.Null);
+            }
+            check(o, v, a, b);
+            c = v.getLB() + random.nextInt(v.getUB() - v.getLB() + 1);
+            if (v.getLB() < c) {
+                v.updateUpperBound(c, Cause.Null);
+            }
+            check(o, v, a, b);
+            c = v.getLB() + random.nextInt(v.getUB() - v.getLB() + 1);
+            if (v.getDomainSize() > 1) {
+                v.removeValue(c, Cause.Null);
+            }
+            check(o, v, a, b);
+            model.getEnvironment().worldPop();
+            check(o, v, a, b);
+        }
+    }
+
+    private static void check(IntVar o, IntVar v, int a, int b) {
+        assertEquals(v.getDomainSize(), o.getDomainSize());
+        assertEquals(v.getLB(), Math.min(a * o.getLB() + b, a * o.getUB() + b));
+        assertEquals(v.getUB(), Math.max(a * o.getLB() + b, a * o.getUB() + b));
+        for (int k = v.getLB() - 2; k <= v.getUB() + 2; k++) {
+            boolean in = (k - b) % a == 0 && o.contains((k - b) / a);
+            assertEquals(v.contains(k), in);
+            int n = k + 1;
+            while (n <= v.getUB() && !v.contains(n)) n++;
+            assertEquals(v.nextValue(k), n <= v.getUB() ? n : Integer.MAX_VALUE);
+            int p = k - 1;
+            while (p >= v.getLB() && !v.contains(p)) p--;
+            assertEquals(v.previousValue(k), p >= v.getLB() ? p : Integer.MIN_VALUE);
+            n = k + 1;
+            while (v.contains(n)) n++;
+            assertEquals(v.nextValueOut(k), n);
+            p = k - 1;
+            while (v.contains(p)) p--;
+            assertEquals(v.previousValueOut(k), p);
+        }
+        int prev = Integer.MIN_VALUE, count = 0;
+        DisposableValueIterator vit = v.getValueIterator(true);
+        while (vit.hasNext()) {
+            int k = vit.next();
+            Assert.assertTrue(k > prev);
+            Assert.assertTrue(v.contains(k));
+            prev = k;
+            count++;
+        }
+        vit.dispose();
+        assertEquals(count, v.getDomainSize());
+        prev = Integer.MAX_VALUE;
+        vit = v.getValueIterator(false);
+        while (vit.hasPrevious()) {
+            int k = vit.previous();
+            Assert.assertTrue(k < prev);
+            prev = k;
+            count--;
+        }
+        vit.dispose();
+        assertEquals(count, 0);
+        DisposableRangeIterator rit = v.getRangeIterator(true);
+        while (rit.hasNext()) {
+            for (int k = rit.min(); k <= rit.max(); k++) {
+                Assert.assertTrue(v.contains(k));
+                count++;
+            }
+            rit.next();
+        }
+        rit.dispose();
+        assertEquals(count, v.getDomainSize());
+        rit = v.getRangeIterator(false);
+        while (rit.hasPrevious()) {
+            for (int k = rit.min(); k <= rit.max(); k++) {
+                Assert.assertTrue(v.contains(k));
+                count--;
+            }
+            rit.previous();
+        }
+        rit.dispose();
+        assertEquals(count, 0);
+    }
+
+    private Model viewModel(int low, int upp, int a, int b, boolean views) {
+        Model model = new Model();
+        model.getSettings().setEnableViews(views);
+        IntVar x = model.intVar("x", low, upp, false);
+        IntVar y = model.intOffsetView(model.intScaleView(model.intOffsetView(x, 1), a), b);
+        IntVar z = model.intVar("z", low, upp, true);
+        model.arithm(y, "!=", z).post();
+        model.arithm(y, ">=", low).post();
+        model.arithm(y, "<=", upp).post();
+        model.getSolver().setSearch(inputOrderLBSearch(x, z));
+        return model;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        Random rand = new Random();
+        for (int i = 0; i < 200; i++) {
+            rand.setSeed(i);
+            int low = rand.nextInt(10) - 5;
+            int upp = low + rand.nextInt(20);
+            int a = rand.nextInt(7) - 3;
+            int b = rand.nextInt(11) - 5;
+            Model sb = viewModel(low, upp, a, b, true);
+            Model sc = viewModel(low, upp, a, b, false);
+            while (sb.getSolver().solve()) ;
+            while (sc.getSolver().solve()) ;
+            assertEquals(sb.getSolver().getSolutionCount(), sc.getSolver().getSolutionCount());
+        }
+    }
+}
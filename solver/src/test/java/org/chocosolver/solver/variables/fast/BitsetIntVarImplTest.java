@@ -12,16 +12,26 @@ package org.chocosolver.solver.variables.fast;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.BitsetArrayIntVarImpl;
 import org.chocosolver.solver.variables.impl.BitsetIntVarImpl;
 import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.iterators.DisposableValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * <br/>
  *
@@ -769,4 +779,43 @@ public class BitsetIntVarImplTest {
             System.out.println(size + " : " + (System.currentTimeMillis() - time) + "ms");
         }
     }
-}
\ No newline at end of file
+
+    @DataProvider(name = "bulk")
+    public Object[][] bulk() {
+        return new Object[][]{
+                {(Function<Model, IntVar>) m -> new BitsetIntVarImpl("X", 0, 10, m)},
+                {(Function<Model, IntVar>) m -> new BitsetArrayIntVarImpl("X", new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, m)},
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "bulk")
+    public void testBulkRemovalsSingleEvent(Function<Model, IntVar> maker) throws ContradictionException {
+        Model model = new Model();
+        IntVar x = maker.apply(model);
+        List<IEventType> events = new ArrayList<>();
+        x.addMonitor((IVariableMonitor<IntVar>) (v, e) -> events.add(e));
+        IntIterableBitSet vrms = new IntIterableBitSet();
+        vrms.setOffset(-10);
+        vrms.addAll(-10, 0, 2, 3, 4, 10, 12);
+        Assert.assertTrue(x.removeValues(vrms, Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.BOUND));
+        Assert.assertEquals(x.getLB(), 1);
+        Assert.assertEquals(x.getUB(), 9);
+        Assert.assertEquals(x.getDomainSize(), 6);
+        Assert.assertFalse(x.removeValues(vrms, Cause.Null));
+        events.clear();
+        Assert.assertTrue(x.removeAllValuesBut(new IntIterableRangeSet(new int[]{1, 5, 6, 7, 12}), Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.DECUPP));
+        Assert.assertEquals(x.getDomainSize(), 4);
+        Assert.assertTrue(x.contains(1) && x.contains(5) && x.contains(7) && !x.contains(4));
+        events.clear();
+        Assert.assertTrue(x.removeValues(new IntIterableRangeSet(5, 7), Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.INSTANTIATE));
+        Assert.assertTrue(x.isInstantiatedTo(1));
+        try {
+            x.removeAllValuesBut(new IntIterableRangeSet(2, 3), Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+    }
+}
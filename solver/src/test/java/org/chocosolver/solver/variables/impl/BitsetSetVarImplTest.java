@@ -0,0 +1,172 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.delta.ISetDeltaMonitor;
+import org.chocosolver.solver.variables.events.SetEventType;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class BitsetSetVarImplTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFactory() {
+        Model m = new Model();
+        Assert.assertTrue(m.setVar("s", new int[]{}, new int[]{-2, 0, 5, 60}) instanceof SetVarImpl);
+        m = new Model(new DefaultSettings().setBitsetSetVars(true));
+        Assert.assertTrue(m.setVar("s", new int[]{}, new int[]{-2, 0, 5, 60}) instanceof BitsetSetVarImpl);
+        Assert.assertTrue(m.setVar("s", new int[]{}, new int[]{0, 1000}) instanceof SetVarImpl);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testForceRemove() throws ContradictionException {
+        Model m = new Model();
+        IEnvironment env = m.getEnvironment();
+        BitsetSetVarImpl s = new BitsetSetVarImpl("s", new int[]{0}, new int[]{-70, -1, 0, 63, 64, 130}, m);
+        Assert.assertEquals(s.getFirstWord(), -2);
+        Assert.assertEquals(s.getNbWords(), 5);
+        Assert.assertEquals(s.getLB().toString(), "{0}");
+        Assert.assertEquals(s.getUB().toString(), "{-70, -1, 0, 63, 64, 130}");
+        Assert.assertEquals(s.getUB().min(), -70);
+        Assert.assertEquals(s.getUB().max(), 130);
+        env.worldPush();
+        Assert.assertTrue(s.force(-1, Cause.Null));
+        Assert.assertFalse(s.force(0, Cause.Null));
+        Assert.assertTrue(s.remove(-70, Cause.Null));
+        Assert.assertFalse(s.remove(-70, Cause.Null));
+        Assert.assertFalse(s.remove(1000, Cause.Null));
+        Assert.assertEquals(s.getLB().toArray(), new int[]{-1, 0});
+        Assert.assertEquals(s.getUB().toArray(), new int[]{-1, 0, 63, 64, 130});
+        Assert.assertEquals(s.getUB().min(), -1);
+        Assert.assertFalse(s.isInstantiated());
+        env.worldPush();
+        s.instantiateTo(new int[]{-1, 0, 130}, Cause.Null);
+        Assert.assertTrue(s.isInstantiated());
+        Assert.assertEquals(s.getValue().toArray(), new int[]{-1, 0, 130});
+        env.worldPop();
+        env.worldPop();
+        Assert.assertEquals(s.getLB().toArray(), new int[]{0});
+        Assert.assertEquals(s.getUB().size(), 6);
+        try {
+            s.remove(0, Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+        try {
+            s.force(1, Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWords() throws ContradictionException {
+        Model m = new Model();
+        BitsetSetVarImpl s = new BitsetSetVarImpl("s", new int[]{}, new int[]{0, 1, 2, 64, 65}, m);
+        try {
+            s.forceWords(new long[]{0b11L, 0b100L}, 0, Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+        Assert.assertEquals(s.getLB().size(), 0);
+        Assert.assertTrue(s.forceWords(new long[]{0b10L, 0b1L}, 0, Cause.Null));
+        Assert.assertEquals(s.getLB().toArray(), new int[]{1, 64});
+        Assert.assertFalse(s.forceWords(new long[]{0b10L}, 0, Cause.Null));
+        Assert.assertTrue(s.removeWords(new long[]{-1L, ~0b10L, ~0b1L}, -1, Cause.Null));
+        Assert.assertEquals(s.getUB().toArray(), new int[]{1, 64});
+        try {
+            s.removeWords(new long[]{0b11L}, 1, Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+        Assert.assertEquals(s.getUB().toArray(), new int[]{1, 64});
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDelta() throws ContradictionException {
+        Model m = new Model();
+        BitsetSetVarImpl s = new BitsetSetVarImpl("s", new int[]{}, new int[]{-3, 0, 1, 2, 70}, m);
+        ISetDeltaMonitor dm = s.monitorDelta(new ICause() {
+        });
+        m.getEnvironment().worldPush();
+        List<Integer> ker = new ArrayList<>(), env = new ArrayList<>();
+        dm.forEach(ker::add, SetEventType.ADD_TO_KER);
+        s.forceWords(new long[]{1L << 61, 0b101L}, -1, Cause.Null);
+        s.remove(70, Cause.Null);
+        s.remove(1, Cause.Null);
+        dm.forEach(ker::add, SetEventType.ADD_TO_KER);
+        dm.forEach(env::add, SetEventType.REMOVE_FROM_ENVELOPE);
+        Assert.assertEquals(ker.toString(), "[-3, 0, 2]");
+        Assert.assertEquals(env.toString(), "[70, 1]");
+        ker.clear();
+        dm.forEach(ker::add, SetEventType.ADD_TO_KER);
+        Assert.assertTrue(ker.isEmpty());
+    }
+
+    private static long count(boolean bitset, int seed, int c) {
+        Random rnd = new Random(seed);
+        Model m = new Model();
+        int n = 3;
+        SetVar[] sets = new SetVar[n + 1];
+        for (int i = 0; i <= n; i++) {
+            int lo = rnd.nextInt(140) - 70;
+            int[] env = new int[3];
+            for (int j = 0; j < env.length; j++) {
+                env[j] = lo + rnd.nextInt(70);
+            }
+            int[] ker = rnd.nextBoolean() ? new int[]{env[0]} : new int[0];
+            sets[i] = bitset ? new BitsetSetVarImpl("s" + i, ker, env, m)
+                    : new SetVarImpl("s" + i, ker, SetType.BITSET, env, SetType.BITSET, m);
+        }
+        SetVar[] args = new SetVar[n];
+        System.arraycopy(sets, 0, args, 0, n);
+        switch (c) {
+            case 0:
+                m.union(args, sets[n]).post();
+                break;
+            case 1:
+                m.intersection(args, sets[n]).post();
+                break;
+            case 2:
+                m.subsetEq(sets).post();
+                break;
+            default:
+                m.allDisjoint(sets).post();
+                break;
+        }
+        while (m.getSolver().solve()) ;
+        return m.getSolver().getSolutionCount();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSameSolutions() {
+        for (int c = 0; c < 4; c++) {
+            for (int seed = 0; seed < 20; seed++) {
+                Assert.assertEquals(count(true, seed, c), count(false, seed, c), "constraint " + c + ", seed " + seed);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class RangeListIntVarImplTest extends EnumIntVarTest {
+
+    @BeforeMethod(alwaysRun = true)
+    @Override
+    public void setup() {
+        Model model = new Model();
+        this.var = new RangeListIntVarImpl("X", 1, 4, model);
+    }
+
+    private static IntIterableRangeSet domain(int... bounds) {
+        IntIterableRangeSet set = new IntIterableRangeSet();
+        for (int i = 0; i < bounds.length; i += 2) {
+            set.addBetween(bounds[i], bounds[i + 1]);
+        }
+        return set;
+    }
+
+    private static void checkDomain(IntVar x, int... bounds) {
+        IntIterableRangeSet expected = domain(bounds);
+        assertEquals(x.getDomainSize(), expected.size());
+        assertEquals(x.getLB(), expected.min());
+        assertEquals(x.getUB(), expected.max());
+        assertEquals(new IntIterableRangeSet(x), expected);
+        DisposableRangeIterator rit = x.getRangeIterator(true);
+        for (int i = 0; i < bounds.length; i += 2) {
+            assertTrue(rit.hasNext());
+            assertEquals(rit.min(), bounds[i]);
+            assertEquals(rit.max(), bounds[i + 1]);
+            rit.next();
+        }
+        assertFalse(rit.hasNext());
+        rit.dispose();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testHugeDomain() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = new RangeListIntVarImpl("X", 0, 100_000_000, model);
+        assertTrue(x.removeValue(50, Cause.Null));
+        assertTrue(x.removeInterval(1000, 1_999_999, Cause.Null));
+        assertFalse(x.removeInterval(1500, 1600, Cause.Null));
+        assertTrue(x.removeValues(domain(0, 10, 40, 60, 99_999_990, 100_000_000), Cause.Null));
+        checkDomain(x, 11, 39, 61, 999, 2_000_000, 99_999_989);
+        assertEquals(((RangeListIntVarImpl) x).getNbRanges(), 3);
+        assertEquals(x.nextValue(40), 61);
+        assertEquals(x.nextValueOut(61), 1000);
+        assertEquals(x.previousValue(2_000_000), 999);
+        assertEquals(x.previousValueOut(2_000_000), 1_999_999);
+        assertTrue(x.removeAllValuesBut(domain(20, 30, 500, 3_000_000), Cause.Null));
+        checkDomain(x, 20, 30, 500, 999, 2_000_000, 3_000_000);
+        assertTrue(x.updateBounds(25, 2_000_005, Cause.Null));
+        checkDomain(x, 25, 30, 500, 999, 2_000_000, 2_000_005);
+        assertTrue(x.instantiateTo(700, Cause.Null));
+        assertTrue(x.isInstantiatedTo(700));
+        assertEquals(x.getDomainSize(), 1);
+        assertEquals(x.toString(), "X = 700");
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testBacktrack() throws ContradictionException {
+        Model model = new Model();
+        IEnvironment env = model.getEnvironment();
+        IntVar x = new RangeListIntVarImpl("X", domain(0, 99, 1000, 1999, 5000, 5000), model);
+        env.worldPush();
+        x.removeInterval(10, 1010, Cause.Null);
+        x.removeValue(1500, Cause.Null);
+        checkDomain(x, 0, 9, 1011, 1499, 1501, 1999, 5000, 5000);
+        env.worldPush();
+        x.updateUpperBound(1600, Cause.Null);
+        x.removeValue(5, Cause.Null);
+        x.updateLowerBound(5, Cause.Null);
+        checkDomain(x, 6, 9, 1011, 1499, 1501, 1600);
+        env.worldPush();
+        x.instantiateTo(1200, Cause.Null);
+        checkDomain(x, 1200, 1200);
+        env.worldPop();
+        checkDomain(x, 6, 9, 1011, 1499, 1501, 1600);
+        env.worldPop();
+        checkDomain(x, 0, 9, 1011, 1499, 1501, 1999, 5000, 5000);
+        env.worldPop();
+        checkDomain(x, 0, 99, 1000, 1999, 5000, 5000);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testContradiction() throws ContradictionException {
+        Model model = new Model();
+        IEnvironment env = model.getEnvironment();
+        IntVar x = new RangeListIntVarImpl("X", domain(0, 9, 1000, 1009), model);
+        env.worldPush();
+        try {
+            x.removeValues(domain(0, 500, 1000, 1009), Cause.Null);
+            fail();
+        } catch (ContradictionException ignored) {
+        }
+        env.worldPop();
+        checkDomain(x, 0, 9, 1000, 1009);
+        env.worldPush();
+        Assert.assertThrows(ContradictionException.class, () -> x.removeAllValuesBut(domain(10, 999), Cause.Null));
+        env.worldPop();
+        checkDomain(x, 0, 9, 1000, 1009);
+        env.worldPush();
+        Assert.assertThrows(ContradictionException.class, () -> x.instantiateTo(500, Cause.Null));
+        Assert.assertThrows(ContradictionException.class, () -> x.updateBounds(10, 999, Cause.Null));
+        env.worldPop();
+        checkDomain(x, 0, 9, 1000, 1009);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testValueIterator() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = new RangeListIntVarImpl("X", domain(-5, -4, 10, 10, 20, 22), model);
+        int[] expected = {-5, -4, 10, 20, 21, 22};
+        DisposableValueIterator it = x.getValueIterator(true);
+        for (int v : expected) {
+            assertTrue(it.hasNext());
+            assertEquals(it.next(), v);
+        }
+        assertFalse(it.hasNext());
+        it.dispose();
+        it = x.getValueIterator(false);
+        for (int i = expected.length - 1; i >= 0; i--) {
+            assertTrue(it.hasPrevious());
+            assertEquals(it.previous(), expected[i]);
+        }
+        assertFalse(it.hasPrevious());
+        it.dispose();
+        int i = 0;
+        for (int v : x) {
+            assertEquals(v, expected[i++]);
+        }
+        assertEquals(i, expected.length);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFactory() {
+        Model model = new Model();
+        int threshold = model.getSettings().getMaxDomSizeForEnumerated();
+        assertTrue(model.intVar("A", 0, threshold, false) instanceof RangeListIntVarImpl);
+        assertTrue(model.intVar("B", 0, 10, false) instanceof BitsetIntVarImpl);
+        int[] values = new int[200];
+        for (int i = 0; i < 100; i++) {
+            values[i] = i;
+            values[100 + i] = 10 * threshold + i;
+        }
+        assertTrue(model.intVar("C", values) instanceof RangeListIntVarImpl);
+        assertTrue(model.intVar("D", new int[]{0, 100, 200}) instanceof BitsetArrayIntVarImpl);
+    }
+
+    private static long countSolutions(boolean rangeList) {
+        Model model = new Model();
+        IntIterableRangeSet dom = domain(0, 4, 1_000_000, 1_000_004, 2_000_000, 2_000_002);
+        IntVar[] xs = new IntVar[4];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = rangeList ?
+                    new RangeListIntVarImpl("X" + i, dom, model) :
+                    new BitsetArrayIntVarImpl("X" + i, dom.toArray(), model);
+        }
+        model.allDifferent(xs).post();
+        model.arithm(xs[0], "<", xs[1]).post();
+        model.sum(xs, "<=", 3_000_003).post();
+        model.member(xs[2], domain(3, 1_000_001, 2_000_001, 2_000_002)).post();
+        return model.getSolver().streamSolutions().count();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSolve() {
+        long expected = countSolutions(false);
+        assertTrue(expected > 0);
+        assertEquals(countSolutions(true), expected);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class SparseSetIntVarImplTest extends EnumIntVarTest {
+
+    @BeforeMethod(alwaysRun = true)
+    @Override
+    public void setup() {
+        Model model = new Model();
+        this.var = new SparseSetIntVarImpl("X", 1, 4, model);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testBacktrack() throws ContradictionException {
+        Model model = new Model();
+        IEnvironment env = model.getEnvironment();
+        IntVar x = new SparseSetIntVarImpl("X", new int[]{0, 2, 3, 4, 6, 8, 9}, model);
+        assertEquals(x.toString(), "X = {0,2..4,6,8..9}");
+        env.worldPush();
+        assertTrue(x.removeValue(0, Cause.Null));
+        assertTrue(x.removeValue(3, Cause.Null));
+        assertFalse(x.removeValue(5, Cause.Null));
+        assertEquals(x.getLB(), 2);
+        assertEquals(x.toString(), "X = {2,4,6,8..9}");
+        env.worldPush();
+        assertTrue(x.updateBounds(3, 8, Cause.Null));
+        assertEquals(x.toString(), "X = {4,6,8}");
+        env.worldPush();
+        assertTrue(x.instantiateTo(6, Cause.Null));
+        assertTrue(x.isInstantiatedTo(6));
+        env.worldPop();
+        assertEquals(x.toString(), "X = {4,6,8}");
+        env.worldPop();
+        assertEquals(x.toString(), "X = {2,4,6,8..9}");
+        env.worldPop();
+        assertEquals(x.toString(), "X = {0,2..4,6,8..9}");
+        assertEquals(x.getDomainSize(), 7);
+        env.worldPush();
+        Assert.assertThrows(ContradictionException.class, () -> x.updateBounds(5, 5, Cause.Null));
+        Assert.assertThrows(ContradictionException.class, () -> x.removeAllValuesBut(new IntIterableRangeSet(10, 20), Cause.Null));
+        env.worldPop();
+        assertEquals(x.toString(), "X = {0,2..4,6,8..9}");
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandomOperations() throws ContradictionException {
+        Random rnd = new Random(0);
+        for (int k = 0; k < 50; k++) {
+            Model model = new Model();
+            IEnvironment env = model.getEnvironment();
+            IntVar x = new SparseSetIntVarImpl("X", -20, 80, model);
+            IntVar y = new BitsetIntVarImpl("Y", -20, 80, model);
+            for (int d = 0; d < 30; d++) {
+                env.worldPush();
+                int a = rnd.nextInt(110) - 25;
+                int b = a + rnd.nextInt(20);
+                try {
+                    switch (rnd.nextInt(5)) {
+                        case 0:
+                            assertEquals(x.removeValue(a, Cause.Null), y.removeValue(a, Cause.Null));
+                            break;
+                        case 1:
+                            assertEquals(x.removeInterval(a, b, Cause.Null), y.removeInterval(a, b, Cause.Null));
+                            break;
+                        case 2:
+                            assertEquals(x.updateLowerBound(a / 4, Cause.Null), y.updateLowerBound(a / 4, Cause.Null));
+                            break;
+                        case 3:
+                            assertEquals(x.updateUpperBound(80 - a / 4, Cause.Null), y.updateUpperBound(80 - a / 4, Cause.Null));
+                            break;
+                        default:
+                            IntIterableRangeSet set = new IntIterableRangeSet(a, b);
+                            assertEquals(x.removeValues(set, Cause.Null), y.removeValues(set, Cause.Null));
+                            break;
+                    }
+                } catch (ContradictionException e) {
+                    break;
+                }
+                assertEquals(x.toString().substring(1), y.toString().substring(1));
+                assertEquals(x.getDomainSize(), y.getDomainSize());
+                assertEquals(x.nextValue(a), y.nextValue(a));
+                assertEquals(x.previousValue(b), y.previousValue(b));
+                assertEquals(x.nextValueOut(x.getLB()), y.nextValueOut(y.getLB()));
+                assertEquals(x.previousValueOut(x.getUB()), y.previousValueOut(y.getUB()));
+                if (rnd.nextInt(4) == 0 && env.getWorldIndex() > 1) {
+                    env.worldPop();
+                    env.worldPop();
+                    env.worldPush();
+                    assertEquals(x.toString().substring(1), y.toString().substring(1));
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFactory() {
+        Model model = new Model(new DefaultSettings().setSparseSetDomains(true));
+        assertTrue(model.intVar("A", 0, 10, false) instanceof SparseSetIntVarImpl);
+        assertTrue(model.intVar("B", new int[]{0, 2, 3}) instanceof SparseSetIntVarImpl);
+        assertTrue(new Model().intVar("C", 0, 10, false) instanceof BitsetIntVarImpl);
+    }
+
+    private static long[] solve(boolean sparseSet) {
+        Model model = new Model(new DefaultSettings().setSparseSetDomains(sparseSet));
+        int n = 8;
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            diag1[i] = model.intOffsetView(vars[i], i);
+            diag2[i] = model.intOffsetView(vars[i], -i);
+        }
+        model.allDifferent(vars, "AC").post();
+        model.allDifferent(diag1, "AC").post();
+        model.allDifferent(diag2, "AC").post();
+        model.getSolver().setSearch(Search.inputOrderLBSearch(vars));
+        long count = model.getSolver().streamSolutions().count();
+        return new long[]{count, model.getSolver().getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSolve() {
+        long[] expected = solve(false);
+        assertEquals(expected[0], 92);
+        assertEquals(solve(true), expected);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.view;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.util.procedure.IntProcedure;
+import org.chocosolver.util.procedure.SafeIntProcedure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class ViewDeltaMonitorTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTransform() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10, false);
+        IntVar y = model.intAffineView(-3, x, 2);
+        IIntDeltaMonitor d = y.monitorDelta(Cause.Null);
+        x.removeValue(4, Cause.Null);
+        x.updateUpperBound(8, Cause.Null);
+        TIntArrayList values = new TIntArrayList();
+        d.forEachRemVal((SafeIntProcedure) values::add);
+        values.sort();
+        Assert.assertEquals(values.toArray(), new int[]{-28, -25, -10});
+        values.clear();
+        // values are consumed
+        d.forEachRemVal((SafeIntProcedure) values::add);
+        Assert.assertTrue(values.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFilteringProcedure() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10, false);
+        IntVar y = model.intMinusView(x);
+        IntVar z = model.intVar("z", -10, 0, false);
+        IIntDeltaMonitor d = y.monitorDelta(Cause.Null);
+        x.removeInterval(3, 5, Cause.Null);
+        IntProcedure remove = v -> z.removeValue(v, Cause.Null);
+        d.forEachRemVal(remove);
+        Assert.assertEquals(z.getDomainSize(), 8);
+        Assert.assertFalse(z.contains(-3));
+        Assert.assertFalse(z.contains(-4));
+        Assert.assertFalse(z.contains(-5));
+        x.removeValue(0, Cause.Null);
+        z.instantiateTo(0, Cause.Null);
+        Assert.assertThrows(ContradictionException.class, () -> d.forEachRemVal(remove));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testReentrant() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10, false);
+        IntVar y = model.intOffsetView(x, 100);
+        IIntDeltaMonitor d1 = y.monitorDelta(Cause.Null);
+        IIntDeltaMonitor d2 = y.monitorDelta(Cause.Null);
+        x.removeValue(1, Cause.Null);
+        x.removeValue(2, Cause.Null);
+        TIntArrayList outer = new TIntArrayList();
+        TIntArrayList inner = new TIntArrayList();
+        d1.forEachRemVal((SafeIntProcedure) v -> {
+            outer.add(v);
+            d2.forEachRemVal((SafeIntProcedure) inner::add);
+        });
+        outer.sort();
+        inner.sort();
+        Assert.assertEquals(outer.toArray(), new int[]{101, 102});
+        Assert.assertEquals(inner.toArray(), new int[]{101, 102});
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects.queues;
+
+import org.testng.annotations.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * @author agent
+ * @since 4.10.7
+ */
+public class MPSCRingBufferTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNominal() {
+        MPSCRingBuffer<Integer> buffer = new MPSCRingBuffer<>(4);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertEquals(buffer.size(), 2);
+        assertEquals(buffer.poll(), Integer.valueOf(1));
+        assertEquals(buffer.poll(), Integer.valueOf(2));
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFull() {
+        MPSCRingBuffer<Integer> buffer = new MPSCRingBuffer<>(3);
+        int capacity = buffer.capacity();
+        assertTrue(capacity >= 3);
+        for (int i = 0; i < capacity; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(capacity));
+        assertEquals(buffer.poll(), Integer.valueOf(0));
+        assertTrue(buffer.offer(capacity));
+        for (int i = 1; i <= capacity; i++) {
+            assertEquals(buffer.poll(), Integer.valueOf(i));
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testConcurrentProducers() throws InterruptedException {
+        int nbProducers = 4;
+        int nbOffers = 20000;
+        MPSCRingBuffer<Integer> buffer = new MPSCRingBuffer<>(64);
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(nbProducers);
+        for (int p = 0; p < nbProducers; p++) {
+            int offset = p * nbOffers;
+            new Thread(() -> {
+                for (int i = 0; i < nbOffers; i++) {
+                    if (!buffer.offer(offset + i)) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        BitSet received = new BitSet();
+        int nbReceived = 0;
+        Integer e;
+        while (done.getCount() > 0 || !buffer.isEmpty()) {
+            while ((e = buffer.poll()) != null) {
+                assertFalse(received.get(e), "received twice: " + e);
+                received.set(e);
+                nbReceived++;
+            }
+        }
+        assertEquals(nbReceived + rejected.get(), nbProducers * nbOffers);
+    }
+}